@@ -1,5 +1,6 @@
 package org.javers.common.collections;
 
+import org.javers.common.validation.Validate;
 import org.javers.core.metamodel.property.MissingProperty;
 
 import java.util.*;
@@ -113,6 +114,20 @@ public class Lists {
         return difference;
     }
 
+    /**
+     * Consecutive sublists (views) of a given size, the last one may be smaller
+     */
+    public static <T> List<List<T>> partition(List<T> list, int size) {
+        argumentsAreNotNull(list);
+        Validate.argumentCheck(size > 0, "size should be positive");
+
+        List<List<T>> partitions = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += size) {
+            partitions.add(list.subList(i, Math.min(i + size, list.size())));
+        }
+        return partitions;
+    }
+
     public static <t> Collector<t, List<t>, List<t>> toImmutableList() {
         return Collector.of(ArrayList::new, List::add, (left, right) -> {
             left.addAll(right);
@@ -115,10 +115,17 @@ public enum JaversExceptionCode {
 
     UNSUPPORTED_SQL_DIALECT("dialect '%s' is not supported by JaVers"),
 
+    /** @since 5.14 */
+    MALFORMED_SNAPSHOT_STATE("can't read snapshot state stored in the binary format, %s"),
+
     MALFORMED_JQL("Invalid JQL query, %s"),
 
     UNSUPPORTED_OPTIONAL_CONTENT_TYPE("%s is not supported as Optional<> content type"),
 
+    COMMIT_PIPELINE_CLOSED("commit pipeline is closed, it doesn't accept new commits"),
+
+    COMMIT_PIPELINE_BROKEN("commit rejected, a previous batch of the commit pipeline failed and its snapshots could be used by this commit. Cause: %s"),
+
     RUNTIME_EXCEPTION("uncategorized runtime exception. %s"),
 
     TRANSACTION_MANAGER_NOT_SET("Can't create javers bean due to missing configuration. Since javers-spring 2.8.0, transactionManager bean should be explicitly provided in TransactionalJaversBuilder.withTxManager(). See example at http://javers.org/documentation/spring-integration/#spring-jpa-example")
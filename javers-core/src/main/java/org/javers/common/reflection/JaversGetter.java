@@ -67,6 +67,10 @@ public class JaversGetter extends JaversMember<Method> {
         }
     }
 
+    Optional<Method> getSetterMethod() {
+        return setterMethod;
+    }
+
     @Override
     public String propertyName() {
         return getterNameToFieldName(name());
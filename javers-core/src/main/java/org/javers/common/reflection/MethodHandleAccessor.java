@@ -0,0 +1,120 @@
+package org.javers.common.reflection;
+
+import org.javers.common.exception.JaversException;
+import org.javers.common.exception.JaversExceptionCode;
+import org.slf4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Reads and writes a {@link JaversMember} using {@link MethodHandle}s
+ * compiled once, when a class is scanned, instead of
+ * calling {@link Field#get(Object)} or {@link Method#invoke(Object, Object...)}
+ * on each access.
+ * <br/><br/>
+ *
+ * Falls back to {@link JaversMember#getEvenIfPrivate(Object)} and
+ * {@link JaversMember#setEvenIfPrivate(Object, Object)} when a handle can't be created
+ * or when the target is not an instance of the member's declaring class,
+ * so mirror members and missing properties work as before.
+ *
+ * @since 5.14
+ */
+public final class MethodHandleAccessor {
+    private static final Logger logger = getLogger(MethodHandleAccessor.class);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final JaversMember member;
+    private final Class<?> declaringClass;
+    private final MethodHandle getter;
+    private final Optional<MethodHandle> setter;
+
+    private MethodHandleAccessor(JaversMember member, MethodHandle getter, Optional<MethodHandle> setter) {
+        this.member = member;
+        this.declaringClass = member.getDeclaringClass();
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * @return empty if the member can't be accessed with MethodHandles
+     */
+    public static Optional<MethodHandleAccessor> compile(JaversMember member) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            if (member instanceof JaversField) {
+                Field field = ((JaversField) member).getRawMember();
+                return Optional.of(new MethodHandleAccessor(member,
+                        lookup.unreflectGetter(field).asType(GETTER_TYPE),
+                        unreflectSetter(lookup, field)));
+            }
+            if (member instanceof JaversGetter) {
+                Method getter = ((JaversGetter) member).getRawMember();
+                Optional<MethodHandle> setter = ((JaversGetter) member).getSetterMethod()
+                        .flatMap(m -> unreflect(lookup, m));
+                return Optional.of(new MethodHandleAccessor(member,
+                        lookup.unreflect(getter).asType(GETTER_TYPE),
+                        setter.map(h -> h.asType(SETTER_TYPE))));
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            logger.debug("can't create MethodHandle for " + member + ", falling back to reflection, cause: " + e);
+        }
+        return Optional.empty();
+    }
+
+    public Object get(Object target) {
+        if (!declaringClass.isInstance(target)) {
+            return member.getEvenIfPrivate(target);
+        }
+        try {
+            return getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw new JaversException(JaversExceptionCode.PROPERTY_ACCESS_ERROR,
+                    member, target.getClass().getSimpleName(), e.getClass().getName()+": "+e.getMessage());
+        }
+    }
+
+    public void set(Object target, Object value) {
+        if (!setter.isPresent() || !declaringClass.isInstance(target)) {
+            member.setEvenIfPrivate(target, value);
+            return;
+        }
+        try {
+            setter.get().invokeExact(target, value);
+        } catch (Throwable e) {
+            if (member instanceof JaversField) {
+                String valueType = value == null ? "null" : value.getClass().getName();
+                throw new JaversException(JaversExceptionCode.PROPERTY_SETTING_ERROR,
+                        valueType, member, e.getClass().getName() + " - " + e.getMessage());
+            }
+            throw new JaversException(JaversExceptionCode.SETTER_INVOCATION_ERROR,
+                    ((JaversGetter) member).getSetterMethod().get().getName(), target.getClass().getName(), e);
+        }
+    }
+
+    private static Optional<MethodHandle> unreflectSetter(MethodHandles.Lookup lookup, Field field) {
+        try {
+            return Optional.of(lookup.unreflectSetter(field).asType(SETTER_TYPE));
+        } catch (IllegalAccessException e) {
+            //final fields, setting them is left to reflection
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<MethodHandle> unreflect(MethodHandles.Lookup lookup, Method method) {
+        try {
+            return Optional.of(lookup.unreflect(method));
+        } catch (IllegalAccessException e) {
+            return Optional.empty();
+        }
+    }
+}
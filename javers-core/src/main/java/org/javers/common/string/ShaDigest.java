@@ -19,8 +19,10 @@ public class ShaDigest {
     }
 
     public static String longDigest(String text){
-        byte[] hashBytes = digest(text);
+        return longDigest(digest(text));
+    }
 
+    public static String longDigest(byte[] hashBytes){
         StringBuffer hexString = new StringBuffer();
         for (int i=0; i<hashBytes.length; i+=2){
             String hex=Integer.toHexString(0xff & hashBytes[i]);
@@ -30,12 +32,20 @@ public class ShaDigest {
         return hexString.toString();
     }
 
+    public static MessageDigest sha256(){
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private static byte[] digest(String text){
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            MessageDigest digest = sha256();
             digest.update(text.getBytes("UTF-8"));
             return digest.digest();
-        } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+        } catch (UnsupportedEncodingException e) {
             throw new RuntimeException(e);
         }
     }
@@ -3,6 +3,8 @@ package org.javers.core;
 import org.javers.core.changelog.ChangeProcessor;
 import org.javers.core.commit.Commit;
 import org.javers.core.commit.CommitMetadata;
+import org.javers.core.commit.CommitPipeline;
+import org.javers.core.commit.CommitPipelineConfiguration;
 import org.javers.core.diff.Change;
 import org.javers.core.diff.Diff;
 import org.javers.core.diff.changetype.PropertyChange;
@@ -13,6 +15,7 @@ import org.javers.core.metamodel.property.Property;
 import org.javers.core.metamodel.type.EntityType;
 import org.javers.core.metamodel.type.JaversType;
 import org.javers.core.metamodel.type.ValueObjectType;
+import org.javers.repository.api.JaversRepository;
 import org.javers.repository.jql.*;
 import org.javers.shadow.Shadow;
 
@@ -69,6 +72,35 @@ public interface Javers {
      */
     Commit commit(String author, Object currentVersion, Map<String, String> commitProperties);
 
+    /**
+     * Persists current states of many domain object graphs
+     * in JaVers repository, all of them in a single Commit.
+     * <br/><br/>
+     *
+     * Works like calling {@link #commit(String, Object)} for each object,
+     * but latest snapshots are loaded in one batch and
+     * all new snapshots are persisted in one {@link JaversRepository#persist(Commit)} call.
+     * It's recommended when you are auditing thousands of objects in a batch job.
+     * <br/><br/>
+     *
+     * Objects reachable from more than one item are committed only once.
+     * Items should be Entities or Value Objects with distinct ids.
+     *
+     * @param author current user
+     * @param currentVersions standalone objects or handles to object graphs
+     * @since 5.14
+     */
+    Commit commitAll(String author, Collection<?> currentVersions);
+
+    /**
+     * Variant of {@link #commitAll(String, Collection)} with commitProperties.
+     * <br/>
+     *
+     * See {@link #commit(String, Object, Map)} for commitProperties description.
+     * @since 5.14
+     */
+    Commit commitAll(String author, Collection<?> currentVersions, Map<String, String> commitProperties);
+
     /**
      * Async version of {@link #commit(String, Object)}
      * <br/><br/>
@@ -89,6 +121,41 @@ public interface Javers {
     CompletableFuture<Commit> commitAsync(String author, Object currentVersion, Map<String, String> commitProperties,
                                           Executor executor);
 
+    /**
+     * Creates a group-commit pipeline for high-write applications.
+     * <br/><br/>
+     *
+     * Commits submitted to the pipeline are calculated in parallel
+     * and persisted to {@link JaversRepository} in batches,
+     * see {@link JaversRepository#persistAll(List)}.
+     * <br/><br/>
+     *
+     * Example:
+     * <pre>
+     * CommitPipeline pipeline = javers.commitPipeline(new CommitPipelineConfiguration()
+     *         .withMaxBatchSize(200)
+     *         .withMaxBatchLatency(Duration.ofMillis(5)));
+     *
+     * CompletableFuture&lt;Commit&gt; commit = pipeline.submit("author", myObject);
+     * ...
+     * pipeline.close();
+     * </pre>
+     *
+     * @since 5.14
+     */
+    CommitPipeline commitPipeline(CommitPipelineConfiguration configuration);
+
+    /**
+     * Evicts in-memory caches of this JaVers instance,
+     * state fingerprints kept by dirty checking.
+     * <br/>
+     * Call it when a transaction with JaVers commits is rolled back.
+     *
+     * @see JaversBuilder#withDirtyCheckingCacheSize(int)
+     * @since 5.14
+     */
+    void evictCache();
+
     /**
      * Marks given object as deleted.
      * <br/><br/>
@@ -478,6 +545,26 @@ public interface Javers {
      */
     List<CdoSnapshot> findSnapshots(JqlQuery query);
 
+    /**
+     * The streamed version of {@link #findSnapshots(JqlQuery)}.
+     * <br/><br/>
+     *
+     * Snapshots are read and deserialized lazily,
+     * so exporting a long history doesn't load all of them to memory.
+     * {@link QueryBuilder#limit(int)} still applies, set it to the number of Snapshots to be exported.
+     * <br/><br/>
+     *
+     * <code>JaversSqlRepository</code> streams from an open database cursor,
+     * other repositories may load the whole list.
+     * Close the stream, for example in try-with-resources, to release the cursor.
+     * In Spring environments, consume it within a transaction.
+     *
+     * @return A lazy loaded stream of Snapshots, ordered in reverse chronological order
+     * @see #findSnapshots(JqlQuery)
+     * @since 5.14
+     */
+    Stream<CdoSnapshot> findSnapshotsAndStream(JqlQuery query);
+
     /**
      * Latest snapshot of a given Entity instance.
      * <br/><br/>
@@ -634,6 +634,38 @@ public class JaversBuilder extends AbstractContainerBuilder {
         return this;
     }
 
+    /**
+     * Default strategy is {@link PropertyAccessStrategy#REFLECTION}.
+     * <br/><br/>
+     *
+     * {@link PropertyAccessStrategy#METHOD_HANDLES} compiles one accessor
+     * for each property when a class is scanned,
+     * it speeds up commits and diffs of large object graphs.
+     *
+     * @since 5.14
+     */
+    public JaversBuilder withPropertyAccessStrategy(PropertyAccessStrategy propertyAccessStrategy) {
+        argumentIsNotNull(propertyAccessStrategy);
+        coreConfiguration().withPropertyAccessStrategy(propertyAccessStrategy);
+        return this;
+    }
+
+    /**
+     * Default algorithm is {@link ObjectHashAlgorithm#JSON_V1}.
+     * <br/><br/>
+     *
+     * {@link ObjectHashAlgorithm#BINARY_V2} is faster,
+     * but it gives different Value Object ids for objects in Sets,
+     * so don't switch it for an existing JaversRepository.
+     *
+     * @since 5.14
+     */
+    public JaversBuilder withObjectHashAlgorithm(ObjectHashAlgorithm objectHashAlgorithm) {
+        argumentIsNotNull(objectHashAlgorithm);
+        coreConfiguration().withObjectHashAlgorithm(objectHashAlgorithm);
+        return this;
+    }
+
     /**
      * <ul>
      * <li/> {@link CommitIdGenerator#SYNCHRONIZED_SEQUENCE} &mdash; for non-distributed applications
@@ -646,6 +678,65 @@ public class JaversBuilder extends AbstractContainerBuilder {
         return this;
     }
 
+    /**
+     * When enabled, {@link CommitIdGenerator#SYNCHRONIZED_SEQUENCE} reads the head commit id
+     * from JaversRepository only once and then allocates subsequent ids without locking,
+     * so concurrent commits don't wait for each other.
+     * <br/>
+     * The sequence is resynced when a commit meets a snapshot persisted with a greater commit id.
+     * <br/><br/>
+     *
+     * Use it only when a single JaVers instance writes to a repository.
+     * Disabled by default.
+     *
+     * @since 5.14
+     */
+    public JaversBuilder withAtomicCommitIdSequence(boolean atomicCommitIdSequence) {
+        coreConfiguration().withAtomicCommitIdSequence(atomicCommitIdSequence);
+        return this;
+    }
+
+    /**
+     * When enabled, graphs of large aggregates are built in parallel, on the common ForkJoinPool.
+     * Built graphs are the same as the ones built sequentially.
+     * <br/><br/>
+     *
+     * It pays off for aggregates with thousands of objects.
+     * Enable it only when your domain objects (and {@link ObjectAccessHook}, if registered)
+     * can be safely read by many threads.
+     * Disabled by default.
+     *
+     * @since 5.14
+     */
+    public JaversBuilder withParallelGraphBuilding(boolean parallelGraphBuilding) {
+        coreConfiguration().withParallelGraphBuilding(parallelGraphBuilding);
+        return this;
+    }
+
+    /**
+     * Enables dirty checking, when greater than 0.
+     * <br/>
+     * JaVers keeps in memory state fingerprints of up to dirtyCheckingCacheSize committed objects
+     * (least recently used are evicted).
+     * When committed again, objects with unchanged fingerprints are skipped,
+     * JaVers doesn't load their latest snapshots from JaversRepository and doesn't create new ones.
+     * <br/><br/>
+     *
+     * Fingerprints are valid as long as JaversRepository is not changed by others,
+     * so use it only when a single JaVers instance writes to a repository.
+     * Call {@link Javers#evictCache()} when a transaction with commits is rolled back
+     * (done by javers-spring JaversTransactionalDecorator).
+     * <br/><br/>
+     *
+     * Disabled by default.
+     *
+     * @since 5.14
+     */
+    public JaversBuilder withDirtyCheckingCacheSize(int dirtyCheckingCacheSize) {
+        coreConfiguration().withDirtyCheckingCacheSize(dirtyCheckingCacheSize);
+        return this;
+    }
+
     JaversBuilder withCustomCommitIdGenerator(Supplier<CommitId> commitIdGenerator) {
         coreConfiguration().withCustomCommitIdGenerator(commitIdGenerator);
         return this;
@@ -743,7 +834,12 @@ public class JaversBuilder extends AbstractContainerBuilder {
     public JaversBuilder withProperties(JaversCoreProperties javersProperties) {
         this.withListCompareAlgorithm(ListCompareAlgorithm.valueOf(javersProperties.getAlgorithm().toUpperCase()))
             .withCommitIdGenerator(CommitIdGenerator.valueOf(javersProperties.getCommitIdGenerator().toUpperCase()))
+            .withAtomicCommitIdSequence(javersProperties.isAtomicCommitIdSequence())
+            .withParallelGraphBuilding(javersProperties.isParallelGraphBuilding())
+            .withDirtyCheckingCacheSize(javersProperties.getDirtyCheckingCacheSize())
             .withMappingStyle(MappingStyle.valueOf(javersProperties.getMappingStyle().toUpperCase()))
+            .withPropertyAccessStrategy(PropertyAccessStrategy.valueOf(javersProperties.getPropertyAccessStrategy().toUpperCase()))
+            .withObjectHashAlgorithm(ObjectHashAlgorithm.valueOf(javersProperties.getObjectHashAlgorithm().toUpperCase()))
             .withNewObjectsSnapshot(javersProperties.isNewObjectSnapshot())
             .withPrettyPrint(javersProperties.isPrettyPrint())
             .withTypeSafeValues(javersProperties.isTypeSafeValues())
@@ -6,6 +6,8 @@ import org.javers.core.changelog.ChangeListTraverser;
 import org.javers.core.changelog.ChangeProcessor;
 import org.javers.core.commit.Commit;
 import org.javers.core.commit.CommitFactory;
+import org.javers.core.commit.CommitPipeline;
+import org.javers.core.commit.CommitPipelineConfiguration;
 import org.javers.core.diff.Change;
 import org.javers.core.diff.Diff;
 import org.javers.core.diff.DiffFactory;
@@ -93,6 +95,32 @@ class JaversCore implements Javers {
         return commit;
     }
 
+    @Override
+    public Commit commitAll(String author, Collection<?> currentVersions) {
+        return commitAll(author, currentVersions, Collections.emptyMap());
+    }
+
+    @Override
+    public Commit commitAll(String author, Collection<?> currentVersions, Map<String, String> commitProperties) {
+        long start = System.currentTimeMillis();
+
+        argumentsAreNotNull(author, commitProperties, currentVersions);
+        currentVersions.forEach(currentVersion -> {
+            argumentIsNotNull(currentVersion);
+            assertJaversTypeNotValueTypeOrPrimitiveType(currentVersion);
+        });
+
+        Commit commit = commitFactory.createForAll(author, commitProperties, currentVersions);
+        long stopCreate = System.currentTimeMillis();
+
+        persist(commit);
+        long stop = System.currentTimeMillis();
+
+        logger.info(commit.toString()+", {} objects committed in "+ (stop-start)+ " millis (diff:{}, persist:{})",
+                currentVersions.size(), (stopCreate-start), (stop-stopCreate));
+        return commit;
+    }
+
     private void assertJaversTypeNotValueTypeOrPrimitiveType(Object currentVersion) {
         JaversType jType = typeMapper.getJaversType(currentVersion.getClass());
         if (jType instanceof ValueType || jType instanceof PrimitiveType){
@@ -107,6 +135,7 @@ class JaversCore implements Javers {
         } else {
             repository.persist(commit);
         }
+        commitFactory.commitPersisted(commit);
         return commit;
     }
 
@@ -129,6 +158,17 @@ class JaversCore implements Javers {
         return commit;
     }
 
+    @Override
+    public CommitPipeline commitPipeline(CommitPipelineConfiguration configuration) {
+        argumentIsNotNull(configuration);
+        return new CommitPipeline(commitFactory, repository, configuration, this::assertJaversTypeNotValueTypeOrPrimitiveType);
+    }
+
+    @Override
+    public void evictCache() {
+        commitFactory.evictCache();
+    }
+
     private Commit logCommitMessage(long start, CommitWithTimestamp it) {
         long stop = System.currentTimeMillis();
         Commit persistedCommit = it.getCommit();
@@ -199,6 +239,12 @@ class JaversCore implements Javers {
         return queryRunner.queryForSnapshots(query);
     }
 
+    @Override
+    public Stream<CdoSnapshot> findSnapshotsAndStream(JqlQuery query){
+        Validate.argumentIsNotNull(query);
+        return queryRunner.queryForSnapshotsStream(query);
+    }
+
     @Override
     public Changes findChanges(JqlQuery query){
         Validate.argumentIsNotNull(query);
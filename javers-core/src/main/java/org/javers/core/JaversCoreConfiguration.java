@@ -17,6 +17,10 @@ public class JaversCoreConfiguration {
 
     private MappingStyle mappingStyle = MappingStyle.FIELD;
 
+    private PropertyAccessStrategy propertyAccessStrategy = PropertyAccessStrategy.REFLECTION;
+
+    private ObjectHashAlgorithm objectHashAlgorithm = ObjectHashAlgorithm.JSON_V1;
+
     private ListCompareAlgorithm listCompareAlgorithm = ListCompareAlgorithm.SIMPLE;
 
     private boolean newObjectsSnapshot = false;
@@ -25,12 +29,30 @@ public class JaversCoreConfiguration {
 
     private Supplier<CommitId> customCommitIdGenerator;
 
+    private boolean atomicCommitIdSequence = false;
+
+    private boolean parallelGraphBuilding = false;
+
+    private int dirtyCheckingCacheSize = 0;
+
     JaversCoreConfiguration withMappingStyle(MappingStyle mappingStyle) {
         Validate.argumentIsNotNull(mappingStyle);
         this.mappingStyle = mappingStyle;
         return this;
     }
 
+    JaversCoreConfiguration withPropertyAccessStrategy(PropertyAccessStrategy propertyAccessStrategy) {
+        Validate.argumentIsNotNull(propertyAccessStrategy);
+        this.propertyAccessStrategy = propertyAccessStrategy;
+        return this;
+    }
+
+    JaversCoreConfiguration withObjectHashAlgorithm(ObjectHashAlgorithm objectHashAlgorithm) {
+        Validate.argumentIsNotNull(objectHashAlgorithm);
+        this.objectHashAlgorithm = objectHashAlgorithm;
+        return this;
+    }
+
     JaversCoreConfiguration withCommitIdGenerator(CommitIdGenerator commitIdGenerator) {
         Validate.argumentIsNotNull(commitIdGenerator);
         Validate.argumentCheck(commitIdGenerator != CommitIdGenerator.CUSTOM, "use withCustomCommitIdGenerator(Supplier<CommitId>)");
@@ -46,6 +68,22 @@ public class JaversCoreConfiguration {
         return this;
     }
 
+    JaversCoreConfiguration withAtomicCommitIdSequence(boolean atomicCommitIdSequence) {
+        this.atomicCommitIdSequence = atomicCommitIdSequence;
+        return this;
+    }
+
+    JaversCoreConfiguration withParallelGraphBuilding(boolean parallelGraphBuilding) {
+        this.parallelGraphBuilding = parallelGraphBuilding;
+        return this;
+    }
+
+    JaversCoreConfiguration withDirtyCheckingCacheSize(int dirtyCheckingCacheSize) {
+        Validate.argumentCheck(dirtyCheckingCacheSize >= 0, "dirtyCheckingCacheSize should not be negative");
+        this.dirtyCheckingCacheSize = dirtyCheckingCacheSize;
+        return this;
+    }
+
     JaversCoreConfiguration withNewObjectsSnapshot(boolean newObjectsSnapshot) {
         this.newObjectsSnapshot = newObjectsSnapshot;
         return this;
@@ -69,6 +107,14 @@ public class JaversCoreConfiguration {
         return mappingStyle;
     }
 
+    public PropertyAccessStrategy getPropertyAccessStrategy() {
+        return propertyAccessStrategy;
+    }
+
+    public ObjectHashAlgorithm getObjectHashAlgorithm() {
+        return objectHashAlgorithm;
+    }
+
     public ListCompareAlgorithm getListCompareAlgorithm() {
         return listCompareAlgorithm;
     }
@@ -84,4 +130,16 @@ public class JaversCoreConfiguration {
     public Supplier<CommitId> getCustomCommitIdGenerator() {
         return customCommitIdGenerator;
     }
+
+    public boolean isAtomicCommitIdSequence() {
+        return atomicCommitIdSequence;
+    }
+
+    public boolean isParallelGraphBuilding() {
+        return parallelGraphBuilding;
+    }
+
+    public int getDirtyCheckingCacheSize() {
+        return dirtyCheckingCacheSize;
+    }
 }
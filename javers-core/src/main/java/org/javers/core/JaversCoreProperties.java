@@ -12,7 +12,12 @@ import java.util.Map;
 public abstract class JaversCoreProperties {
     private String algorithm = "simple";
     private String commitIdGenerator = "synchronized_sequence";
+    private boolean atomicCommitIdSequence = false;
+    private boolean parallelGraphBuilding = false;
+    private int dirtyCheckingCacheSize = 0;
     private String mappingStyle = "field";
+    private String propertyAccessStrategy = "reflection";
+    private String objectHashAlgorithm = "json_v1";
     private boolean newObjectSnapshot = false;
     private boolean prettyPrint = true;
     private boolean typeSafeValues = false;
@@ -27,10 +32,30 @@ public abstract class JaversCoreProperties {
         return commitIdGenerator;
     }
 
+    public boolean isAtomicCommitIdSequence() {
+        return atomicCommitIdSequence;
+    }
+
+    public boolean isParallelGraphBuilding() {
+        return parallelGraphBuilding;
+    }
+
+    public int getDirtyCheckingCacheSize() {
+        return dirtyCheckingCacheSize;
+    }
+
     public String getMappingStyle() {
         return mappingStyle;
     }
 
+    public String getPropertyAccessStrategy() {
+        return propertyAccessStrategy;
+    }
+
+    public String getObjectHashAlgorithm() {
+        return objectHashAlgorithm;
+    }
+
     public boolean isNewObjectSnapshot() {
         return newObjectSnapshot;
     }
@@ -55,10 +80,30 @@ public abstract class JaversCoreProperties {
         this.commitIdGenerator = commitIdGenerator;
     }
 
+    public void setAtomicCommitIdSequence(boolean atomicCommitIdSequence) {
+        this.atomicCommitIdSequence = atomicCommitIdSequence;
+    }
+
+    public void setParallelGraphBuilding(boolean parallelGraphBuilding) {
+        this.parallelGraphBuilding = parallelGraphBuilding;
+    }
+
+    public void setDirtyCheckingCacheSize(int dirtyCheckingCacheSize) {
+        this.dirtyCheckingCacheSize = dirtyCheckingCacheSize;
+    }
+
     public void setMappingStyle(String mappingStyle) {
         this.mappingStyle = mappingStyle;
     }
 
+    public void setPropertyAccessStrategy(String propertyAccessStrategy) {
+        this.propertyAccessStrategy = propertyAccessStrategy;
+    }
+
+    public void setObjectHashAlgorithm(String objectHashAlgorithm) {
+        this.objectHashAlgorithm = objectHashAlgorithm;
+    }
+
     public void setNewObjectSnapshot(boolean newObjectSnapshot) {
         this.newObjectSnapshot = newObjectSnapshot;
     }
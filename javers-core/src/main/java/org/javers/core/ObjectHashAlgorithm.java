@@ -0,0 +1,28 @@
+package org.javers.core;
+
+/**
+ * Algorithm used to calculate hashes of Value Objects
+ * stored in Sets and other collections which need hashing,
+ * for example <code>ListAsSet</code>.
+ * <br/><br/>
+ *
+ * Hashes are part of Value Object ids, so they are persisted in JaversRepository.
+ * Changing the algorithm for an existing repository changes ids of these Value Objects.
+ *
+ * @since 5.14
+ */
+public enum ObjectHashAlgorithm {
+    /**
+     * SHA-256 of JSON snapshot states,
+     * used by all JaVers versions before 5.14
+     */
+    JSON_V1,
+
+    /**
+     * SHA-256 of a canonical binary encoding of property values,
+     * streamed straight into a MessageDigest.
+     * <br/>
+     * Faster than {@link #JSON_V1} and doesn't depend on iteration order of Sets and Maps.
+     */
+    BINARY_V2
+}
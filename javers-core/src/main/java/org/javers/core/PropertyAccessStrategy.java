@@ -0,0 +1,22 @@
+package org.javers.core;
+
+/**
+ * How JaVers reads and writes property values of Entities and Value Objects.
+ *
+ * @since 5.14
+ */
+public enum PropertyAccessStrategy {
+    /**
+     * Plain Java Reflection,
+     * {@link java.lang.reflect.Field#get(Object)} and {@link java.lang.reflect.Method#invoke(Object, Object...)}
+     */
+    REFLECTION,
+
+    /**
+     * {@link java.lang.invoke.MethodHandle}s compiled once per property, when a class is scanned.
+     * <br/>
+     * Faster for large object graphs, property access falls back to Reflection
+     * when a MethodHandle can't be created.
+     */
+    METHOD_HANDLES
+}
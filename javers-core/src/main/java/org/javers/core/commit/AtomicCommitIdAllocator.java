@@ -0,0 +1,35 @@
+package org.javers.core.commit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free alternative to {@link CommitSeqGenerator}.
+ * <br/>
+ * Reads the head id from a repository only once,
+ * then hands out subsequent major ids with CAS on an atomic counter.
+ * Resynced when a commit meets a snapshot persisted by another writer.
+ * <br/><br/>
+ *
+ * Thread safe. Should not be used in distributed applications.
+ */
+class AtomicCommitIdAllocator {
+    private static final long NOT_INITIALIZED = -1;
+
+    private final AtomicLong lastMajorId = new AtomicLong(NOT_INITIALIZED);
+
+    CommitId nextId(Supplier<CommitId> headIdSupplier) {
+        if (lastMajorId.get() == NOT_INITIALIZED) {
+            CommitId head = headIdSupplier.get();
+            lastMajorId.compareAndSet(NOT_INITIALIZED, head == null ? 0 : head.getMajorId());
+        }
+        return new CommitId(lastMajorId.incrementAndGet(), 0);
+    }
+
+    /**
+     * Moves the counter forward, so next ids are greater than a given one
+     */
+    void resync(CommitId persisted) {
+        lastMajorId.accumulateAndGet(persisted.getMajorId(), Math::max);
+    }
+}
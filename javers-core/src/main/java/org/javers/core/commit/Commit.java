@@ -7,6 +7,7 @@ import org.javers.core.diff.Change;
 import org.javers.core.diff.Diff;
 import org.javers.core.graph.Cdo;
 import org.javers.core.metamodel.object.CdoSnapshot;
+import org.javers.core.metamodel.object.GlobalId;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -39,11 +40,21 @@ public final class Commit {
     private final List<CdoSnapshot> snapshots;
     private final Diff diff;
 
+    /**
+     * Fingerprints of checked objects states, registered by dirty checking when the commit is persisted
+     */
+    private final Map<GlobalId, byte[]> stateFingerprints;
+
     Commit(CommitMetadata commitMetadata, List<CdoSnapshot> snapshots, Diff diff) {
-        Validate.argumentsAreNotNull(commitMetadata, snapshots, diff);
+        this(commitMetadata, snapshots, diff, Collections.emptyMap());
+    }
+
+    Commit(CommitMetadata commitMetadata, List<CdoSnapshot> snapshots, Diff diff, Map<GlobalId, byte[]> stateFingerprints) {
+        Validate.argumentsAreNotNull(commitMetadata, snapshots, diff, stateFingerprints);
         this.commitMetadata = commitMetadata;
         this.snapshots = snapshots;
         this.diff = diff;
+        this.stateFingerprints = stateFingerprints;
     }
 
     /**
@@ -66,6 +77,10 @@ public final class Commit {
         return diff;
     }
 
+    Map<GlobalId, byte[]> getStateFingerprints() {
+        return stateFingerprints;
+    }
+
     /**
      * Commit creation timestamp in local time zone
      */
@@ -7,21 +7,19 @@ import org.javers.common.exception.JaversExceptionCode;
 import org.javers.core.JaversCoreConfiguration;
 import org.javers.core.diff.Diff;
 import org.javers.core.diff.DiffFactory;
-import org.javers.core.graph.Cdo;
-import org.javers.core.graph.LiveGraph;
-import org.javers.core.graph.LiveGraphFactory;
-import org.javers.core.graph.ObjectGraph;
+import org.javers.core.diff.IncrementalDiffBuilder;
+import org.javers.core.graph.*;
 import org.javers.core.metamodel.object.CdoSnapshot;
 import org.javers.core.metamodel.object.GlobalId;
 import org.javers.core.snapshot.ChangedCdoSnapshotsFactory;
 import org.javers.core.snapshot.SnapshotFactory;
 import org.javers.core.snapshot.SnapshotGraphFactory;
 import org.javers.repository.api.JaversExtendedRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.ZonedDateTime;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 
 import static org.javers.common.validation.Validate.argumentsAreNotNull;
 
@@ -29,6 +27,8 @@ import static org.javers.common.validation.Validate.argumentsAreNotNull;
  * @author bartosz walacik
  */
 public class CommitFactory {
+    private static final Logger logger = LoggerFactory.getLogger(CommitFactory.class);
+
     private final DiffFactory diffFactory;
     private final JaversExtendedRepository javersRepository;
     private final DateProvider dateProvider;
@@ -37,8 +37,10 @@ public class CommitFactory {
     private final SnapshotGraphFactory snapshotGraphFactory;
     private final ChangedCdoSnapshotsFactory changedCdoSnapshotsFactory;
     private final CommitIdFactory commitIdFactory;
+    private final StateFingerprinter stateFingerprinter;
+    private final Optional<StateFingerprintCache> fingerprintCache;
 
-    public CommitFactory(DiffFactory diffFactory, JaversExtendedRepository javersRepository, DateProvider dateProvider, LiveGraphFactory liveGraphFactory, SnapshotFactory snapshotFactory, SnapshotGraphFactory snapshotGraphFactory, ChangedCdoSnapshotsFactory changedCdoSnapshotsFactory, CommitIdFactory commitIdFactory) {
+    public CommitFactory(DiffFactory diffFactory, JaversExtendedRepository javersRepository, DateProvider dateProvider, LiveGraphFactory liveGraphFactory, SnapshotFactory snapshotFactory, SnapshotGraphFactory snapshotGraphFactory, ChangedCdoSnapshotsFactory changedCdoSnapshotsFactory, CommitIdFactory commitIdFactory, StateFingerprinter stateFingerprinter, JaversCoreConfiguration javersCoreConfiguration) {
         this.diffFactory = diffFactory;
         this.javersRepository = javersRepository;
         this.dateProvider = dateProvider;
@@ -47,13 +49,34 @@ public class CommitFactory {
         this.snapshotGraphFactory = snapshotGraphFactory;
         this.changedCdoSnapshotsFactory = changedCdoSnapshotsFactory;
         this.commitIdFactory = commitIdFactory;
+        this.stateFingerprinter = stateFingerprinter;
+
+        int cacheSize = javersCoreConfiguration.getDirtyCheckingCacheSize();
+        this.fingerprintCache = cacheSize > 0 ? Optional.of(new StateFingerprintCache(cacheSize)) : Optional.empty();
+    }
+
+    /**
+     * Registers state fingerprints of a persisted commit, used by dirty checking
+     */
+    public void commitPersisted(Commit commit) {
+        argumentsAreNotNull(commit);
+        fingerprintCache.ifPresent(cache -> cache.putAll(commit.getStateFingerprints()));
+    }
+
+    /**
+     * Evicts state fingerprints, for example, when a transaction with commits is rolled back
+     */
+    public void evictCache() {
+        fingerprintCache.ifPresent(StateFingerprintCache::evictAll);
     }
 
     public Commit createTerminalByGlobalId(String author, Map<String, String> properties, GlobalId removedId){
         argumentsAreNotNull(author, properties, removedId);
+        fingerprintCache.ifPresent(cache -> cache.evict(removedId));
         Optional<CdoSnapshot> previousSnapshot = javersRepository.getLatest(removedId);
 
-        CommitMetadata commitMetadata = newCommitMetadata(author, properties);
+        CommitMetadata commitMetadata = newCommitMetadata(author, properties,
+                previousSnapshot.map(Collections::singleton).orElse(Collections.emptySet()));
         CdoSnapshot terminalSnapshot = previousSnapshot
                 .map(prev -> snapshotFactory.createTerminal(removedId, prev, commitMetadata))
                 .orElseThrow(() -> new JaversException(JaversExceptionCode.CANT_DELETE_OBJECT_NOT_FOUND, removedId.value()));
@@ -73,24 +96,98 @@ public class CommitFactory {
         return createCommit(author, properties, currentGraph);
     }
 
+    /**
+     * Creates one Commit for many object graphs,
+     * latest snapshots of all reachable objects are loaded in a single batch.
+     */
+    public Commit createForAll(String author, Map<String, String> properties, Collection<?> currentVersions){
+        argumentsAreNotNull(author, currentVersions);
+        LiveGraph currentGraph = liveGraphFactory.createMergedLiveGraph(currentVersions);
+        return createCommit(author, properties, currentGraph);
+    }
+
+    /**
+     * Used by {@link CommitPipeline}, snapshots of commits not yet persisted
+     * are taken as the latest ones
+     */
+    Commit create(String author, Map<String, String> properties, LiveGraph currentGraph, Map<GlobalId, CdoSnapshot> unpersistedSnapshots){
+        ObjectGraph<CdoSnapshot> latestSnapshotGraph = snapshotGraphFactory.createLatest(currentGraph.globalIds(), unpersistedSnapshots);
+        Commit commit = createCommit(author, properties, currentGraph.nodes(), latestSnapshotGraph, Collections.emptyMap());
+
+        //fingerprints are not registered by the pipeline, so the stale ones are evicted
+        fingerprintCache.ifPresent(cache -> commit.getSnapshots().forEach(s -> cache.evict(s.getGlobalId())));
+        return commit;
+    }
+
     private Commit createCommit(String author, Map<String, String> properties, LiveGraph currentGraph){
-        CommitMetadata commitMetadata = newCommitMetadata(author, properties);
+        if (fingerprintCache.isPresent()) {
+            return createDirtyCheckedCommit(author, properties, currentGraph, fingerprintCache.get());
+        }
+
         ObjectGraph<CdoSnapshot> latestSnapshotGraph = snapshotGraphFactory.createLatest(currentGraph.globalIds());
-        List<CdoSnapshot> changedCdoSnapshots =
-            changedCdoSnapshotsFactory.create(currentGraph, latestSnapshotGraph.cdos(), commitMetadata);
-        Diff diff = diffFactory.create(latestSnapshotGraph, currentGraph, Optional.of(commitMetadata));
-        return new Commit(commitMetadata, changedCdoSnapshots, diff);
+        return createCommit(author, properties, currentGraph.nodes(), latestSnapshotGraph, Collections.emptyMap());
+    }
+
+    /**
+     * Objects with the same state fingerprints as registered after previous commits are skipped,
+     * latest snapshots are loaded and new snapshots are created only for the dirty ones
+     */
+    private Commit createDirtyCheckedCommit(String author, Map<String, String> properties, LiveGraph currentGraph, StateFingerprintCache cache){
+        List<ObjectNode> dirtyNodes = new ArrayList<>();
+        Map<GlobalId, byte[]> dirtyFingerprints = new HashMap<>();
+
+        for (ObjectNode node : currentGraph.nodes()) {
+            byte[] fingerprint = stateFingerprinter.fingerprint((LiveNode) node);
+            if (!cache.isUnchanged(node.getGlobalId(), fingerprint)) {
+                dirtyNodes.add(node);
+                dirtyFingerprints.put(node.getGlobalId(), fingerprint);
+            }
+        }
+        logger.debug("dirty checking: {} of {} objects changed since their last commit", dirtyNodes.size(), currentGraph.nodes().size());
+
+        ObjectGraph<CdoSnapshot> latestSnapshotGraph = snapshotGraphFactory.createLatest(dirtyFingerprints.keySet());
+        return createCommit(author, properties, dirtyNodes, latestSnapshotGraph, dirtyFingerprints);
+    }
+
+    private Commit createCommit(String author, Map<String, String> properties, Collection<? extends ObjectNode> currentNodes,
+                                ObjectGraph<CdoSnapshot> latestSnapshotGraph, Map<GlobalId, byte[]> stateFingerprints){
+        CommitMetadata commitMetadata = newCommitMetadata(author, properties, latestSnapshotGraph.cdos());
+
+        List<CdoSnapshot> changedCdoSnapshots = new ArrayList<>();
+        IncrementalDiffBuilder diff = diffFactory.incrementalDiff(Optional.of(commitMetadata));
+
+        //snapshots and changes are calculated in one traversal,
+        //unchanged objects are skipped before diffing
+        for (ObjectNode node : currentNodes) {
+            LiveNode liveNode = (LiveNode) node;
+            Optional<ObjectNode<CdoSnapshot>> previousNode = latestSnapshotGraph.findNode(node.getGlobalId());
+
+            Optional<CdoSnapshot> changedSnapshot = changedCdoSnapshotsFactory
+                    .createIfChanged(liveNode, previousNode.map(ObjectNode::getCdo), commitMetadata);
+            if (!changedSnapshot.isPresent()) {
+                continue;
+            }
+
+            changedCdoSnapshots.add(changedSnapshot.get());
+            if (previousNode.isPresent()) {
+                diff.addChangedObject(previousNode.get(), liveNode);
+            } else {
+                diff.addNewObject(liveNode);
+            }
+        }
+
+        return new Commit(commitMetadata, changedCdoSnapshots, diff.build(), stateFingerprints);
     }
 
-    private LiveGraph createLiveGraph(Object currentVersion){
+    LiveGraph createLiveGraph(Object currentVersion){
         argumentsAreNotNull(currentVersion);
         return liveGraphFactory.createLiveGraph(currentVersion);
     }
 
-    private CommitMetadata newCommitMetadata(String author, Map<String, String> properties){
+    private CommitMetadata newCommitMetadata(String author, Map<String, String> properties, Collection<CdoSnapshot> latestSnapshots){
         ZonedDateTime now = dateProvider.now();
         return new CommitMetadata(author, properties,
                 now.toLocalDateTime(), now.toInstant(),
-                commitIdFactory.nextId());
+                commitIdFactory.nextId(latestSnapshots));
     }
 }
@@ -3,8 +3,12 @@ package org.javers.core.commit;
 import org.javers.common.exception.JaversException;
 import org.javers.common.exception.JaversExceptionCode;
 import org.javers.core.JaversCoreConfiguration;
+import org.javers.core.metamodel.object.CdoSnapshot;
 import org.javers.repository.api.JaversExtendedRepository;
 
+import java.util.Collection;
+import java.util.Optional;
+
 import static org.javers.core.CommitIdGenerator.CUSTOM;
 import static org.javers.core.CommitIdGenerator.RANDOM;
 import static org.javers.core.CommitIdGenerator.SYNCHRONIZED_SEQUENCE;
@@ -14,6 +18,7 @@ class CommitIdFactory {
     private final JaversExtendedRepository javersRepository;
     private final CommitSeqGenerator commitSeqGenerator;
     private final DistributedCommitSeqGenerator distributedCommitSeqGenerator;
+    private final AtomicCommitIdAllocator atomicCommitIdAllocator = new AtomicCommitIdAllocator();
 
     CommitIdFactory(JaversCoreConfiguration javersCoreConfiguration, JaversExtendedRepository javersRepository, CommitSeqGenerator commitSeqGenerator, DistributedCommitSeqGenerator distributedCommitSeqGenerator) {
         this.javersCoreConfiguration = javersCoreConfiguration;
@@ -24,6 +29,10 @@ class CommitIdFactory {
 
     CommitId nextId() {
         if (javersCoreConfiguration.getCommitIdGenerator() == SYNCHRONIZED_SEQUENCE) {
+            if (javersCoreConfiguration.isAtomicCommitIdSequence()) {
+                return atomicCommitIdAllocator.nextId(() -> javersRepository.getHeadId());
+            }
+
             CommitId head = javersRepository.getHeadId();
             return commitSeqGenerator.nextId(head);
         }
@@ -38,4 +47,30 @@ class CommitIdFactory {
 
         throw new JaversException(JaversExceptionCode.NOT_IMPLEMENTED);
     }
+
+    /**
+     * Allocates the next id, greater than commit ids of the latest snapshots of committed objects.
+     * <br/>
+     * With the atomic sequence, a persisted snapshot with equal or greater id
+     * means that another writer has moved the head, so the counter is resynced.
+     */
+    CommitId nextId(Collection<CdoSnapshot> latestSnapshots) {
+        CommitId next = nextId();
+
+        if (javersCoreConfiguration.getCommitIdGenerator() != SYNCHRONIZED_SEQUENCE ||
+           !javersCoreConfiguration.isAtomicCommitIdSequence()) {
+            return next;
+        }
+
+        Optional<CommitId> conflicting = latestSnapshots.stream()
+                .map(CdoSnapshot::getCommitId)
+                .filter(persisted -> persisted.getMajorId() >= next.getMajorId())
+                .max(CommitId::compareTo);
+
+        if (conflicting.isPresent()) {
+            atomicCommitIdAllocator.resync(conflicting.get());
+            return nextId();
+        }
+        return next;
+    }
 }
@@ -0,0 +1,330 @@
+package org.javers.core.commit;
+
+import org.javers.common.exception.JaversException;
+import org.javers.common.exception.JaversExceptionCode;
+import org.javers.core.graph.LiveGraph;
+import org.javers.core.metamodel.object.CdoSnapshot;
+import org.javers.core.metamodel.object.GlobalId;
+import org.javers.repository.api.JaversExtendedRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.javers.common.validation.Validate.argumentsAreNotNull;
+
+/**
+ * Group-commit pipeline.
+ * Commits are calculated in parallel and persisted in batches
+ * with {@link org.javers.repository.api.JaversRepository#persistAll(List)}.
+ * What a batch saves depends on the repository,
+ * MongoRepository inserts snapshots of a batch at once,
+ * JaversSqlRepository persists commits of a batch one by one, in one session.
+ * <br/><br/>
+ *
+ * A batch is flushed when it reaches {@link CommitPipelineConfiguration#getMaxBatchSize()}
+ * or when its first commit waits longer than {@link CommitPipelineConfiguration#getMaxBatchLatency()}.
+ * When {@link CommitPipelineConfiguration#getCapacity()} commits are waiting,
+ * {@link #submit(String, Object)} blocks.
+ * <br/><br/>
+ *
+ * Snapshots of commits waiting in the pipeline are used as the latest ones
+ * by next commits of the same objects, so version numbers are kept in order.
+ * <br/><br/>
+ *
+ * When a batch fails, commits waiting in the pipeline could be calculated against its snapshots,
+ * which never reached the repository.
+ * So the pipeline is broken: commits enqueued before the failure,
+ * and the ones being calculated meanwhile, are rejected
+ * with {@link JaversExceptionCode#COMMIT_PIPELINE_BROKEN}.
+ * When all commits enqueued before the failure are rejected, it works normally again.
+ * <br/><br/>
+ *
+ * Thread safe. Close the pipeline to flush all waiting commits.
+ *
+ * @see org.javers.core.Javers#commitPipeline(CommitPipelineConfiguration)
+ * @since 5.14
+ */
+public class CommitPipeline implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(CommitPipeline.class);
+    private static final int LOCK_STRIPES = 64;
+    private static final long CLOSE_CHECK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final CommitFactory commitFactory;
+    private final JaversExtendedRepository repository;
+    private final CommitPipelineConfiguration configuration;
+    private final Consumer<Object> currentVersionValidator;
+
+    private final Semaphore capacity;
+    private final BlockingQueue<PendingCommit> persistQueue = new LinkedBlockingQueue<>();
+    private final Map<GlobalId, CdoSnapshot> unpersistedSnapshots = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    /**
+     * Changed when the pipeline breaks and when it recovers,
+     * a commit is enqueued only if the generation hasn't changed since its calculation started
+     */
+    private volatile long generation;
+    private volatile RuntimeException brokenBy;
+    private volatile RuntimeException lastFailure;
+
+    public CommitPipeline(CommitFactory commitFactory, JaversExtendedRepository repository,
+                          CommitPipelineConfiguration configuration, Consumer<Object> currentVersionValidator) {
+        argumentsAreNotNull(commitFactory, repository, configuration, currentVersionValidator);
+        this.commitFactory = commitFactory;
+        this.repository = repository;
+        this.configuration = configuration;
+        this.currentVersionValidator = currentVersionValidator;
+        this.capacity = new Semaphore(configuration.getCapacity());
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        this.flusher = new Thread(this::flushLoop, "javers-commit-pipeline");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Pipeline version of {@link org.javers.core.Javers#commit(String, Object)}.
+     *
+     * @return completed when the commit is persisted
+     */
+    public CompletableFuture<Commit> submit(String author, Object currentVersion) {
+        return submit(author, currentVersion, Collections.emptyMap());
+    }
+
+    /**
+     * Pipeline version of {@link org.javers.core.Javers#commit(String, Object, Map)}.
+     * Blocks when the pipeline is full.
+     *
+     * @return completed when the commit is persisted
+     */
+    public CompletableFuture<Commit> submit(String author, Object currentVersion, Map<String, String> commitProperties) {
+        argumentsAreNotNull(author, commitProperties, currentVersion);
+        currentVersionValidator.accept(currentVersion);
+
+        if (closed) {
+            throw new JaversException(JaversExceptionCode.COMMIT_PIPELINE_CLOSED);
+        }
+
+        CompletableFuture<Commit> result = new CompletableFuture<>();
+        try {
+            capacity.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        if (closed) {
+            releaseCapacity(1);
+            throw new JaversException(JaversExceptionCode.COMMIT_PIPELINE_CLOSED);
+        }
+
+        try {
+            CompletableFuture.runAsync(() -> createAndEnqueue(author, commitProperties, currentVersion, result),
+                    configuration.getDiffExecutor());
+        } catch (RejectedExecutionException e) {
+            releaseCapacity(1);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Stops accepting new commits, waits until all submitted commits are persisted
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void createAndEnqueue(String author, Map<String, String> commitProperties, Object currentVersion,
+                                  CompletableFuture<Commit> result) {
+        try {
+            LiveGraph currentGraph = commitFactory.createLiveGraph(currentVersion);
+
+            //commits of the same objects are created one by one, in the order of locking
+            List<ReentrantLock> graphLocks = locksFor(currentGraph.globalIds());
+            graphLocks.forEach(ReentrantLock::lock);
+            try {
+                long commitGeneration = generation;
+                throwIfBroken();
+                Commit[] commit = new Commit[1];
+                configuration.getRepositoryCallWrapper().accept(() ->
+                        commit[0] = commitFactory.create(author, commitProperties, currentGraph, unpersistedSnapshots));
+
+                enqueue(new PendingCommit(commit[0], result, commitGeneration));
+            } finally {
+                graphLocks.forEach(ReentrantLock::unlock);
+            }
+        } catch (RuntimeException e) {
+            releaseCapacity(1);
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Rejects commits calculated while a batch failed,
+     * they could use its snapshots as the latest ones
+     */
+    private synchronized void enqueue(PendingCommit pending) {
+        if (pending.generation != generation) {
+            throw brokenException(lastFailure);
+        }
+        throwIfBroken();
+
+        pending.commit.getSnapshots().forEach(s -> unpersistedSnapshots.put(s.getGlobalId(), s));
+        persistQueue.add(pending);
+    }
+
+    private void throwIfBroken() {
+        RuntimeException cause = brokenBy;
+        if (cause != null) {
+            throw brokenException(cause);
+        }
+    }
+
+    private JaversException brokenException(RuntimeException cause) {
+        JaversException e = new JaversException(JaversExceptionCode.COMMIT_PIPELINE_BROKEN, cause.getMessage());
+        e.initCause(cause);
+        return e;
+    }
+
+    private synchronized void breakPipeline(RuntimeException cause, int batchSize) {
+        if (brokenBy == null) {
+            logger.error("failed to persist a batch of " + batchSize + " commits", cause);
+            brokenBy = cause;
+            lastFailure = cause;
+            generation++;
+        }
+    }
+
+    /**
+     * No commit is enqueued while the pipeline is broken,
+     * so when the queue is empty, all commits enqueued before the failure are rejected
+     * and unpersisted snapshots can be forgotten
+     */
+    private synchronized void recoverIfRejectedAll() {
+        if (brokenBy != null && persistQueue.isEmpty()) {
+            unpersistedSnapshots.clear();
+            brokenBy = null;
+            generation++;
+            logger.info("commits enqueued before the failed batch are rejected, accepting commits again");
+        }
+    }
+
+    private void releaseCapacity(int permits) {
+        capacity.release(permits);
+    }
+
+    private List<ReentrantLock> locksFor(Set<GlobalId> globalIds) {
+        return globalIds.stream()
+                .map(id -> Math.floorMod(id.hashCode(), LOCK_STRIPES))
+                .distinct()
+                .sorted()
+                .map(i -> locks[i])
+                .collect(Collectors.toList());
+    }
+
+    private void flushLoop() {
+        while (!closed || capacity.availablePermits() < configuration.getCapacity()) {
+            try {
+                PendingCommit first = persistQueue.poll(CLOSE_CHECK_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<PendingCommit> batch = new ArrayList<>();
+                batch.add(first);
+                long deadline = System.nanoTime() + configuration.getMaxBatchLatency().toNanos();
+
+                while (batch.size() < configuration.getMaxBatchSize()) {
+                    //when closing, the batch is flushed without waiting for the latency deadline
+                    long wait = closed ? 0 : Math.min(deadline - System.nanoTime(), CLOSE_CHECK_INTERVAL_NANOS);
+                    PendingCommit next = wait > 0 ? persistQueue.poll(wait, TimeUnit.NANOSECONDS) : persistQueue.poll();
+                    if (next != null) {
+                        batch.add(next);
+                    } else if (closed || System.nanoTime() >= deadline) {
+                        break;
+                    }
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<PendingCommit> batch) {
+        long start = System.currentTimeMillis();
+
+        //commits enqueued before a failed batch could be calculated against its snapshots
+        long currentGeneration = generation;
+        Map<Boolean, List<PendingCommit>> enqueuedBeforeFailure = batch.stream()
+                .collect(Collectors.partitioningBy(it -> it.generation != currentGeneration));
+
+        List<Commit> nonEmpty = enqueuedBeforeFailure.get(false).stream()
+                .map(it -> it.commit)
+                .filter(it -> !it.getSnapshots().isEmpty())
+                .collect(Collectors.toList());
+
+        RuntimeException failure = null;
+        try {
+            if (!nonEmpty.isEmpty()) {
+                configuration.getRepositoryCallWrapper().accept(() -> repository.persistAll(nonEmpty));
+            }
+            logger.debug("{} commits persisted in a batch in {} millis", nonEmpty.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            breakPipeline(e, nonEmpty.size());
+            failure = e;
+        }
+
+        //snapshots are equal when their GlobalIds are equal, so the removal is by identity,
+        //a newer snapshot of the same object stays until its own commit is persisted
+        batch.forEach(it -> it.commit.getSnapshots()
+                .forEach(s -> unpersistedSnapshots.computeIfPresent(s.getGlobalId(),
+                        (id, unpersisted) -> unpersisted == s ? null : unpersisted)));
+        releaseCapacity(batch.size());
+        recoverIfRejectedAll();
+
+        //callbacks of futures run in this thread, so they are completed after releasing the capacity
+        for (PendingCommit it : enqueuedBeforeFailure.get(true)) {
+            it.result.completeExceptionally(brokenException(lastFailure));
+        }
+        for (PendingCommit it : enqueuedBeforeFailure.get(false)) {
+            if (failure == null) {
+                it.result.complete(it.commit);
+            } else {
+                it.result.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private static class PendingCommit {
+        private final Commit commit;
+        private final CompletableFuture<Commit> result;
+        private final long generation;
+
+        PendingCommit(Commit commit, CompletableFuture<Commit> result, long generation) {
+            this.commit = commit;
+            this.result = result;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.javers.core.commit;
+
+import org.javers.common.validation.Validate;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Settings of a {@link CommitPipeline}.
+ * Immutable, each <code>with*</code> method returns a modified copy.
+ *
+ * @see org.javers.core.Javers#commitPipeline(CommitPipelineConfiguration)
+ * @since 5.14
+ */
+public class CommitPipelineConfiguration {
+    private final int maxBatchSize;
+    private final Duration maxBatchLatency;
+    private final int capacity;
+    private final Executor diffExecutor;
+    private final Consumer<Runnable> repositoryCallWrapper;
+
+    public CommitPipelineConfiguration() {
+        this(100, Duration.ofMillis(10), 1000, ForkJoinPool.commonPool(), Runnable::run);
+    }
+
+    private CommitPipelineConfiguration(int maxBatchSize, Duration maxBatchLatency, int capacity,
+                                        Executor diffExecutor, Consumer<Runnable> repositoryCallWrapper) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchLatency = maxBatchLatency;
+        this.capacity = capacity;
+        this.diffExecutor = diffExecutor;
+        this.repositoryCallWrapper = repositoryCallWrapper;
+    }
+
+    /**
+     * A batch is flushed to JaversRepository when it reaches this size.
+     * Default is 100.
+     */
+    public CommitPipelineConfiguration withMaxBatchSize(int maxBatchSize) {
+        Validate.argumentCheck(maxBatchSize > 0, "maxBatchSize should be positive");
+        return new CommitPipelineConfiguration(maxBatchSize, maxBatchLatency, capacity, diffExecutor, repositoryCallWrapper);
+    }
+
+    /**
+     * A batch is flushed to JaversRepository when its first commit waits that long,
+     * even if the batch is not full.
+     * Default is 10 millis.
+     */
+    public CommitPipelineConfiguration withMaxBatchLatency(Duration maxBatchLatency) {
+        Validate.argumentIsNotNull(maxBatchLatency);
+        Validate.argumentCheck(!maxBatchLatency.isNegative(), "maxBatchLatency should not be negative");
+        return new CommitPipelineConfiguration(maxBatchSize, maxBatchLatency, capacity, diffExecutor, repositoryCallWrapper);
+    }
+
+    /**
+     * Max number of commits in the pipeline, not yet persisted.
+     * When reached, {@link CommitPipeline#submit(String, Object)} blocks.
+     * Default is 1000.
+     */
+    public CommitPipelineConfiguration withCapacity(int capacity) {
+        Validate.argumentCheck(capacity > 0, "capacity should be positive");
+        return new CommitPipelineConfiguration(maxBatchSize, maxBatchLatency, capacity, diffExecutor, repositoryCallWrapper);
+    }
+
+    /**
+     * Executor used to calculate commits in parallel.
+     * Default is {@link ForkJoinPool#commonPool()}.
+     */
+    public CommitPipelineConfiguration withDiffExecutor(Executor diffExecutor) {
+        Validate.argumentIsNotNull(diffExecutor);
+        return new CommitPipelineConfiguration(maxBatchSize, maxBatchLatency, capacity, diffExecutor, repositoryCallWrapper);
+    }
+
+    /**
+     * Wraps each group of JaversRepository calls made by the pipeline,
+     * for example, to run them in a transaction.
+     * <br/>
+     * The wrapper should run a given call in the current thread.
+     */
+    public CommitPipelineConfiguration withRepositoryCallWrapper(Consumer<Runnable> repositoryCallWrapper) {
+        Validate.argumentIsNotNull(repositoryCallWrapper);
+        return new CommitPipelineConfiguration(maxBatchSize, maxBatchLatency, capacity, diffExecutor, repositoryCallWrapper);
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public Duration getMaxBatchLatency() {
+        return maxBatchLatency;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Executor getDiffExecutor() {
+        return diffExecutor;
+    }
+
+    public Consumer<Runnable> getRepositoryCallWrapper() {
+        return repositoryCallWrapper;
+    }
+}
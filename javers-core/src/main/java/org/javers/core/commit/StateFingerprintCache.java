@@ -0,0 +1,50 @@
+package org.javers.core.commit;
+
+import org.javers.core.metamodel.object.GlobalId;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least recently used cache of state fingerprints of committed objects.
+ * Thread safe.
+ *
+ * @see org.javers.core.graph.StateFingerprinter
+ */
+class StateFingerprintCache {
+    private final Map<GlobalId, byte[]> fingerprints;
+
+    StateFingerprintCache(int maxSize) {
+        this.fingerprints = Collections.synchronizedMap(new LinkedHashMap<GlobalId, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GlobalId, byte[]> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * @return true if a given object was committed with the same state
+     */
+    boolean isUnchanged(GlobalId globalId, byte[] fingerprint) {
+        return Arrays.equals(fingerprints.get(globalId), fingerprint);
+    }
+
+    void putAll(Map<GlobalId, byte[]> committed) {
+        fingerprints.putAll(committed);
+    }
+
+    void evict(GlobalId globalId) {
+        fingerprints.remove(globalId);
+    }
+
+    void evictAll() {
+        fingerprints.clear();
+    }
+
+    int size() {
+        return fingerprints.size();
+    }
+}
@@ -102,9 +102,26 @@ public class DiffFactory {
     }
 
     /**
-     * Graph scope appender
+     * For commits, where nodes are matched with their latest snapshots
+     * in the same graph traversal which creates new snapshots.
      */
+    public IncrementalDiffBuilder incrementalDiff(Optional<CommitMetadata> commitMetadata) {
+        Validate.argumentIsNotNull(commitMetadata);
+        return new IncrementalDiffBuilder(this, commitMetadata);
+    }
+
+    Diff create(GraphPair graphPair, List<NodePair> matchedPairs) {
+        return createAndAppendChanges(graphPair, matchedPairs);
+    }
+
     private Diff createAndAppendChanges(GraphPair graphPair) {
+        return createAndAppendChanges(graphPair, nodeMatcher.match(graphPair));
+    }
+
+    /**
+     * Graph scope appender
+     */
+    private Diff createAndAppendChanges(GraphPair graphPair, List<NodePair> matchedPairs) {
         DiffBuilder diff = new DiffBuilder(javersCoreConfiguration.getPrettyValuePrinter());
 
         //calculate node scope diff
@@ -121,7 +138,7 @@ public class DiffFactory {
         }
 
         //calculate property-to-property diff
-        for (NodePair pair : nodeMatcher.match(graphPair)) {
+        for (NodePair pair : matchedPairs) {
             appendPropertyChanges(diff, pair);
         }
 
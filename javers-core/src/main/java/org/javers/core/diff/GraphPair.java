@@ -3,14 +3,13 @@ package org.javers.core.diff;
 import org.javers.core.commit.CommitMetadata;
 import org.javers.core.graph.ObjectGraph;
 import org.javers.core.graph.ObjectNode;
+import org.javers.core.metamodel.object.GlobalId;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
-
-import static org.javers.common.collections.Sets.difference;
+import java.util.stream.Collectors;
 
 /**
  * @author bartosz walacik
@@ -33,10 +32,8 @@ public class GraphPair {
         this.leftGraph = leftGraph;
         this.rightGraph = rightGraph;
 
-        Function<ObjectNode, Integer> hasher = objectNode -> objectNode.cdoHashCode();
-
-        this.onlyOnLeft = difference(leftGraph.nodes(), rightGraph.nodes(), hasher);
-        this.onlyOnRight = difference(rightGraph.nodes(), leftGraph.nodes(), hasher);
+        this.onlyOnLeft = difference(leftGraph, rightGraph);
+        this.onlyOnRight = difference(rightGraph, leftGraph);
 
         this.commitMetadata = commitMetadata;
     }
@@ -53,6 +50,17 @@ public class GraphPair {
         this.commitMetadata = Optional.empty();
     }
 
+    private static Collection<ObjectNode> difference(ObjectGraph<?> first, ObjectGraph<?> second) {
+        if (second.nodes().isEmpty()) {
+            return (Set)first.nodes();
+        }
+
+        return first.globalIds().stream()
+                .filter(globalId -> !second.contains(globalId))
+                .map(globalId -> (ObjectNode) first.findNode(globalId).get())
+                .collect(Collectors.toList());
+    }
+
     public Collection<ObjectNode> getOnlyOnLeft() {
         return onlyOnLeft;
     }
@@ -69,6 +77,10 @@ public class GraphPair {
         return rightGraph.nodes();
     }
 
+    Optional<ObjectNode> findRightNode(GlobalId globalId) {
+        return rightGraph.findNode(globalId);
+    }
+
     public Optional<CommitMetadata> getCommitMetadata() {
         return commitMetadata;
     }
@@ -0,0 +1,52 @@
+package org.javers.core.diff;
+
+import org.javers.core.commit.CommitMetadata;
+import org.javers.core.graph.ObjectGraph;
+import org.javers.core.graph.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Collects nodes one by one, while they are matched with their previous versions,
+ * so a Diff can be calculated without another traversal and matching of both graphs.
+ * <br/>
+ * Unchanged nodes should not be added at all.
+ *
+ * @see DiffFactory#incrementalDiff(Optional)
+ */
+public class IncrementalDiffBuilder {
+    private final DiffFactory diffFactory;
+    private final Optional<CommitMetadata> commitMetadata;
+    private final Set<ObjectNode> newNodes = new HashSet<>();
+    private final List<NodePair> changedPairs = new ArrayList<>();
+
+    IncrementalDiffBuilder(DiffFactory diffFactory, Optional<CommitMetadata> commitMetadata) {
+        this.diffFactory = diffFactory;
+        this.commitMetadata = commitMetadata;
+    }
+
+    public IncrementalDiffBuilder addNewObject(ObjectNode currentNode) {
+        newNodes.add(currentNode);
+        return this;
+    }
+
+    public IncrementalDiffBuilder addChangedObject(ObjectNode previousNode, ObjectNode currentNode) {
+        changedPairs.add(new RealNodePair(previousNode, currentNode, commitMetadata));
+        return this;
+    }
+
+    public Diff build() {
+        GraphPair graphPair = new GraphPair(new EmptyGraph(), new NewNodesGraph(newNodes), commitMetadata);
+        return diffFactory.create(graphPair, changedPairs);
+    }
+
+    private static class NewNodesGraph extends ObjectGraph {
+        NewNodesGraph(Set<ObjectNode> newNodes) {
+            super((Set)newNodes);
+        }
+    }
+}
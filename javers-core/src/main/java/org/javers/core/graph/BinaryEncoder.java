@@ -0,0 +1,229 @@
+package org.javers.core.graph;
+
+import org.javers.common.collections.WellKnownValueTypes;
+import org.javers.common.reflection.ReflectionUtil;
+import org.javers.common.string.ShaDigest;
+import org.javers.core.metamodel.object.GlobalId;
+
+import java.lang.reflect.Array;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Canonical binary encoding of values, written straight to a SHA-256 {@link MessageDigest}.
+ * Used by {@link StreamingObjectHasher} and {@link StateFingerprinter}.
+ * <br/><br/>
+ *
+ * {@link org.javers.core.ObjectHashAlgorithm#BINARY_V2} hashes are persisted,
+ * so this encoding must never change.
+ * <br/><br/>
+ *
+ * Not thread-safe, reused by a single thread
+ */
+class BinaryEncoder {
+    static final byte OBJECT = 1;
+    static final byte PROPERTY = 2;
+    static final byte NULL = 3;
+    static final byte STRING = 4;
+    static final byte INTEGRAL = 5;
+    static final byte FLOATING = 6;
+    static final byte BOOLEAN = 7;
+    static final byte LIST = 8;
+    static final byte SET = 9;
+    static final byte MAP = 10;
+    static final byte JSON = 11;
+
+    private static final Comparator<byte[]> UNSIGNED_LEXICOGRAPHICAL = (left, right) -> {
+        for (int i = 0; i < Math.min(left.length, right.length); i++) {
+            int cmp = (left[i] & 0xff) - (right[i] & 0xff);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return left.length - right.length;
+    };
+
+    private static final int BUFFER_SIZE = 256;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    /**
+     * digests.get(0) for objects, next ones for items of nested Sets and Maps
+     */
+    private final List<MessageDigest> digests = new ArrayList<>();
+    private int depth;
+
+    /**
+     * Empty for the persisted hash encoding
+     */
+    private final Optional<Function<Object, String>> jsonEncoder;
+
+    /**
+     * Values which aren't well-known value types are written as their reflective toString
+     */
+    BinaryEncoder() {
+        this.jsonEncoder = Optional.empty();
+    }
+
+    /**
+     * Values which aren't well-known value types are written as their JSON
+     */
+    BinaryEncoder(Function<Object, String> jsonEncoder) {
+        this.jsonEncoder = Optional.of(jsonEncoder);
+    }
+
+    void reset() {
+        position = 0;
+        depth = 0;
+        current().reset();
+    }
+
+    byte[] digest() {
+        flush();
+        return current().digest();
+    }
+
+    void writeValue(Object value) {
+        if (value == null) {
+            writeTag(NULL);
+        } else if (value instanceof String) {
+            writeString((String) value);
+        } else if (value instanceof Integer || value instanceof Long ||
+                   value instanceof Short || value instanceof Byte) {
+            writeTag(INTEGRAL);
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            writeTag(FLOATING);
+            writeLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+        } else if (value instanceof Boolean) {
+            writeTag(BOOLEAN);
+            writeByte((Boolean) value ? 1 : 0);
+        } else if (value instanceof Character) {
+            writeTag(STRING);
+            writeInt(1);
+            writeChar((Character) value);
+        } else if (value instanceof Enum) {
+            writeString(((Enum) value).name());
+        } else if (value instanceof Optional) {
+            writeValue(((Optional) value).orElse(null));
+        } else if (value instanceof Set) {
+            writeUnordered(SET, (Set) value, this::writeValue);
+        } else if (value instanceof Map) {
+            writeUnordered(MAP, ((Map<?, ?>) value).entrySet(), e -> {
+                Map.Entry entry = (Map.Entry) e;
+                writeValue(entry.getKey());
+                writeValue(entry.getValue());
+            });
+        } else if (value instanceof Collection) {
+            writeTag(LIST);
+            writeInt(((Collection) value).size());
+            for (Object item : (Collection) value) {
+                writeValue(item);
+            }
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            writeTag(LIST);
+            writeInt(length);
+            for (int i = 0; i < length; i++) {
+                writeValue(Array.get(value, i));
+            }
+        } else if (value instanceof GlobalId) {
+            //references, Value Object hashes never contain them
+            writeString(((GlobalId) value).value());
+        } else if (WellKnownValueTypes.isValueType(value)) {
+            writeString(value.toString());
+        } else if (jsonEncoder.isPresent()) {
+            writeTag(JSON);
+            writeString(jsonEncoder.get().apply(value));
+        } else {
+            writeString(ReflectionUtil.reflectiveToString(value));
+        }
+    }
+
+    void writeUnordered(byte tag, Collection<?> items, Consumer<Object> itemWriter) {
+        writeTag(tag);
+        writeInt(items.size());
+
+        if (items.size() == 1) {
+            itemWriter.accept(items.iterator().next());
+            return;
+        }
+
+        byte[][] itemDigests = new byte[items.size()][];
+        int i = 0;
+        for (Object item : items) {
+            flush();
+            depth++;
+            current().reset();
+            itemWriter.accept(item);
+            itemDigests[i++] = digest();
+            depth--;
+        }
+
+        Arrays.sort(itemDigests, UNSIGNED_LEXICOGRAPHICAL);
+        for (byte[] itemDigest : itemDigests) {
+            flush();
+            current().update(itemDigest);
+        }
+    }
+
+    void writeTag(byte tag) {
+        writeByte(tag);
+    }
+
+    void writeString(String value) {
+        writeTag(STRING);
+        writeInt(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            writeChar(value.charAt(i));
+        }
+    }
+
+    private void writeChar(char c) {
+        ensureCapacity(2);
+        buffer[position++] = (byte) (c >>> 8);
+        buffer[position++] = (byte) c;
+    }
+
+    private void writeInt(int value) {
+        ensureCapacity(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (position + bytes > BUFFER_SIZE) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (position > 0) {
+            current().update(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private MessageDigest current() {
+        while (digests.size() <= depth) {
+            digests.add(ShaDigest.sha256());
+        }
+        return digests.get(depth);
+    }
+}
@@ -12,10 +12,10 @@ import org.javers.core.metamodel.type.*;
  */
 class EdgeBuilder {
     private final TypeMapper typeMapper;
-    private final NodeReuser nodeReuser;
+    private final NodeReuseContext nodeReuser;
     private final LiveCdoFactory cdoFactory;
 
-    EdgeBuilder(TypeMapper typeMapper, NodeReuser nodeReuser, LiveCdoFactory cdoFactory) {
+    EdgeBuilder(TypeMapper typeMapper, NodeReuseContext nodeReuser, LiveCdoFactory cdoFactory) {
         this.typeMapper = typeMapper;
         this.nodeReuser = nodeReuser;
         this.cdoFactory = cdoFactory;
@@ -20,6 +20,7 @@ public class GraphFactoryModule extends InstantiatingModule {
                CollectionsCdoFactory.class,
                LiveGraphFactory.class,
                ObjectHasher.class,
+               StateFingerprinter.class,
                ObjectGraphBuilder.class,
                ObjectAccessHookDoNothingImpl.class);
     }
@@ -6,7 +6,9 @@ import org.javers.core.metamodel.object.ValueObjectIdWithHash;
 import org.javers.core.metamodel.property.Property;
 import org.javers.core.metamodel.type.ManagedType;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -21,6 +23,9 @@ import static org.javers.common.validation.Validate.argumentIsNotNull;
 abstract class LiveCdo extends Cdo {
     private GlobalId globalId;
 
+    //each property is read from a domain object only once, LiveCdo lives as long as a single diff or commit
+    private final Map<Property, Object> propertyValues = new IdentityHashMap<>();
+
     LiveCdo(GlobalId globalId, ManagedType managedType) {
         super(managedType);
         this.globalId = globalId;
@@ -59,7 +64,13 @@ abstract class LiveCdo extends Cdo {
     @Override
     public Object getPropertyValue(Property property) {
         argumentIsNotNull(property);
-        return property.get(wrappedCdo());
+        if (propertyValues.containsKey(property)) {
+            return propertyValues.get(property);
+        }
+
+        Object value = property.get(wrappedCdo());
+        propertyValues.put(property, value);
+        return value;
     }
 
     /**
@@ -72,8 +83,7 @@ abstract class LiveCdo extends Cdo {
 
     @Override
     public boolean isNull(Property property) {
-        argumentIsNotNull(property);
-        return property.isNull(wrappedCdo());
+        return getPropertyValue(property) == null;
     }
 
     abstract Object wrappedCdo();
@@ -1,5 +1,6 @@
 package org.javers.core.graph;
 
+import org.javers.core.JaversCoreConfiguration;
 import org.javers.core.metamodel.type.TypeMapper;
 
 import java.lang.reflect.Array;
@@ -7,6 +8,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * @author bartosz walacik
@@ -15,17 +17,19 @@ public class LiveGraphFactory {
     private final TypeMapper typeMapper;
     private final LiveCdoFactory liveCdoFactory;
     private final CollectionsCdoFactory collectionsCdoFactory;
+    private final boolean parallelGraphBuilding;
 
-    LiveGraphFactory(TypeMapper typeMapper, LiveCdoFactory liveCdoFactory, CollectionsCdoFactory collectionsCdoFactory) {
+    LiveGraphFactory(TypeMapper typeMapper, LiveCdoFactory liveCdoFactory, CollectionsCdoFactory collectionsCdoFactory, JaversCoreConfiguration javersCoreConfiguration) {
         this.typeMapper = typeMapper;
         this.liveCdoFactory = liveCdoFactory;
         this.collectionsCdoFactory = collectionsCdoFactory;
+        this.parallelGraphBuilding = javersCoreConfiguration.isParallelGraphBuilding();
     }
 
     public ObjectGraph createLiveGraph(Collection handle, Class clazz) {
         CollectionWrapper wrappedCollection = (CollectionWrapper) wrapTopLevelContainer(handle);
 
-        return new CollectionsGraphBuilder(new ObjectGraphBuilder(typeMapper, liveCdoFactory), collectionsCdoFactory)
+        return new CollectionsGraphBuilder(createObjectGraphBuilder(), collectionsCdoFactory)
                 .buildGraph(wrappedCollection, clazz);
     }
 
@@ -35,7 +39,23 @@ public class LiveGraphFactory {
     public LiveGraph createLiveGraph(Object handle) {
         Object wrappedHandle = wrapTopLevelContainer(handle);
 
-        return new ObjectGraphBuilder(typeMapper, liveCdoFactory).buildGraph(wrappedHandle);
+        return createObjectGraphBuilder().buildGraph(wrappedHandle);
+    }
+
+    /**
+     * Builds one graph for many handles,
+     * delegates to {@link ObjectGraphBuilder#buildGraphFromAll(Collection)}
+     */
+    public LiveGraph createMergedLiveGraph(Collection<?> handles) {
+        List<Object> wrappedHandles = handles.stream()
+                .map(this::wrapTopLevelContainer)
+                .collect(Collectors.toList());
+
+        return createObjectGraphBuilder().buildGraphFromAll(wrappedHandles);
+    }
+
+    private ObjectGraphBuilder createObjectGraphBuilder() {
+        return new ObjectGraphBuilder(typeMapper, liveCdoFactory, parallelGraphBuilding);
     }
 
     public Cdo createCdo(Object cdo){
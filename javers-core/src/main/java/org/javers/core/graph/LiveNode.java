@@ -84,7 +84,7 @@ public class LiveNode extends ObjectNode<LiveCdo>{
             return enumerableType.map(propertyValue, it -> it);
         }
 
-        return getCdo().getPropertyValue(property);
+        return propertyValue;
     }
 
     void addEdge(Edge edge) {
@@ -0,0 +1,14 @@
+package org.javers.core.graph;
+
+/**
+ * Used by {@link EdgeBuilder} to decide
+ * if a referenced object is represented by an already built node or by a new stub
+ */
+interface NodeReuseContext {
+
+    boolean isReusable(Cdo cdo);
+
+    LiveNode getForReuse(Cdo cdo);
+
+    void enqueueStub(LiveNode nodeStub);
+}
@@ -8,7 +8,7 @@ import java.util.*;
 /**
  * @author bartosz walacik
  */
-class NodeReuser {
+class NodeReuser implements NodeReuseContext {
     private final Map<Object, LiveNode> reverseCdoIdMap = new HashMap<>();
     private final List<LiveNode> nodes = new ArrayList<>();
     private final Queue<LiveNode> stubs = new LinkedList<>();
@@ -19,15 +19,29 @@ class NodeReuser {
     NodeReuser() {
     }
 
-    boolean isReusable(Cdo cdo) {
+    @Override
+    public boolean isReusable(Cdo cdo) {
         return reverseCdoIdMap.containsKey(reverseCdoIdMapKey(cdo));
     }
 
-    LiveNode getForReuse(Cdo cdo) {
+    @Override
+    public LiveNode getForReuse(Cdo cdo) {
         reusedNodes++;
         return reverseCdoIdMap.get(reverseCdoIdMapKey(cdo));
     }
 
+    /**
+     * Like {@link #getForReuse(Cdo)} but doesn't count reused nodes,
+     * safe for concurrent readers as long as nothing is saved
+     */
+    LiveNode findForReuse(Object reuseKey) {
+        return reverseCdoIdMap.get(reuseKey);
+    }
+
+    void countReused(int reused) {
+        reusedNodes += reused;
+    }
+
     List<LiveNode> nodes() {
         return Collections.unmodifiableList(nodes);
     }
@@ -43,7 +57,8 @@ class NodeReuser {
         nodes.add(reference);
     }
 
-    void enqueueStub(LiveNode nodeStub) {
+    @Override
+    public void enqueueStub(LiveNode nodeStub) {
         stubs.offer(nodeStub);
     }
 
@@ -51,6 +66,12 @@ class NodeReuser {
        return stubs.poll();
     }
 
+    List<LiveNode> pollAllStubs(){
+        List<LiveNode> polled = new ArrayList<>(stubs);
+        stubs.clear();
+        return polled;
+    }
+
     boolean hasMoreStubs(){
         return !stubs.isEmpty();
     }
@@ -75,7 +96,7 @@ class NodeReuser {
      * InstanceId for Entities,
      * System.identityHashCode for ValueObjects
      */
-    private Object reverseCdoIdMapKey(Cdo cdo) {
+    Object reverseCdoIdMapKey(Cdo cdo) {
         if (cdo.getGlobalId() instanceof InstanceId) {
             return cdo.getGlobalId();
         }
@@ -3,6 +3,8 @@ package org.javers.core.graph;
 import org.javers.core.metamodel.object.GlobalId;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -12,9 +14,11 @@ import java.util.stream.Collectors;
  */
 public abstract class ObjectGraph<T extends Cdo> {
     private final Set<ObjectNode<T>> nodes;
+    private final Map<GlobalId, ObjectNode<T>> nodesIndex;
 
     protected ObjectGraph(Set<ObjectNode<T>> nodes) {
         this.nodes = Collections.unmodifiableSet(nodes);
+        this.nodesIndex = Collections.unmodifiableMap(indexByGlobalId(nodes));
     }
 
     public Set<ObjectNode<T>> nodes() {
@@ -28,15 +32,29 @@ public abstract class ObjectGraph<T extends Cdo> {
     }
 
     public Set<GlobalId> globalIds() {
-        return nodes().stream()
-                .map(ObjectNode::getGlobalId)
-                .collect(Collectors.toSet());
+        return nodesIndex.keySet();
     }
 
     public Optional<T> get(GlobalId globalId) {
-        return nodes.stream()
-            .filter(node -> globalId.equals(node.getGlobalId()))
-            .findFirst()
-            .map(node -> (T) node.getCdo());
+        return findNode(globalId).map(node -> (T) node.getCdo());
+    }
+
+    /**
+     * Fast lookup, nodes are indexed by GlobalId
+     */
+    public Optional<ObjectNode<T>> findNode(GlobalId globalId) {
+        return Optional.ofNullable(nodesIndex.get(globalId));
+    }
+
+    public boolean contains(GlobalId globalId) {
+        return nodesIndex.containsKey(globalId);
+    }
+
+    private static <T extends Cdo> Map<GlobalId, ObjectNode<T>> indexByGlobalId(Set<ObjectNode<T>> nodes) {
+        Map<GlobalId, ObjectNode<T>> index = new HashMap<>(nodes.size() * 4 / 3 + 1);
+        for (ObjectNode<T> node : nodes) {
+            index.putIfAbsent(node.getGlobalId(), node);
+        }
+        return index;
     }
 }
@@ -1,6 +1,7 @@
 package org.javers.core.graph;
 
 import org.javers.common.validation.Validate;
+import org.javers.core.metamodel.object.GlobalId;
 import org.javers.core.metamodel.type.EnumerableType;
 import org.javers.core.metamodel.type.JaversProperty;
 import org.javers.core.metamodel.type.ManagedType;
@@ -8,9 +9,10 @@ import org.javers.core.metamodel.type.TypeMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
-import java.util.List;
+import java.util.*;
+import java.util.stream.IntStream;
 
+import static org.javers.common.validation.Validate.argumentCheck;
 import static org.javers.common.validation.Validate.argumentIsNotNull;
 
 /**
@@ -22,17 +24,27 @@ import static org.javers.common.validation.Validate.argumentIsNotNull;
 class ObjectGraphBuilder {
     private static final Logger logger = LoggerFactory.getLogger(ObjectGraphBuilder.class);
     private static final int MAX_VO_HASHING_DEPTH = 1;
+    private static final int PARALLEL_LEVEL_THRESHOLD = 256;
 
     private final TypeMapper typeMapper;
     private boolean built;
     private final EdgeBuilder edgeBuilder;
     private final NodeReuser nodeReuser = new NodeReuser();
     private final LiveCdoFactory cdoFactory;
+    private final boolean parallel;
 
     ObjectGraphBuilder(TypeMapper typeMapper, LiveCdoFactory cdoFactory) {
+        this(typeMapper, cdoFactory, false);
+    }
+
+    /**
+     * @param parallel when true, large graphs are built on the common ForkJoinPool
+     */
+    ObjectGraphBuilder(TypeMapper typeMapper, LiveCdoFactory cdoFactory, boolean parallel) {
         Validate.argumentsAreNotNull(typeMapper, cdoFactory);
         this.typeMapper = typeMapper;
         this.cdoFactory = cdoFactory;
+        this.parallel = parallel;
         this.edgeBuilder = new EdgeBuilder(typeMapper, nodeReuser, cdoFactory);
     }
 
@@ -51,17 +63,111 @@ class ObjectGraphBuilder {
         return buildGraphFromCdo(cdo);
     }
 
+    /**
+     * Builds one merged graph for many handles,
+     * nodes reachable from more than one handle are created only once.
+     *
+     * Top-level Value Objects with equal {@link GlobalId}s are reused like Entities,
+     * so only the first of them gets a node.
+     *
+     * @param handles domain objects, roots of aggregates, not empty
+     * @return graph nodes set, root is the node of the first handle
+     */
+    LiveGraph buildGraphFromAll(Collection<?> handles) {
+        argumentIsNotNull(handles);
+        argumentCheck(!handles.isEmpty(), "can't build graph from empty handles collection");
+
+        LiveNode root = null;
+        Set<GlobalId> topLevelIds = new HashSet<>();
+        for (Object handle : handles) {
+            argumentIsNotNull(handle);
+            LiveCdo cdo = cdoFactory.create(handle, null);
+
+            if (nodeReuser.isReusable(cdo) || !topLevelIds.add(cdo.getGlobalId())) {
+                continue;
+            }
+
+            LiveNode handleNode = edgeBuilder.buildNodeStub(cdo);
+            if (root == null) {
+                root = handleNode;
+            }
+            buildEdgesForStubs();
+        }
+
+        return assembleGraph(root);
+    }
+
     LiveGraph buildGraphFromCdo(LiveCdo cdo) {
         argumentIsNotNull(cdo);
 
         LiveNode root = edgeBuilder.buildNodeStub(cdo);
+        buildEdgesForStubs();
+
+        return assembleGraph(root);
+    }
+
+    private void buildEdgesForStubs() {
+        if (parallel) {
+            buildEdgesForStubsInParallel();
+            return;
+        }
 
         //we can't use recursion here, it could cause StackOverflow for large graphs
         while(nodeReuser.hasMoreStubs()){
             LiveNode stub = nodeReuser.pollStub();
             buildEdges(stub); //edgeBuilder should append new stubs to queue
         }
+    }
+
+    /**
+     * The stub queue is drained level by level, in the same order as in {@link #buildEdgesForStubs()}.
+     * Nodes of a large level are expanded in parallel,
+     * then they are saved for reuse and their stubs are queued in the sequential order,
+     * so the graph is the same as the one built sequentially.
+     */
+    private void buildEdgesForStubsInParallel() {
+        List<LiveNode> level = nodeReuser.pollAllStubs();
+
+        while (!level.isEmpty()) {
+            if (level.size() < PARALLEL_LEVEL_THRESHOLD) {
+                level.forEach(this::buildEdges);
+                level = nodeReuser.pollAllStubs();
+            } else {
+                level = buildEdgesForLevel(level);
+            }
+        }
+    }
 
+    /**
+     * @return stubs of the next level
+     */
+    private List<LiveNode> buildEdgesForLevel(List<LiveNode> level) {
+        Map<Object, List<Integer>> levelPositions = new HashMap<>();
+        for (int i = 0; i < level.size(); i++) {
+            Object reuseKey = nodeReuser.reverseCdoIdMapKey(level.get(i).getCdo());
+            levelPositions.computeIfAbsent(reuseKey, k -> new ArrayList<>()).add(i);
+        }
+
+        LevelReuseContext[] contexts = new LevelReuseContext[level.size()];
+        IntStream.range(0, level.size()).parallel().forEach(i -> {
+            LevelReuseContext context = new LevelReuseContext(level, levelPositions, i);
+            EdgeBuilder levelEdgeBuilder = new EdgeBuilder(typeMapper, context, cdoFactory);
+
+            buildSingleEdges(level.get(i), levelEdgeBuilder);
+            buildMultiEdges(level.get(i), levelEdgeBuilder);
+            contexts[i] = context;
+        });
+
+        List<LiveNode> nextLevel = new ArrayList<>();
+        for (int i = 0; i < level.size(); i++) {
+            nodeReuser.saveForReuse(level.get(i));
+            nodeReuser.countReused(contexts[i].reused);
+            nextLevel.addAll(contexts[i].stubs);
+        }
+        return nextLevel;
+    }
+
+    private LiveGraph assembleGraph(LiveNode root) {
         logger.debug("live graph assembled, object nodes: {}, entities: {}, valueObjects: {}",
                 nodeReuser.nodesCount(), nodeReuser.entitiesCount(), nodeReuser.voCount());
 
@@ -88,11 +194,11 @@ class ObjectGraphBuilder {
 
     private void buildEdges(LiveNode nodeStub) {
         nodeReuser.saveForReuse(nodeStub);
-        buildSingleEdges(nodeStub);
-        buildMultiEdges(nodeStub);
+        buildSingleEdges(nodeStub, edgeBuilder);
+        buildMultiEdges(nodeStub, edgeBuilder);
     }
 
-    private void buildSingleEdges(LiveNode node) {
+    private void buildSingleEdges(LiveNode node, EdgeBuilder edgeBuilder) {
         for (JaversProperty singleRef : getSingleReferencesWithManagedTypes(node.getManagedType())) {
             if (node.isNull(singleRef)) {
                 continue;
@@ -103,7 +209,7 @@ class ObjectGraphBuilder {
         }
     }
 
-    private void buildMultiEdges(LiveNode node) {
+    private void buildMultiEdges(LiveNode node, EdgeBuilder edgeBuilder) {
 
         for (JaversProperty containerProperty : getNonEmptyEnumerablesWithManagedTypes(node))  {
             EnumerableType enumerableType = containerProperty.getType();
@@ -145,4 +251,55 @@ class ObjectGraphBuilder {
             );
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Reuse context of a node expanded in parallel.
+     * When the node was expanded sequentially, the reuse map would contain
+     * nodes of previous levels and nodes of this level up to this one,
+     * the latest saved node wins
+     */
+    private class LevelReuseContext implements NodeReuseContext {
+        private final List<LiveNode> level;
+        private final Map<Object, List<Integer>> levelPositions;
+        private final int position;
+        private final List<LiveNode> stubs = new ArrayList<>();
+        private int reused;
+
+        LevelReuseContext(List<LiveNode> level, Map<Object, List<Integer>> levelPositions, int position) {
+            this.level = level;
+            this.levelPositions = levelPositions;
+            this.position = position;
+        }
+
+        @Override
+        public boolean isReusable(Cdo cdo) {
+            return find(cdo) != null;
+        }
+
+        @Override
+        public LiveNode getForReuse(Cdo cdo) {
+            reused++;
+            return find(cdo);
+        }
+
+        @Override
+        public void enqueueStub(LiveNode nodeStub) {
+            stubs.add(nodeStub);
+        }
+
+        private LiveNode find(Cdo cdo) {
+            Object reuseKey = nodeReuser.reverseCdoIdMapKey(cdo);
+
+            List<Integer> positions = levelPositions.get(reuseKey);
+            if (positions != null) {
+                for (int i = positions.size() - 1; i >= 0; i--) {
+                    if (positions.get(i) <= position) {
+                        return level.get(positions.get(i));
+                    }
+                }
+            }
+
+            return nodeReuser.findForReuse(reuseKey);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package org.javers.core.graph;
 
 import org.javers.common.string.ShaDigest;
+import org.javers.core.JaversCoreConfiguration;
+import org.javers.core.ObjectHashAlgorithm;
 import org.javers.core.json.JsonConverter;
 import org.javers.core.metamodel.type.ManagedType;
+import org.javers.core.metamodel.type.TypeMapper;
 import org.javers.core.snapshot.SnapshotFactory;
 
 import java.util.List;
@@ -14,13 +17,21 @@ import java.util.stream.Collectors;
 class ObjectHasher {
     private final SnapshotFactory snapshotFactory;
     private final JsonConverter jsonConverter;
+    private final ObjectHashAlgorithm objectHashAlgorithm;
+    private final StreamingObjectHasher streamingObjectHasher;
 
-    ObjectHasher(SnapshotFactory snapshotFactory, JsonConverter jsonConverter) {
+    ObjectHasher(SnapshotFactory snapshotFactory, JsonConverter jsonConverter, TypeMapper typeMapper, JaversCoreConfiguration javersCoreConfiguration) {
         this.snapshotFactory = snapshotFactory;
         this.jsonConverter = jsonConverter;
+        this.objectHashAlgorithm = javersCoreConfiguration.getObjectHashAlgorithm();
+        this.streamingObjectHasher = new StreamingObjectHasher(typeMapper);
     }
 
     String hash(List<LiveCdo> objects) {
+        if (objectHashAlgorithm == ObjectHashAlgorithm.BINARY_V2) {
+            return streamingObjectHasher.hash(objects);
+        }
+
         String jsonState = objects.stream().map(cdo -> snapshotFactory.createSnapshotStateNoRefs(cdo))
                         .map(state -> jsonConverter.toJson(state))
                         .collect(Collectors.joining( "\n" ));
@@ -0,0 +1,45 @@
+package org.javers.core.graph;
+
+import org.javers.core.json.JsonConverter;
+import org.javers.core.metamodel.type.JaversProperty;
+
+import static org.javers.core.graph.BinaryEncoder.OBJECT;
+import static org.javers.core.graph.BinaryEncoder.PROPERTY;
+
+/**
+ * Calculates fingerprints of live objects states, used by dirty checking.
+ * <br/><br/>
+ *
+ * A fingerprint is a digest of dehydrated property values
+ * (references are replaced with GlobalIds), so two nodes with equal fingerprints
+ * have equal snapshot states. No snapshot state is created.
+ * Values which aren't well-known value types, like user's Value classes,
+ * are digested as their JSON, the same as persisted in snapshots.
+ * <br/><br/>
+ *
+ * Fingerprints are kept only in memory, so the encoding can change between versions.
+ *
+ * @since 5.14
+ */
+public class StateFingerprinter {
+    private final ThreadLocal<BinaryEncoder> encoders;
+
+    StateFingerprinter(JsonConverter jsonConverter) {
+        this.encoders = ThreadLocal.withInitial(() -> new BinaryEncoder(jsonConverter::toJson));
+    }
+
+    public byte[] fingerprint(LiveNode node) {
+        BinaryEncoder encoder = encoders.get();
+        encoder.reset();
+
+        encoder.writeTag(OBJECT);
+        encoder.writeString(node.getManagedType().getName());
+        for (JaversProperty property : node.getManagedType().getProperties()) {
+            encoder.writeTag(PROPERTY);
+            encoder.writeString(property.getName());
+            encoder.writeValue(node.getDehydratedPropertyValue(property));
+        }
+
+        return encoder.digest();
+    }
+}
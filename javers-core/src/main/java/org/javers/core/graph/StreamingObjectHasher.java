@@ -0,0 +1,76 @@
+package org.javers.core.graph;
+
+import org.javers.common.collections.Defaults;
+import org.javers.common.string.ShaDigest;
+import org.javers.core.ObjectHashAlgorithm;
+import org.javers.core.metamodel.type.*;
+
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import static org.javers.core.graph.BinaryEncoder.*;
+
+/**
+ * Calculates {@link ObjectHashAlgorithm#BINARY_V2} hashes.
+ * <br/><br/>
+ *
+ * Property values are written straight to a {@link MessageDigest}
+ * using {@link BinaryEncoder}, no JSON and no snapshot states are created.
+ * Items of Sets and Maps are hashed separately and sorted,
+ * so their iteration order doesn't matter.
+ * <br/><br/>
+ *
+ * Hashes are persisted as parts of Value Object ids,
+ * so this encoding must never change. Add a new {@link ObjectHashAlgorithm} instead.
+ */
+class StreamingObjectHasher {
+    private final TypeMapper typeMapper;
+    private final ThreadLocal<BinaryEncoder> encoders = ThreadLocal.withInitial(BinaryEncoder::new);
+
+    StreamingObjectHasher(TypeMapper typeMapper) {
+        this.typeMapper = typeMapper;
+    }
+
+    String hash(List<LiveCdo> objects) {
+        BinaryEncoder encoder = encoders.get();
+        encoder.reset();
+
+        for (LiveCdo cdo : objects) {
+            encoder.writeTag(OBJECT);
+            for (JaversProperty property : cdo.getManagedType().getProperties()) {
+                if (typeMapper.isManagedType(property.getType()) ||
+                    typeMapper.isEnumerableOfManagedTypes(property.getType())) {
+                    continue;
+                }
+
+                Object propertyValue = cdo.getPropertyValue(property);
+                if (Objects.equals(propertyValue, Defaults.defaultValue(property.getGenericType()))) {
+                    continue;
+                }
+
+                encoder.writeTag(PROPERTY);
+                encoder.writeString(property.getName());
+                writePropertyValue(encoder, property.getType(), propertyValue);
+            }
+        }
+
+        return ShaDigest.longDigest(encoder.digest());
+    }
+
+    private void writePropertyValue(BinaryEncoder encoder, JaversType propertyType, Object propertyValue) {
+        if (propertyType instanceof CustomType ||
+           (propertyType instanceof CustomComparableType && ((CustomComparableType) propertyType).hasCustomValueComparator())) {
+            encoder.writeString(((CustomComparableType) propertyType).valueToString(propertyValue));
+            return;
+        }
+
+        if (propertyType instanceof ListAsSetType && propertyValue instanceof Collection) {
+            encoder.writeUnordered(SET, (Collection) propertyValue, encoder::writeValue);
+            return;
+        }
+
+        encoder.writeValue(propertyValue);
+    }
+}
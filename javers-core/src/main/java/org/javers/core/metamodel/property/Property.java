@@ -85,7 +85,7 @@ public class Property {
      */
     public void set(Object target, Object value) {
         try {
-            member.setEvenIfPrivate(target, value);
+            setEvenIfPrivate(target, value);
         } catch (JaversException e) {
             if (e.getCode() == JaversExceptionCode.MISSING_PROPERTY) {
                 return; //swallowed
@@ -94,6 +94,10 @@ public class Property {
         }
     }
 
+    protected void setEvenIfPrivate(Object target, Object value) {
+        member.setEvenIfPrivate(target, value);
+    }
+
     public boolean isNull(Object target) {
         return get(target) == null;
     }
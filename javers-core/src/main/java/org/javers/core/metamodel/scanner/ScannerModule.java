@@ -25,7 +25,7 @@ public class ScannerModule extends LateInstantiatingModule {
     protected Collection<Class> getImplementations() {
 
         MappingStyle mappingStyle = getConfiguration().getMappingStyle();
-        logger.info("mappingStyle: "+mappingStyle.name());
+        logger.info("mappingStyle: "+mappingStyle.name()+", propertyAccessStrategy: "+getConfiguration().getPropertyAccessStrategy().name());
 
         Class<? extends PropertyScanner> usedPropertyScanner;
         if (mappingStyle == MappingStyle.BEAN){
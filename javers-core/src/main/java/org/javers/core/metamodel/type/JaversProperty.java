@@ -1,8 +1,11 @@
 package org.javers.core.metamodel.type;
 
+import org.javers.common.reflection.MethodHandleAccessor;
+import org.javers.core.PropertyAccessStrategy;
 import org.javers.core.metamodel.property.Property;
 
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 import static org.javers.common.string.ToStringBuilder.typeName;
@@ -18,9 +21,37 @@ public class JaversProperty extends Property {
      */
     private final Supplier<JaversType> propertyType;
 
+    /**
+     * Compiled when {@link PropertyAccessStrategy#METHOD_HANDLES} is enabled,
+     * null means Reflection
+     */
+    private final MethodHandleAccessor accessor;
+
     public JaversProperty(Supplier<JaversType> propertyType, Property property) {
+        this(propertyType, property, Optional.empty());
+    }
+
+    JaversProperty(Supplier<JaversType> propertyType, Property property, Optional<MethodHandleAccessor> accessor) {
         super(property.getMember(),  property.hasTransientAnn(), property.hasShallowReferenceAnn(), property.getName(), property.isHasIncludedAnn());
         this.propertyType = propertyType;
+        this.accessor = accessor.orElse(null);
+    }
+
+    @Override
+    public Object get(Object target) {
+        if (accessor == null) {
+            return super.get(target);
+        }
+        return accessor.get(target);
+    }
+
+    @Override
+    protected void setEvenIfPrivate(Object target, Object value) {
+        if (accessor == null) {
+            super.setEvenIfPrivate(target, value);
+            return;
+        }
+        accessor.set(target, value);
     }
 
     public <T extends JaversType> T getType() {
@@ -1,13 +1,16 @@
 package org.javers.core.metamodel.type;
 
 import org.javers.common.collections.Lists;
+import org.javers.common.reflection.MethodHandleAccessor;
 import org.javers.common.reflection.ReflectionUtil;
+import org.javers.core.PropertyAccessStrategy;
 import org.javers.core.metamodel.annotation.DiffIgnore;
 import org.javers.core.metamodel.clazz.ClientsClassDefinition;
 import org.javers.core.metamodel.property.Property;
 import org.javers.core.metamodel.scanner.ClassScan;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.javers.common.collections.Lists.positiveFilter;
 
@@ -16,9 +19,15 @@ import static org.javers.common.collections.Lists.positiveFilter;
  */
 class ManagedClassFactory {
     private final TypeMapper typeMapper;
+    private final PropertyAccessStrategy propertyAccessStrategy;
 
     public ManagedClassFactory(TypeMapper typeMapper) {
+        this(typeMapper, PropertyAccessStrategy.REFLECTION);
+    }
+
+    ManagedClassFactory(TypeMapper typeMapper, PropertyAccessStrategy propertyAccessStrategy) {
         this.typeMapper = typeMapper;
+        this.propertyAccessStrategy = propertyAccessStrategy;
     }
 
     ManagedClass create(ClientsClassDefinition def, ClassScan scan) {
@@ -47,14 +56,22 @@ class ManagedClassFactory {
 
     private List<JaversProperty> convert(List<Property> properties) {
         return Lists.transform(properties,  p -> {
+            Optional<MethodHandleAccessor> accessor = compileAccessor(p);
             if (typeMapper.contains(p.getGenericType())) {
                 final JaversType javersType = typeMapper.getJaversType(p.getGenericType());
-                return new JaversProperty(() -> javersType, p);
+                return new JaversProperty(() -> javersType, p, accessor);
             }
-            return new JaversProperty(() -> typeMapper.getJaversType(p.getGenericType()), p);
+            return new JaversProperty(() -> typeMapper.getJaversType(p.getGenericType()), p, accessor);
         });
     }
 
+    private Optional<MethodHandleAccessor> compileAccessor(Property property) {
+        if (propertyAccessStrategy == PropertyAccessStrategy.METHOD_HANDLES) {
+            return MethodHandleAccessor.compile(property.getMember());
+        }
+        return Optional.empty();
+    }
+
     private List<JaversProperty> filterIgnoredType(List<JaversProperty> properties, final Class<?> currentClass){
 
         return Lists.negativeFilter(properties, property -> {
@@ -4,6 +4,7 @@ import java.lang.reflect.TypeVariable;
 import java.util.*;
 
 import org.javers.common.validation.Validate;
+import org.javers.core.PropertyAccessStrategy;
 import org.javers.core.metamodel.clazz.*;
 import org.javers.core.metamodel.scanner.ClassScan;
 import org.javers.core.metamodel.scanner.ClassScanner;
@@ -32,12 +33,17 @@ class TypeFactory {
     private final DynamicMappingStrategy dynamicMappingStrategy;
 
     TypeFactory(ClassScanner classScanner, TypeMapper typeMapper, DynamicMappingStrategy dynamicMappingStrategy) {
+        this(classScanner, typeMapper, dynamicMappingStrategy, PropertyAccessStrategy.REFLECTION);
+    }
+
+    TypeFactory(ClassScanner classScanner, TypeMapper typeMapper, DynamicMappingStrategy dynamicMappingStrategy,
+                PropertyAccessStrategy propertyAccessStrategy) {
         this.classScanner = classScanner;
 
         this.dynamicMappingStrategy = dynamicMappingStrategy;
 
         //Pico doesn't support cycles, so manual construction
-        this.managedClassFactory = new ManagedClassFactory(typeMapper);
+        this.managedClassFactory = new ManagedClassFactory(typeMapper, propertyAccessStrategy);
 
         this.entityTypeFactory = new EntityTypeFactory(managedClassFactory);
     }
@@ -38,7 +38,8 @@ public class TypeMapper {
 
     public TypeMapper(ClassScanner classScanner, JaversCoreConfiguration javersCoreConfiguration, DynamicMappingStrategy dynamicMappingStrategy) {
         //Pico doesn't support cycles, so manual construction
-        TypeFactory typeFactory = new TypeFactory(classScanner, this, dynamicMappingStrategy);
+        TypeFactory typeFactory = new TypeFactory(classScanner, this, dynamicMappingStrategy,
+                javersCoreConfiguration.getPropertyAccessStrategy());
 
         engine.registerCoreTypes(javersCoreConfiguration.getListCompareAlgorithm());
         this.typeFactory = typeFactory;
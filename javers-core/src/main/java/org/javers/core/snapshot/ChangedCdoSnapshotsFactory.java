@@ -8,7 +8,6 @@ import org.javers.core.metamodel.object.CdoSnapshot;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * Builds snapshots for provided live objects.
@@ -26,26 +25,38 @@ public class ChangedCdoSnapshotsFactory {
 
     /**
      * @param liveGraph wrapped CDOs for which snapshots should be created if they differ from latest snapshots
-     * @param latestSnapshots CDO snapshots used to check which of liveObjects have been created or changed
+     * @param latestSnapshots graph of CDO snapshots used to check which of liveObjects have been created or changed
      * @param commitMetadata commit metadata used to create new snapshots
      */
-    public List<CdoSnapshot> create(LiveGraph liveGraph, Set<CdoSnapshot> latestSnapshots, CommitMetadata commitMetadata) {
+    public List<CdoSnapshot> create(LiveGraph liveGraph, ObjectGraph<CdoSnapshot> latestSnapshots, CommitMetadata commitMetadata) {
         Validate.argumentsAreNotNull(liveGraph, commitMetadata, latestSnapshots);
 
         List<CdoSnapshot> result = new ArrayList<>();
         for (ObjectNode node : liveGraph.nodes()) {
             LiveNode liveNode = (LiveNode) node;
-            Cdo currentCdo = node.getCdo();
 
-            Optional<CdoSnapshot> previousSnapshot = latestSnapshots.stream().filter(currentCdo::equals).findFirst();
-            CdoSnapshot currentSnapshot = createSnapshot(commitMetadata, liveNode, previousSnapshot);
-            if (isCdoChanged(previousSnapshot, currentSnapshot)) {
-                result.add(currentSnapshot);
-            }
+            Optional<CdoSnapshot> previousSnapshot = latestSnapshots.get(node.getGlobalId());
+            createIfChanged(liveNode, previousSnapshot, commitMetadata).ifPresent(result::add);
         }
         return result;
     }
 
+    /**
+     * Creates a snapshot of a single live object
+     *
+     * @param previousSnapshot latest snapshot of a given object, empty if it's a new object
+     * @return empty if a given object is not changed comparing to previousSnapshot
+     */
+    public Optional<CdoSnapshot> createIfChanged(LiveNode liveNode, Optional<CdoSnapshot> previousSnapshot, CommitMetadata commitMetadata) {
+        Validate.argumentsAreNotNull(liveNode, previousSnapshot, commitMetadata);
+
+        CdoSnapshot currentSnapshot = createSnapshot(commitMetadata, liveNode, previousSnapshot);
+        if (isCdoChanged(previousSnapshot, currentSnapshot)) {
+            return Optional.of(currentSnapshot);
+        }
+        return Optional.empty();
+    }
+
     private CdoSnapshot createSnapshot(CommitMetadata commitMetadata,
                                        LiveNode liveNode, Optional<CdoSnapshot> previousSnapshot) {
         return isNewlyCreated(previousSnapshot) ?
@@ -22,6 +22,10 @@ public class SnapshotGraphFactory {
     public SnapshotGraph createLatest(Set<GlobalId> globalIds){
         Validate.argumentIsNotNull(globalIds);
 
+        if (globalIds.isEmpty()) {
+            return new SnapshotGraph(Collections.emptySet());
+        }
+
         Set<SnapshotNode> snapshotNodes = javersRepository.getLatest(globalIds)
                 .stream()
                 .map(SnapshotNode::new)
@@ -29,4 +33,34 @@ public class SnapshotGraphFactory {
 
         return new SnapshotGraph(snapshotNodes);
     }
+
+    /**
+     * Like {@link #createLatest(Set)}, but unpersisted snapshots,
+     * for example from commits waiting in a {@link org.javers.core.commit.CommitPipeline},
+     * take precedence over snapshots loaded from javersRepository
+     */
+    public SnapshotGraph createLatest(Set<GlobalId> globalIds, Map<GlobalId, CdoSnapshot> unpersistedSnapshots){
+        Validate.argumentsAreNotNull(globalIds, unpersistedSnapshots);
+
+        if (unpersistedSnapshots.isEmpty()) {
+            return createLatest(globalIds);
+        }
+
+        Set<GlobalId> toLoad = new HashSet<>();
+        Set<SnapshotNode> snapshotNodes = new HashSet<>();
+        for (GlobalId globalId : globalIds) {
+            CdoSnapshot unpersisted = unpersistedSnapshots.get(globalId);
+            if (unpersisted != null) {
+                snapshotNodes.add(new SnapshotNode(unpersisted));
+            } else {
+                toLoad.add(globalId);
+            }
+        }
+
+        if (!toLoad.isEmpty()) {
+            javersRepository.getLatest(toLoad).forEach(it -> snapshotNodes.add(new SnapshotNode(it)));
+        }
+
+        return new SnapshotGraph(snapshotNodes);
+    }
 }
@@ -15,6 +15,7 @@ import org.javers.core.snapshot.SnapshotDiffer;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.javers.common.validation.Validate.argumentIsNotNull;
 import static org.javers.common.validation.Validate.argumentsAreNotNull;
@@ -77,6 +78,38 @@ public class JaversExtendedRepository implements JaversRepository {
         }
     }
 
+    @Override
+    public Stream<CdoSnapshot> getStateHistoryStream(GlobalId globalId, QueryParams queryParams) {
+        argumentsAreNotNull(globalId, queryParams);
+
+        Stream<CdoSnapshot> snapshots = delegate.getStateHistoryStream(globalId, queryParams);
+
+        if (globalId instanceof InstanceId && queryParams.isAggregate()) {
+            return appendMasterEntitySnapshotIfNecessary((InstanceId) globalId, snapshots);
+        } else {
+            return snapshots;
+        }
+    }
+
+    @Override
+    public Stream<CdoSnapshot> getValueObjectStateHistoryStream(EntityType ownerEntity, String path, QueryParams queryParams) {
+        argumentsAreNotNull(ownerEntity, path, queryParams);
+
+        return delegate.getValueObjectStateHistoryStream(ownerEntity, path, queryParams);
+    }
+
+    @Override
+    public Stream<CdoSnapshot> getStateHistoryStream(Set<ManagedType> givenClasses, QueryParams queryParams) {
+        return delegate.getStateHistoryStream(givenClasses, queryParams);
+    }
+
+    @Override
+    public Stream<CdoSnapshot> getSnapshotsStream(QueryParams queryParams) {
+        argumentsAreNotNull(queryParams);
+
+        return delegate.getSnapshotsStream(queryParams);
+    }
+
     @Override
     public List<CdoSnapshot> getValueObjectStateHistory(EntityType ownerEntity, String path, QueryParams queryParams) {
         argumentsAreNotNull(ownerEntity, path, queryParams);
@@ -154,6 +187,12 @@ public class JaversExtendedRepository implements JaversRepository {
         delegate.persist(commit);
     }
 
+    @Override
+    public void persistAll(List<Commit> commits) {
+        argumentIsNotNull(commits);
+        delegate.persistAll(commits);
+    }
+
     @Override
     public CommitId getHeadId() {
         return delegate.getHeadId();
@@ -201,4 +240,24 @@ public class JaversExtendedRepository implements JaversRepository {
             return java.util.Collections.unmodifiableList(enhanced);
         }).orElse(alreadyLoaded);
     }
+
+    /**
+     * Streamed version of {@link #loadMasterEntitySnapshotIfNecessary(InstanceId, List)},
+     * the master entity snapshot is loaded after the last streamed one
+     */
+    private Stream<CdoSnapshot> appendMasterEntitySnapshotIfNecessary(InstanceId instanceId, Stream<CdoSnapshot> snapshots) {
+        boolean[] anyLoaded = {false};
+        boolean[] masterLoaded = {false};
+
+        Stream<CdoSnapshot> observed = snapshots.peek(s -> {
+            anyLoaded[0] = true;
+            masterLoaded[0] |= s.getGlobalId().equals(instanceId);
+        });
+
+        Stream<CdoSnapshot> master = Stream.of(instanceId)
+                .filter(it -> anyLoaded[0] && !masterLoaded[0])
+                .flatMap(it -> getLatest(it).map(Stream::of).orElse(Stream.empty()));
+
+        return Stream.concat(observed, master);
+    }
 }
@@ -18,6 +18,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * JaversRepository is responsible for persisting {@link Commit}s calculated by Javers core.
@@ -95,8 +96,64 @@ public interface JaversRepository {
      */
     List<CdoSnapshot> getSnapshots(Collection<SnapshotIdentifier> snapshotIdentifiers);
 
+    /**
+     * Streamed version of {@link #getStateHistory(GlobalId, QueryParams)}.
+     * <br/>
+     * Override it when a repository can read snapshots lazily, with an open cursor.
+     * Callers should close the stream to release the cursor.
+     * The default implementation loads the whole list.
+     *
+     * @since 5.14
+     */
+    default Stream<CdoSnapshot> getStateHistoryStream(GlobalId globalId, QueryParams queryParams) {
+        return getStateHistory(globalId, queryParams).stream();
+    }
+
+    /**
+     * Streamed version of {@link #getValueObjectStateHistory(EntityType, String, QueryParams)}
+     *
+     * @see #getStateHistoryStream(GlobalId, QueryParams)
+     * @since 5.14
+     */
+    default Stream<CdoSnapshot> getValueObjectStateHistoryStream(EntityType ownerEntity, String path, QueryParams queryParams) {
+        return getValueObjectStateHistory(ownerEntity, path, queryParams).stream();
+    }
+
+    /**
+     * Streamed version of {@link #getStateHistory(Set, QueryParams)}
+     *
+     * @see #getStateHistoryStream(GlobalId, QueryParams)
+     * @since 5.14
+     */
+    default Stream<CdoSnapshot> getStateHistoryStream(Set<ManagedType> givenClasses, QueryParams queryParams) {
+        return getStateHistory(givenClasses, queryParams).stream();
+    }
+
+    /**
+     * Streamed version of {@link #getSnapshots(QueryParams)}
+     *
+     * @see #getStateHistoryStream(GlobalId, QueryParams)
+     * @since 5.14
+     */
+    default Stream<CdoSnapshot> getSnapshotsStream(QueryParams queryParams) {
+        return getSnapshots(queryParams).stream();
+    }
+
     void persist(Commit commit);
 
+    /**
+     * Persists many commits at once, in the given order.
+     * <br/>
+     * Used by {@link org.javers.core.commit.CommitPipeline} to flush batches of commits,
+     * override it when a repository can save them faster than one by one.
+     *
+     * @since 5.14
+     */
+    default void persistAll(List<Commit> commits) {
+        Validate.argumentIsNotNull(commits);
+        commits.forEach(this::persist);
+    }
+
     CommitId getHeadId();
 
     void setJsonConverter(JsonConverter jsonConverter);
@@ -1,6 +1,7 @@
 package org.javers.repository.api;
 
 import org.javers.common.string.ToStringBuilder;
+import org.javers.core.metamodel.object.CdoSnapshot;
 import org.javers.core.metamodel.object.SnapshotType;
 import org.javers.repository.jql.QueryBuilder;
 
@@ -34,8 +35,9 @@ public class QueryParams {
     private final Set<String> changedProperties;
     private final SnapshotType snapshotType;
     private final boolean loadCommitProps;
+    private final CdoSnapshot afterSnapshot;
 
-    QueryParams(int limit, int skip, LocalDateTime from, Instant fromInstant, LocalDateTime to, Instant toInstant, Set<CommitId> commitIds, Long version, String author, Map<String, String> commitProperties, boolean aggregate, boolean newObjectChanges, Set<String> changedProperties, CommitId toCommitId, SnapshotType snapshotType, boolean loadCommitProps) {
+    QueryParams(int limit, int skip, LocalDateTime from, Instant fromInstant, LocalDateTime to, Instant toInstant, Set<CommitId> commitIds, Long version, String author, Map<String, String> commitProperties, boolean aggregate, boolean newObjectChanges, Set<String> changedProperties, CommitId toCommitId, SnapshotType snapshotType, boolean loadCommitProps, CdoSnapshot afterSnapshot) {
         this.limit = limit;
         this.skip = skip;
         this.from = from;
@@ -52,18 +54,32 @@ public class QueryParams {
         this.toCommitId = toCommitId;
         this.snapshotType = snapshotType;
         this.loadCommitProps = loadCommitProps;
+        this.afterSnapshot = afterSnapshot;
     }
 
     public QueryParams changeAggregate(boolean newAggregate) {
         return new QueryParams(
                 limit, skip, from, fromInstant, to, toInstant, commitIds, version, author, commitProperties,
-                newAggregate, newObjectChanges, changedProperties, toCommitId, snapshotType, loadCommitProps);
+                newAggregate, newObjectChanges, changedProperties, toCommitId, snapshotType, loadCommitProps, afterSnapshot);
     }
 
     public QueryParams nextPage() {
         return new QueryParams(
                 limit, skip+limit, from, fromInstant, to, toInstant, commitIds, version, author, commitProperties,
-                aggregate, newObjectChanges, changedProperties, toCommitId, snapshotType, loadCommitProps);
+                aggregate, newObjectChanges, changedProperties, toCommitId, snapshotType, loadCommitProps, afterSnapshot);
+    }
+
+    /**
+     * Keyset paging, the next page starts after the last Snapshot of this one
+     *
+     * @param skip number of Snapshots to skip after the last one
+     * @see QueryBuilder#afterSnapshot(CdoSnapshot)
+     * @since 5.14
+     */
+    public QueryParams nextPageAfter(CdoSnapshot lastSnapshot, int skip) {
+        return new QueryParams(
+                limit, skip, from, fromInstant, to, toInstant, commitIds, version, author, commitProperties,
+                aggregate, newObjectChanges, changedProperties, toCommitId, snapshotType, loadCommitProps, lastSnapshot);
     }
 
     /**
@@ -156,6 +172,14 @@ public class QueryParams {
         return aggregate;
     }
 
+    /**
+     * @see QueryBuilder#afterSnapshot(CdoSnapshot)
+     * @since 5.14
+     */
+    public Optional<CdoSnapshot> afterSnapshot() {
+        return Optional.ofNullable(afterSnapshot);
+    }
+
     public boolean isLoadCommitProps() {
         return loadCommitProps;
     }
@@ -190,6 +214,7 @@ public class QueryParams {
                 "newObjectChanges", newObjectChanges,
                 "snapshotType", snapshotType,
                 "limit", limit,
-                "skip", skip);
+                "skip", skip,
+                "afterSnapshot", afterSnapshot != null ? afterSnapshot.getGlobalId().value() + " v." + afterSnapshot.getVersion() : null);
     }
 }
@@ -2,6 +2,7 @@ package org.javers.repository.api;
 
 import org.javers.common.validation.Validate;
 import org.javers.core.commit.CommitId;
+import org.javers.core.metamodel.object.CdoSnapshot;
 import org.javers.core.metamodel.object.SnapshotType;
 import org.javers.repository.jql.QueryBuilder;
 
@@ -30,6 +31,7 @@ public class QueryParamsBuilder {
     private Set<String> changedProperties = new HashSet<>();
     private SnapshotType snapshotType;
     private boolean loadCommitProps = true;
+    private CdoSnapshot afterSnapshot;
 
     private QueryParamsBuilder(int limit) {
         this.limit = limit;
@@ -174,6 +176,15 @@ public class QueryParamsBuilder {
         return this;
     }
 
+    /**
+     * @see QueryBuilder#afterSnapshot(CdoSnapshot)
+     */
+    public QueryParamsBuilder afterSnapshot(CdoSnapshot afterSnapshot) {
+        Validate.argumentIsNotNull(afterSnapshot);
+        this.afterSnapshot = afterSnapshot;
+        return this;
+    }
+
     /**
      * @see QueryBuilder#byAuthor(String)
      */
@@ -187,6 +198,6 @@ public class QueryParamsBuilder {
     }
 
     public QueryParams build() {
-        return new QueryParams(limit, skip, from, fromInstant, to, toInstant, commitIds, version, author, commitProperties, aggregate, newObjectChanges, changedProperties, toCommitId, snapshotType, loadCommitProps);
+        return new QueryParams(limit, skip, from, fromInstant, to, toInstant, commitIds, version, author, commitProperties, aggregate, newObjectChanges, changedProperties, toCommitId, snapshotType, loadCommitProps, afterSnapshot);
     }
 }
\ No newline at end of file
@@ -145,6 +145,9 @@ public class InMemoryRepository implements JaversRepository {
             snapshots = Lists.positiveFilter(snapshots, snapshot -> snapshot.getType() == queryParams.snapshotType().get());
         }
         snapshots = filterSnapshotsByCommitProperties(snapshots, queryParams.commitProperties());
+        if (queryParams.afterSnapshot().isPresent()) {
+            snapshots = filterSnapshotsAfter(snapshots, queryParams.afterSnapshot().get());
+        }
         return trimResultsToRequestedSlice(snapshots, queryParams.skip(), queryParams.limit());
     }
 
@@ -156,6 +159,23 @@ public class InMemoryRepository implements JaversRepository {
         return Lists.positiveFilter(snapshots, snapshot -> commitIds.contains(snapshot.getCommitId()));
     }
 
+    private List<CdoSnapshot> filterSnapshotsAfter(List<CdoSnapshot> snapshots, CdoSnapshot afterSnapshot) {
+        for (int i = 0; i < snapshots.size(); i++) {
+            if (snapshots.get(i).getGlobalId().equals(afterSnapshot.getGlobalId()) &&
+                snapshots.get(i).getVersion() == afterSnapshot.getVersion()) {
+                return snapshots.subList(i + 1, snapshots.size());
+            }
+        }
+
+        if (!commits.containsKey(afterSnapshot.getCommitId())) {
+            return Collections.emptyList();
+        }
+
+        //not in results, so only older commits are after it
+        int afterSeq = getSeq(afterSnapshot.getCommitId());
+        return Lists.positiveFilter(snapshots, snapshot -> getSeq(snapshot.getCommitId()) < afterSeq);
+    }
+
     private List<CdoSnapshot> filterSnapshotsByAuthor(List<CdoSnapshot> snapshots, final String author) {
         return Lists.positiveFilter(snapshots, snapshot -> author.equals(snapshot.getCommitMetadata().getAuthor()));
     }
@@ -238,7 +258,7 @@ public class InMemoryRepository implements JaversRepository {
     }
 
     @Override
-    public void persist(Commit commit) {
+    public synchronized void persist(Commit commit) {
         Validate.argumentsAreNotNull(commit);
 
         List<CdoSnapshot> snapshots = commit.getSnapshots();
@@ -309,7 +329,12 @@ public class InMemoryRepository implements JaversRepository {
             return result;
         }
 
-        snapshots.get(globalIdValue).forEach(it -> result.add(jsonConverter.fromJson(it, CdoSnapshot.class)));
+        List<String> jsonSnapshots;
+        synchronized (this) {
+            jsonSnapshots = new ArrayList<>(snapshots.get(globalIdValue));
+        }
+
+        jsonSnapshots.forEach(it -> result.add(jsonConverter.fromJson(it, CdoSnapshot.class)));
         return result;
     }
 
@@ -50,8 +50,35 @@ public class JqlQuery {
         this.shadowScopeDef = shadowScope;
     }
 
-    JqlQuery nextQueryForStream() {
-        return new JqlQuery(filterDefinition, queryParams.nextPage(), shadowScopeDef);
+    /**
+     * Keyset paging, the next query seeks to the last Snapshot of the given page.
+     * Empty when the given page is the last one.
+     */
+    Optional<JqlQuery> nextQueryForStream(List<CdoSnapshot> pageSnapshots) {
+        int limit = queryParams.limit();
+
+        if (pageSnapshots.size() < limit) {
+            return Optional.empty();
+        }
+
+        //JaversExtendedRepository appends the master entity Snapshot to aggregate pages without it,
+        //it's out of the query order, so when it's the last one, the Snapshot before it is the cursor
+        CdoSnapshot last = pageSnapshots.get(limit - 1);
+        if (pageSnapshots.size() == limit && limit > 1 && isAppendedMasterEntitySnapshot(last, pageSnapshots)) {
+            //the master entity Snapshot could also be the last one in the query order, so it's skipped
+            return Optional.of(new JqlQuery(filterDefinition,
+                    queryParams.nextPageAfter(pageSnapshots.get(limit - 2), 1), shadowScopeDef));
+        }
+
+        return Optional.of(new JqlQuery(filterDefinition,
+                queryParams.nextPageAfter(last, 0), shadowScopeDef));
+    }
+
+    private boolean isAppendedMasterEntitySnapshot(CdoSnapshot last, List<CdoSnapshot> pageSnapshots) {
+        if (!isInstanceIdQuery() || !isAggregate() || !last.getGlobalId().equals(getIdFilter())) {
+            return false;
+        }
+        return pageSnapshots.stream().filter(s -> s.getGlobalId().equals(last.getGlobalId())).count() == 1;
     }
 
     void appendNextStatsForStream(Stats nextStats) {
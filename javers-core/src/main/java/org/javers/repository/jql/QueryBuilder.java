@@ -360,6 +360,27 @@ public class QueryBuilder {
         return this;
     }
 
+    /**
+     * Keyset paging, an alternative to {@link #skip(int)}.
+     * Limits to Snapshots which come after the given one,
+     * in the order of query results.
+     * Pass the last Snapshot of the previous page to get the next one.
+     * <br/><br/>
+     *
+     * Unlike skip(), the cost of fetching a page doesn't grow with its number,
+     * since the database seeks to the given Snapshot instead of reading and
+     * discarding all preceding ones.
+     * <br/><br/>
+     *
+     * {@link Javers#findShadowsAndStream(JqlQuery)} pages this way automatically.
+     *
+     * @since 5.14
+     */
+    public QueryBuilder afterSnapshot(CdoSnapshot lastSnapshot) {
+        queryParamsBuilder.afterSnapshot(lastSnapshot);
+        return this;
+    }
+
     /**
      * Limits to snapshots created after this date or exactly at this date.
      *
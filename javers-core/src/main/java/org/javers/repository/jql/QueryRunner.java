@@ -44,6 +44,10 @@ public class QueryRunner {
         return snapshotQueryRunner.queryForSnapshots(query);
     }
 
+    public Stream<CdoSnapshot> queryForSnapshotsStream(JqlQuery query){
+        return snapshotQueryRunner.queryForSnapshotsStream(query);
+    }
+
     public List<Change> queryForChanges(JqlQuery query) {
         return changesQueryRunner.queryForChanges(query);
     }
@@ -44,12 +44,10 @@ class ShadowQueryRunner {
     }
 
     List<Shadow> queryForShadows(JqlQuery query) {
-        return queryForShadows(query, Collections.emptyList()).left();
+        return queryForShadows(query, queryForCoreSnapshots(query), Collections.emptyList()).left();
     }
 
-    Pair<List<Shadow>, List<CdoSnapshot>> queryForShadows(JqlQuery query, List<CdoSnapshot> gapsFilledInPreviousQuery) {
-        List<CdoSnapshot> coreSnapshots = queryForCoreSnapshots(query);
-
+    Pair<List<Shadow>, List<CdoSnapshot>> queryForShadows(JqlQuery query, List<CdoSnapshot> coreSnapshots, List<CdoSnapshot> gapsFilledInPreviousQuery) {
         CommitTable commitTable = new CommitTable(
                 coreSnapshots,
                 query.getMaxGapsToFill(),
@@ -71,7 +69,7 @@ class ShadowQueryRunner {
         return new Pair(shadows, commitTable.getFilledGapsSnapshots());
     }
 
-    private List<CdoSnapshot> queryForCoreSnapshots(JqlQuery query) {
+    List<CdoSnapshot> queryForCoreSnapshots(JqlQuery query) {
         queryCompiler.compile(query);
         query.aggregateIfEntityQuery();
 
@@ -47,16 +47,21 @@ class ShadowStreamQueryRunner {
         }
 
         List<Shadow> loadNextPage() {
+            if (awaitingQuery == null) {
+                return Collections.emptyList();
+            }
+
             JqlQuery currentQuery = awaitingQuery;
 
+            List<CdoSnapshot> coreSnapshots = shadowQueryRunner.queryForCoreSnapshots(currentQuery);
             Pair<List<Shadow>, List<CdoSnapshot>> result =
-                    shadowQueryRunner.queryForShadows(currentQuery, filledGapsSnapshots);
+                    shadowQueryRunner.queryForShadows(currentQuery, coreSnapshots, filledGapsSnapshots);
 
             queries.add(currentQuery);
             queries.get(0).appendNextStatsForStream(currentQuery.stats());
             filledGapsSnapshots.addAll(result.right());
 
-            awaitingQuery = currentQuery.nextQueryForStream();
+            awaitingQuery = currentQuery.nextQueryForStream(coreSnapshots).orElse(null);
 
             return result.left();
         }
@@ -9,6 +9,7 @@ import org.javers.repository.api.JaversExtendedRepository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 class SnapshotQueryRunner {
     private final QueryCompiler queryCompiler;
@@ -48,4 +49,24 @@ class SnapshotQueryRunner {
 
         return result;
     }
+
+    Stream<CdoSnapshot> queryForSnapshotsStream(JqlQuery query){
+        queryCompiler.compile(query);
+
+        if (query.isAnyDomainObjectQuery()) {
+            return repository.getSnapshotsStream(query.getQueryParams());
+        } else
+        if (query.isIdQuery()){
+            return repository.getStateHistoryStream(query.getIdFilter(), query.getQueryParams());
+        } else
+        if (query.isClassQuery()){
+            return repository.getStateHistoryStream(query.getClassFilter(), query.getQueryParams());
+        } else
+        if (query.isVoOwnerQuery()) {
+            VoOwnerFilter filter = query.getVoOwnerFilter();
+            return repository.getValueObjectStateHistoryStream(filter.getOwnerEntity(), filter.getPath(), query.getQueryParams());
+        } else {
+            throw new JaversException(JaversExceptionCode.MALFORMED_JQL, "queryForSnapshotsStream: " + query + " is not supported");
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package org.javers.core
+
+import org.javers.repository.jql.NewPerformanceEntity
+import spock.lang.Ignore
+import spock.lang.Specification
+
+import java.math.RoundingMode
+
+import static org.javers.core.JaversBuilder.javers
+
+/**
+ * Compares {@link Javers#commitAll(String, Collection)}
+ * with committing objects one by one
+ */
+@Ignore
+class CommitAllPerformanceTest extends Specification {
+
+    def "should commit all objects faster than one by one"() {
+        given:
+        def n = 5000
+        def loopJavers = javers().build()
+        def batchJavers = javers().build()
+        def loopRoots = produce(n)
+        def batchRoots = produce(n)
+
+        when:
+        def start = System.currentTimeMillis()
+        loopRoots.each {
+            loopJavers.commit("author", it)
+        }
+        def loopTime = stop(start, "one by one, initial", n)
+
+        start = System.currentTimeMillis()
+        batchJavers.commitAll("author", batchRoots)
+        def batchTime = stop(start, "commitAll, initial", n)
+
+        loopRoots.each { it.change() }
+        batchRoots.each { it.change() }
+
+        start = System.currentTimeMillis()
+        loopRoots.each {
+            loopJavers.commit("author", it)
+        }
+        def loopUpdateTime = stop(start, "one by one, update", n)
+
+        start = System.currentTimeMillis()
+        batchJavers.commitAll("author", batchRoots)
+        def batchUpdateTime = stop(start, "commitAll, update", n)
+
+        then:
+        batchTime < loopTime
+        batchUpdateTime < loopUpdateTime
+    }
+
+    List<NewPerformanceEntity> produce(int n) {
+        (1..n).collect {
+            def root = NewPerformanceEntity.produce(0)
+            root.id = it
+            root
+        }
+    }
+
+    long stop(long start, String label, int times) {
+        def stop = System.currentTimeMillis()
+
+        def opAvg = (stop - start) / times
+
+        println label + " - total time: " + round(stop - start) + " ms, op avg: " + round(opAvg) + " ms"
+        stop - start
+    }
+
+    String round(def what) {
+        new BigDecimal(what).setScale(2, RoundingMode.HALF_UP).toString()
+    }
+}
@@ -291,6 +291,79 @@ class JaversCommitE2ETest extends Specification {
         !secondCommit.diff.changes
     }
 
+    def "should commit all given objects in a single commit"() {
+        given:
+        def javers = javers().build()
+        def shared = new SnapshotEntity(id: 10)
+        def cdos = [new SnapshotEntity(id: 1, entityRef: shared),
+                    new SnapshotEntity(id: 2, entityRef: shared),
+                    shared]
+
+        when:
+        def commit = javers.commitAll("author", cdos, ["batch":"b1"])
+
+        then:
+        CommitAssert.assertThat(commit)
+                    .hasId("1.00")
+                    .hasSnapshots(3)
+                    .hasSnapshot(instanceId(1, SnapshotEntity), [id:1, entityRef: instanceId(10, SnapshotEntity)])
+                    .hasSnapshot(instanceId(2, SnapshotEntity), [id:2, entityRef: instanceId(10, SnapshotEntity)])
+                    .hasSnapshot(instanceId(10, SnapshotEntity), [id:10])
+                    .hasNewObject(instanceId(1, SnapshotEntity))
+                    .hasNewObject(instanceId(2, SnapshotEntity))
+                    .hasNewObject(instanceId(10, SnapshotEntity))
+        commit.properties == ["batch":"b1"]
+    }
+
+    def "should commit only changed objects when committing all"() {
+        given:
+        def javers = javers().build()
+        def cdos = (1..3).collect { new SnapshotEntity(id: it, intProperty: it) }
+        javers.commitAll("author", cdos)
+
+        when:
+        cdos[1].intProperty = 5
+        def commit = javers.commitAll("author", cdos)
+
+        then:
+        CommitAssert.assertThat(commit)
+                    .hasId("2.00")
+                    .hasSnapshots(1)
+                    .hasSnapshot(instanceId(2, SnapshotEntity), [id:2, intProperty:5])
+                    .hasChanges(1)
+                    .hasValueChangeAt("intProperty", 2, 5)
+    }
+
+    def "should not support committing all Values"() {
+        given:
+        def javers = javers().build()
+
+        when:
+        javers.commitAll("author", [new SnapshotEntity(id: 1), LocalDate.now()])
+
+        then:
+        def e = thrown(JaversException)
+        e.code == JaversExceptionCode.COMMITTING_TOP_LEVEL_VALUES_NOT_SUPPORTED
+    }
+
+    def "should read each property of a committed object only once"() {
+        given:
+        def javers = javers().withMappingStyle(MappingStyle.BEAN).build()
+        def cdo = new CountingGetterEntity(1, "a")
+        javers.commit("author", cdo)
+
+        when:
+        cdo.value = "b"
+        cdo.resetValueReads()
+        def commit = javers.commit("author", cdo)
+
+        then:
+        CommitAssert.assertThat(commit)
+                    .hasSnapshots(1)
+                    .hasValueChangeAt("value", "a", "b")
+        cdo.valueReads() == 1
+    }
+
     def "should not support Map of <ValueObject,?>, no good idea how to handle this"() {
         given:
         def javers = javers().build()
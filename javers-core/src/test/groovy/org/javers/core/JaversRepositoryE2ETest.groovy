@@ -27,6 +27,7 @@ import java.time.LocalDateTime
 import java.time.ZoneId
 import java.time.ZoneOffset
 import java.time.ZonedDateTime
+import java.util.stream.Collectors
 
 import static groovyx.gpars.GParsPool.withPool
 import static GlobalIdTestBuilder.instanceId
@@ -480,6 +481,44 @@ class JaversRepositoryE2ETest extends Specification {
         ]
     }
 
+    @Unroll
+    def "should stream the same snapshots as findSnapshots() for #what query"() {
+        given:
+        javers.commit("author", new SnapshotEntity(id: 1, valueObjectRef: new DummyAddress(city: "London")), ["tenant": "a"])
+        javers.commit("author", new SnapshotEntity(id: 1, intProperty: 1, valueObjectRef: new DummyAddress(city: "Paris")), ["tenant": "b"])
+        javers.commit("author", new SnapshotEntity(id: 2))
+        javers.commit("author", new DummyAddress(city: "Berlin"))
+
+        when:
+        def streamed = javers.findSnapshotsAndStream(query).withCloseable { it.collect(Collectors.toList()) }
+
+        then:
+        def expected = javers.findSnapshots(query)
+        expected.size() > 0
+        streamed.collect { [it.globalId, it.version, it.commitMetadata.properties] } ==
+                expected.collect { [it.globalId, it.version, it.commitMetadata.properties] }
+
+        where:
+        what << ["any domain object", "instanceId", "instanceId with child ValueObjects", "class", "ValueObject", "limited"]
+        query << [anyDomainObject().build(),
+                  byInstanceId(1, SnapshotEntity).build(),
+                  byInstanceId(1, SnapshotEntity).withChildValueObjects().build(),
+                  byClass(SnapshotEntity).build(),
+                  byValueObject(SnapshotEntity, "valueObjectRef").build(),
+                  anyDomainObject().limit(2).build()]
+    }
+
+    def "should match changed property names exactly, not their substrings"() {
+        given:
+        javers.commit("author", new SnapshotEntity(id: 1))
+        javers.commit("author", new SnapshotEntity(id: 1, entityRef: new SnapshotEntity(id: 2)))
+
+        expect:
+        javers.findSnapshots(byInstanceId(1, SnapshotEntity).withChangedProperty("entity").build()).size() == 0
+        javers.findSnapshots(byInstanceId(1, SnapshotEntity).withChangedProperty("Ref").build()).size() == 0
+        javers.findSnapshots(byInstanceId(1, SnapshotEntity).withChangedProperty("entityRef").build()).size() == 1
+    }
+
     def "should query for Entity snapshots and changes by given instance"() {
         given:
         javers.commit("author", new SnapshotEntity(id:1, intProperty: 4))
@@ -826,6 +865,33 @@ class JaversRepositoryE2ETest extends Specification {
         ]
     }
 
+    @Unroll
+    def "should page #what snapshots with afterSnapshot() the same way as with skip()"() {
+        given:
+        5.times {
+            javers.commit("author", new SnapshotEntity(id: 1, intProperty: it,
+                    listOfEntities: [new SnapshotEntity(id: 2, intProperty: it), new SnapshotEntity(id: 3, intProperty: it)]))
+        }
+
+        when:
+        def pages = []
+        def page = javers.findSnapshots(query().limit(4).build())
+        while (page) {
+            pages << page
+            page = javers.findSnapshots(query().limit(4).afterSnapshot(page.last()).build())
+        }
+
+        then:
+        pages.collect { it.size() } == expectedPageSizes
+        pages.flatten().collect { [it.globalId, it.version] } ==
+                javers.findSnapshots(query().build()).collect { [it.globalId, it.version] }
+
+        where:
+        what << ["any domain object", "class", "instanceId"]
+        query << [{ anyDomainObject() }, { byClass(SnapshotEntity) }, { byInstanceId(1, SnapshotEntity) }]
+        expectedPageSizes << [[4, 4, 4, 3], [4, 4, 4, 3], [4, 1]]
+    }
+
     def "should increment Entity snapshot version number"(){
       when:
       javers.commit("author", new SnapshotEntity(id: 1, intProperty: 1))
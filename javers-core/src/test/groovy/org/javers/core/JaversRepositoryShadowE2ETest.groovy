@@ -100,6 +100,26 @@ class JaversRepositoryShadowE2ETest extends JaversRepositoryE2ETest {
         query.streamStats().allSnapshotsCount == 20
     }
 
+    def "should not run the next Stream query after the last partial page"(){
+        given:
+        def entity = new SnapshotEntity(id: 1, intProperty: 0)
+        18.times {
+            entity.intProperty = it
+            javers.commit("a", entity)
+        }
+
+        when:
+        def query = QueryBuilder.byInstanceId(1, SnapshotEntity).limit(5).build()
+        def shadows = javers.findShadowsAndStream(query)
+                .collect(Collectors.toList())
+
+        then:
+        shadows.collect { it.get().intProperty } == (17..0)
+
+        query.streamStats().jqlQueriesCount == 4
+        query.streamStats().allSnapshotsCount == 18
+    }
+
     def "should not allow for setting skip in Stream query"(){
       when:
       javers.findShadowsAndStream(byInstanceId(1, SnapshotEntity).skip(5).build())
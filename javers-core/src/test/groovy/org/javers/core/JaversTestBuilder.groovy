@@ -97,6 +97,10 @@ class JaversTestBuilder {
         new JaversTestBuilder(dateProvider)
     }
 
+    static JaversTestBuilder javersTestAssembly(ObjectHashAlgorithm objectHashAlgorithm){
+        new JaversTestBuilder(new JaversBuilder().withObjectHashAlgorithm(objectHashAlgorithm))
+    }
+
     static JaversTestBuilder javersTestAssemblyTypeSafe() {
         new JaversTestBuilder(new JaversBuilder().withTypeSafeValues(true))
     }
@@ -0,0 +1,77 @@
+package org.javers.core
+
+import org.javers.core.model.DummyAddress
+import org.javers.core.model.SnapshotEntity
+import spock.lang.Ignore
+import spock.lang.Specification
+
+import java.math.RoundingMode
+
+import static org.javers.core.JaversBuilder.javers
+
+/**
+ * Commits of aggregates with 10k nodes,
+ * graph lookups should scale linearly with the number of nodes
+ */
+@Ignore
+class LargeGraphCommitPerformanceTest extends Specification {
+
+    def "should commit 10k nodes graph fast enough"() {
+        given:
+        def n = 10
+        def javers = javers().build()
+        def root = produce(10_000)
+        javers.commit("author", root)
+
+        when:
+        def start = System.currentTimeMillis()
+        n.times {
+            root.listOfValueObjects[it].city = "changed " + it
+            root.listOfEntities[it].intProperty = it + 1
+            javers.commit("author", root)
+        }
+        stop(start, n)
+
+        then:
+        true
+    }
+
+    def "should compare 10k nodes graphs fast enough"() {
+        given:
+        def n = 10
+        def javers = javers().build()
+        def left = produce(10_000)
+        def right = produce(10_000)
+        right.listOfEntities[0].intProperty = 1
+
+        when:
+        def start = System.currentTimeMillis()
+        n.times {
+            assert javers.compare(left, right).changes.size() == 1
+        }
+        stop(start, n)
+
+        then:
+        true
+    }
+
+    SnapshotEntity produce(int nodes) {
+        def half = (int)(nodes / 2)
+        new SnapshotEntity(id: 1,
+                listOfEntities: (1..half).collect { new SnapshotEntity(id: it + 1) },
+                listOfValueObjects: (1..half).collect { new DummyAddress("city " + it) })
+    }
+
+    void stop(long start, int times) {
+        def stop = System.currentTimeMillis()
+
+        def opAvg = (stop - start) / times
+
+        println "total time: " + round(stop - start) + " ms"
+        println "op avg:     " + round(opAvg) + " ms"
+    }
+
+    String round(def what) {
+        new BigDecimal(what).setScale(2, RoundingMode.HALF_UP).toString()
+    }
+}
@@ -0,0 +1,49 @@
+package org.javers.core
+
+import org.javers.repository.jql.QueryBuilder
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PropertyAccessStrategyE2ETest extends Specification {
+
+    @Unroll
+    def "should commit, compare and restore Shadows with #strategy strategy in #mappingStyle mappingStyle"(){
+        given:
+        def javers = JaversBuilder.javers()
+                .withMappingStyle(mappingStyle)
+                .withPropertyAccessStrategy(strategy)
+                .build()
+
+        when:
+        javers.commit('author', new GPerson(1,'bob'))
+        javers.commit('author', new GPerson(1,'john'))
+        def changes = javers.findChanges(QueryBuilder.byClass(GPerson).build())
+        def shadows = javers.findShadows(QueryBuilder.byInstanceId(1, GPerson).build())
+        def diff = javers.compare(new GPerson(1,'bob'), new GPerson(1,'john'))
+
+        then:
+        changes.size() == 1
+        changes[0].propertyName == 'name'
+        changes[0].left == 'bob'
+        changes[0].right == 'john'
+
+        shadows.collect{it.get().name} == ['john','bob']
+
+        diff.changes.size() == 1
+        diff.changes[0].propertyName == 'name'
+
+        where:
+        [strategy, mappingStyle] << [PropertyAccessStrategy.values(), MappingStyle.values()].combinations()
+    }
+
+    def "should use Reflection strategy by default"(){
+        given:
+        def builder = JaversBuilder.javers()
+
+        when:
+        builder.build()
+
+        then:
+        builder.getContainerComponent(JaversCoreConfiguration).propertyAccessStrategy == PropertyAccessStrategy.REFLECTION
+    }
+}
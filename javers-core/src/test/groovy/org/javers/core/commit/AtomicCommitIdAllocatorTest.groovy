@@ -0,0 +1,80 @@
+package org.javers.core.commit
+
+import org.javers.core.JaversBuilder
+import org.javers.core.model.SnapshotEntity
+import org.javers.repository.inmemory.InMemoryRepository
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class AtomicCommitIdAllocatorTest extends Specification {
+
+    def "should read head only once"() {
+        given:
+        def allocator = new AtomicCommitIdAllocator()
+        def headReads = 0
+        def head = { headReads++; new CommitId(5,2) }
+
+        when:
+        def ids = (1..3).collect { allocator.nextId(head) }
+
+        then:
+        ids == [new CommitId(6,0), new CommitId(7,0), new CommitId(8,0)]
+        headReads == 1
+    }
+
+    def "should return 1.0 when first commit"() {
+        expect:
+        new AtomicCommitIdAllocator().nextId({ null }).value() == "1.00"
+    }
+
+    def "should hand out unique ids to concurrent committers"() {
+        given:
+        def allocator = new AtomicCommitIdAllocator()
+        def executor = Executors.newFixedThreadPool(16)
+
+        when:
+        def futures = (1..1000).collect {
+            executor.submit({ allocator.nextId({ null }) } as Callable)
+        }
+        def ids = futures.collect { it.get() }
+
+        then:
+        ids.toSet().size() == 1000
+        ids.collect { it.majorId }.max() == 1000
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "should not go back when resynced with older id"() {
+        given:
+        def allocator = new AtomicCommitIdAllocator()
+        allocator.nextId({ new CommitId(10,0) })
+
+        when:
+        allocator.resync(new CommitId(3,0))
+
+        then:
+        allocator.nextId({ null }) == new CommitId(12,0)
+    }
+
+    def "should resync when other writer has moved the head"() {
+        given:
+        def repository = new InMemoryRepository()
+        def javers = JaversBuilder.javers().registerJaversRepository(repository)
+                .withAtomicCommitIdSequence(true).build()
+        def otherJavers = JaversBuilder.javers().registerJaversRepository(repository).build()
+
+        when:
+        def first = javers.commit("author", new SnapshotEntity(id: 1, intProperty: 1))
+        def other = otherJavers.commit("other", new SnapshotEntity(id: 1, intProperty: 2))
+        def next = javers.commit("author", new SnapshotEntity(id: 1, intProperty: 3))
+
+        then:
+        first.id == new CommitId(1,0)
+        other.id == new CommitId(2,0)
+        next.id == new CommitId(3,0)
+    }
+}
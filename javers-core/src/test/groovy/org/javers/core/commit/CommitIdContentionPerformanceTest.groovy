@@ -0,0 +1,70 @@
+package org.javers.core.commit
+
+import org.javers.core.Javers
+import org.javers.core.JaversBuilder
+import org.javers.core.model.SnapshotEntity
+import org.javers.repository.inmemory.InMemoryRepository
+import spock.lang.Ignore
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * Concurrent committers with SYNCHRONIZED_SEQUENCE,
+ * getHeadId() is slowed down to simulate a database round trip
+ */
+@Ignore
+class CommitIdContentionPerformanceTest extends Specification {
+
+    def "should commit faster with atomic commit id sequence under contention"() {
+        given:
+        def threads = 64
+        def commitsPerThread = 200
+
+        when:
+        def lockingTime = run(javers(false), threads, commitsPerThread, "synchronized sequence")
+        def atomicTime = run(javers(true), threads, commitsPerThread, "atomic sequence")
+
+        then:
+        atomicTime < lockingTime
+    }
+
+    Javers javers(boolean atomicCommitIdSequence) {
+        JaversBuilder.javers()
+                .registerJaversRepository(new SlowHeadRepository())
+                .withAtomicCommitIdSequence(atomicCommitIdSequence)
+                .build()
+    }
+
+    long run(Javers javers, int threads, int commitsPerThread, String label) {
+        def executor = Executors.newFixedThreadPool(threads)
+        def start = System.currentTimeMillis()
+
+        def futures = (0..<threads).collect { t ->
+            executor.submit({
+                commitsPerThread.times { i ->
+                    javers.commit("author", new SnapshotEntity(id: t * commitsPerThread + i, intProperty: i))
+                }
+            } as Callable)
+        }
+        futures.each { it.get() }
+
+        def time = System.currentTimeMillis() - start
+        executor.shutdown()
+        executor.awaitTermination(1, TimeUnit.MINUTES)
+
+        println label + " - threads: " + threads + ", commits: " + threads * commitsPerThread +
+                ", total time: " + time + " ms"
+        time
+    }
+
+    static class SlowHeadRepository extends InMemoryRepository {
+        @Override
+        CommitId getHeadId() {
+            Thread.sleep(1)
+            super.getHeadId()
+        }
+    }
+}
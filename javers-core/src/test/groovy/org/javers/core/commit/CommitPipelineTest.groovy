@@ -0,0 +1,236 @@
+package org.javers.core.commit
+
+import org.javers.common.exception.JaversException
+import org.javers.common.exception.JaversExceptionCode
+import org.javers.core.JaversBuilder
+import org.javers.core.model.SnapshotEntity
+import org.javers.repository.inmemory.InMemoryRepository
+import org.javers.repository.jql.QueryBuilder
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.function.Consumer
+
+class CommitPipelineTest extends Specification {
+
+    def "should persist commits in batches"() {
+        given:
+        def repository = new BatchRecordingRepository()
+        def javers = JaversBuilder.javers().registerJaversRepository(repository).build()
+        def pipeline = javers.commitPipeline(new CommitPipelineConfiguration()
+                .withMaxBatchSize(10)
+                .withMaxBatchLatency(Duration.ofSeconds(1)))
+
+        when:
+        def futures = (1..50).collect { pipeline.submit("author", new SnapshotEntity(id: it)) }
+        CompletableFuture.allOf(futures as CompletableFuture[]).get()
+        pipeline.close()
+
+        then:
+        futures.every { it.get().snapshots.size() == 1 }
+        repository.batchSizes.sum() == 50
+        repository.batchSizes.every { it <= 10 }
+        repository.batchSizes.size() < 50
+        javers.findSnapshots(QueryBuilder.byClass(SnapshotEntity).limit(100).build()).size() == 50
+    }
+
+    def "should keep versions in order when the same object is committed many times"() {
+        given:
+        def javers = JaversBuilder.javers().build()
+        def executor = Executors.newFixedThreadPool(4)
+        def pipeline = javers.commitPipeline(new CommitPipelineConfiguration()
+                .withDiffExecutor(executor)
+                .withCapacity(20))
+
+        when:
+        def futures = (1..100).collect { pipeline.submit("author", new SnapshotEntity(id: it % 5, intProperty: it)) }
+        CompletableFuture.allOf(futures as CompletableFuture[]).get()
+        pipeline.close()
+
+        then:
+        (0..4).each { id ->
+            def versions = javers.findSnapshots(QueryBuilder.byInstanceId(id, SnapshotEntity).limit(100).build())
+                    .collect { it.version }
+            assert versions == (20..1).collect { it as long }
+        }
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "should complete futures exceptionally when persisting fails"() {
+        given:
+        def repository = new InMemoryRepository() {
+            @Override
+            void persistAll(List<Commit> commits) {
+                throw new RuntimeException("db is down")
+            }
+        }
+        def javers = JaversBuilder.javers().registerJaversRepository(repository).build()
+        def pipeline = javers.commitPipeline(new CommitPipelineConfiguration())
+
+        when:
+        pipeline.submit("author", new SnapshotEntity(id: 1)).get()
+
+        then:
+        ExecutionException e = thrown()
+        e.cause.message == "db is down"
+
+        cleanup:
+        pipeline.close()
+    }
+
+    def "should reject commits calculated against snapshots of a failed batch"() {
+        given:
+        def persisting = new CountDownLatch(1)
+        def failPersisting = new CountDownLatch(1)
+        def failed = new AtomicBoolean()
+        def repository = new InMemoryRepository() {
+            @Override
+            void persistAll(List<Commit> commits) {
+                if (failed.compareAndSet(false, true)) {
+                    persisting.countDown()
+                    failPersisting.await()
+                    throw new RuntimeException("db is down")
+                }
+                super.persistAll(commits)
+            }
+        }
+        def javers = JaversBuilder.javers().registerJaversRepository(repository).build()
+        def pipeline = javers.commitPipeline(new CommitPipelineConfiguration()
+                .withMaxBatchSize(1)
+                .withDiffExecutor({ it.run() } as Executor))
+
+        when:
+        def first = pipeline.submit("author", new SnapshotEntity(id: 1, intProperty: 1))
+        persisting.await()
+        //calculated against the unpersisted snapshot of the first commit
+        def second = pipeline.submit("author", new SnapshotEntity(id: 1, intProperty: 2))
+        failPersisting.countDown()
+
+        first.get()
+
+        then:
+        ExecutionException e1 = thrown()
+        e1.cause.message == "db is down"
+
+        when:
+        second.get()
+
+        then:
+        ExecutionException e2 = thrown()
+        e2.cause instanceof JaversException
+        e2.cause.code == JaversExceptionCode.COMMIT_PIPELINE_BROKEN
+        !javers.getLatestSnapshot(1, SnapshotEntity).isPresent()
+
+        when:
+        def afterDrain = pipeline.submit("author", new SnapshotEntity(id: 1, intProperty: 3)).get()
+
+        then:
+        afterDrain.snapshots[0].version == 1
+        javers.findSnapshots(QueryBuilder.byInstanceId(1, SnapshotEntity).build()).collect { it.version } == [1]
+
+        cleanup:
+        pipeline.close()
+    }
+
+    def "should accept commits again without waiting for commits still being calculated"() {
+        given:
+        def failed = new AtomicBoolean()
+        def repository = new InMemoryRepository() {
+            @Override
+            void persistAll(List<Commit> commits) {
+                if (failed.compareAndSet(false, true)) {
+                    throw new RuntimeException("db is down")
+                }
+                super.persistAll(commits)
+            }
+        }
+        def holdNext = new AtomicBoolean(true)
+        def calculating = new CountDownLatch(1)
+        def threads = Executors.newCachedThreadPool()
+        def diffExecutor = { task -> threads.execute {
+            if (holdNext.getAndSet(false)) {
+                calculating.await()
+            }
+            task.run()
+        } } as Executor
+        def javers = JaversBuilder.javers().registerJaversRepository(repository).build()
+        def pipeline = javers.commitPipeline(new CommitPipelineConfiguration()
+                .withMaxBatchSize(1)
+                .withDiffExecutor(diffExecutor))
+
+        when:
+        def slow = pipeline.submit("author", new SnapshotEntity(id: 2))
+        pipeline.submit("author", new SnapshotEntity(id: 1, intProperty: 1)).get()
+
+        then:
+        ExecutionException e = thrown()
+        e.cause.message == "db is down"
+
+        when:
+        def afterFailure = pipeline.submit("author", new SnapshotEntity(id: 1, intProperty: 2)).get()
+        calculating.countDown()
+
+        then:
+        afterFailure.snapshots[0].version == 1
+        slow.get().snapshots[0].version == 1
+
+        cleanup:
+        calculating.countDown()
+        pipeline.close()
+        threads.shutdown()
+    }
+    def "should flush waiting commits on close and reject new ones"() {
+        given:
+        def javers = JaversBuilder.javers().build()
+        def pipeline = javers.commitPipeline(new CommitPipelineConfiguration()
+                .withMaxBatchLatency(Duration.ofSeconds(10)))
+        def future = pipeline.submit("author", new SnapshotEntity(id: 1))
+
+        when:
+        pipeline.close()
+
+        then:
+        future.isDone()
+        javers.getLatestSnapshot(1, SnapshotEntity).isPresent()
+
+        when:
+        pipeline.submit("author", new SnapshotEntity(id: 2))
+
+        then:
+        JaversException e = thrown()
+        e.code == JaversExceptionCode.COMMIT_PIPELINE_CLOSED
+    }
+
+    def "should not modify the configuration when a with* method is called"() {
+        given:
+        def configuration = new CommitPipelineConfiguration()
+        Consumer<Runnable> wrapper = { it.run() }
+
+        when:
+        def modified = configuration.withMaxBatchSize(5).withRepositoryCallWrapper(wrapper)
+
+        then:
+        configuration.maxBatchSize == 100
+        configuration.repositoryCallWrapper != wrapper
+        modified.maxBatchSize == 5
+        modified.repositoryCallWrapper == wrapper
+    }
+
+    static class BatchRecordingRepository extends InMemoryRepository {
+        List<Integer> batchSizes = [].asSynchronized()
+
+        @Override
+        void persistAll(List<Commit> commits) {
+            batchSizes << commits.size()
+            super.persistAll(commits)
+        }
+    }
+}
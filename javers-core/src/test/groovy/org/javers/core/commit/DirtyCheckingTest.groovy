@@ -0,0 +1,186 @@
+package org.javers.core.commit
+
+import groovy.transform.EqualsAndHashCode
+import org.javers.core.JaversBuilder
+import org.javers.core.metamodel.annotation.Id
+import org.javers.core.metamodel.object.CdoSnapshot
+import org.javers.core.metamodel.object.GlobalId
+import org.javers.core.metamodel.object.InstanceId
+import org.javers.core.model.DummyAddress
+import org.javers.core.model.SnapshotEntity
+import org.javers.repository.inmemory.InMemoryRepository
+import org.javers.repository.jql.QueryBuilder
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class DirtyCheckingTest extends Specification {
+
+    def "should load latest snapshots only of objects changed since their last commit"() {
+        given:
+        def repository = new LoadCountingRepository()
+        def javers = JaversBuilder.javers().registerJaversRepository(repository)
+                .withDirtyCheckingCacheSize(1000).build()
+        def root = produce(100)
+        javers.commit("author", root)
+        repository.loaded = 0
+
+        when:
+        root.listOfEntities[5].intProperty = 5
+        def commit = javers.commit("author", root)
+
+        then:
+        repository.loaded == 1
+        commit.snapshots.size() == 1
+        commit.snapshots[0].globalId.value().endsWith("SnapshotEntity/7")
+        commit.changes.size() == 1
+    }
+
+    @Unroll
+    def "should commit the same snapshots as without dirty checking when cacheSize is #cacheSize"() {
+        given:
+        def javers = JaversBuilder.javers().withDirtyCheckingCacheSize(cacheSize).build()
+        def root = produce(20)
+
+        when:
+        def commits = [javers.commit("author", root)]
+
+        root.listOfEntities[0].intProperty = 1
+        commits << javers.commit("author", root)
+
+        root.listOfEntities[0].intProperty = 0
+        root.listOfValueObjects[1].city = "changed"
+        commits << javers.commit("author", root)
+
+        commits << javers.commit("author", root)
+
+        then:
+        commits.collect { it.snapshots.size() } == [41, 1, 2, 0]
+        javers.findSnapshots(QueryBuilder.byInstanceId(2, SnapshotEntity).build())
+                .collect { it.version } == [3L, 2L, 1L]
+
+        where:
+        cacheSize << [0, 5, 1000]
+    }
+
+    def "should create a snapshot of an object committed again after shallow delete"() {
+        given:
+        def javers = JaversBuilder.javers().withDirtyCheckingCacheSize(1000).build()
+        def entity = new SnapshotEntity(id: 1, intProperty: 1)
+        javers.commit("author", entity)
+
+        when:
+        javers.commitShallowDelete("author", entity)
+        def commit = javers.commit("author", entity)
+
+        then:
+        commit.snapshots.size() == 1
+        commit.snapshots[0].version == 3
+    }
+
+    def "should load all latest snapshots after cache eviction"() {
+        given:
+        def repository = new LoadCountingRepository()
+        def javers = JaversBuilder.javers().registerJaversRepository(repository)
+                .withDirtyCheckingCacheSize(1000).build()
+        def root = produce(10)
+        javers.commit("author", root)
+        repository.loaded = 0
+
+        when:
+        javers.evictCache()
+        javers.commit("author", root)
+
+        then:
+        repository.loaded == 21
+    }
+
+    def "should not register fingerprints of not persisted commits"() {
+        given:
+        def repository = new InMemoryRepository() {
+            boolean failing = true
+
+            @Override
+            void persist(Commit commit) {
+                if (failing) {
+                    throw new RuntimeException("db is down")
+                }
+                super.persist(commit)
+            }
+        }
+        def javers = JaversBuilder.javers().registerJaversRepository(repository)
+                .withDirtyCheckingCacheSize(1000).build()
+        def entity = new SnapshotEntity(id: 1, intProperty: 1)
+
+        when:
+        javers.commit("author", entity)
+
+        then:
+        thrown(RuntimeException)
+
+        when:
+        repository.failing = false
+        def commit = javers.commit("author", entity)
+
+        then:
+        commit.snapshots.size() == 1
+    }
+
+    def "should detect changes of Values with the same reflective toString"() {
+        given:
+        def javers = JaversBuilder.javers().registerValue(Range).withDirtyCheckingCacheSize(1000).build()
+        def entity = new RangeEntity(id: 1, range: new Range(from: "a,b", to: "c"))
+        javers.commit("author", entity)
+
+        when:
+        entity.range = new Range(from: "a", to: "b,c")
+        def commit = javers.commit("author", entity)
+
+        then:
+        commit.snapshots.size() == 1
+        commit.snapshots[0].getPropertyValue("range") == new Range(from: "a", to: "b,c")
+    }
+
+    def "should evict least recently used fingerprints"() {
+        given:
+        def cache = new StateFingerprintCache(2)
+        def ids = (1..3).collect { new InstanceId("entity", it, it.toString()) }
+
+        when:
+        cache.putAll([(ids[0]): [1] as byte[], (ids[1]): [2] as byte[]])
+        cache.isUnchanged(ids[0], [1] as byte[])
+        cache.putAll([(ids[2]): [3] as byte[]])
+
+        then:
+        cache.size() == 2
+        cache.isUnchanged(ids[0], [1] as byte[])
+        !cache.isUnchanged(ids[1], [2] as byte[])
+        cache.isUnchanged(ids[2], [3] as byte[])
+    }
+
+    SnapshotEntity produce(int n) {
+        new SnapshotEntity(id: 1,
+                listOfEntities: (1..n).collect { new SnapshotEntity(id: it + 1) },
+                listOfValueObjects: (1..n).collect { new DummyAddress("city " + it) })
+    }
+
+    @EqualsAndHashCode
+    static class Range {
+        String from
+        String to
+    }
+
+    static class RangeEntity {
+        @Id int id
+        Range range
+    }
+
+    static class LoadCountingRepository extends InMemoryRepository {
+        int loaded
+
+        @Override
+        List<CdoSnapshot> getLatest(Collection<GlobalId> globalIds) {
+            loaded += globalIds.size()
+            super.getLatest(globalIds)
+        }
+    }
+}
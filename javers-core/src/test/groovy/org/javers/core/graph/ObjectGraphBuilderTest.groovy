@@ -517,4 +517,40 @@ abstract class ObjectGraphBuilderTest extends Specification {
         then:
         assertThat(node).hasNoEdges()
     }
+
+    def "should build one merged graph from many handles"() {
+        given:
+        def graphBuilder = newBuilder()
+        def shared = new SnapshotEntity(id:10)
+        def handles = [new SnapshotEntity(id:1, entityRef: shared), new SnapshotEntity(id:2, entityRef: shared), shared]
+
+        when:
+        def graph = graphBuilder.buildGraphFromAll(handles)
+
+        then:
+        graph.nodes().size() == 3
+        assertThat(graph.root()).hasCdo(handles[0])
+    }
+
+    def "should reuse node of top-level ValueObjects with the same GlobalId"() {
+        given:
+        def graphBuilder = newBuilder()
+        def first = new DummyAddress("London")
+
+        when:
+        def graph = graphBuilder.buildGraphFromAll([first, new DummyAddress("Paris")])
+
+        then:
+        graph.nodes().size() == 1
+        assertThat(graph.root()).hasCdo(first)
+                .hasUnboundedValueObjectId(DummyAddress)
+    }
+
+    def "should not build merged graph from empty handles collection"() {
+        when:
+        newBuilder().buildGraphFromAll([])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
 }
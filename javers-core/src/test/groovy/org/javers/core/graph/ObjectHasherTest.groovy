@@ -1,6 +1,7 @@
 package org.javers.core.graph
 
 import org.javers.core.JaversTestBuilder
+import org.javers.core.ObjectHashAlgorithm
 import org.javers.core.graph.ObjectHasher
 import org.javers.core.model.DummyAddress
 import spock.lang.Shared
@@ -15,7 +16,7 @@ class ObjectHasherTest extends Specification {
 
     def setupSpec(){
         javers = JaversTestBuilder.javersTestAssembly()
-        objectHasher = new ObjectHasher(javers.snapshotFactory, javers.jsonConverter)
+        objectHasher = javers.javersBuilder.getContainerComponent(ObjectHasher)
     }
 
     def "should calculate hash of ValueObject "(){
@@ -30,4 +31,44 @@ class ObjectHasherTest extends Specification {
         hash == 'ba4a8532bc3fa2c16990e2a21e06cd1f'
         hash == javers.hash(address)
     }
+
+    def "should calculate stable BINARY_V2 hash of ValueObject"(){
+        given:
+        def javers = JaversTestBuilder.javersTestAssembly(ObjectHashAlgorithm.BINARY_V2)
+        def objectHasher = javers.javersBuilder.getContainerComponent(ObjectHasher)
+        def address = new DummyAddress('Warsaw', 'Mokotowska')
+
+        when:
+        def hash = objectHasher.hash([javers.createLiveNode(address).cdo])
+
+        then:
+        hash == '0ea44058e6879041218090cf09390df8'
+    }
+
+    def "should calculate BINARY_V2 hash regardless of Set and Map iteration order"(){
+        given:
+        def javers = JaversTestBuilder.javersTestAssembly(ObjectHashAlgorithm.BINARY_V2)
+        def objectHasher = javers.javersBuilder.getContainerComponent(ObjectHasher)
+
+        def left = new HashedValueObject(tags: ['a','b','c'] as LinkedHashSet,
+                                         scores: [a:1, b:2] as LinkedHashMap)
+        def right = new HashedValueObject(tags: ['c','b','a'] as LinkedHashSet,
+                                          scores: [b:2, a:1] as LinkedHashMap)
+        def changed = new HashedValueObject(tags: ['a','b','c'] as LinkedHashSet,
+                                            scores: [a:1, b:3] as LinkedHashMap)
+
+        when:
+        def leftHash = objectHasher.hash([javers.createLiveNode(left).cdo])
+        def rightHash = objectHasher.hash([javers.createLiveNode(right).cdo])
+        def changedHash = objectHasher.hash([javers.createLiveNode(changed).cdo])
+
+        then:
+        leftHash == rightHash
+        leftHash != changedHash
+    }
+
+    static class HashedValueObject {
+        Set<String> tags
+        Map<String, Integer> scores
+    }
 }
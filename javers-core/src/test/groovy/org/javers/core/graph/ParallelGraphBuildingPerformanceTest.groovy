@@ -0,0 +1,65 @@
+package org.javers.core.graph
+
+import org.javers.core.JaversTestBuilder
+import org.javers.core.model.DummyAddress
+import org.javers.core.model.SnapshotEntity
+import spock.lang.Ignore
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ForkJoinPool
+
+/**
+ * Builds a 200k nodes graph with the sequential builder
+ * and with the parallel one, on 1, 2, 4, ... cores
+ */
+@Ignore
+class ParallelGraphBuildingPerformanceTest extends Specification {
+
+    @Shared JaversTestBuilder javers = JaversTestBuilder.javersTestAssembly()
+
+    def "should scale with the number of cores"() {
+        given:
+        def n = 5
+        def root = produce(200_000)
+        def cores = [1]
+        while (cores.last() * 2 <= Runtime.runtime.availableProcessors()) {
+            cores << cores.last() * 2
+        }
+
+        when:
+        measure("sequential", n) { new ObjectGraphBuilder(javers.typeMapper, javers.liveCdoFactory, false).buildGraph(root) }
+
+        cores.each { parallelism ->
+            def pool = new ForkJoinPool(parallelism)
+            //parallel streams run in the pool of the calling task
+            measure("parallel, " + parallelism + " cores", n) {
+                pool.submit({
+                    new ObjectGraphBuilder(javers.typeMapper, javers.liveCdoFactory, true).buildGraph(root)
+                } as Callable).get()
+            }
+            pool.shutdown()
+        }
+
+        then:
+        true
+    }
+
+    SnapshotEntity produce(int nodes) {
+        def half = (int)(nodes / 2)
+        new SnapshotEntity(id: 1,
+                listOfEntities: (1..half).collect { new SnapshotEntity(id: it + 1) },
+                listOfValueObjects: (1..half).collect { new DummyAddress("city " + it) })
+    }
+
+    void measure(String name, int times, Closure build) {
+        build() //warm up
+
+        def start = System.currentTimeMillis()
+        times.times { build() }
+        def stop = System.currentTimeMillis()
+
+        println name + ", op avg: " + ((stop - start) / times) + " ms"
+    }
+}
@@ -0,0 +1,75 @@
+package org.javers.core.graph
+
+import org.javers.core.JaversTestBuilder
+import org.javers.core.model.DummyAddress
+import org.javers.core.model.SnapshotEntity
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ParallelObjectGraphBuilderTest extends Specification {
+
+    @Shared JaversTestBuilder javers = JaversTestBuilder.javersTestAssembly()
+
+    ObjectGraphBuilder newBuilder(boolean parallel){
+        new ObjectGraphBuilder(javers.typeMapper, javers.liveCdoFactory, parallel)
+    }
+
+    @Unroll
+    def "should build the same graph as the sequential builder for #nodes nodes"(){
+        given:
+        def root = produce(nodes)
+
+        when:
+        def sequential = newBuilder(false).buildGraph(root)
+        def parallel = newBuilder(true).buildGraph(root)
+
+        then:
+        parallel.root().globalId == sequential.root().globalId
+        parallel.nodes().size() == sequential.nodes().size()
+        signature(parallel) == signature(sequential)
+
+        where:
+        nodes << [10, 1_000, 5_000]
+    }
+
+    def "should build the same merged graph as the sequential builder"(){
+        given:
+        def roots = (1..3).collect { produce(1_000) }
+
+        when:
+        def sequential = newBuilder(false).buildGraphFromAll(roots)
+        def parallel = newBuilder(true).buildGraphFromAll(roots)
+
+        then:
+        signature(parallel) == signature(sequential)
+    }
+
+    /**
+     * Wide levels with references to the same Entities and Value Objects,
+     * within a level, to previous levels and to next levels
+     */
+    SnapshotEntity produce(int nodes) {
+        def random = new Random(nodes)
+        def sharedAddress = new DummyAddress("shared")
+
+        def entities = (1..nodes).collect {
+            new SnapshotEntity(id: it + 1, valueObjectRef: random.nextBoolean() ? sharedAddress : new DummyAddress("city " + it))
+        }
+        entities.each {
+            it.entityRef = entities[random.nextInt(nodes)]
+            it.listOfEntities = [entities[random.nextInt(nodes)], new SnapshotEntity(id: it.id)]
+            it.listOfValueObjects = [sharedAddress, new DummyAddress("other " + it.id)]
+        }
+
+        new SnapshotEntity(id: 1, listOfEntities: entities, valueObjectRef: sharedAddress)
+    }
+
+    Set<String> signature(LiveGraph graph) {
+        graph.nodes().collect { node ->
+            node.globalId.value() + " " + node.managedType.properties
+                    .collect { it.name + ":" + node.getDehydratedPropertyValue(it) }
+                    .join(", ")
+        } as Set
+    }
+}
@@ -36,4 +36,22 @@ class SnapshotGraphFactoryTest extends Specification {
         NodeAssert.assertThat(snapshotGraph.nodes()[0]).hasGlobalId(instanceId(2,SnapshotEntity))
                   .isSnapshot()
     }
+
+    def "should index SnapshotGraph nodes by GlobalId"() {
+        given:
+        def refs = (2..5).collect { new SnapshotEntity(id: it) }
+        refs.each { javers.javers().commit("user", it) }
+        def cdo = new SnapshotEntity(id: 1, listOfEntities: refs)
+        def liveGraph = javers.createLiveGraph(cdo)
+
+        when:
+        def snapshotGraph = snapshotGraphFactory.createLatest(liveGraph.globalIds())
+
+        then:
+        snapshotGraph.globalIds().size() == 4
+        (2..5).every { snapshotGraph.get(instanceId(it, SnapshotEntity)).get().globalId == instanceId(it, SnapshotEntity) }
+        !snapshotGraph.contains(instanceId(1, SnapshotEntity))
+        !snapshotGraph.findNode(instanceId(1, SnapshotEntity)).isPresent()
+        liveGraph.findNode(instanceId(1, SnapshotEntity)).get().wrappedCdo().get() == cdo
+    }
 }
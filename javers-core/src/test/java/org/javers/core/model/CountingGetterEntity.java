@@ -0,0 +1,40 @@
+package org.javers.core.model;
+
+import org.javers.core.metamodel.annotation.Id;
+
+/**
+ * Counts reads of the value property
+ */
+public class CountingGetterEntity {
+
+    private final int id;
+    private String value;
+    private transient int valueReads;
+
+    public CountingGetterEntity(int id, String value) {
+        this.id = id;
+        this.value = value;
+    }
+
+    @Id
+    public int getId() {
+        return id;
+    }
+
+    public String getValue() {
+        valueReads++;
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public int valueReads() {
+        return valueReads;
+    }
+
+    public void resetValueReads() {
+        valueReads = 0;
+    }
+}
@@ -0,0 +1,239 @@
+package org.javers.repository.mongo;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.javers.core.json.JsonConverter;
+import org.javers.core.metamodel.object.CdoSnapshot;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.javers.repository.mongo.MongoSchemaManager.GLOBAL_ID_KEY;
+import static org.javers.repository.mongo.MongoSchemaManager.OBJECT_ID;
+
+/**
+ * Writes snapshots to BSON straight from their JSON tree
+ * and reads BSON straight into a JSON tree, without intermediate {@link org.bson.Document}s.
+ * Dots in map keys of the snapshot state are escaped in the same pass.
+ * <br/><br/>
+ *
+ * The BSON format is the same as written by earlier versions,
+ * which converted snapshots to {@link org.bson.Document}s and escaped dots afterwards.
+ *
+ * @since 5.14
+ */
+class CdoSnapshotCodec implements Codec<CdoSnapshot> {
+    private static final String STATE = "state";
+    private static final String DOT = ".";
+    private static final String DOT_REPLACEMENT = "#dot#";
+
+    private final JsonConverter jsonConverter;
+
+    CdoSnapshotCodec(JsonConverter jsonConverter) {
+        this.jsonConverter = jsonConverter;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, CdoSnapshot snapshot, EncoderContext encoderContext) {
+        JsonObject json = (JsonObject) jsonConverter.toJsonElement(snapshot);
+
+        writer.writeStartDocument();
+        for (Map.Entry<String, JsonElement> e : json.entrySet()) {
+            writer.writeName(e.getKey());
+            if (STATE.equals(e.getKey()) && e.getValue().isJsonObject()) {
+                writeState(writer, (JsonObject) e.getValue());
+            } else {
+                writeValue(writer, e.getValue());
+            }
+        }
+        writer.writeString(GLOBAL_ID_KEY, snapshot.getGlobalId().value());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public CdoSnapshot decode(BsonReader reader, DecoderContext decoderContext) {
+        JsonObject json = new JsonObject();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (OBJECT_ID.equals(name) || GLOBAL_ID_KEY.equals(name)) {
+                reader.skipValue();
+            } else if (STATE.equals(name) && reader.getCurrentBsonType() == BsonType.DOCUMENT) {
+                json.add(name, readState(reader));
+            } else {
+                json.add(name, readValue(reader));
+            }
+        }
+        reader.readEndDocument();
+
+        //state is skipped by some projections
+        if (!json.has(STATE)) {
+            json.add(STATE, new JsonObject());
+        }
+
+        return jsonConverter.fromJson(json, CdoSnapshot.class);
+    }
+
+    @Override
+    public Class<CdoSnapshot> getEncoderClass() {
+        return CdoSnapshot.class;
+    }
+
+    /**
+     * Mongo doesn't allow dots in keys, so they are escaped in keys of Map properties
+     */
+    private void writeState(BsonWriter writer, JsonObject state) {
+        writer.writeStartDocument();
+        for (Map.Entry<String, JsonElement> property : state.entrySet()) {
+            writer.writeName(property.getKey());
+            if (property.getValue().isJsonObject()) {
+                writer.writeStartDocument();
+                for (Map.Entry<String, JsonElement> e : ((JsonObject) property.getValue()).entrySet()) {
+                    writer.writeName(e.getKey().contains(DOT) ? e.getKey().replace(DOT, DOT_REPLACEMENT) : e.getKey());
+                    writeValue(writer, e.getValue());
+                }
+                writer.writeEndDocument();
+            } else {
+                writeValue(writer, property.getValue());
+            }
+        }
+        writer.writeEndDocument();
+    }
+
+    private void writeValue(BsonWriter writer, JsonElement jsonElement) {
+        if (jsonElement.isJsonNull()) {
+            writer.writeNull();
+        }
+        else if (jsonElement.isJsonObject()) {
+            writer.writeStartDocument();
+            for (Map.Entry<String, JsonElement> e : ((JsonObject) jsonElement).entrySet()) {
+                writer.writeName(e.getKey());
+                writeValue(writer, e.getValue());
+            }
+            writer.writeEndDocument();
+        }
+        else if (jsonElement.isJsonArray()) {
+            writer.writeStartArray();
+            for (JsonElement e : (JsonArray) jsonElement) {
+                writeValue(writer, e);
+            }
+            writer.writeEndArray();
+        }
+        else {
+            writePrimitive(writer, (JsonPrimitive) jsonElement);
+        }
+    }
+
+    private void writePrimitive(BsonWriter writer, JsonPrimitive jsonPrimitive) {
+        if (jsonPrimitive.isString()) {
+            writer.writeString(jsonPrimitive.getAsString());
+        }
+        else if (jsonPrimitive.isBoolean()) {
+            writer.writeBoolean(jsonPrimitive.getAsBoolean());
+        }
+        else {
+            writeNumber(writer, jsonPrimitive.getAsNumber());
+        }
+    }
+
+    /**
+     * Same BSON types as the default codecs of {@link org.bson.Document} values
+     */
+    private void writeNumber(BsonWriter writer, Number number) {
+        if (number instanceof Integer || number instanceof Short || number instanceof Byte || number instanceof AtomicInteger) {
+            writer.writeInt32(number.intValue());
+        }
+        else if (number instanceof Long || number instanceof AtomicLong) {
+            writer.writeInt64(number.longValue());
+        }
+        else if (number instanceof Double || number instanceof Float) {
+            writer.writeDouble(number.doubleValue());
+        }
+        else {
+            BigDecimal value = number instanceof BigDecimal ? (BigDecimal) number : new BigDecimal(number.toString());
+            try {
+                writer.writeInt64(value.longValueExact());
+            } catch (ArithmeticException e) {
+                writer.writeDouble(value.doubleValue());
+            }
+        }
+    }
+
+    private JsonObject readState(BsonReader reader) {
+        JsonObject state = new JsonObject();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String propertyName = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.DOCUMENT) {
+                JsonObject map = new JsonObject();
+                reader.readStartDocument();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    String key = reader.readName();
+                    map.add(key.contains(DOT_REPLACEMENT) ? key.replace(DOT_REPLACEMENT, DOT) : key, readValue(reader));
+                }
+                reader.readEndDocument();
+                state.add(propertyName, map);
+            } else {
+                state.add(propertyName, readValue(reader));
+            }
+        }
+        reader.readEndDocument();
+
+        return state;
+    }
+
+    private JsonElement readValue(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case DOCUMENT:
+                JsonObject jsonObject = new JsonObject();
+                reader.readStartDocument();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    jsonObject.add(reader.readName(), readValue(reader));
+                }
+                reader.readEndDocument();
+                return jsonObject;
+            case ARRAY:
+                JsonArray jsonArray = new JsonArray();
+                reader.readStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    jsonArray.add(readValue(reader));
+                }
+                reader.readEndArray();
+                return jsonArray;
+            case STRING:
+                return new JsonPrimitive(reader.readString());
+            case INT32:
+                return new JsonPrimitive(reader.readInt32());
+            case INT64:
+                return new JsonPrimitive(reader.readInt64());
+            case DOUBLE:
+                return new JsonPrimitive(reader.readDouble());
+            case DECIMAL128:
+                return new JsonPrimitive(reader.readDecimal128().bigDecimalValue());
+            case BOOLEAN:
+                return new JsonPrimitive(reader.readBoolean());
+            case NULL:
+                reader.readNull();
+                return JsonNull.INSTANCE;
+            case OBJECT_ID:
+                JsonObject id = new JsonObject();
+                id.addProperty("$oid", reader.readObjectId().toHexString());
+                return id;
+            default:
+                throw new IllegalArgumentException("unsupported BSON type - " + reader.getCurrentBsonType());
+        }
+    }
+}
@@ -6,6 +6,12 @@ import java.util.Optional;
 import org.javers.core.metamodel.object.CdoSnapshot;
 import org.javers.core.metamodel.object.GlobalId;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -14,14 +20,17 @@ import java.util.function.Function;
 class LatestSnapshotCache {
     private final Cache<GlobalId, Optional<CdoSnapshot>> cache;
     private final Function<GlobalId, Optional<CdoSnapshot>> source;
+    private final Function<Collection<GlobalId>, List<CdoSnapshot>> batchSource;
     private final boolean disabled;
 
-    LatestSnapshotCache(int size, Function<GlobalId, Optional<CdoSnapshot>> source) {
+    LatestSnapshotCache(int size, Function<GlobalId, Optional<CdoSnapshot>> source,
+                        Function<Collection<GlobalId>, List<CdoSnapshot>> batchSource) {
         cache = CacheBuilder.newBuilder()
                 .maximumSize(size)
                 .build();
 
         this.source = source;
+        this.batchSource = batchSource;
         this.disabled = size == 0;
     }
 
@@ -41,6 +50,37 @@ class LatestSnapshotCache {
         return fromDb;
     }
 
+    /**
+     * Cache misses are loaded in one batch,
+     * GlobalIds without snapshots are cached as well
+     */
+    List<CdoSnapshot> getLatest(Collection<GlobalId> globalIds) {
+        if (disabled) {
+            return batchSource.apply(globalIds);
+        }
+
+        Map<GlobalId, Optional<CdoSnapshot>> found = new HashMap<>();
+        List<GlobalId> misses = new ArrayList<>();
+        for (GlobalId globalId : new LinkedHashSet<>(globalIds)) {
+            Optional<CdoSnapshot> fromCache = cache.getIfPresent(globalId);
+            if (fromCache != null) {
+                found.put(globalId, fromCache);
+            } else {
+                misses.add(globalId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            misses.forEach(globalId -> found.put(globalId, Optional.empty()));
+            batchSource.apply(misses).forEach(snapshot -> found.put(snapshot.getGlobalId(), Optional.of(snapshot)));
+            misses.forEach(globalId -> cache.put(globalId, found.get(globalId)));
+        }
+
+        List<CdoSnapshot> result = new ArrayList<>();
+        new LinkedHashSet<>(globalIds).forEach(globalId -> found.get(globalId).ifPresent(result::add));
+        return result;
+    }
+
     void put(CdoSnapshot cdoSnapshot) {
         if (disabled) {
             return;
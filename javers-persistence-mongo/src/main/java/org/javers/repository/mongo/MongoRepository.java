@@ -1,14 +1,25 @@
 package org.javers.repository.mongo;
 
-import com.google.gson.JsonObject;
 import com.mongodb.BasicDBObject;
+import com.mongodb.ReadPreference;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonDocumentReader;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
 import org.bson.conversions.Bson;
+import org.javers.common.collections.Lists;
 import org.javers.common.string.RegexEscape;
 import org.javers.common.validation.Validate;
 import org.javers.core.CommitIdGenerator;
@@ -28,11 +39,11 @@ import org.javers.repository.mongo.model.MongoHeadId;
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static org.javers.common.collections.Lists.toImmutableList;
 import static org.javers.common.validation.Validate.conditionFulfilled;
-import static org.javers.repository.mongo.DocumentConverter.fromDocument;
-import static org.javers.repository.mongo.DocumentConverter.toDocument;
 import static org.javers.repository.mongo.MongoDialect.DOCUMENT_DB;
 import static org.javers.repository.mongo.MongoDialect.MONGO_DB;
 import static org.javers.repository.mongo.MongoSchemaManager.*;
@@ -42,18 +53,22 @@ import static org.javers.repository.mongo.MongoSchemaManager.*;
  */
 public class MongoRepository implements JaversRepository, ConfigurationAware {
     private final static int DEFAULT_CACHE_SIZE = 5000;
+    public final static int DEFAULT_STREAM_BATCH_SIZE = 500;
     private final static double COMMIT_ID_PRECISION = 0.005;
 
-    private static final int DESC = -1;
+    private static final int LATEST_BATCH_SIZE = 1000;
+    private static final String LATEST = "latest";
     private final MongoSchemaManager mongoSchemaManager;
     private JsonConverter jsonConverter;
     private JaversCoreConfiguration coreConfiguration;
-    private final MapKeyDotReplacer mapKeyDotReplacer = new MapKeyDotReplacer();
+    private CdoSnapshotCodec snapshotCodec;
     private final LatestSnapshotCache cache;
     private MongoDialect mongoDialect;
+    private final int streamBatchSize;
+    private final ReadPreference historyReadPreference;
 
     public MongoRepository(MongoDatabase mongo) {
-        this(mongo, DEFAULT_CACHE_SIZE, MONGO_DB);
+        this(mongo, DEFAULT_CACHE_SIZE, MONGO_DB, DEFAULT_STREAM_BATCH_SIZE, null);
     }
 
     /**
@@ -66,27 +81,93 @@ public class MongoRepository implements JaversRepository, ConfigurationAware {
      * See <a href="http://docs.aws.amazon.com/documentdb/latest/developerguide/functional-differences.html">functional differences</a>.
      */
     public static MongoRepository mongoRepositoryWithDocumentDBCompatibility(MongoDatabase mongo, int cacheSize) {
-        return new MongoRepository(mongo, cacheSize, DOCUMENT_DB);
+        return new MongoRepository(mongo, cacheSize, DOCUMENT_DB, DEFAULT_STREAM_BATCH_SIZE, null);
+    }
+
+    /**
+     * @see #mongoRepositoryWithDocumentDBCompatibility(MongoDatabase, int)
+     * @see #MongoRepository(MongoDatabase, int, int)
+     * @since 5.14
+     */
+    public static MongoRepository mongoRepositoryWithDocumentDBCompatibility(MongoDatabase mongo, int cacheSize, int streamBatchSize) {
+        return new MongoRepository(mongo, cacheSize, DOCUMENT_DB, streamBatchSize, null);
+    }
+
+    /**
+     * @see #mongoRepositoryWithDocumentDBCompatibility(MongoDatabase, int)
+     * @see #MongoRepository(MongoDatabase, int, int, ReadPreference)
+     * @since 5.14
+     */
+    public static MongoRepository mongoRepositoryWithDocumentDBCompatibility(MongoDatabase mongo, int cacheSize, int streamBatchSize,
+                                                                             ReadPreference historyReadPreference) {
+        return new MongoRepository(mongo, cacheSize, DOCUMENT_DB, streamBatchSize, historyReadPreference);
     }
 
     /**
      * @param cacheSize Size of the latest snapshots cache, default is 5000. Set 0 to disable.
      */
     public MongoRepository(MongoDatabase mongo, int cacheSize) {
-        this(mongo, cacheSize, MONGO_DB);
+        this(mongo, cacheSize, MONGO_DB, DEFAULT_STREAM_BATCH_SIZE, null);
+    }
+
+    /**
+     * @param cacheSize Size of the latest snapshots cache, default is 5000. Set 0 to disable.
+     * @param streamBatchSize Cursor batch size of streamed queries, like {@link #getSnapshotsStream(QueryParams)},
+     *                        default is 500
+     * @since 5.14
+     */
+    public MongoRepository(MongoDatabase mongo, int cacheSize, int streamBatchSize) {
+        this(mongo, cacheSize, MONGO_DB, streamBatchSize, null);
+    }
+
+    /**
+     * Routes history queries to the members selected by <code>historyReadPreference</code>,
+     * for example <code>ReadPreference.secondaryPreferred(120, TimeUnit.SECONDS)</code>,
+     * so they don't compete with commits on the primary.
+     * <br/><br/>
+     *
+     * History queries are reads of JQL snapshot, shadow and change queries.
+     * Reads done during a commit, so {@link #getLatest(GlobalId)} and {@link #getHeadId()},
+     * always run on the primary.
+     * Since secondaries may lag, a history query can miss the latest commits,
+     * up to the max staleness of the given read preference.
+     *
+     * @param historyReadPreference null means the read preference of the given MongoDatabase
+     * @see #MongoRepository(MongoDatabase, int, int)
+     * @since 5.14
+     */
+    public MongoRepository(MongoDatabase mongo, int cacheSize, int streamBatchSize, ReadPreference historyReadPreference) {
+        this(mongo, cacheSize, MONGO_DB, streamBatchSize, historyReadPreference);
     }
 
-    MongoRepository(MongoDatabase mongo, int cacheSize, MongoDialect dialect) {
+    MongoRepository(MongoDatabase mongo, int cacheSize, MongoDialect dialect, int streamBatchSize, ReadPreference historyReadPreference) {
         Validate.argumentsAreNotNull(mongo, dialect);
+        Validate.argumentCheck(streamBatchSize > 0, "streamBatchSize should be positive");
         this.mongoDialect = dialect;
+        this.streamBatchSize = streamBatchSize;
+        this.historyReadPreference = historyReadPreference;
         this.mongoSchemaManager = new MongoSchemaManager(mongo);
-        cache = new LatestSnapshotCache(cacheSize, input -> getLatest(createIdQuery(input)));
+        cache = new LatestSnapshotCache(cacheSize, input -> getLatest(createIdQuery(input)), this::getLatestInBatches);
     }
 
     @Override
     public void persist(Commit commit) {
-        persistSnapshots(commit);
-        persistHeadId(commit);
+        persistAll(Collections.singletonList(commit));
+    }
+
+    /**
+     * Snapshots of all given commits are inserted with one unordered <code>insertMany</code>
+     * and the head id is moved with one upsert, so a batch takes two round trips
+     */
+    @Override
+    public void persistAll(List<Commit> commits) {
+        Validate.argumentIsNotNull(commits);
+        if (commits.isEmpty()) {
+            return;
+        }
+
+        persistSnapshots(commits);
+        persistHeadId(commits.stream().map(Commit::getId).max(Comparator.naturalOrder()).get());
     }
 
     void clean(){
@@ -96,13 +177,23 @@ public class MongoRepository implements JaversRepository, ConfigurationAware {
 
     @Override
     public List<CdoSnapshot> getStateHistory(GlobalId globalId, QueryParams queryParams) {
-        Bson query;
-        if (queryParams.isAggregate()){
-            query = createIdQueryWithAggregate(globalId);
-        } else {
-            query = createIdQuery(globalId);
-        }
-        return queryForSnapshots(query, Optional.of(queryParams));
+        return queryForSnapshots(createStateHistoryQuery(globalId, queryParams), Optional.of(queryParams));
+    }
+
+    @Override
+    public Stream<CdoSnapshot> getStateHistoryStream(GlobalId globalId, QueryParams queryParams) {
+        return streamSnapshots(createStateHistoryQuery(globalId, queryParams), queryParams, Optional.empty());
+    }
+
+    /**
+     * Streamed state history with a projection,
+     * only selected fields of snapshot documents are fetched
+     *
+     * @since 5.14
+     */
+    public Stream<CdoSnapshot> getStateHistoryStream(GlobalId globalId, QueryParams queryParams, SnapshotProjection projection) {
+        Validate.argumentIsNotNull(projection);
+        return streamSnapshots(createStateHistoryQuery(globalId, queryParams), queryParams, Optional.of(projection));
     }
 
     @Override
@@ -110,11 +201,33 @@ public class MongoRepository implements JaversRepository, ConfigurationAware {
         return cache.getLatest(globalId);
     }
 
+    @Override
+    public List<CdoSnapshot> getLatest(Collection<GlobalId> globalIds) {
+        Validate.argumentIsNotNull(globalIds);
+        return cache.getLatest(globalIds);
+    }
+
     @Override
     public List<CdoSnapshot> getSnapshots(QueryParams queryParams) {
         return queryForSnapshots(new BasicDBObject(), Optional.of(queryParams));
     }
 
+    @Override
+    public Stream<CdoSnapshot> getSnapshotsStream(QueryParams queryParams) {
+        return streamSnapshots(new BasicDBObject(), queryParams, Optional.empty());
+    }
+
+    /**
+     * Streamed snapshots with a projection,
+     * only selected fields of snapshot documents are fetched
+     *
+     * @since 5.14
+     */
+    public Stream<CdoSnapshot> getSnapshotsStream(QueryParams queryParams, SnapshotProjection projection) {
+        Validate.argumentIsNotNull(projection);
+        return streamSnapshots(new BasicDBObject(), queryParams, Optional.of(projection));
+    }
+
     @Override
     public List<CdoSnapshot> getSnapshots(Collection<SnapshotIdentifier> snapshotIdentifiers) {
         return snapshotIdentifiers.isEmpty() ? Collections.<CdoSnapshot>emptyList() :
@@ -123,10 +236,12 @@ public class MongoRepository implements JaversRepository, ConfigurationAware {
 
     @Override
     public List<CdoSnapshot> getValueObjectStateHistory(EntityType ownerEntity, String path, QueryParams queryParams) {
-        BasicDBObject query = new BasicDBObject(GLOBAL_ID_OWNER_ID_ENTITY, ownerEntity.getName());
-        query.append(GLOBAL_ID_FRAGMENT, path);
+        return queryForSnapshots(createValueObjectPathQuery(ownerEntity, path), Optional.of(queryParams));
+    }
 
-        return queryForSnapshots(query, Optional.of(queryParams));
+    @Override
+    public Stream<CdoSnapshot> getValueObjectStateHistoryStream(EntityType ownerEntity, String path, QueryParams queryParams) {
+        return streamSnapshots(createValueObjectPathQuery(ownerEntity, path), queryParams, Optional.empty());
     }
 
     @Override
@@ -135,9 +250,27 @@ public class MongoRepository implements JaversRepository, ConfigurationAware {
         return queryForSnapshots(query, Optional.of(queryParams));
     }
 
+    @Override
+    public Stream<CdoSnapshot> getStateHistoryStream(Set<ManagedType> givenClasses, QueryParams queryParams) {
+        Bson query = createManagedTypeQuery(givenClasses, queryParams.isAggregate());
+        return streamSnapshots(query, queryParams, Optional.empty());
+    }
+
+    /**
+     * Streamed state history of given classes with a projection,
+     * only selected fields of snapshot documents are fetched
+     *
+     * @since 5.14
+     */
+    public Stream<CdoSnapshot> getStateHistoryStream(Set<ManagedType> givenClasses, QueryParams queryParams, SnapshotProjection projection) {
+        Validate.argumentIsNotNull(projection);
+        Bson query = createManagedTypeQuery(givenClasses, queryParams.isAggregate());
+        return streamSnapshots(query, queryParams, Optional.of(projection));
+    }
+
     @Override
     public CommitId getHeadId() {
-        Document headId = headCollection().find().first();
+        Document headId = headCollection().withReadPreference(ReadPreference.primary()).find().sort(new Document(MongoHeadId.NUMBER_KEY, DESC)).first();
 
         if (headId == null) {
             return null;
@@ -149,6 +282,7 @@ public class MongoRepository implements JaversRepository, ConfigurationAware {
     @Override
     public void setJsonConverter(JsonConverter jsonConverter) {
         this.jsonConverter = jsonConverter;
+        this.snapshotCodec = new CdoSnapshotCodec(jsonConverter);
     }
 
     @Override
@@ -161,6 +295,18 @@ public class MongoRepository implements JaversRepository, ConfigurationAware {
         mongoSchemaManager.ensureSchema(mongoDialect);
     }
 
+    private Bson createStateHistoryQuery(GlobalId globalId, QueryParams queryParams) {
+        if (queryParams.isAggregate()){
+            return createIdQueryWithAggregate(globalId);
+        }
+        return createIdQuery(globalId);
+    }
+
+    private Bson createValueObjectPathQuery(EntityType ownerEntity, String path) {
+        return new BasicDBObject(GLOBAL_ID_OWNER_ID_ENTITY, ownerEntity.getName())
+                .append(GLOBAL_ID_FRAGMENT, path);
+    }
+
     private Bson createIdQuery(GlobalId id) {
         return new BasicDBObject(GLOBAL_ID_KEY, id.value());
     }
@@ -205,63 +351,84 @@ public class MongoRepository implements JaversRepository, ConfigurationAware {
         return entityTypeQuery;
     }
 
-    private CdoSnapshot readFromDBObject(Document dbObject) {
-        return jsonConverter.fromJson(fromDocument(mapKeyDotReplacer.back(dbObject)), CdoSnapshot.class);
+    private MongoCollection<Document> snapshotsCollection() {
+        return mongoSchemaManager.snapshotsCollection();
     }
 
-    private Document writeToDBObject(CdoSnapshot snapshot){
-        conditionFulfilled(jsonConverter != null, "MongoRepository: jsonConverter is null");
-        Document dbObject = toDocument((JsonObject)jsonConverter.toJsonElement(snapshot));
-        dbObject = mapKeyDotReplacer.replaceInSnapshotState(dbObject);
-        dbObject.append(GLOBAL_ID_KEY,snapshot.getGlobalId().value());
-        return dbObject;
+    /**
+     * Snapshots collection which reads and writes CdoSnapshots with {@link CdoSnapshotCodec}
+     */
+    private MongoCollection<CdoSnapshot> historyCollection() {
+        MongoCollection<CdoSnapshot> snapshots = snapshotsCodecCollection();
+        return historyReadPreference == null ? snapshots : snapshots.withReadPreference(historyReadPreference);
     }
 
-    private MongoCollection<Document> snapshotsCollection() {
-        return mongoSchemaManager.snapshotsCollection();
+    private MongoCollection<CdoSnapshot> snapshotsCodecCollection() {
+        conditionFulfilled(snapshotCodec != null, "MongoRepository: jsonConverter is null");
+        MongoCollection<Document> snapshots = snapshotsCollection();
+        return snapshots
+                .withDocumentClass(CdoSnapshot.class)
+                .withCodecRegistry(CodecRegistries.fromRegistries(
+                        CodecRegistries.fromCodecs(snapshotCodec),
+                        snapshots.getCodecRegistry()));
     }
 
     private MongoCollection<Document> headCollection() {
         return mongoSchemaManager.headCollection();
     }
 
-    private void persistSnapshots(Commit commit) {
-        MongoCollection<Document> collection = snapshotsCollection();
-        commit.getSnapshots().forEach(snapshot -> {
-            collection.insertOne(writeToDBObject(snapshot));
-            cache.put(snapshot);
-        });
-    }
+    private void persistSnapshots(List<Commit> commits) {
+        List<CdoSnapshot> snapshots = commits.stream()
+                .flatMap(commit -> commit.getSnapshots().stream())
+                .collect(Collectors.toList());
+        if (snapshots.isEmpty()) {
+            return;
+        }
 
-    private void persistHeadId(Commit commit) {
-        MongoCollection<Document> headIdCollection = headCollection();
+        snapshotsCodecCollection().insertMany(snapshots, new InsertManyOptions().ordered(false));
+        snapshots.forEach(cache::put);
+    }
 
-        Document oldHead = headIdCollection.find().first();
-        MongoHeadId newHeadId = new MongoHeadId(commit.getId());
+    /**
+     * Moves the head only forward. When the head isn't older than the given id,
+     * the second update creates it if it doesn't exist yet, or does nothing
+     */
+    private void persistHeadId(CommitId commitId) {
+        MongoHeadId headId = new MongoHeadId(commitId);
 
-        if (oldHead == null) {
-            headIdCollection.insertOne(newHeadId.toDocument());
-        } else {
-            headIdCollection.updateOne(objectIdFiler(oldHead), newHeadId.getUpdateCommand());
+        UpdateResult moved = headCollection().updateOne(headId.getOlderHeadFilter(), headId.getForwardUpdateCommand());
+        if (moved.getMatchedCount() == 0) {
+            headCollection().updateOne(new Document(), headId.getInsertIfAbsentCommand(), new UpdateOptions().upsert(true));
         }
     }
 
-    private Bson objectIdFiler(Document document) {
-        return Filters.eq(OBJECT_ID, document.getObjectId("_id"));
+    private MongoCursor<CdoSnapshot> getMongoSnapshotsCursor(MongoCollection<CdoSnapshot> collection, Bson query, Optional<QueryParams> queryParams) {
+        return getMongoSnapshotsFindIterable(collection, query, queryParams, Optional.empty()).iterator();
     }
 
-    private MongoCursor<Document> getMongoSnapshotsCursor(Bson query, Optional<QueryParams> queryParams) {
-        FindIterable<Document> findIterable = snapshotsCollection()
+    private FindIterable<CdoSnapshot> getMongoSnapshotsFindIterable(MongoCollection<CdoSnapshot> collection, Bson query,
+                                                                    Optional<QueryParams> queryParams, Optional<SnapshotProjection> projection) {
+        FindIterable<CdoSnapshot> findIterable = collection
             .find(applyQueryParams(query, queryParams));
 
+        if (projection.isPresent()) {
+            SnapshotProjection p = queryParams.map(QueryParams::isLoadCommitProps).orElse(true)
+                    ? projection.get() : projection.get().withoutCommitProperties();
+            findIterable.projection(p.toProjection());
+        }
+        else if (queryParams.isPresent() && !queryParams.get().isLoadCommitProps()) {
+            findIterable.projection(Projections.exclude(COMMIT_PROPERTIES));
+        }
+
+        //globalId_key makes the order deterministic within a commit, which keyset paging relies on
         if (coreConfiguration.getCommitIdGenerator() == CommitIdGenerator.SYNCHRONIZED_SEQUENCE) {
-            findIterable.sort(new Document(COMMIT_ID, DESC));
+            findIterable.sort(new Document(COMMIT_ID, DESC).append(GLOBAL_ID_KEY, ASC));
         }
         else {
-            findIterable.sort(new Document(COMMIT_DATE_INSTANT, DESC));
+            findIterable.sort(new Document(COMMIT_DATE_INSTANT, DESC).append(COMMIT_ID, DESC).append(GLOBAL_ID_KEY, ASC));
         }
 
-        return applyQueryParams(findIterable, queryParams).iterator();
+        return applyQueryParams(findIterable, queryParams);
     }
 
     private Bson applyQueryParams(Bson query, Optional<QueryParams> queryParams) {
@@ -297,17 +464,41 @@ public class MongoRepository implements JaversRepository, ConfigurationAware {
                 query = addCommitPropertiesFilter(query, params.commitProperties());
             }
             if (params.changedProperties().size() > 0) {
-                query = Filters.and(query, Filters.or(params.changedProperties().stream()
-                        .map(it -> new BasicDBObject(CHANGED_PROPERTIES, it)).collect(Collectors.toList())));
+                //exact match of array elements, served by the changedProperties index with one $in scan
+                query = Filters.and(query, Filters.in(CHANGED_PROPERTIES, params.changedProperties()));
             }
             if (params.snapshotType().isPresent()) {
                 query = Filters.and(query, new BasicDBObject(SNAPSHOT_TYPE, params.snapshotType().get().name()));
             }
+            if (params.afterSnapshot().isPresent()) {
+                query = Filters.and(query, afterSnapshotFilter(params.afterSnapshot().get()));
+            }
 
         }
         return query;
     }
 
+    /**
+     * Keyset paging, documents after the given snapshot in the sort order
+     * of {@link #getMongoSnapshotsFindIterable(MongoCollection, Bson, Optional, Optional)}
+     */
+    private Bson afterSnapshotFilter(CdoSnapshot afterSnapshot) {
+        CommitId commitId = afterSnapshot.getCommitId();
+        Bson olderCommits = Filters.lt(COMMIT_ID, commitId.valueAsNumber().doubleValue() - COMMIT_ID_PRECISION);
+        Bson sameCommit = Filters.and(commitIdFilter(commitId),
+                Filters.gt(GLOBAL_ID_KEY, afterSnapshot.getGlobalId().value()));
+
+        if (coreConfiguration.getCommitIdGenerator() == CommitIdGenerator.SYNCHRONIZED_SEQUENCE) {
+            return Filters.or(olderCommits, sameCommit);
+        }
+
+        String commitDateInstant = UtilTypeCoreAdapters.serialize(afterSnapshot.getCommitMetadata().getCommitDateInstant());
+        return Filters.or(
+                Filters.lt(COMMIT_DATE_INSTANT, commitDateInstant),
+                Filters.and(Filters.eq(COMMIT_DATE_INSTANT, commitDateInstant), olderCommits),
+                Filters.and(Filters.eq(COMMIT_DATE_INSTANT, commitDateInstant), sameCommit));
+    }
+
     private Bson commitIdFilter(CommitId commitId) {
         if (commitId.getMinorId() > 0) {
             commitId.valueAsNumber().doubleValue();
@@ -319,7 +510,7 @@ public class MongoRepository implements JaversRepository, ConfigurationAware {
         return Filters.eq(COMMIT_ID, commitId.getMajorId());
     }
 
-    private FindIterable<Document> applyQueryParams(FindIterable<Document> findIterable, Optional<QueryParams> queryParams) {
+    private <T> FindIterable<T> applyQueryParams(FindIterable<T> findIterable, Optional<QueryParams> queryParams) {
         if (queryParams.isPresent()) {
             QueryParams params = queryParams.get();
             findIterable = findIterable
@@ -339,24 +530,83 @@ public class MongoRepository implements JaversRepository, ConfigurationAware {
         return Filters.and(query, Filters.and(propertyFilters.toArray(new Bson[]{})));
     }
 
+    /**
+     * Runs on the primary, as commits rely on the latest snapshot
+     */
     private Optional<CdoSnapshot> getLatest(Bson idQuery) {
         QueryParams queryParams = QueryParamsBuilder.withLimit(1).build();
-        MongoCursor<Document> mongoLatest = getMongoSnapshotsCursor(idQuery, Optional.of(queryParams));
+        MongoCursor<CdoSnapshot> mongoLatest = getMongoSnapshotsCursor(
+                snapshotsCodecCollection().withReadPreference(ReadPreference.primary()), idQuery, Optional.of(queryParams));
 
-        return getOne(mongoLatest).map(d -> readFromDBObject(d));
+        return getOne(mongoLatest);
+    }
+
+    /**
+     * One aggregation per {@link #LATEST_BATCH_SIZE} GlobalIds,
+     * <code>$group</code> keeps the first, so the newest, snapshot of each GlobalId
+     */
+    private List<CdoSnapshot> getLatestInBatches(Collection<GlobalId> globalIds) {
+        List<String> globalIdKeys = globalIds.stream().map(GlobalId::value).distinct().collect(Collectors.toList());
+        List<CdoSnapshot> snapshots = new ArrayList<>();
+
+        for (List<String> batch : Lists.partition(globalIdKeys, LATEST_BATCH_SIZE)) {
+            List<Bson> pipeline = Arrays.asList(
+                    Aggregates.match(Filters.in(GLOBAL_ID_KEY, batch)),
+                    Aggregates.sort(new Document(GLOBAL_ID_KEY, ASC).append(SNAPSHOT_VERSION, DESC)),
+                    Aggregates.group("$" + GLOBAL_ID_KEY, Accumulators.first(LATEST, "$$ROOT")));
+
+            try (MongoCursor<RawBsonDocument> latest = snapshotsCollection()
+                    .withReadPreference(ReadPreference.primary())
+                    .aggregate(pipeline, RawBsonDocument.class).iterator()) {
+                while (latest.hasNext()) {
+                    BsonDocumentReader reader = new BsonDocumentReader(latest.next().getDocument(LATEST));
+                    snapshots.add(snapshotCodec.decode(reader, DecoderContext.builder().build()));
+                }
+            }
+        }
+        return snapshots;
     }
 
     private List<CdoSnapshot> queryForSnapshots(Bson query, Optional<QueryParams> queryParams) {
         List<CdoSnapshot> snapshots = new ArrayList<>();
-        try (MongoCursor<Document> mongoSnapshots = getMongoSnapshotsCursor(query, queryParams)) {
+        try (MongoCursor<CdoSnapshot> mongoSnapshots = getMongoSnapshotsCursor(historyCollection(), query, queryParams)) {
             while (mongoSnapshots.hasNext()) {
-                Document dbObject = mongoSnapshots.next();
-                snapshots.add(readFromDBObject(dbObject));
+                snapshots.add(mongoSnapshots.next());
             }
             return snapshots;
         }
     }
 
+    /**
+     * Snapshots are fetched in batches of {@link #streamBatchSize} and decoded lazily,
+     * when the stream is consumed.
+     * The cursor is closed when it's exhausted or when the stream is closed.
+     */
+    private Stream<CdoSnapshot> streamSnapshots(Bson query, QueryParams queryParams, Optional<SnapshotProjection> projection) {
+        MongoCursor<CdoSnapshot> cursor = getMongoSnapshotsFindIterable(historyCollection(), query, Optional.of(queryParams), projection)
+                .batchSize(streamBatchSize)
+                .iterator();
+
+        Iterator<CdoSnapshot> closingIterator = new Iterator<CdoSnapshot>() {
+            @Override
+            public boolean hasNext() {
+                if (cursor.hasNext()) {
+                    return true;
+                }
+                cursor.close();
+                return false;
+            }
+
+            @Override
+            public CdoSnapshot next() {
+                return cursor.next();
+            }
+        };
+
+        Spliterator<CdoSnapshot> spliterator = Spliterators.spliteratorUnknownSize(closingIterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(cursor::close);
+    }
+
     private static <T> Optional<T> getOne(MongoCursor<T> mongoCursor){
         try{
             if (!mongoCursor.hasNext()) {
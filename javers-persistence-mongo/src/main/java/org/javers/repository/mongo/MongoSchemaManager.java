@@ -19,6 +19,7 @@ import static org.javers.repository.mongo.MongoDialect.MONGO_DB;
  */
 class MongoSchemaManager {
     static final int ASC = 1;
+    static final int DESC = -1;
     static final String SNAPSHOTS = "jv_snapshots";
     static final String COMMIT_ID = "commitMetadata.id";
     static final String COMMIT_DATE = "commitMetadata.commitDate";
@@ -48,6 +49,8 @@ class MongoSchemaManager {
         //ensures collections and indexes
         MongoCollection<Document> snapshots = snapshotsCollection();
         snapshots.createIndex(new BasicDBObject(GLOBAL_ID_KEY, ASC));
+        //serves $sort and $group of the latest snapshots aggregation
+        snapshots.createIndex(new BasicDBObject(GLOBAL_ID_KEY, ASC).append(SNAPSHOT_VERSION, DESC));
         snapshots.createIndex(new BasicDBObject(GLOBAL_ID_VALUE_OBJECT, ASC));
         snapshots.createIndex(new BasicDBObject(GLOBAL_ID_ENTITY, ASC));
         snapshots.createIndex(new BasicDBObject(GLOBAL_ID_OWNER_ID_ENTITY, ASC));
@@ -0,0 +1,87 @@
+package org.javers.repository.mongo;
+
+import com.mongodb.client.model.Projections;
+import org.bson.conversions.Bson;
+import org.javers.common.validation.Validate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.javers.repository.mongo.MongoSchemaManager.*;
+
+/**
+ * Selects fields of snapshot documents fetched by projected queries,
+ * for example {@link MongoRepository#getSnapshotsStream(org.javers.repository.api.QueryParams, SnapshotProjection)}.
+ * <br/><br/>
+ *
+ * GlobalId, version, type, commit metadata and changed property names are always fetched.
+ * State is fetched only for the selected properties,
+ * so projected snapshots are good for reading metadata and values but not for calculating diffs.
+ *
+ * @since 5.14
+ */
+public class SnapshotProjection {
+    static final String GLOBAL_ID = "globalId";
+    static final String COMMIT_METADATA = "commitMetadata";
+    static final String STATE = "state";
+
+    private final Set<String> stateProperties;
+    private final boolean commitPropertiesIncluded;
+
+    private SnapshotProjection(Set<String> stateProperties, boolean commitPropertiesIncluded) {
+        this.stateProperties = stateProperties;
+        this.commitPropertiesIncluded = commitPropertiesIncluded;
+    }
+
+    /**
+     * Snapshots with empty state
+     */
+    public static SnapshotProjection withoutState() {
+        return new SnapshotProjection(Collections.emptySet(), true);
+    }
+
+    /**
+     * Snapshots with state limited to the given properties
+     */
+    public static SnapshotProjection withStateProperties(String... propertyNames) {
+        Validate.argumentIsNotNull(propertyNames);
+        return new SnapshotProjection(Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(propertyNames))), true);
+    }
+
+    /**
+     * Skips <code>commitMetadata.properties</code>
+     */
+    public SnapshotProjection withoutCommitProperties() {
+        return new SnapshotProjection(stateProperties, false);
+    }
+
+    public Set<String> getStateProperties() {
+        return stateProperties;
+    }
+
+    public boolean isCommitPropertiesIncluded() {
+        return commitPropertiesIncluded;
+    }
+
+    Bson toProjection() {
+        List<String> fields = new ArrayList<>();
+        fields.add(GLOBAL_ID);
+        fields.add(SNAPSHOT_VERSION);
+        fields.add(SNAPSHOT_TYPE);
+        fields.add(CHANGED_PROPERTIES);
+
+        if (commitPropertiesIncluded) {
+            fields.add(COMMIT_METADATA);
+        } else {
+            fields.addAll(Arrays.asList(COMMIT_ID, COMMIT_DATE, COMMIT_DATE_INSTANT, COMMIT_AUTHOR));
+        }
+
+        stateProperties.forEach(p -> fields.add(STATE + "." + p));
+
+        return Projections.fields(Projections.include(fields), Projections.excludeId());
+    }
+}
@@ -3,17 +3,29 @@ package org.javers.repository.mongo.model;
 import org.bson.Document;
 import org.javers.core.commit.CommitId;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+
 /**
  * @author pawel szymczyk
  */
 public class MongoHeadId {
     public static final String COLLECTION_NAME = "jv_head_id";
     private static final String KEY = "id";
+    public static final String NUMBER_KEY = "idAsNumber";
 
     private final String id;
 
+    /**
+     * Head documents written before {@link #NUMBER_KEY} was introduced have only the string id
+     */
     public MongoHeadId(Document doc) {
-        this.id = doc.getString(KEY);
+        Object idAsNumber = doc.get(NUMBER_KEY);
+        if (idAsNumber instanceof Number) {
+            this.id = CommitId.valueOf(BigDecimal.valueOf(((Number) idAsNumber).doubleValue())).value();
+        } else {
+            this.id = doc.getString(KEY);
+        }
     }
 
     public MongoHeadId(CommitId id) {
@@ -32,6 +44,35 @@ public class MongoHeadId {
         return new Document("$set", toDocument());
     }
 
+    /**
+     * Matches the head document only if it's older than this id,
+     * so concurrent commits can't move the head back.
+     * Head documents written by older JaVers versions, without {@link #NUMBER_KEY}, are matched too.
+     */
+    public Document getOlderHeadFilter() {
+        return new Document("$or", Arrays.asList(
+                new Document(NUMBER_KEY, new Document("$lt", getIdAsNumber())),
+                new Document(NUMBER_KEY, new Document("$exists", false))));
+    }
+
+    /**
+     * Sets both the numeric id and the string id, the latter for readers of older JaVers versions
+     */
+    public Document getForwardUpdateCommand() {
+        return new Document("$set", toDocument().append(NUMBER_KEY, getIdAsNumber()));
+    }
+
+    /**
+     * Creates the head document only if it doesn't exist yet
+     */
+    public Document getInsertIfAbsentCommand() {
+        return new Document("$setOnInsert", toDocument().append(NUMBER_KEY, getIdAsNumber()));
+    }
+
+    private double getIdAsNumber() {
+        return toCommitId().valueAsNumber().doubleValue();
+    }
+
     private String getId() {
         return id;
     }
@@ -0,0 +1,104 @@
+package org.javers.repository.mongo
+
+import com.google.gson.JsonObject
+import com.mongodb.MongoClientSettings
+import org.bson.BsonBinaryReader
+import org.bson.BsonBinaryWriter
+import org.bson.Document
+import org.bson.codecs.DecoderContext
+import org.bson.codecs.EncoderContext
+import org.bson.io.BasicOutputBuffer
+import org.javers.core.metamodel.object.CdoSnapshot
+import org.javers.core.model.DummyAddress
+import org.javers.core.model.SnapshotEntity
+import spock.lang.Ignore
+import spock.lang.Specification
+
+import java.lang.management.ManagementFactory
+import java.nio.ByteBuffer
+
+import static org.javers.core.JaversBuilder.javers
+import static org.javers.repository.mongo.MongoSchemaManager.GLOBAL_ID_KEY
+
+/**
+ * Compares throughput and allocations of writing and reading snapshots as BSON,
+ * DocumentConverter with MapKeyDotReplacer vs CdoSnapshotCodec
+ */
+@Ignore
+class CdoSnapshotCodecPerformanceTest extends Specification {
+
+    def javers = javers().build()
+    def jsonConverter = javers.getJsonConverter()
+    def codec = new CdoSnapshotCodec(jsonConverter)
+    def documentCodec = MongoClientSettings.getDefaultCodecRegistry().get(Document)
+    def threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()
+
+    def "should report throughput and allocated bytes per snapshot"() {
+        given:
+        def snapshots = (1..1000).collect { sampleSnapshot(it) }
+        def rounds = 20
+
+        when:
+        //warm up
+        3.times { legacyRoundTrip(snapshots); codecRoundTrip(snapshots) }
+
+        def legacy = measure(rounds) { legacyRoundTrip(snapshots) }
+        def direct = measure(rounds) { codecRoundTrip(snapshots) }
+
+        report("DocumentConverter", legacy, rounds * snapshots.size())
+        report("CdoSnapshotCodec ", direct, rounds * snapshots.size())
+
+        then:
+        true
+    }
+
+    private void legacyRoundTrip(List<CdoSnapshot> snapshots) {
+        snapshots.each { snapshot ->
+            def document = new MapKeyDotReplacer().replaceInSnapshotState(
+                    DocumentConverter.toDocument((JsonObject) jsonConverter.toJsonElement(snapshot)))
+            document.append(GLOBAL_ID_KEY, snapshot.globalId.value())
+
+            def buffer = new BasicOutputBuffer()
+            documentCodec.encode(new BsonBinaryWriter(buffer), document, EncoderContext.builder().build())
+
+            def read = documentCodec.decode(reader(buffer), DecoderContext.builder().build())
+            jsonConverter.fromJson(DocumentConverter.fromDocument(new MapKeyDotReplacer().back(read)), CdoSnapshot)
+        }
+    }
+
+    private void codecRoundTrip(List<CdoSnapshot> snapshots) {
+        snapshots.each { snapshot ->
+            def buffer = new BasicOutputBuffer()
+            codec.encode(new BsonBinaryWriter(buffer), snapshot, EncoderContext.builder().build())
+
+            codec.decode(reader(buffer), DecoderContext.builder().build())
+        }
+    }
+
+    private BsonBinaryReader reader(BasicOutputBuffer buffer) {
+        new BsonBinaryReader(ByteBuffer.wrap(buffer.toByteArray()))
+    }
+
+    private Map measure(int rounds, Closure action) {
+        def threadId = Thread.currentThread().id
+        def allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId)
+        def start = System.nanoTime()
+        rounds.times { action() }
+        [nanos: System.nanoTime() - start,
+         bytes: threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore]
+    }
+
+    private void report(String name, Map result, int snapshotCount) {
+        println(name + ": " + (snapshotCount * 1_000_000_000L / result.nanos).toLong() + " snapshots/s" +
+                ", " + (result.bytes / snapshotCount).toLong() + " bytes allocated per snapshot")
+    }
+
+    private CdoSnapshot sampleSnapshot(int id) {
+        def entity = new SnapshotEntity(id: id,
+                intProperty: id,
+                mapOfPrimitives: ["key.with.dots": id, "plain": 2],
+                listOfIntegers: (1..20).toList(),
+                valueObjectRef: new DummyAddress("London", "Street " + id))
+        javers.commit("author", entity).snapshots.find { it.globalId.value().endsWith("SnapshotEntity/" + id) }
+    }
+}
@@ -0,0 +1,107 @@
+package org.javers.repository.mongo
+
+import com.google.gson.JsonObject
+import com.mongodb.MongoClientSettings
+import org.bson.BsonDocument
+import org.bson.BsonDocumentReader
+import org.bson.BsonDocumentWriter
+import org.bson.BsonInt32
+import org.bson.BsonObjectId
+import org.bson.codecs.DecoderContext
+import org.bson.codecs.EncoderContext
+import org.bson.types.ObjectId
+import org.javers.core.Javers
+import org.javers.core.metamodel.object.CdoSnapshot
+import org.javers.core.model.DummyAddress
+import org.javers.core.model.SnapshotEntity
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.LocalDate
+
+import static org.javers.core.JaversBuilder.javers
+import static org.javers.repository.mongo.MongoSchemaManager.GLOBAL_ID_KEY
+
+class CdoSnapshotCodecTest extends Specification {
+
+    @Shared Javers javers = javers().build()
+    @Shared CdoSnapshotCodec codec = new CdoSnapshotCodec(javers.getJsonConverter())
+
+    def "should write the same BSON as DocumentConverter with MapKeyDotReplacer"() {
+        given:
+        def snapshot = sampleSnapshot()
+
+        expect:
+        encode(snapshot) == legacyEncode(snapshot)
+    }
+
+    def "should escape dots only in map keys of snapshot state"() {
+        when:
+        def bson = encode(sampleSnapshot())
+
+        then:
+        def map = bson.getDocument("state").getDocument("mapOfPrimitives")
+        map.keySet() == ["a#dot#b#dot#c", "plain"] as Set
+        map.get("a#dot#b#dot#c") == new BsonInt32(1)
+        bson.getString(GLOBAL_ID_KEY).value == "org.javers.core.model.SnapshotEntity/1"
+    }
+
+    def "should read snapshots back with unescaped map keys"() {
+        given:
+        def snapshot = sampleSnapshot()
+
+        when:
+        def read = decode(encode(snapshot))
+
+        then:
+        read.globalId == snapshot.globalId
+        read.commitId == snapshot.commitId
+        read.version == snapshot.version
+        read.type == snapshot.type
+        read.getPropertyValue("mapOfPrimitives") == ["a.b.c": 1, "plain": 2]
+        read.getPropertyValue("mapOfValues") == [(LocalDate.of(2020, 1, 1)): 1.5]
+        read.getPropertyValue("listOfIntegers") == [1, 2, 3]
+        read.getPropertyValue("valueObjectRef") == snapshot.getPropertyValue("valueObjectRef")
+        read.state == snapshot.state
+    }
+
+    def "should read documents written by DocumentConverter, with Mongo ObjectId"() {
+        given:
+        def snapshot = sampleSnapshot()
+        def bson = legacyEncode(snapshot)
+        bson.put("_id", new BsonObjectId(new ObjectId()))
+
+        when:
+        def read = decode(bson)
+
+        then:
+        read.globalId == snapshot.globalId
+        read.state == snapshot.state
+    }
+
+    private CdoSnapshot sampleSnapshot() {
+        def entity = new SnapshotEntity(id: 1,
+                mapOfPrimitives: ["a.b.c": 1, "plain": 2],
+                mapOfValues: [(LocalDate.of(2020, 1, 1)): 1.5],
+                listOfIntegers: [1, 2, 3],
+                valueObjectRef: new DummyAddress("London", "Street"))
+        javers.commit("author", entity).snapshots.find { it.globalId.value() == "org.javers.core.model.SnapshotEntity/1" }
+    }
+
+    private BsonDocument encode(CdoSnapshot snapshot) {
+        def bson = new BsonDocument()
+        codec.encode(new BsonDocumentWriter(bson), snapshot, EncoderContext.builder().build())
+        bson
+    }
+
+    private CdoSnapshot decode(BsonDocument bson) {
+        codec.decode(new BsonDocumentReader(bson), DecoderContext.builder().build())
+    }
+
+    private BsonDocument legacyEncode(CdoSnapshot snapshot) {
+        def document = DocumentConverter.toDocument((JsonObject) javers.getJsonConverter().toJsonElement(snapshot))
+        new MapKeyDotReplacer().replaceInSnapshotState(document)
+                .append(GLOBAL_ID_KEY, snapshot.globalId.value())
+                .toBsonDocument(BsonDocument, MongoClientSettings.getDefaultCodecRegistry())
+    }
+}
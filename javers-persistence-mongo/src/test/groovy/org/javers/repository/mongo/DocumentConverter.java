@@ -10,6 +10,9 @@ import java.util.List;
 import java.util.Map;
 
 /**
+ * Former snapshot mapping, replaced by {@link CdoSnapshotCodec},
+ * kept to verify that the BSON format hasn't changed
+ *
  * @author bartosz.walacik
  */
 class DocumentConverter {
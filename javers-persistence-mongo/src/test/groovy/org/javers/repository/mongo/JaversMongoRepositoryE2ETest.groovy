@@ -1,13 +1,22 @@
 package org.javers.repository.mongo
 
+import com.mongodb.ReadPreference
 import com.mongodb.client.MongoDatabase
+import org.bson.Document
+import org.javers.core.JaversBuilder
 import org.javers.core.JaversRepositoryShadowE2ETest
 import org.javers.core.JaversTestBuilder
+import org.javers.core.commit.CommitId
 import org.javers.core.model.DummyUser
 import org.javers.core.model.SnapshotEntity
 import org.javers.repository.api.JaversRepository
 import org.javers.repository.api.QueryParamsBuilder
+import org.javers.repository.jql.QueryBuilder
+import org.javers.repository.mongo.model.MongoHeadId
 
+import java.util.concurrent.TimeUnit
+
+import static java.util.stream.Collectors.toList
 import static org.javers.core.model.DummyUser.dummyUser
 import static org.javers.repository.jql.QueryBuilder.byInstanceId
 
@@ -73,6 +82,104 @@ abstract class JaversMongoRepositoryE2ETest extends JaversRepositoryShadowE2ETes
         mongoRepository.getHeadId().getMinorId() == 1
     }
 
+    def "should not move head id back when an older commit is persisted later"() {
+        given:
+        MongoRepository mongoRepository = (MongoRepository)repository
+        def commitFactory = javersTestBuilder.commitFactory
+
+        def commit1 = commitFactory.create("author", [:], dummyUser("Kazik").withAge(1))
+        def commit2 = commitFactory.create("author", [:], dummyUser("Kazik").withAge(2))
+
+        when:
+        mongoRepository.persist(commit2)
+        mongoRepository.persist(commit1)
+
+        then:
+        mongoRepository.getHeadId() == commit2.id
+        getMongoDb().getCollection(MongoHeadId.COLLECTION_NAME).countDocuments() == 1
+        getMongoDb().getCollection(MongoHeadId.COLLECTION_NAME).find().first().getString("id") == commit2.id.value()
+    }
+
+    def "should move head id to the max commit id of a batch persisted out of order"() {
+        given:
+        MongoRepository mongoRepository = (MongoRepository)repository
+        def commitFactory = javersTestBuilder.commitFactory
+        def commits = (1..3).collect { commitFactory.create("author", [:], dummyUser("Kazik").withAge(it)) }
+
+        when:
+        mongoRepository.persistAll([commits[2], commits[0], commits[1]])
+
+        then:
+        mongoRepository.getHeadId() == commits[2].id
+        getMongoDb().getCollection(MongoHeadId.COLLECTION_NAME).countDocuments() == 1
+        getMongoDb().getCollection(MongoHeadId.COLLECTION_NAME).find().first().getString("id") == commits[2].id.value()
+    }
+
+    def "should read and move head id stored by previous versions"() {
+        given:
+        MongoRepository mongoRepository = (MongoRepository)repository
+        getMongoDb().getCollection(MongoHeadId.COLLECTION_NAME).insertOne(new Document("id", "5.0"))
+
+        expect:
+        mongoRepository.getHeadId() == new CommitId(5, 0)
+
+        when:
+        javers.commit("author", dummyUser("Kazik"))
+
+        then:
+        getMongoDb().getCollection(MongoHeadId.COLLECTION_NAME).countDocuments() == 1
+        mongoRepository.getHeadId() == new CommitId(6, 0)
+    }
+
+    def "should persist snapshots of many commits at once"() {
+        given:
+        MongoRepository mongoRepository = (MongoRepository)repository
+        def commitFactory = javersTestBuilder.commitFactory
+        def commits = (1..5).collect { commitFactory.create("author", [:], new SnapshotEntity(id: it, intProperty: it)) }
+
+        when:
+        mongoRepository.persistAll(commits)
+
+        then:
+        mongoRepository.getHeadId() == commits.last().id
+        (1..5).every { mongoRepository.getLatest(javersTestBuilder.instanceId(new SnapshotEntity(id: it))).isPresent() }
+        javers.findSnapshots(QueryBuilder.byClass(SnapshotEntity).build()).size() == 5
+    }
+
+    def "should find latest snapshots of many GlobalIds in one batch"() {
+        given:
+        (1..3).each { javers.commit("author", new SnapshotEntity(id: it, intProperty: 1)) }
+        (1..3).each { javers.commit("author", new SnapshotEntity(id: it, intProperty: 2)) }
+        def ids = (1..4).collect { javersTestBuilder.instanceId(new SnapshotEntity(id: it)) }
+
+        when:
+        def latest = new MongoRepository(getMongoDb()).with {
+            it.jsonConverter = javers.jsonConverter
+            it.getLatest(ids)
+        }
+
+        then:
+        latest.collect { it.globalId } == ids.take(3)
+        latest.every { it.version == 2 && it.getPropertyValue("intProperty") == 2 }
+    }
+
+    def "should fill the latest snapshot cache with results of the batch lookup"() {
+        given:
+        (1..3).each { javers.commit("author", new SnapshotEntity(id: it)) }
+        def ids = (1..4).collect { javersTestBuilder.instanceId(new SnapshotEntity(id: it)) }
+        def freshRepository = new MongoRepository(getMongoDb())
+        freshRepository.jsonConverter = javers.jsonConverter
+
+        when:
+        freshRepository.getLatest(ids)
+        getMongoDb().getCollection(MongoSchemaManager.SNAPSHOTS).deleteMany(new Document())
+
+        then:
+        (1..3).every { freshRepository.getLatest(ids[it - 1]).isPresent() }
+        !freshRepository.getLatest(ids[3]).isPresent()
+        freshRepository.getLatest(ids).size() == 3
+    }
+
     def "should persist commit and get latest snapshot"() {
         given:
         MongoRepository mongoRepository = (MongoRepository)repository
@@ -149,4 +256,98 @@ abstract class JaversMongoRepositoryE2ETest extends JaversRepositoryShadowE2ETes
         then:
         history.size() == 2
     }
+
+    def "should stream state history in cursor batches and close the cursor when the stream is closed"() {
+        given:
+        def mongoRepository = new MongoRepository(getMongoDb(), 0, 2)
+        mongoRepository.jsonConverter = javers.jsonConverter
+        5.times { javers.commit("andy", dummyUser("kazik").withAge(it)) }
+        def id = javersTestBuilder.instanceId(new DummyUser("kazik"))
+        def queryParams = QueryParamsBuilder.withLimit(10).build()
+
+        when:
+        def streamed = mongoRepository.getStateHistoryStream(id, queryParams).withCloseable { it.collect(toList()) }
+
+        then:
+        streamed.size() == 5
+        streamed.collect { it.version } == [5, 4, 3, 2, 1]
+        streamed.collect { it.state } == mongoRepository.getStateHistory(id, queryParams).collect { it.state }
+
+        when:
+        def firstTwo = mongoRepository.getSnapshotsStream(queryParams).withCloseable { it.limit(2).collect(toList()) }
+
+        then:
+        firstTwo.collect { it.version } == [5, 4]
+    }
+
+    def "should stream snapshots without state when projected"() {
+        given:
+        def mongoRepository = (MongoRepository)repository
+        javers.commit("andy", dummyUser("kazik").withAge(1), ["os": "mac"])
+        javers.commit("andy", dummyUser("kazik").withAge(2), ["os": "mac"])
+
+        when:
+        def snapshots = mongoRepository.getSnapshotsStream(QueryParamsBuilder.withLimit(10).build(),
+                SnapshotProjection.withoutState()).withCloseable { it.collect(toList()) }
+
+        then:
+        snapshots.size() == 2
+        snapshots.every { it.state.propertyNames.isEmpty() }
+        snapshots[0].changed == ["age"]
+        snapshots[0].commitMetadata.author == "andy"
+        snapshots[0].commitMetadata.properties == ["os": "mac"]
+        snapshots[0].globalId.value() == DummyUser.name + "/kazik"
+        snapshots[0].version == 2
+    }
+
+    def "should stream only selected state properties when projected"() {
+        given:
+        def mongoRepository = (MongoRepository)repository
+        javers.commit("andy", dummyUser("kazik").withAge(1).withSex(DummyUser.Sex.MALE), ["os": "mac"])
+        def id = javersTestBuilder.instanceId(new DummyUser("kazik"))
+
+        when:
+        def snapshot = mongoRepository.getStateHistoryStream(id, QueryParamsBuilder.withLimit(1).build(),
+                SnapshotProjection.withStateProperties("age").withoutCommitProperties())
+                .withCloseable { it.findFirst().get() }
+
+        then:
+        snapshot.state.propertyNames == ["age"] as Set
+        snapshot.getPropertyValue("age") == 1
+        snapshot.commitMetadata.author == "andy"
+        snapshot.commitMetadata.properties.isEmpty()
+    }
+
+    def "should skip commit properties when the query doesn't load them"() {
+        given:
+        def mongoRepository = (MongoRepository)repository
+        javers.commit("andy", dummyUser("kazik").withAge(1), ["os": "mac"])
+        def id = javersTestBuilder.instanceId(new DummyUser("kazik"))
+
+        when:
+        def snapshot = mongoRepository.getStateHistory(id,
+                QueryParamsBuilder.withLimit(1).withCommitProps(false).build())[0]
+
+        then:
+        snapshot.commitMetadata.properties.isEmpty()
+        snapshot.getPropertyValue("age") == 1
+    }
+
+    def "should run history queries with the history read preference and commits on the primary"() {
+        given:
+        def mongoRepository = new MongoRepository(getMongoDb(), 0, MongoRepository.DEFAULT_STREAM_BATCH_SIZE,
+                ReadPreference.secondaryPreferred(120, TimeUnit.SECONDS))
+        def routedJavers = JaversBuilder.javers().registerJaversRepository(mongoRepository).build()
+        def id = javersTestBuilder.instanceId(new DummyUser("kazik"))
+
+        when:
+        routedJavers.commit("andy", dummyUser("kazik").withAge(1))
+        routedJavers.commit("andy", dummyUser("kazik").withAge(2))
+
+        then:
+        mongoRepository.historyReadPreference == ReadPreference.secondaryPreferred(120, TimeUnit.SECONDS)
+        mongoRepository.getLatest(id).get().version == 2
+        routedJavers.findSnapshots(byInstanceId("kazik", DummyUser).build()).size() == 2
+        routedJavers.findChanges(byInstanceId("kazik", DummyUser).build()).size() > 0
+    }
 }
@@ -5,6 +5,9 @@ import org.bson.Document;
 import java.util.HashSet;
 
 /**
+ * Former snapshot mapping, replaced by {@link CdoSnapshotCodec},
+ * kept to verify that the BSON format hasn't changed
+ *
  * @author bartosz.walacik
  */
 class MapKeyDotReplacer {
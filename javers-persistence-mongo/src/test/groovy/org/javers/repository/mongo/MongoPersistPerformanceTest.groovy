@@ -0,0 +1,87 @@
+package org.javers.repository.mongo
+
+import com.mongodb.ConnectionString
+import com.mongodb.MongoClientSettings
+import com.mongodb.client.MongoClients
+import com.mongodb.event.CommandFailedEvent
+import com.mongodb.event.CommandListener
+import com.mongodb.event.CommandStartedEvent
+import com.mongodb.event.CommandSucceededEvent
+import org.javers.core.model.DummyAddress
+import org.javers.core.model.SnapshotEntity
+import spock.lang.Ignore
+import spock.lang.Specification
+
+import java.util.concurrent.atomic.AtomicInteger
+
+import static org.javers.core.JaversBuilder.javers
+
+/**
+ * Reports round trips and throughput of MongoRepository.persist(),
+ * runs on the embedded mongod
+ */
+@Ignore
+class MongoPersistPerformanceTest extends Specification {
+
+    def "should report round trips per commit and commit throughput"() {
+        given:
+        def port = 12346
+        def embeddedMongo = EmbeddedMongoFactory.create(port)
+        def allCommands = new AtomicInteger()
+        def writeCommands = new AtomicInteger()
+        def mongoClient = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString("mongodb://localhost:" + port))
+                .addCommandListener(counting(allCommands, writeCommands))
+                .build())
+
+        def mongoRepository = new MongoRepository(mongoClient.getDatabase("persist_performance"))
+        def javers = javers().registerJaversRepository(mongoRepository).build()
+        def commits = 1_000
+        def objectsPerCommit = 10
+
+        when:
+        allCommands.set(0)
+        writeCommands.set(0)
+        def start = System.currentTimeMillis()
+        commits.times { c ->
+            javers.commit("author", new SnapshotEntity(id: 0, intProperty: c,
+                    listOfEntities: (1..objectsPerCommit).collect { produce(it, c) }))
+        }
+        def time = System.currentTimeMillis() - start
+
+        println("commits: " + commits + ", snapshots per commit: " + (objectsPerCommit + 1))
+        println("  round trips per commit: " + (allCommands.get() / commits) + ", of which writes: " + (writeCommands.get() / commits))
+        println("  time: " + time + " ms, " + ((commits * 1000) / Math.max(time, 1)).toLong() + " commits/s")
+
+        then:
+        true
+
+        cleanup:
+        mongoClient?.close()
+        embeddedMongo?.stop()
+    }
+
+    SnapshotEntity produce(int id, int version) {
+        new SnapshotEntity(id: id, intProperty: version, valueObjectRef: new DummyAddress("city " + id, "street " + version))
+    }
+
+    CommandListener counting(AtomicInteger allCommands, AtomicInteger writeCommands) {
+        new CommandListener() {
+            @Override
+            void commandStarted(CommandStartedEvent event) {
+                allCommands.incrementAndGet()
+                if (event.commandName in ["insert", "update", "delete", "findAndModify"]) {
+                    writeCommands.incrementAndGet()
+                }
+            }
+
+            @Override
+            void commandSucceeded(CommandSucceededEvent event) {
+            }
+
+            @Override
+            void commandFailed(CommandFailedEvent event) {
+            }
+        }
+    }
+}
@@ -13,4 +13,22 @@ import java.sql.SQLException;
 public interface ConnectionProvider {
     
     Connection getConnection() throws SQLException;
+
+    /**
+     * When true, JaversSqlRepository keeps prepared statements open between sessions
+     * and reuses them for the same connection.
+     * <br/>
+     *
+     * Enable it when connections are long-lived, for example,
+     * a dedicated connection or a pool which returns the same <code>Connection</code> object.
+     * Statements of closed connections are never reused.
+     * <br/>
+     *
+     * Default is false, statements are closed when a session ends.
+     *
+     * @since 5.14
+     */
+    default boolean isStatementReuseAllowed() {
+        return false;
+    }
 }
@@ -22,7 +22,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.javers.repository.sql.session.Session.SQL_LOGGER_NAME;
 
@@ -35,6 +37,9 @@ public class JaversSqlRepository implements JaversRepository {
     private final CdoSnapshotRepository cdoSnapshotRepository;
     private final CdoSnapshotFinder finder;
     private final JaversSchemaManager schemaManager;
+    private final LatestSnapshotCache latestSnapshotCache;
+    private final LatestSnapshotCacheInvalidator latestSnapshotCacheInvalidator;
+    private volatile TransactionCompletionScheduler transactionCompletionScheduler = TransactionCompletionScheduler.immediate();
 
     private final SqlRepositoryConfiguration sqlRepositoryConfiguration;
 
@@ -44,7 +49,8 @@ public class JaversSqlRepository implements JaversRepository {
                                CdoSnapshotRepository cdoSnapshotRepository,
                                CdoSnapshotFinder finder,
                                JaversSchemaManager schemaManager,
-                               SqlRepositoryConfiguration sqlRepositoryConfiguration) {
+                               SqlRepositoryConfiguration sqlRepositoryConfiguration,
+                               LatestSnapshotCacheInvalidator latestSnapshotCacheInvalidator) {
         this.sessionFactory = sessionFactory;
         this.commitRepository = commitRepository;
         this.globalIdRepository = globalIdRepository;
@@ -52,25 +58,32 @@ public class JaversSqlRepository implements JaversRepository {
         this.finder = finder;
         this.schemaManager = schemaManager;
         this.sqlRepositoryConfiguration = sqlRepositoryConfiguration;
+        this.latestSnapshotCache = new LatestSnapshotCache(sqlRepositoryConfiguration.getLatestSnapshotCacheSize());
+        this.latestSnapshotCacheInvalidator = latestSnapshotCacheInvalidator;
+        latestSnapshotCacheInvalidator.bind(latestSnapshotCache::evict);
     }
 
     @Override
     public Optional<CdoSnapshot> getLatest(GlobalId globalId) {
-        try(Session session = sessionFactory.create("get latest snapshot")) {
-            return finder.getLatest(globalId, session, true);
-        }
+        return latestSnapshotCache.getLatest(globalId, it -> {
+            try(Session session = sessionFactory.create("get latest snapshot")) {
+                return finder.getLatest(it, session, true);
+            }
+        });
     }
 
     @Override
     public List<CdoSnapshot> getLatest(Collection<GlobalId> globalIds) {
         Validate.argumentIsNotNull(globalIds);
-        try(Session session = sessionFactory.create("get latest snapshots")) {
-            return globalIds.stream()
-                    .map(id -> finder.getLatest(id, session, false))
-                    .filter(it -> it.isPresent())
-                    .map(it -> it.get())
-                    .collect(Collectors.toList());
-        }
+
+        //cached snapshots are also returned by getLatest(GlobalId), so they are loaded with commit properties
+        boolean loadCommitProps = !latestSnapshotCache.isDisabled();
+
+        return latestSnapshotCache.getLatest(globalIds, missing -> {
+            try(Session session = sessionFactory.create("get latest snapshots")) {
+                return finder.getLatest(missing, session, loadCommitProps);
+            }
+        });
     }
 
     @Override
@@ -80,12 +93,88 @@ public class JaversSqlRepository implements JaversRepository {
         }
     }
 
+    @Override
+    public Stream<CdoSnapshot> getSnapshotsStream(QueryParams queryParams) {
+        return streamInSession("stream snapshots", session -> finder.getSnapshotsStream(queryParams, session));
+    }
+
+    @Override
+    public Stream<CdoSnapshot> getStateHistoryStream(GlobalId globalId, QueryParams queryParams) {
+        return streamInSession("stream snapshots by globalId", session -> finder.getStateHistoryStream(globalId, queryParams, session));
+    }
+
+    @Override
+    public Stream<CdoSnapshot> getStateHistoryStream(Set<ManagedType> givenClasses, QueryParams queryParams) {
+        if (isEmpty(givenClasses)) {
+            return Stream.empty();
+        }
+        return streamInSession("stream snapshots by type", session -> finder.getStateHistoryStream(givenClasses, queryParams, session));
+    }
+
+    @Override
+    public Stream<CdoSnapshot> getValueObjectStateHistoryStream(EntityType ownerEntity, String path, QueryParams queryParams) {
+        return streamInSession("stream VO snapshots by path", session -> finder.getVOStateHistoryStream(ownerEntity, path, queryParams, session));
+    }
+
+    /**
+     * The session stays open until the stream is closed
+     */
+    private Stream<CdoSnapshot> streamInSession(String sessionName, Function<Session, Stream<CdoSnapshot>> query) {
+        Session session = sessionFactory.create(sessionName);
+        try {
+            return query.apply(session).onClose(session::close);
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
     @Override
     public void persist(Commit commit) {
         try(Session session = sessionFactory.create("persist commit")) {
-            long commitPk = commitRepository.save(commit.getAuthor(), commit.getProperties(), commit.getCommitDate(), commit.getCommitDateInstant(), commit.getId(), session);
-            cdoSnapshotRepository.save(commitPk, commit.getSnapshots(), session);
+            persist(commit, session);
         }
+        onPersisted(commit.getSnapshots());
+    }
+
+    /**
+     * Commits are persisted one by one in one session,
+     * so connection and prepared statements are shared,
+     * but inserts of different commits aren't batched together
+     */
+    @Override
+    public void persistAll(List<Commit> commits) {
+        Validate.argumentIsNotNull(commits);
+        try(Session session = sessionFactory.create("persist commits")) {
+            commits.forEach(commit -> persist(commit, session));
+        }
+        onPersisted(commits.stream()
+                .flatMap(commit -> commit.getSnapshots().stream())
+                .collect(Collectors.toList()));
+    }
+
+    private void persist(Commit commit, Session session) {
+        long commitPk = commitRepository.save(commit.getAuthor(), commit.getProperties(), commit.getCommitDate(), commit.getCommitDateInstant(), commit.getId(), session);
+        cdoSnapshotRepository.save(commitPk, commit.getSnapshots(), session);
+    }
+
+    /**
+     * The cache is updated and other nodes are notified
+     * only when the transaction is committed
+     */
+    private void onPersisted(List<CdoSnapshot> snapshots) {
+        List<GlobalId> globalIds = snapshots.stream()
+                .map(CdoSnapshot::getGlobalId)
+                .distinct()
+                .collect(Collectors.toList());
+
+        latestSnapshotCache.beginUpdate(globalIds);
+        transactionCompletionScheduler.afterCompletion(committed -> {
+            latestSnapshotCache.endUpdate(globalIds, committed ? snapshots : Collections.emptyList());
+            if (committed) {
+                latestSnapshotCacheInvalidator.onPersisted(globalIds);
+            }
+        });
     }
 
     @Override
@@ -130,8 +219,9 @@ public class JaversSqlRepository implements JaversRepository {
     }
 
     /**
-     * JaversSqlRepository uses the cache for GlobalId primary keys.
-     * This cache is non-transactional.
+     * JaversSqlRepository uses the cache for GlobalId primary keys
+     * and optionally, the latest snapshot cache.
+     * These caches are non-transactional.
      * <br/><br/>
      *
      * If a SQL transaction encounters errors and must be rolled back,
@@ -147,6 +237,7 @@ public class JaversSqlRepository implements JaversRepository {
      */
     public void evictCache() {
         globalIdRepository.evictCache();
+        latestSnapshotCache.evictAll();
     }
 
     /**
@@ -156,6 +247,37 @@ public class JaversSqlRepository implements JaversRepository {
         return globalIdRepository.getGlobalIdPkCacheSize();
     }
 
+    /**
+     * Hit, miss and eviction counts of the GlobalId primary keys cache
+     *
+     * @since 5.14
+     */
+    public SqlCacheStats getGlobalIdPkCacheStats() {
+        return globalIdRepository.getGlobalIdPkCacheStats();
+    }
+
+    /**
+     * Hit, miss and eviction counts of the latest snapshot cache
+     *
+     * @see SqlRepositoryBuilder#withLatestSnapshotCacheSize(long)
+     * @since 5.14
+     */
+    public SqlCacheStats getLatestSnapshotCacheStats() {
+        return latestSnapshotCache.getStats();
+    }
+
+    /**
+     * Should be set when persists run in transactions committed later,
+     * otherwise uncommitted snapshots could be cached and published to other nodes.
+     * JaversTransactionalDecorator sets it automatically.
+     *
+     * @since 5.14
+     */
+    public void setTransactionCompletionScheduler(TransactionCompletionScheduler transactionCompletionScheduler) {
+        Validate.argumentIsNotNull(transactionCompletionScheduler);
+        this.transactionCompletionScheduler = transactionCompletionScheduler;
+    }
+
     /**
      * @since 2.7.2
      */
@@ -180,10 +302,15 @@ public class JaversSqlRepository implements JaversRepository {
         finder.setJsonConverter(jsonConverter);
     }
 
+    /**
+     * When the schema is managed by JaVers, snapshots compressed earlier
+     * are readable even if the compression is disabled now
+     */
     @Override
     public void ensureSchema() {
         if(sqlRepositoryConfiguration.isSchemaManagementEnabled()) {
             schemaManager.ensureSchema();
+            finder.setSnapshotStateBinaryColumnPresent(schemaManager.isSnapshotStateBinaryColumnPresent());
         }
     }
 
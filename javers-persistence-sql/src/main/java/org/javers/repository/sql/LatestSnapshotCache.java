@@ -0,0 +1,158 @@
+package org.javers.repository.sql;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.javers.core.metamodel.object.CdoSnapshot;
+import org.javers.core.metamodel.object.GlobalId;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Latest snapshots of GlobalIds, including known absent ones.
+ * Filled from committed snapshots and from the database on misses.
+ * <br/><br/>
+ *
+ * GlobalIds with snapshots persisted by a transaction which isn't completed yet
+ * are read from the database and not cached, see {@link #beginUpdate(Collection)}.
+ */
+class LatestSnapshotCache {
+    private final Cache<GlobalId, Optional<CdoSnapshot>> cache;
+    private final boolean disabled;
+    private final Map<GlobalId, Integer> updating = new ConcurrentHashMap<>();
+
+    LatestSnapshotCache(long size) {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(size)
+                .recordStats()
+                .build();
+
+        this.disabled = size == 0;
+    }
+
+    boolean isDisabled() {
+        return disabled;
+    }
+
+    Optional<CdoSnapshot> getLatest(GlobalId globalId, Function<GlobalId, Optional<CdoSnapshot>> source) {
+        if (disabled || updating.containsKey(globalId)) {
+            return source.apply(globalId);
+        }
+
+        Optional<CdoSnapshot> fromCache = cache.getIfPresent(globalId);
+
+        if (fromCache != null) {
+            return fromCache;
+        }
+
+        Optional<CdoSnapshot> fromDb = source.apply(globalId);
+        putIfAbsent(globalId, fromDb);
+        return fromDb;
+    }
+
+    /**
+     * Loads only missing GlobalIds from the source, in one call
+     */
+    List<CdoSnapshot> getLatest(Collection<GlobalId> globalIds,
+                                Function<Collection<GlobalId>, List<CdoSnapshot>> source) {
+        if (disabled) {
+            return source.apply(globalIds);
+        }
+
+        List<CdoSnapshot> result = new ArrayList<>();
+        Set<GlobalId> missing = new HashSet<>();
+        for (GlobalId globalId : globalIds) {
+            Optional<CdoSnapshot> fromCache = updating.containsKey(globalId) ? null : cache.getIfPresent(globalId);
+            if (fromCache == null) {
+                missing.add(globalId);
+            } else {
+                fromCache.ifPresent(result::add);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        for (CdoSnapshot fromDb : source.apply(missing)) {
+            missing.remove(fromDb.getGlobalId());
+            putIfAbsent(fromDb.getGlobalId(), Optional.of(fromDb));
+            result.add(fromDb);
+        }
+        missing.forEach(absent -> putIfAbsent(absent, Optional.empty()));
+
+        return result;
+    }
+
+    /**
+     * Called when snapshots of given GlobalIds are written, before their transaction completes.
+     * Until {@link #endUpdate(Collection, Collection)}, they are read from the database and not cached,
+     * so uncommitted snapshots aren't shared with other transactions.
+     */
+    void beginUpdate(Collection<GlobalId> globalIds) {
+        if (disabled) {
+            return;
+        }
+
+        globalIds.forEach(globalId -> updating.merge(globalId, 1, Integer::sum));
+        evict(globalIds);
+    }
+
+    /**
+     * Called when the transaction which wrote snapshots of given GlobalIds completes.
+     *
+     * @param committed snapshots of the committed transaction, empty when it was rolled back
+     */
+    void endUpdate(Collection<GlobalId> globalIds, Collection<CdoSnapshot> committed) {
+        if (disabled) {
+            return;
+        }
+
+        //snapshots loaded while the transaction was running could be already outdated
+        evict(globalIds);
+        globalIds.forEach(globalId -> updating.computeIfPresent(globalId, (id, count) -> count == 1 ? null : count - 1));
+
+        //GlobalIds still written by other transactions aren't cached until they complete
+        put(committed.stream()
+                .filter(snapshot -> !updating.containsKey(snapshot.getGlobalId()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Committed snapshots replace cached ones, unless a newer version is cached
+     */
+    private void put(Collection<CdoSnapshot> snapshots) {
+        snapshots.forEach(snapshot -> cache.asMap().merge(snapshot.getGlobalId(), Optional.of(snapshot),
+                (cached, persisted) -> isNewer(cached, persisted.get()) ? cached : persisted));
+    }
+
+    void evict(Collection<GlobalId> globalIds) {
+        cache.invalidateAll(globalIds);
+    }
+
+    void evictAll() {
+        cache.invalidateAll();
+    }
+
+    SqlCacheStats getStats() {
+        CacheStats stats = cache.stats();
+        return new SqlCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.size());
+    }
+
+    /**
+     * A snapshot loaded from the database doesn't replace
+     * the one committed concurrently by this node
+     */
+    private void putIfAbsent(GlobalId globalId, Optional<CdoSnapshot> fromDb) {
+        if (!updating.containsKey(globalId)) {
+            cache.asMap().putIfAbsent(globalId, fromDb);
+        }
+    }
+
+    private boolean isNewer(Optional<CdoSnapshot> cached, CdoSnapshot persisted) {
+        return cached.isPresent() && cached.get().getVersion() > persisted.getVersion();
+    }
+}
@@ -0,0 +1,52 @@
+package org.javers.repository.sql;
+
+import org.javers.core.metamodel.object.GlobalId;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the latest snapshot caches of JaVers instances
+ * sharing the same database consistent.
+ * <br/><br/>
+ *
+ * Each JaversSqlRepository knows only about snapshots persisted by itself.
+ * When many application nodes write to the same database,
+ * an implementation should publish GlobalIds persisted by this node
+ * (for example, to a message broker) and evict them on the other nodes.
+ * <br/><br/>
+ *
+ * Snapshots are published after their transaction commits,
+ * see {@link TransactionCompletionScheduler}.
+ *
+ * @see SqlRepositoryBuilder#withLatestSnapshotCacheInvalidator(LatestSnapshotCacheInvalidator)
+ * @since 5.14
+ */
+public interface LatestSnapshotCacheInvalidator {
+
+    /**
+     * Called once, when JaversSqlRepository is created.
+     * The given evictor should be called with GlobalIds persisted by other nodes.
+     */
+    void bind(Consumer<Collection<GlobalId>> evictor);
+
+    /**
+     * Called after this node commits snapshots of given objects
+     */
+    void onPersisted(Collection<GlobalId> globalIds);
+
+    /**
+     * Default strategy for a single JaVers instance, does nothing
+     */
+    static LatestSnapshotCacheInvalidator singleNode() {
+        return new LatestSnapshotCacheInvalidator() {
+            @Override
+            public void bind(Consumer<Collection<GlobalId>> evictor) {
+            }
+
+            @Override
+            public void onPersisted(Collection<GlobalId> globalIds) {
+            }
+        };
+    }
+}
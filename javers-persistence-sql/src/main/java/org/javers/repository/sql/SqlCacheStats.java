@@ -0,0 +1,64 @@
+package org.javers.repository.sql;
+
+/**
+ * Statistics of a JaversSqlRepository cache,
+ * counted since the repository was created
+ *
+ * @see JaversSqlRepository#getGlobalIdPkCacheStats()
+ * @see JaversSqlRepository#getLatestSnapshotCacheStats()
+ * @since 5.14
+ */
+public class SqlCacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long size;
+
+    public SqlCacheStats(long hitCount, long missCount, long evictionCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Entries evicted due to the size limit or expiry,
+     * invalidations by {@link JaversSqlRepository#evictCache()} aren't counted
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Current number of cached entries
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 1.0 when there were no lookups
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "SqlCacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", size=" + size +
+                "}";
+    }
+}
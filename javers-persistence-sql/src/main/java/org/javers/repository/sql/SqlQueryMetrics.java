@@ -0,0 +1,40 @@
+package org.javers.repository.sql;
+
+/**
+ * Receives timings of SQL queries executed by JaversSqlRepository,
+ * for example, to publish them to a monitoring system.
+ * <br/><br/>
+ *
+ * Queries are identified by names, like <code>"snapshots"</code>,
+ * <code>"find PKs of InstanceIds"</code> or <code>"select max snapshot's PKs"</code>.
+ * Names are fixed, so they are safe to use as metric tags.
+ * <br/><br/>
+ *
+ * One instance is shared by all sessions of a repository,
+ * so implementations should be thread-safe and should aggregate measurements themselves.
+ * The Spring Boot starter binds it to Micrometer, when a <code>MeterRegistry</code> is available.
+ *
+ * @see SqlRepositoryBuilder#withQueryMetrics(SqlQueryMetrics)
+ * @since 5.14
+ */
+public interface SqlQueryMetrics {
+
+    /**
+     * Called after each execution of a query.
+     * For streamed queries, called when the stream is closed.
+     *
+     * @param durationNanos time of executing the query and reading its rows,
+     *                      time spent by a stream consumer isn't included
+     * @param rowCount rows read by a select or written by an insert
+     * @param deserializedChars length in chars (not bytes) of the JSON read from snapshot rows,
+     *                          0 for queries which don't read snapshots
+     */
+    void record(String queryName, long durationNanos, long rowCount, long deserializedChars);
+
+    /**
+     * Default, does nothing
+     */
+    static SqlQueryMetrics noOp() {
+        return (queryName, durationNanos, rowCount, deserializedChars) -> { };
+    }
+}
@@ -10,6 +10,8 @@ import org.polyjdbc.core.PolyJDBCBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 /**
  * @author bartosz walacik
  */
@@ -21,12 +23,22 @@ public class SqlRepositoryBuilder extends AbstractContainerBuilder {
 
     private String schemaName;
     private boolean globalIdCacheDisabled;
+    private long globalIdCacheSize = SqlRepositoryConfiguration.DEFAULT_GLOBAL_ID_CACHE_SIZE;
+    private Duration globalIdCacheExpireAfterAccess;
+    private long latestSnapshotCacheSize = SqlRepositoryConfiguration.DEFAULT_LATEST_SNAPSHOT_CACHE_SIZE;
+    private LatestSnapshotCacheInvalidator latestSnapshotCacheInvalidator = LatestSnapshotCacheInvalidator.singleNode();
+    private SqlQueryMetrics queryMetrics = SqlQueryMetrics.noOp();
+    private int streamFetchSize = SqlRepositoryConfiguration.DEFAULT_STREAM_FETCH_SIZE;
     private boolean schemaManagementEnabled = true;
+    private boolean changedPropertyTableEnabled;
+    private boolean schemaTuningEnabled;
+    private boolean snapshotStateCompressionEnabled;
 
     private String globalIdTableName;
     private String commitTableName;
     private String snapshotTableName;
     private String commitPropertyTableName;
+    private String changedPropertyTableName;
     
     private String globalIdPKColumnName;
     private String globalIdLocalIdColumnName;
@@ -98,11 +110,134 @@ public class SqlRepositoryBuilder extends AbstractContainerBuilder {
         return this;
     }
 
+    /**
+     * Maximum number of cached GlobalId primary keys, default is 1000.
+     * When exceeded, least recently used keys are evicted.
+     * <br/>
+     * Hit, miss and eviction counts are available in
+     * {@link JaversSqlRepository#getGlobalIdPkCacheStats()}.
+     *
+     * @since 5.14
+     */
+    public SqlRepositoryBuilder withGlobalIdCacheSize(long globalIdCacheSize) {
+        this.globalIdCacheSize = globalIdCacheSize;
+        return this;
+    }
+
+    /**
+     * Cached GlobalId primary keys are evicted when not accessed for a given time.
+     * By default, they never expire.
+     *
+     * @since 5.14
+     */
+    public SqlRepositoryBuilder withGlobalIdCacheExpireAfterAccess(Duration globalIdCacheExpireAfterAccess) {
+        this.globalIdCacheExpireAfterAccess = globalIdCacheExpireAfterAccess;
+        return this;
+    }
+
+    /**
+     * Maximum number of cached latest snapshots, default is 0 (disabled).
+     * <br/>
+     * When enabled, snapshots from persisted commits are cached,
+     * so next commits of the same objects don't read their latest snapshots from the database.
+     * Like the GlobalId primary keys cache, it is evicted by {@link JaversSqlRepository#evictCache()}
+     * on transaction rollback.
+     * <br/>
+     * When many JaVers instances write to the same database,
+     * set a {@link #withLatestSnapshotCacheInvalidator(LatestSnapshotCacheInvalidator)}.
+     * <br/>
+     * Hit, miss and eviction counts are available in
+     * {@link JaversSqlRepository#getLatestSnapshotCacheStats()}.
+     *
+     * @since 5.14
+     */
+    public SqlRepositoryBuilder withLatestSnapshotCacheSize(long latestSnapshotCacheSize) {
+        this.latestSnapshotCacheSize = latestSnapshotCacheSize;
+        return this;
+    }
+
+    /**
+     * Evicts the latest snapshot cache when other JaVers instances persist snapshots,
+     * default is {@link LatestSnapshotCacheInvalidator#singleNode()}
+     *
+     * @since 5.14
+     */
+    public SqlRepositoryBuilder withLatestSnapshotCacheInvalidator(LatestSnapshotCacheInvalidator latestSnapshotCacheInvalidator) {
+        this.latestSnapshotCacheInvalidator = latestSnapshotCacheInvalidator;
+        return this;
+    }
+
+    /**
+     * Receives latencies, row counts and deserialized JSON sizes of executed SQL queries,
+     * default is {@link SqlQueryMetrics#noOp()}
+     *
+     * @since 5.14
+     */
+    public SqlRepositoryBuilder withQueryMetrics(SqlQueryMetrics queryMetrics) {
+        this.queryMetrics = queryMetrics;
+        return this;
+    }
+
+    /**
+     * JDBC fetch size of snapshot queries streamed by
+     * {@link org.javers.core.Javers#findSnapshotsAndStream(org.javers.repository.jql.JqlQuery)},
+     * default is 500.
+     * <br/>
+     * Some drivers, for example PostgreSQL, use it only when autocommit is disabled.
+     *
+     * @since 5.14
+     */
+    public SqlRepositoryBuilder withStreamFetchSize(int streamFetchSize) {
+        this.streamFetchSize = streamFetchSize;
+        return this;
+    }
+
     public SqlRepositoryBuilder withSchemaManagementEnabled(boolean schemaManagementEnabled){
         this.schemaManagementEnabled = schemaManagementEnabled;
         return this;
     }
 
+    /**
+     * Enables the schema tuning mode.
+     * The schema manager creates composite indexes for the access paths of JQL queries:
+     * <ul>
+     *     <li><code>jv_snapshot(global_id_fk, version)</code> &mdash; version and snapshot identifier filters,</li>
+     *     <li><code>jv_snapshot(global_id_fk, snapshot_pk)</code> &mdash; latest snapshots and instance queries,</li>
+     *     <li><code>jv_snapshot(managed_type, snapshot_pk)</code> &mdash; class queries,</li>
+     *     <li><code>jv_commit(commit_date)</code> and <code>jv_commit(commit_date_instant)</code> &mdash; commit date ranges.</li>
+     * </ul>
+     * Missing indexes are added also to existing schemas, on startup.
+     * Existing indexes are not dropped.
+     * <br/>
+     * Disabled by default. Requires schema management to be enabled.
+     *
+     * @since 5.14
+     */
+    public SqlRepositoryBuilder withSchemaTuningEnabled(boolean schemaTuningEnabled) {
+        this.schemaTuningEnabled = schemaTuningEnabled;
+        return this;
+    }
+
+    /**
+     * Enables the compressed binary format of snapshot states.
+     * New snapshots are stored deflated in the <code>jv_snapshot.state_binary</code> column,
+     * which is usually 3 to 5 times smaller than JSON text in the <code>state</code> column.
+     * <br/>
+     * Snapshots stored in both formats are readable,
+     * so it can be enabled for an existing database,
+     * but once enabled, it can't be disabled as long as compressed snapshots exist.
+     * <br/>
+     * Disabled by default.
+     * The column is added by the schema manager,
+     * when schema management is disabled, add a nullable BLOB column (<code>bytea</code> on PostgreSQL).
+     *
+     * @since 5.14
+     */
+    public SqlRepositoryBuilder withSnapshotStateCompressionEnabled(boolean snapshotStateCompressionEnabled) {
+        this.snapshotStateCompressionEnabled = snapshotStateCompressionEnabled;
+        return this;
+    }
+
     public SqlRepositoryBuilder withGlobalIdTableName(String globalIdTableName) {
         if(isNonEmpty(globalIdTableName)) {
             this.globalIdTableName = globalIdTableName;
@@ -131,6 +266,35 @@ public class SqlRepositoryBuilder extends AbstractContainerBuilder {
         return this;
     }
     
+    /**
+     * Enables the <code>jv_changed_property</code> table,
+     * a normalised copy of the <code>jv_snapshot.changed_properties</code> column,
+     * with one row per snapshot and changed property name.
+     * It's indexed by property name, so
+     * {@link org.javers.repository.jql.QueryBuilder#withChangedProperty(String)}
+     * filters are index lookups instead of full scans of the snapshot table.
+     * <br/>
+     * Disabled by default.
+     * The table is created and filled from existing snapshots by the schema manager,
+     * when schema management is disabled, create and fill it before enabling this option.
+     *
+     * @since 5.14
+     */
+    public SqlRepositoryBuilder withChangedPropertyTableEnabled(boolean changedPropertyTableEnabled) {
+        this.changedPropertyTableEnabled = changedPropertyTableEnabled;
+        return this;
+    }
+
+    /**
+     * @since 5.14
+     */
+    public SqlRepositoryBuilder withChangedPropertyTableName(String changedPropertyTableName) {
+        if(isNonEmpty(changedPropertyTableName)) {
+            this.changedPropertyTableName = changedPropertyTableName;
+        }
+        return this;
+    }
+
     public SqlRepositoryBuilder withGlobalIdPKColumnName(String globalIdPKColumnName) {
         if(isNonEmpty(globalIdPKColumnName)) {
             this.globalIdPKColumnName = globalIdPKColumnName;
@@ -351,14 +515,22 @@ public class SqlRepositoryBuilder extends AbstractContainerBuilder {
 										       foreignKeyIndicator,
 										       sequenceIndicator,
 										       indexIndicator,
-										       isSuffix);
+										       isSuffix)
+                .withGlobalIdCacheSize(globalIdCacheSize)
+                .withGlobalIdCacheExpireAfterAccess(globalIdCacheExpireAfterAccess)
+                .withLatestSnapshotCacheSize(latestSnapshotCacheSize)
+                .withStreamFetchSize(streamFetchSize)
+                .withChangedPropertyTable(changedPropertyTableEnabled, changedPropertyTableName)
+                .withSchemaTuningEnabled(schemaTuningEnabled)
+                .withSnapshotStateCompressionEnabled(snapshotStateCompressionEnabled);
 
         addComponent(config);
+        addComponent(latestSnapshotCacheInvalidator);
 
         PolyJDBC polyJDBC = PolyJDBCBuilder.polyJDBC(dialectName.getPolyDialect(), config.getSchemaName())
                 .usingManagedConnections(() -> connectionProvider.getConnection()).build();
 
-        SessionFactory sessionFactory = new SessionFactory(dialectName, connectionProvider);
+        SessionFactory sessionFactory = new SessionFactory(dialectName, connectionProvider, queryMetrics);
 
         addComponent(polyJDBC);
         addComponent(sessionFactory);
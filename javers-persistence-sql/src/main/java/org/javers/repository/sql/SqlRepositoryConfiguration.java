@@ -1,5 +1,6 @@
 package org.javers.repository.sql;
 
+import java.time.Duration;
 import java.util.Optional;
 import org.javers.common.validation.Validate;
 
@@ -8,7 +9,19 @@ import org.javers.common.validation.Validate;
  * @author bartosz.walacik
  */
 public class SqlRepositoryConfiguration {
+    public static final long DEFAULT_GLOBAL_ID_CACHE_SIZE = 1000;
+    public static final long DEFAULT_LATEST_SNAPSHOT_CACHE_SIZE = 0;
+    public static final int DEFAULT_STREAM_FETCH_SIZE = 500;
+
     private final boolean globalIdCacheDisabled;
+    private long globalIdCacheSize = DEFAULT_GLOBAL_ID_CACHE_SIZE;
+    private Duration globalIdCacheExpireAfterAccess;
+    private long latestSnapshotCacheSize = DEFAULT_LATEST_SNAPSHOT_CACHE_SIZE;
+    private int streamFetchSize = DEFAULT_STREAM_FETCH_SIZE;
+    private boolean changedPropertyTableEnabled;
+    private String changedPropertyTableName;
+    private boolean schemaTuningEnabled;
+    private boolean snapshotStateCompressionEnabled;
     private final String schemaName;
     private final boolean schemaManagementEnabled;
 
@@ -123,10 +136,83 @@ public class SqlRepositoryConfiguration {
 	    
 	}
 
+	SqlRepositoryConfiguration withGlobalIdCacheSize(long globalIdCacheSize) {
+		Validate.argumentCheck(globalIdCacheSize >= 0, "globalIdCacheSize should be non-negative");
+		this.globalIdCacheSize = globalIdCacheSize;
+		return this;
+	}
+
+	SqlRepositoryConfiguration withGlobalIdCacheExpireAfterAccess(Duration globalIdCacheExpireAfterAccess) {
+		this.globalIdCacheExpireAfterAccess = globalIdCacheExpireAfterAccess;
+		return this;
+	}
+
+	SqlRepositoryConfiguration withLatestSnapshotCacheSize(long latestSnapshotCacheSize) {
+		Validate.argumentCheck(latestSnapshotCacheSize >= 0, "latestSnapshotCacheSize should be non-negative");
+		this.latestSnapshotCacheSize = latestSnapshotCacheSize;
+		return this;
+	}
+
+	SqlRepositoryConfiguration withStreamFetchSize(int streamFetchSize) {
+		Validate.argumentCheck(streamFetchSize > 0, "streamFetchSize should be positive");
+		this.streamFetchSize = streamFetchSize;
+		return this;
+	}
+
+	SqlRepositoryConfiguration withChangedPropertyTable(boolean changedPropertyTableEnabled, String changedPropertyTableName) {
+		this.changedPropertyTableEnabled = changedPropertyTableEnabled;
+		this.changedPropertyTableName = changedPropertyTableName;
+		return this;
+	}
+
+	SqlRepositoryConfiguration withSchemaTuningEnabled(boolean schemaTuningEnabled) {
+		this.schemaTuningEnabled = schemaTuningEnabled;
+		return this;
+	}
+
+	SqlRepositoryConfiguration withSnapshotStateCompressionEnabled(boolean snapshotStateCompressionEnabled) {
+		this.snapshotStateCompressionEnabled = snapshotStateCompressionEnabled;
+		return this;
+	}
+
 	public boolean isGlobalIdCacheDisabled() {
         return globalIdCacheDisabled;
     }
 
+    /**
+     * @since 5.14
+     */
+    public long getGlobalIdCacheSize() {
+        return globalIdCacheSize;
+    }
+
+    /**
+     * Empty means that cached GlobalId primary keys never expire
+     *
+     * @since 5.14
+     */
+    public Optional<Duration> getGlobalIdCacheExpireAfterAccess() {
+        return Optional.ofNullable(globalIdCacheExpireAfterAccess);
+    }
+
+    /**
+     * 0 means that the latest snapshot cache is disabled
+     *
+     * @since 5.14
+     */
+    public long getLatestSnapshotCacheSize() {
+        return latestSnapshotCacheSize;
+    }
+
+    /**
+     * JDBC fetch size of streamed snapshot queries
+     *
+     * @since 5.14
+     */
+    public int getStreamFetchSize() {
+        return streamFetchSize;
+    }
+
     /**
      * null or non-empty
      */
@@ -142,6 +228,24 @@ public class SqlRepositoryConfiguration {
         return schemaManagementEnabled;
     }
 
+    /**
+     * When enabled, the schema manager creates composite indexes tuned to JQL queries
+     *
+     * @since 5.14
+     */
+    public boolean isSchemaTuningEnabled() {
+        return schemaTuningEnabled;
+    }
+
+    /**
+     * When enabled, snapshot states are stored in the compressed binary format
+     *
+     * @since 5.14
+     */
+    public boolean isSnapshotStateCompressionEnabled() {
+        return snapshotStateCompressionEnabled;
+    }
+
     public Optional<String> getGlobalIdTableName() {
         return Optional.ofNullable(globalIdTableName);
     }
@@ -158,6 +262,23 @@ public class SqlRepositoryConfiguration {
         return Optional.ofNullable(commitPropertyTableName);
     }
 
+    /**
+     * When enabled, changed property names of snapshots are stored also in a side table
+     * and {@link org.javers.repository.jql.QueryBuilder#withChangedProperty(String)} filters use it
+     *
+     * @since 5.14
+     */
+    public boolean isChangedPropertyTableEnabled() {
+        return changedPropertyTableEnabled;
+    }
+
+    /**
+     * @since 5.14
+     */
+    public Optional<String> getChangedPropertyTableName() {
+        return Optional.ofNullable(changedPropertyTableName);
+    }
+
 	public Optional<String> getGlobalIdPKColumnName() {
 		return Optional.ofNullable(globalIdPKColumnName);
 	}
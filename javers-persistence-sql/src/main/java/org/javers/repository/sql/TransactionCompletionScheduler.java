@@ -0,0 +1,34 @@
+package org.javers.repository.sql;
+
+import java.util.function.Consumer;
+
+/**
+ * Tells JaversSqlRepository when the transaction which persisted snapshots completes,
+ * so the latest snapshot cache and {@link LatestSnapshotCacheInvalidator}
+ * see only committed snapshots.
+ * <br/><br/>
+ *
+ * JaversTransactionalDecorator from <code>javers-spring</code>
+ * binds it to Spring's <code>TransactionSynchronization</code>.
+ *
+ * @see JaversSqlRepository#setTransactionCompletionScheduler(TransactionCompletionScheduler)
+ * @since 5.14
+ */
+@FunctionalInterface
+public interface TransactionCompletionScheduler {
+
+    /**
+     * Called during a persist.
+     * The given callback should be called once, when the current transaction completes,
+     * with <code>true</code> if it was committed and <code>false</code> if it was rolled back.
+     */
+    void afterCompletion(Consumer<Boolean> callback);
+
+    /**
+     * Default, calls back immediately as committed.
+     * Right when each persist is committed before it returns, for example, in auto-commit mode.
+     */
+    static TransactionCompletionScheduler immediate() {
+        return callback -> callback.accept(true);
+    }
+}
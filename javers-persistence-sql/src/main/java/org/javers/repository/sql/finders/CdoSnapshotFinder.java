@@ -1,13 +1,20 @@
 package org.javers.repository.sql.finders;
 
 import static java.util.stream.Collectors.toList;
+import static org.javers.repository.sql.session.Parameter.longParam;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.javers.common.collections.Lists;
 import org.javers.common.collections.Sets;
@@ -21,8 +28,11 @@ import org.javers.repository.api.QueryParams;
 import org.javers.repository.api.QueryParamsBuilder;
 import org.javers.repository.api.SnapshotIdentifier;
 import org.javers.repository.sql.finders.SnapshotQuery.SnapshotDbIdentifier;
+import org.javers.repository.sql.SqlRepositoryConfiguration;
 import org.javers.repository.sql.repositories.GlobalIdRepository;
 import org.javers.repository.sql.schema.DBNameProvider;
+import org.javers.repository.sql.session.Parameter;
+import org.javers.repository.sql.session.SelectBuilder;
 import org.javers.repository.sql.session.Session;
 
 public class CdoSnapshotFinder {
@@ -32,11 +42,24 @@ public class CdoSnapshotFinder {
     private final CdoSnapshotsEnricher cdoSnapshotsEnricher = new CdoSnapshotsEnricher();
     private JsonConverter jsonConverter;
     private final DBNameProvider dbNameProvider;
+    private final int streamFetchSize;
+    private volatile SnapshotQuery.Template snapshotQueryTemplate;
 
-    public CdoSnapshotFinder(GlobalIdRepository globalIdRepository, CommitPropertyFinder commitPropertyFinder, DBNameProvider dbNameProvider) {
+    public CdoSnapshotFinder(GlobalIdRepository globalIdRepository, CommitPropertyFinder commitPropertyFinder, DBNameProvider dbNameProvider,
+                             SqlRepositoryConfiguration configuration) {
         this.globalIdRepository = globalIdRepository;
         this.commitPropertyFinder = commitPropertyFinder;
         this.dbNameProvider = dbNameProvider;
+        this.streamFetchSize = configuration.getStreamFetchSize();
+        this.snapshotQueryTemplate = new SnapshotQuery.Template(dbNameProvider, dbNameProvider.isSnapshotStateCompressionEnabled());
+    }
+
+    /**
+     * Compressed snapshot states are read whenever their column exists,
+     * also after the compression is disabled
+     */
+    public void setSnapshotStateBinaryColumnPresent(boolean present) {
+        this.snapshotQueryTemplate = new SnapshotQuery.Template(dbNameProvider, present);
     }
 
     public Optional<CdoSnapshot> getLatest(GlobalId globalId, Session session, boolean loadCommitProps) {
@@ -54,6 +77,28 @@ public class CdoSnapshotFinder {
         });
     }
 
+    /**
+     * Set-based version of {@link #getLatest(GlobalId, Session, boolean)},
+     * two queries per chunk of {@link SelectBuilder#IN_CLAUSE_MAX_SIZE} GlobalIds
+     */
+    public List<CdoSnapshot> getLatest(Collection<GlobalId> globalIds, Session session, boolean loadCommitProps) {
+        Collection<Long> globalIdPks = globalIdRepository.findGlobalIdPks(globalIds, session).values();
+
+        QueryParams noLimit = QueryParamsBuilder
+                .withLimit(Integer.MAX_VALUE)
+                .withCommitProps(loadCommitProps)
+                .build();
+
+        List<CdoSnapshot> result = new ArrayList<>();
+        for (List<Long> chunk : Lists.partition(new ArrayList<>(globalIdPks), SelectBuilder.IN_CLAUSE_MAX_SIZE)) {
+            List<Long> maxSnapshotPks = selectMaxSnapshotPrimaryKeys(chunk, session);
+            if (!maxSnapshotPks.isEmpty()) {
+                result.addAll(fetchCdoSnapshots(q -> q.addSnapshotPksFilter(maxSnapshotPks), noLimit, session));
+            }
+        }
+        return result;
+    }
+
     public List<CdoSnapshot> getSnapshots(QueryParams queryParams, Session session) {
         return fetchCdoSnapshots(q -> {}, queryParams, session);
     }
@@ -87,10 +132,31 @@ public class CdoSnapshotFinder {
                          .orElse(Collections.emptyList());
     }
 
+    public Stream<CdoSnapshot> getSnapshotsStream(QueryParams queryParams, Session session) {
+        return fetchCdoSnapshotsStream(q -> {}, queryParams, session);
+    }
+
+    public Stream<CdoSnapshot> getStateHistoryStream(Set<ManagedType> managedTypes, QueryParams queryParams, Session session) {
+        Set<String> managedTypeNames = Sets.transform(managedTypes, managedType -> managedType.getName());
+        return fetchCdoSnapshotsStream(q -> q.addManagedTypesFilter(managedTypeNames), queryParams, session);
+    }
+
+    public Stream<CdoSnapshot> getVOStateHistoryStream(EntityType ownerEntity, String fragment, QueryParams queryParams, Session session) {
+        return fetchCdoSnapshotsStream(q -> q.addVoOwnerEntityFilter(ownerEntity.getName(), fragment), queryParams, session);
+    }
+
+    public Stream<CdoSnapshot> getStateHistoryStream(GlobalId globalId, QueryParams queryParams, Session session) {
+        Optional<Long> globalIdPk = globalIdRepository.findGlobalIdPk(globalId, session);
+
+        return globalIdPk.map(idPk -> fetchCdoSnapshotsStream(q -> q.addGlobalIdFilter(idPk), queryParams, session))
+                         .orElse(Stream.empty());
+    }
+
     private List<CdoSnapshot> fetchCdoSnapshots(Consumer<SnapshotQuery> additionalFilter,
                                                 QueryParams queryParams, Session session) {
-        SnapshotQuery query = new SnapshotQuery(dbNameProvider, queryParams, session);
+        SnapshotQuery query = new SnapshotQuery(dbNameProvider, snapshotQueryTemplate, queryParams, session);
         additionalFilter.accept(query);
+        applyAfterSnapshotFilter(query, queryParams, session);
         List<CdoSnapshotSerialized> serializedSnapshots = query.run();
 
         if (queryParams.isLoadCommitProps()) {
@@ -103,6 +169,60 @@ public class CdoSnapshotFinder {
                 serializedSnapshot -> jsonConverter.fromSerializedSnapshot(serializedSnapshot));
     }
 
+    /**
+     * Snapshots are deserialized lazily,
+     * commit properties are loaded for chunks of streamFetchSize snapshots
+     */
+    private Stream<CdoSnapshot> fetchCdoSnapshotsStream(Consumer<SnapshotQuery> additionalFilter,
+                                                        QueryParams queryParams, Session session) {
+        SnapshotQuery query = new SnapshotQuery(dbNameProvider, snapshotQueryTemplate, queryParams, session);
+        additionalFilter.accept(query);
+        applyAfterSnapshotFilter(query, queryParams, session);
+        Stream<CdoSnapshotSerialized> serializedSnapshots = query.stream(streamFetchSize);
+
+        if (queryParams.isLoadCommitProps()) {
+            serializedSnapshots = chunks(serializedSnapshots, streamFetchSize).flatMap(chunk -> {
+                List<CommitPropertyDTO> commitPropertyDTOs = commitPropertyFinder.findCommitPropertiesOfSnaphots(
+                        chunk.stream().map(it -> it.getCommitPk()).collect(toList()), session);
+                cdoSnapshotsEnricher.enrichWithCommitProperties(chunk, commitPropertyDTOs);
+                return chunk.stream();
+            });
+        }
+
+        return serializedSnapshots.map(serializedSnapshot -> jsonConverter.fromSerializedSnapshot(serializedSnapshot));
+    }
+
+    private void applyAfterSnapshotFilter(SnapshotQuery query, QueryParams queryParams, Session session) {
+        queryParams.afterSnapshot().ifPresent(afterSnapshot -> {
+            //for a never persisted snapshot, no rows are after it
+            long globalIdPk = globalIdRepository.findGlobalIdPk(afterSnapshot.getGlobalId(), session).orElse(-1L);
+            query.addAfterSnapshotFilter(globalIdPk, afterSnapshot.getVersion());
+        });
+    }
+
+    private static <T> Stream<List<T>> chunks(Stream<T> stream, int chunkSize) {
+        Iterator<T> iterator = stream.iterator();
+
+        Iterator<List<T>> chunkIterator = new Iterator<List<T>>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                List<T> chunk = new ArrayList<>(chunkSize);
+                while (iterator.hasNext() && chunk.size() < chunkSize) {
+                    chunk.add(iterator.next());
+                }
+                return chunk;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunkIterator, Spliterator.ORDERED), false)
+                .onClose(stream::close);
+    }
+
     private Optional<Long> selectMaxSnapshotPrimaryKey(long globalIdPk, Session session) {
 
         Optional<Long> maxPrimaryKey =  session
@@ -118,6 +238,30 @@ public class CdoSnapshotFinder {
         return maxPrimaryKey;
     }
 
+    private List<Long> selectMaxSnapshotPrimaryKeys(List<Long> globalIdPks, Session session) {
+        String snapshotPk = dbNameProvider.getSnapshotPKColumnName();
+        String globalIdFk = dbNameProvider.getSnapshotGlobalIdFKColumnName();
+        List<Parameter> globalIdFks = globalIdPks.stream().map(it -> longParam(it)).collect(toList());
+
+        if (session.supportsWindowFunctions()) {
+            return session
+                    .select(snapshotPk + ", ROW_NUMBER() OVER (PARTITION BY " + globalIdFk + " ORDER BY " + snapshotPk + " DESC) rn")
+                    .from(dbNameProvider.getSnapshotTableNameWithSchema())
+                    .andIn(globalIdFk, globalIdFks)
+                    .wrap("SELECT " + snapshotPk + " FROM (", ") latest WHERE rn = 1")
+                    .queryName("select max snapshot's PKs")
+                    .executeQuery(resultSet -> resultSet.getLong(1));
+        }
+
+        return session
+                .select("MAX(" + snapshotPk + ")")
+                .from(dbNameProvider.getSnapshotTableNameWithSchema())
+                .andIn(globalIdFk, globalIdFks)
+                .append("GROUP BY " + globalIdFk)
+                .queryName("select max snapshot's PKs")
+                .executeQuery(resultSet -> resultSet.getLong(1));
+    }
+
     public void setJsonConverter(JsonConverter jsonConverter) {
         this.jsonConverter = jsonConverter;
     }
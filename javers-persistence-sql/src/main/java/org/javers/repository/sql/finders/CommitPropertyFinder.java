@@ -1,14 +1,17 @@
 package org.javers.repository.sql.finders;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import org.javers.common.collections.Lists;
 import org.javers.repository.sql.schema.DBNameProvider;
+import org.javers.repository.sql.session.Parameter;
+import org.javers.repository.sql.session.SelectBuilder;
 import org.javers.repository.sql.session.Session;
 
-import com.google.common.base.Joiner;
-
 public class CommitPropertyFinder {
 
     private final DBNameProvider dbNameProvider;
@@ -22,13 +25,20 @@ public class CommitPropertyFinder {
             return Collections.emptyList();
         }
 
-        return session.select(dbNameProvider.getCommitPropertyCommitFKColumnName() + ", " +  dbNameProvider.getCommitPropertyNameColumnName() + ", " + dbNameProvider.getCommitPropertyValueColumnName())
-               .from(dbNameProvider.getCommitPropertyTableNameWithSchema())
-               .queryName("commit properties")
-               .and(dbNameProvider.getCommitPropertyCommitFKColumnName() + " in (" + Joiner.on(",").join(commitPKs) + ")")
-               .executeQuery(resultSet -> new CommitPropertyDTO(
-                       resultSet.getLong(dbNameProvider.getCommitPropertyCommitFKColumnName()),
-                       resultSet.getString(dbNameProvider.getCommitPropertyNameColumnName()),
-                       resultSet.getString(dbNameProvider.getCommitPropertyValueColumnName())));
+        List<Long> distinctCommitPKs = commitPKs.stream().distinct().collect(Collectors.toList());
+        List<CommitPropertyDTO> result = new ArrayList<>();
+
+        for (List<Long> chunk : Lists.partition(distinctCommitPKs, SelectBuilder.IN_CLAUSE_MAX_SIZE)) {
+            result.addAll(session.select(dbNameProvider.getCommitPropertyCommitFKColumnName() + ", " +  dbNameProvider.getCommitPropertyNameColumnName() + ", " + dbNameProvider.getCommitPropertyValueColumnName())
+                   .from(dbNameProvider.getCommitPropertyTableNameWithSchema())
+                   .queryName("commit properties")
+                   .andIn(dbNameProvider.getCommitPropertyCommitFKColumnName(),
+                           chunk.stream().map(Parameter::longParam).collect(Collectors.toList()))
+                   .executeQuery(resultSet -> new CommitPropertyDTO(
+                           resultSet.getLong(dbNameProvider.getCommitPropertyCommitFKColumnName()),
+                           resultSet.getString(dbNameProvider.getCommitPropertyNameColumnName()),
+                           resultSet.getString(dbNameProvider.getCommitPropertyValueColumnName()))));
+        }
+        return result;
     }
 }
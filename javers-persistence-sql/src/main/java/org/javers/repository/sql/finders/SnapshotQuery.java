@@ -8,15 +8,17 @@ import static org.javers.repository.sql.session.Parameter.stringParam;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.javers.common.string.ToStringBuilder;
 import org.javers.core.json.CdoSnapshotSerialized;
 import org.javers.repository.api.QueryParams;
 import org.javers.repository.api.SnapshotIdentifier;
+import org.javers.repository.sql.repositories.CompressedSnapshotState;
 import org.javers.repository.sql.schema.DBNameProvider;
 import org.javers.repository.sql.session.ObjectMapper;
 import org.javers.repository.sql.session.Parameter;
@@ -26,48 +28,36 @@ import org.javers.repository.sql.session.Session;
 class SnapshotQuery {
     private final QueryParams queryParams;
     private final SelectBuilder selectBuilder;
-    private static DBNameProvider dbNameProvider = null;
-    private final CdoSnapshotMapper cdoSnapshotMapper = new CdoSnapshotMapper();
+    private final DBNameProvider dbNameProvider;
+    private final CdoSnapshotMapper cdoSnapshotMapper;
 
-    public SnapshotQuery(DBNameProvider dbNames, QueryParams queryParams, Session session) {
+    public SnapshotQuery(DBNameProvider dbNames, Template template, QueryParams queryParams, Session session) {
         this.selectBuilder = session
-            .select(
-                dbNames.getSnapshotStateColumnName() + ", " +
-                dbNames.getSnapshotTypeColumnName() + ", " +
-                dbNames.getSnapshotVersionColumnName() + ", " +
-                dbNames.getSnapshotChangedColumnName() + ", " +
-                dbNames.getSnapshotManagedTypeColumnName() + ", " +
-                " com."+dbNames.getCommitPKColumnName() + ", " +
-                dbNames.getCommitAuthorColumnName() + ", " +
-                dbNames.getCommitCommitDateColumnName()+ ", " +
-                dbNames.getCommitCommitDateInstantColumnName()+ ", " +
-                dbNames.getCommitCommitIdColumName()+ ", " +
-                "g." + dbNames.getGlobalIdLocalIdColumnName() + ", " +
-                "g." + dbNames.getGlobalIdFragmentColumnName()+ ", " +
-                "g." + dbNames.getGlobalIdOwnerIDFKColumnName() + ", " +
-                "o." + dbNames.getGlobalIdLocalIdColumnName() + " owner_" + dbNames.getGlobalIdLocalIdColumnName() + ", " +
-                "o." + dbNames.getGlobalIdFragmentColumnName()  + " owner_" + dbNames.getGlobalIdFragmentColumnName() + ", " +
-                "o." + dbNames.getGlobalIdTypeNameColumnName()  + " owner_" + dbNames.getGlobalIdTypeNameColumnName()
-            )
-            .from(
-            		dbNames.getSnapshotTableNameWithSchema() + " snap " +
-                " INNER JOIN " + dbNames.getCommitTableNameWithSchema() + " com ON com." + dbNames.getCommitPKColumnName() + " = snap." + dbNames.getSnapshotCommitFKColumnName() +
-                " INNER JOIN " + dbNames.getGlobalIdTableNameWithSchema() + " g ON g." + dbNames.getGlobalIdPKColumnName() + " = snap." + dbNames.getSnapshotGlobalIdFKColumnName() +
-                " LEFT OUTER JOIN " + dbNames.getGlobalIdTableNameWithSchema() + " o ON o." + dbNames.getGlobalIdPKColumnName() + " = g." + dbNames.getGlobalIdOwnerIDFKColumnName())
+            .select(template.selectClause)
+            .from(template.fromClause)
             .queryName("snapshots");
 
         this.queryParams = queryParams;
         this.dbNameProvider = dbNames;
+        this.cdoSnapshotMapper = new CdoSnapshotMapper(dbNames, template.stateBinarySelected);
         applyQueryParams();
     }
 
     private void applyQueryParams() {
         if (queryParams.changedProperties().size() > 0) {
-            selectBuilder.append("AND (" +
-                    queryParams.changedProperties().stream()
-                            .map(it -> dbNameProvider.getSnapshotChangedColumnName() + " LIKE '%" + it + "%'")
-                            .collect(Collectors.joining(" OR ")) +
-                    ")");
+            if (dbNameProvider.isChangedPropertyTableEnabled()) {
+                addChangedPropertyTableFilter(queryParams.changedProperties());
+            } else {
+                //matches quoted elements of the JSON array, not substrings of other property names
+                selectBuilder.append("AND (" +
+                        queryParams.changedProperties().stream()
+                                .map(it -> dbNameProvider.getSnapshotChangedColumnName() + " LIKE ?")
+                                .collect(Collectors.joining(" OR ")) +
+                        ")",
+                        queryParams.changedProperties().stream()
+                                .map(it -> stringParam("%\"" + it + "\"%"))
+                                .toArray(Parameter[]::new));
+            }
         }
         
         queryParams.from().ifPresent(from -> {
@@ -91,12 +81,10 @@ class SnapshotQuery {
         });
 
         if (queryParams.commitIds().size() > 0) {
-            selectBuilder.and(dbNameProvider.getCommitCommitIdColumName() + " IN (" +
-                    queryParams.commitIds()
-                            .stream()
-                            .map(c -> c.valueAsNumber().toString())
-                            .collect(Collectors.joining(",")) +
-                    ")");
+            selectBuilder.andIn(dbNameProvider.getCommitCommitIdColumName(),
+                    queryParams.commitIds().stream()
+                            .map(c -> bigDecimalParam(c.valueAsNumber()))
+                            .collect(Collectors.toList()));
         }
         
         
@@ -113,10 +101,38 @@ class SnapshotQuery {
         queryParams.snapshotType().ifPresent(snapshotType -> selectBuilder.and(dbNameProvider.getSnapshotTypeColumnName(), snapshotType.name()));
     }
 
+    private void addChangedPropertyTableFilter(Set<String> changedProperties) {
+        List<Parameter> propertyNames = SelectBuilder.padInList(
+                changedProperties.stream().map(it -> stringParam(it)).collect(Collectors.toList()));
+
+        selectBuilder.and("snap." + dbNameProvider.getSnapshotPKColumnName() + " IN (" +
+                "SELECT cp." + dbNameProvider.getChangedPropertySnapshotFKColumnName() +
+                " FROM " + dbNameProvider.getChangedPropertyTableNameWithSchema() + " cp" +
+                " WHERE cp." + dbNameProvider.getChangedPropertyNameColumnName() + " IN (" +
+                SelectBuilder.inListPlaceholders(propertyNames.size()) + ") )",
+                propertyNames.toArray(new Parameter[0]));
+    }
+
     void addSnapshotPkFilter(long snapshotPk) {
         selectBuilder.and(dbNameProvider.getSnapshotPKColumnName(), snapshotPk);
     }
 
+    void addSnapshotPksFilter(List<Long> snapshotPks) {
+        selectBuilder.andIn("snap." + dbNameProvider.getSnapshotPKColumnName(),
+                snapshotPks.stream().map(it -> longParam(it)).collect(Collectors.toList()));
+    }
+
+    /**
+     * Keyset paging, rows after the given snapshot in the <code>snapshot_pk DESC</code> order
+     */
+    void addAfterSnapshotFilter(long globalIdPk, long version) {
+        selectBuilder.and("snap." + dbNameProvider.getSnapshotPKColumnName() + " < (" +
+                "SELECT cur." + dbNameProvider.getSnapshotPKColumnName() + " FROM " + snapshotTableName() + " cur" +
+                " WHERE cur." + dbNameProvider.getSnapshotGlobalIdFKColumnName() + " = ?" +
+                " AND cur." + dbNameProvider.getSnapshotVersionColumnName() + " = ? )",
+                longParam(globalIdPk), longParam(version));
+    }
+
     void addGlobalIdFilter(long globalIdPk) {
         if (!queryParams.isAggregate()) {
             selectBuilder.and("g." + dbNameProvider.getGlobalIdPKColumnName(), globalIdPk);
@@ -146,19 +162,24 @@ class SnapshotQuery {
     }
 
     void addManagedTypesFilter(Set<String> managedTypeNames) {
-        String basePredicate = dbNameProvider.getSnapshotManagedTypeColumnName() + " in (" + ToStringBuilder.join(managedTypeNames) + ")";
+        List<Parameter> typeNames = SelectBuilder.padInList(
+                managedTypeNames.stream().map(it -> stringParam(it)).collect(Collectors.toList()));
+        String basePredicate = dbNameProvider.getSnapshotManagedTypeColumnName() + " in (" +
+                SelectBuilder.inListPlaceholders(typeNames.size()) + ")";
 
         if (!queryParams.isAggregate()) {
-            selectBuilder.and(basePredicate);
+            selectBuilder.and(basePredicate, typeNames.toArray(new Parameter[0]));
         }
         else {
+            List<Parameter> params = new ArrayList<>(typeNames);
+            params.addAll(typeNames);
             selectBuilder.and(
                 "(  " + basePredicate +
                     "  OR g.owner_id_fk in ( "+
                     "     select g1." + dbNameProvider.getGlobalIdPKColumnName() + " from " + snapshotTableName() + " s1 "+
                     "     INNER JOIN " + globalIdTableName() + " g1 ON g1." + dbNameProvider.getGlobalIdPKColumnName() + "= s1."+ dbNameProvider.getSnapshotGlobalIdFKColumnName() +
                     "     and  s1." + basePredicate + ")"+
-                ")");
+                ")", params.toArray(new Parameter[0]));
         }
     }
 
@@ -168,6 +189,12 @@ class SnapshotQuery {
         return selectBuilder.executeQuery(cdoSnapshotMapper);
     }
 
+    Stream<CdoSnapshotSerialized> stream(int fetchSize) {
+        selectBuilder.orderByDesc(dbNameProvider.getSnapshotPKColumnName());
+        selectBuilder.limit(queryParams.limit(), queryParams.skip());
+        return selectBuilder.executeQueryForStream(cdoSnapshotMapper, fetchSize);
+    }
+
     private void addCommitPropertyFilter(SelectBuilder selectBuilder, String propertyName, String propertyValue) {
         selectBuilder.and("EXISTS (" +
                 " SELECT * FROM " + commitPropertyTableName() +
@@ -177,10 +204,61 @@ class SnapshotQuery {
                 stringParam(propertyName), stringParam(propertyValue));
     }
 
+    /**
+     * SELECT and FROM clauses of snapshot queries, rendered once,
+     * as they depend only on table and column names
+     */
+    static class Template {
+        private final String selectClause;
+        private final String fromClause;
+        private final boolean stateBinarySelected;
+
+        /**
+         * @param stateBinarySelected true if the compressed state column exists,
+         *                            regardless of whether new snapshots are compressed
+         */
+        Template(DBNameProvider dbNames, boolean stateBinarySelected) {
+            this.stateBinarySelected = stateBinarySelected;
+            this.selectClause =
+                dbNames.getSnapshotStateColumnName() + ", " +
+                (stateBinarySelected ? dbNames.getSnapshotStateBinaryColumnName() + ", " : "") +
+                dbNames.getSnapshotTypeColumnName() + ", " +
+                dbNames.getSnapshotVersionColumnName() + ", " +
+                dbNames.getSnapshotChangedColumnName() + ", " +
+                dbNames.getSnapshotManagedTypeColumnName() + ", " +
+                " com."+dbNames.getCommitPKColumnName() + ", " +
+                dbNames.getCommitAuthorColumnName() + ", " +
+                dbNames.getCommitCommitDateColumnName()+ ", " +
+                dbNames.getCommitCommitDateInstantColumnName()+ ", " +
+                dbNames.getCommitCommitIdColumName()+ ", " +
+                "g." + dbNames.getGlobalIdLocalIdColumnName() + ", " +
+                "g." + dbNames.getGlobalIdFragmentColumnName()+ ", " +
+                "g." + dbNames.getGlobalIdOwnerIDFKColumnName() + ", " +
+                "o." + dbNames.getGlobalIdLocalIdColumnName() + " owner_" + dbNames.getGlobalIdLocalIdColumnName() + ", " +
+                "o." + dbNames.getGlobalIdFragmentColumnName()  + " owner_" + dbNames.getGlobalIdFragmentColumnName() + ", " +
+                "o." + dbNames.getGlobalIdTypeNameColumnName()  + " owner_" + dbNames.getGlobalIdTypeNameColumnName();
+
+            this.fromClause =
+                dbNames.getSnapshotTableNameWithSchema() + " snap " +
+                " INNER JOIN " + dbNames.getCommitTableNameWithSchema() + " com ON com." + dbNames.getCommitPKColumnName() + " = snap." + dbNames.getSnapshotCommitFKColumnName() +
+                " INNER JOIN " + dbNames.getGlobalIdTableNameWithSchema() + " g ON g." + dbNames.getGlobalIdPKColumnName() + " = snap." + dbNames.getSnapshotGlobalIdFKColumnName() +
+                " LEFT OUTER JOIN " + dbNames.getGlobalIdTableNameWithSchema() + " o ON o." + dbNames.getGlobalIdPKColumnName() + " = g." + dbNames.getGlobalIdOwnerIDFKColumnName();
+        }
+    }
+
+    /**
+     * Streamed rows are mapped lazily, so the mapper keeps its own DBNameProvider
+     */
     private static class CdoSnapshotMapper implements ObjectMapper<CdoSnapshotSerialized> {
+        private final DBNameProvider dbNameProvider;
+        private final boolean stateBinarySelected;
+
+        CdoSnapshotMapper(DBNameProvider dbNameProvider, boolean stateBinarySelected) {
+            this.dbNameProvider = dbNameProvider;
+            this.stateBinarySelected = stateBinarySelected;
+        }
+
         @Override
-      
-        
         public CdoSnapshotSerialized get(ResultSet resultSet) throws SQLException {
             return new CdoSnapshotSerialized()
                     .withCommitAuthor(resultSet.getString(dbNameProvider.getCommitAuthorColumnName()))
@@ -189,7 +267,7 @@ class SnapshotQuery {
                     .withCommitId(resultSet.getBigDecimal(dbNameProvider.getCommitCommitIdColumName()))
                     .withCommitPk(resultSet.getLong(dbNameProvider.getCommitPKColumnName()))
                     .withVersion(resultSet.getLong(dbNameProvider.getSnapshotVersionColumnName()))
-                    .withSnapshotState(resultSet.getString(dbNameProvider.getSnapshotStateColumnName()))
+                    .withSnapshotState(readState(resultSet))
                     .withChangedProperties(resultSet.getString(dbNameProvider.getSnapshotChangedColumnName()))
                     .withSnapshotType(resultSet.getString(dbNameProvider.getSnapshotTypeColumnName()))
                     .withGlobalIdFragment(resultSet.getString(dbNameProvider.getGlobalIdFragmentColumnName()))
@@ -199,6 +277,31 @@ class SnapshotQuery {
                     .withOwnerGlobalIdLocalId(resultSet.getString("owner_" + dbNameProvider.getGlobalIdLocalIdColumnName()))
                     .withOwnerGlobalIdTypeName(resultSet.getString("owner_" + dbNameProvider.getGlobalIdTypeNameColumnName()));
         }
+
+        @Override
+        public long sizeOf(CdoSnapshotSerialized snapshot) {
+            return length(snapshot.getSnapshotState()) + length(snapshot.getChangedProperties());
+        }
+
+        private static long length(String json) {
+            return json == null ? 0 : json.length();
+        }
+
+        /**
+         * Snapshots stored while the compression was disabled have their state in the text column,
+         * compressed ones are read even if the compression is disabled now
+         */
+        private String readState(ResultSet resultSet) throws SQLException {
+            String state = resultSet.getString(dbNameProvider.getSnapshotStateColumnName());
+            if (state != null || !stateBinarySelected) {
+                return state;
+            }
+
+            return CompressedSnapshotState.decompress(
+                    resultSet.getBytes(dbNameProvider.getSnapshotStateBinaryColumnName()),
+                    resultSet.getString(dbNameProvider.getSnapshotManagedTypeColumnName()),
+                    resultSet.getString(dbNameProvider.getSnapshotChangedColumnName()));
+        }
     }
 
     private String snapshotTableName() {
@@ -1,11 +1,16 @@
 package org.javers.repository.sql.repositories;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.javers.core.json.JsonConverter;
 import org.javers.core.metamodel.object.CdoSnapshot;
+import org.javers.core.metamodel.object.GlobalId;
 import org.javers.repository.sql.schema.DBNameProvider;
 import org.javers.repository.sql.schema.SchemaNameAware;
+import org.javers.repository.sql.session.InsertBuilder;
 import org.javers.repository.sql.session.Session;
 
 public class CdoSnapshotRepository extends SchemaNameAware {
@@ -19,21 +24,56 @@ public class CdoSnapshotRepository extends SchemaNameAware {
     }
 
     public void save(long commitIdPk, List<CdoSnapshot> cdoSnapshots, Session session) {
+        InsertBuilder insert = session.insert("Snapshot")
+                .into(getSnapshotTableNameWithSchema())
+                .sequence(getSnapshotPKColumnName(), getSnapshotTablePkSeqName().nameWithSchema());
+
+        Map<GlobalId, Long> globalIdPks = globalIdRepository.getOrInsertIds(
+                cdoSnapshots.stream().map(CdoSnapshot::getGlobalId).collect(Collectors.toList()), session);
+
         for (CdoSnapshot cdoSnapshot : cdoSnapshots) {
-            long globalIdPk = globalIdRepository.getOrInsertId(cdoSnapshot.getGlobalId(), session);
-
-            session.insert("Snapshot")
-                    .into(getSnapshotTableNameWithSchema())
-                    .value(getSnapshotTypeColumnName(), cdoSnapshot.getType().toString())
-                    .value(getSnapshotGlobalIdFKColumnName(), globalIdPk)
-                    .value(getSnapshotCommitFKColumnName(), commitIdPk)
-                    .value(getSnapshotVersionColumnName(), cdoSnapshot.getVersion())
-                    .value(getSnapshotStateColumnName(), jsonConverter.toJson(cdoSnapshot.getState()))
-                    .value(getSnapshotChangedColumnName(), jsonConverter.toJson(cdoSnapshot.getChanged()))
-                    .value(getSnapshotManagedTypeColumnName(), cdoSnapshot.getManagedType().getName())
-                    .sequence(getSnapshotPKColumnName(), getSnapshotTablePkSeqName().nameWithSchema())
-                    .execute();
+            long globalIdPk = globalIdPks.get(cdoSnapshot.getGlobalId());
+
+            insert.value(getSnapshotTypeColumnName(), cdoSnapshot.getType().toString())
+                  .value(getSnapshotGlobalIdFKColumnName(), globalIdPk)
+                  .value(getSnapshotCommitFKColumnName(), commitIdPk)
+                  .value(getSnapshotVersionColumnName(), cdoSnapshot.getVersion())
+                  .value(getSnapshotChangedColumnName(), jsonConverter.toJson(cdoSnapshot.getChanged()))
+                  .value(getSnapshotManagedTypeColumnName(), cdoSnapshot.getManagedType().getName());
+
+            if (isSnapshotStateCompressionEnabled()) {
+                insert.value(getSnapshotStateBinaryColumnName(), CompressedSnapshotState.compress(
+                        jsonConverter.toJson(cdoSnapshot.getState()),
+                        cdoSnapshot.getManagedType().getName(),
+                        cdoSnapshot.getChanged()));
+            } else {
+                insert.value(getSnapshotStateColumnName(), jsonConverter.toJson(cdoSnapshot.getState()));
+            }
+            insert.addBatch();
+        }
+
+        if (!isChangedPropertyTableEnabled()) {
+            insert.executeBatch();
+            return;
         }
+
+        long[] snapshotPks = insert.executeBatchAndGetSequences();
+        saveChangedProperties(snapshotPks, cdoSnapshots, session);
+    }
+
+    private void saveChangedProperties(long[] snapshotPks, List<CdoSnapshot> cdoSnapshots, Session session) {
+        InsertBuilder insert = session.insert("ChangedProperty")
+                .into(getChangedPropertyTableNameWithSchema());
+
+        for (int i = 0; i < snapshotPks.length; i++) {
+            for (String propertyName : new LinkedHashSet<>(cdoSnapshots.get(i).getChanged())) {
+                insert.value(getChangedPropertySnapshotFKColumnName(), snapshotPks[i])
+                      .value(getChangedPropertyNameColumnName(), propertyName)
+                      .addBatch();
+            }
+        }
+
+        insert.executeBatch();
     }
 
     public void setJsonConverter(JsonConverter jsonConverter) {
@@ -4,6 +4,7 @@ import org.javers.core.commit.CommitId;
 import org.javers.core.json.typeadapter.util.UtilTypeCoreAdapters;
 import org.javers.repository.sql.schema.DBNameProvider;
 import org.javers.repository.sql.schema.SchemaNameAware;
+import org.javers.repository.sql.session.InsertBuilder;
 import org.javers.repository.sql.session.Session;
 import org.polyjdbc.core.type.Timestamp;
 
@@ -44,14 +45,17 @@ public class CommitMetadataRepository extends SchemaNameAware {
     }
 
     private void insertCommitProperties(long commitPk, Map<String, String> properties, Session session) {
+        InsertBuilder insert = session.insert("CommitProperty")
+                .into(getCommitPropertyTableNameWithSchema());
+
         for (Map.Entry<String, String> property : properties.entrySet()) {
-            session.insert("CommitProperty")
-                   .into(getCommitPropertyTableNameWithSchema())
-                   .value(getCommitPropertyCommitFKColumnName(), commitPk)
-                   .value(getCommitPropertyNameColumnName(), property.getKey())
-                   .value(getCommitPropertyValueColumnName(), property.getValue())
-                   .execute();
+            insert.value(getCommitPropertyCommitFKColumnName(), commitPk)
+                  .value(getCommitPropertyNameColumnName(), property.getKey())
+                  .value(getCommitPropertyValueColumnName(), property.getValue())
+                  .addBatch();
         }
+
+        insert.executeBatch();
     }
 
     boolean isCommitPersisted(CommitId commitId, Session session) {
@@ -0,0 +1,128 @@
+package org.javers.repository.sql.repositories;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.javers.common.exception.JaversException;
+import org.javers.common.exception.JaversExceptionCode;
+
+/**
+ * Compressed binary format of the snapshot state column.
+ * <br/><br/>
+ *
+ * Each value starts with a format version byte, followed by a zlib stream.
+ * The stream is deflated with a preset dictionary,
+ * built from the managed type name, changed property names and JSON tokens common in snapshot states.
+ * Managed type and changed properties are stored as text in the same row,
+ * so the dictionary can be rebuilt on read, even when the managed type has changed since.
+ *
+ * @since 5.14
+ */
+public class CompressedSnapshotState {
+    public static final byte FORMAT_DEFLATE_V1 = 1;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final String COMMON_TOKENS =
+            "null, true, false, [], {}, \"fragment\": \"\", \"valueObject\": \"\", " +
+            "{\"ownerId\": {\"entity\": \"\", \"cdoId\": }, " +
+            "{\"entity\": \"\", \"cdoId\": }, ";
+
+    private CompressedSnapshotState() {
+    }
+
+    public static byte[] compress(String stateJson, String managedType, Collection<String> changedProperties) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setDictionary(dictionary(managedType, changedProperties));
+            deflater.setInput(stateJson.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+            out.write(FORMAT_DEFLATE_V1);
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int len = deflater.deflate(buffer);
+                out.write(buffer, 0, len);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @param changedPropertiesJson content of the changed properties column
+     */
+    public static String decompress(byte[] compressed, String managedType, String changedPropertiesJson) {
+        if (compressed.length == 0 || compressed[0] != FORMAT_DEFLATE_V1) {
+            throw new JaversException(JaversExceptionCode.MALFORMED_SNAPSHOT_STATE,
+                    "unknown format version " + (compressed.length == 0 ? "(empty)" : compressed[0]));
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed, 1, compressed.length - 1);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int len = inflater.inflate(buffer);
+                out.write(buffer, 0, len);
+
+                if (len == 0 && !inflater.finished()) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(dictionary(managedType, parseChangedProperties(changedPropertiesJson)));
+                    } else if (inflater.needsInput()) {
+                        throw new JaversException(JaversExceptionCode.MALFORMED_SNAPSHOT_STATE, "truncated data");
+                    }
+                }
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new JaversException(JaversExceptionCode.MALFORMED_SNAPSHOT_STATE, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new JaversException(JaversExceptionCode.MALFORMED_SNAPSHOT_STATE,
+                    "dictionary mismatch, managed type or changed properties of the snapshot were modified");
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * zlib prefers the most recent dictionary bytes, so property names go last
+     */
+    static byte[] dictionary(String managedType, Collection<String> changedProperties) {
+        StringBuilder dictionary = new StringBuilder(COMMON_TOKENS);
+        dictionary.append("\"").append(managedType).append("\", ");
+        for (String propertyName : changedProperties) {
+            dictionary.append("\"").append(propertyName).append("\": ");
+        }
+        return dictionary.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> parseChangedProperties(String changedPropertiesJson) {
+        List<String> propertyNames = new ArrayList<>();
+        if (changedPropertiesJson == null || changedPropertiesJson.isEmpty()) {
+            return propertyNames;
+        }
+
+        JsonElement changed = new JsonParser().parse(changedPropertiesJson);
+        if (changed.isJsonArray()) {
+            for (JsonElement propertyName : (JsonArray) changed) {
+                propertyNames.add(propertyName.getAsString());
+            }
+        }
+        return propertyNames;
+    }
+}
@@ -1,39 +1,81 @@
 package org.javers.repository.sql.repositories;
 
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.javers.common.collections.Lists;
 import org.javers.core.json.JsonConverter;
 import org.javers.core.metamodel.object.GlobalId;
 import org.javers.core.metamodel.object.InstanceId;
 import org.javers.core.metamodel.object.UnboundedValueObjectId;
 import org.javers.core.metamodel.object.ValueObjectId;
+import org.javers.repository.sql.SqlCacheStats;
 import org.javers.repository.sql.SqlRepositoryConfiguration;
 import org.javers.repository.sql.schema.DBNameProvider;
 import org.javers.repository.sql.schema.SchemaNameAware;
 import org.javers.repository.sql.session.InsertBuilder;
+import org.javers.repository.sql.session.Parameter;
 import org.javers.repository.sql.session.SelectBuilder;
 import org.javers.repository.sql.session.Session;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import static org.javers.repository.sql.session.Parameter.longParam;
+import static org.javers.repository.sql.session.Parameter.stringParam;
 
 public class GlobalIdRepository extends SchemaNameAware {
 
     private JsonConverter jsonConverter;
     private final boolean disableCache;
 
-    private Cache<GlobalId, Long> globalIdPkCache = CacheBuilder.newBuilder()
-            .maximumSize(1000)
-            .build();
+    private final Cache<GlobalId, Long> globalIdPkCache;
 
     public GlobalIdRepository(DBNameProvider tableNameProvider, SqlRepositoryConfiguration configuration) {
         super(tableNameProvider);
         this.disableCache = configuration.isGlobalIdCacheDisabled();
+        this.globalIdPkCache = createCache(configuration);
+    }
+
+    private static Cache<GlobalId, Long> createCache(SqlRepositoryConfiguration configuration) {
+        CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder()
+                .maximumSize(configuration.getGlobalIdCacheSize())
+                .recordStats();
+
+        configuration.getGlobalIdCacheExpireAfterAccess().ifPresent(expiry ->
+                cacheBuilder.expireAfterAccess(expiry.toNanos(), TimeUnit.NANOSECONDS));
+
+        return cacheBuilder.build();
     }
 
     public long getOrInsertId(GlobalId globalId, Session session) {
-        Optional<Long> pk = findGlobalIdPk(globalId, session);
-        return pk.isPresent() ? pk.get() : insert(globalId, session);
+        return getOrInsertIds(Collections.singleton(globalId), session).get(globalId);
+    }
+
+    /**
+     * Resolves primary keys of all given GlobalIds with a few <code>IN (...)</code> queries
+     * and inserts missing ones in batches
+     */
+    public Map<GlobalId, Long> getOrInsertIds(Collection<GlobalId> globalIds, Session session) {
+        Map<GlobalId, Long> result = findGlobalIdPks(globalIds, session);
+
+        List<GlobalId> missing = globalIds.stream()
+                .distinct()
+                .filter(it -> !result.containsKey(it))
+                .collect(Collectors.toList());
+
+        if (!missing.isEmpty()) {
+            Map<GlobalId, Long> inserted = insert(missing, session);
+            if (!disableCache) {
+                globalIdPkCache.putAll(inserted);
+            }
+            result.putAll(inserted);
+        }
+
+        return result;
     }
 
     public void evictCache() {
@@ -44,6 +86,11 @@ public class GlobalIdRepository extends SchemaNameAware {
         return (int)globalIdPkCache.size();
     }
 
+    public SqlCacheStats getGlobalIdPkCacheStats() {
+        CacheStats stats = globalIdPkCache.stats();
+        return new SqlCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(), globalIdPkCache.size());
+    }
+
     /**
      * cached
      */
@@ -66,6 +113,118 @@ public class GlobalIdRepository extends SchemaNameAware {
         return fresh;
     }
 
+    /**
+     * cached, GlobalIds not found in the database are absent in the result
+     */
+    public Map<GlobalId, Long> findGlobalIdPks(Collection<GlobalId> globalIds, Session session) {
+        Map<GlobalId, Long> result = new HashMap<>();
+        List<GlobalId> misses = new ArrayList<>();
+
+        for (GlobalId globalId : new LinkedHashSet<>(globalIds)) {
+            Long foundPk = disableCache ? null : globalIdPkCache.getIfPresent(globalId);
+            if (foundPk != null) {
+                result.put(globalId, foundPk);
+            } else {
+                misses.add(globalId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<GlobalId, Long> fresh = findGlobalIdPksInDB(misses, session);
+            if (!disableCache) {
+                globalIdPkCache.putAll(fresh);
+            }
+            result.putAll(fresh);
+        }
+
+        return result;
+    }
+
+    private Map<GlobalId, Long> findGlobalIdPksInDB(List<GlobalId> globalIds, Session session) {
+        Map<GlobalId, Long> result = new HashMap<>();
+
+        result.putAll(findInstanceIdPksInDB(filter(globalIds, InstanceId.class), session));
+
+        List<ValueObjectId> valueObjectIds = filter(globalIds, ValueObjectId.class);
+        if (!valueObjectIds.isEmpty()) {
+            Set<GlobalId> ownerIds = valueObjectIds.stream().map(ValueObjectId::getOwnerId).collect(Collectors.toSet());
+            result.putAll(findValueObjectIdPksInDB(valueObjectIds, findGlobalIdPks(ownerIds, session), session));
+        }
+
+        //rare, one query per type
+        filter(globalIds, UnboundedValueObjectId.class).forEach(unboundedId ->
+            findGlobalIdPkInDB(unboundedId, session).ifPresent(pk -> result.put(unboundedId, pk)));
+
+        return result;
+    }
+
+    /**
+     * One query per type name and chunk of local ids,
+     * the same local id could be used by many types, like Person/1 and Order/1
+     */
+    private Map<GlobalId, Long> findInstanceIdPksInDB(List<InstanceId> instanceIds, Session session) {
+        Map<String, Map<String, InstanceId>> byTypeAndLocalId = instanceIds.stream()
+                .collect(Collectors.groupingBy(InstanceId::getTypeName, LinkedHashMap::new,
+                         Collectors.toMap(it -> localIdAsJson(it), Function.identity(), (a, b) -> a, LinkedHashMap::new)));
+
+        Map<GlobalId, Long> result = new HashMap<>();
+        byTypeAndLocalId.forEach((typeName, byLocalId) -> {
+            for (List<String> chunk : Lists.partition(new ArrayList<>(byLocalId.keySet()), SelectBuilder.IN_CLAUSE_MAX_SIZE)) {
+                List<Parameter> localIds = chunk.stream()
+                        .map(it -> stringParam(it))
+                        .collect(Collectors.toList());
+
+                session.select(getGlobalIdPKColumnName() + ", " + getGlobalIdTypeNameColumnName() + ", " + getGlobalIdLocalIdColumnName())
+                       .from(getGlobalIdTableNameWithSchema())
+                       .and(getGlobalIdTypeNameColumnName(), typeName)
+                       .andIn(getGlobalIdLocalIdColumnName(), localIds)
+                       .queryName("find PKs of InstanceIds")
+                       .executeQuery(resultSet -> {
+                           InstanceId found = typeName.equals(resultSet.getString(2)) ? byLocalId.get(resultSet.getString(3)) : null;
+                           if (found != null) {
+                               result.put(found, resultSet.getLong(1));
+                           }
+                           return found;
+                       });
+            }
+        });
+        return result;
+    }
+
+    private Map<GlobalId, Long> findValueObjectIdPksInDB(List<ValueObjectId> valueObjectIds, Map<GlobalId, Long> ownerPks, Session session) {
+        List<ValueObjectId> withPersistedOwner = valueObjectIds.stream()
+                .filter(it -> ownerPks.containsKey(it.getOwnerId()))
+                .collect(Collectors.toList());
+
+        Map<List<Object>, ValueObjectId> byOwnerPkAndFragment = withPersistedOwner.stream()
+                .collect(Collectors.toMap(it -> Arrays.asList(ownerPks.get(it.getOwnerId()), it.getFragment()), Function.identity(), (a, b) -> a));
+
+        List<Long> distinctOwnerPks = withPersistedOwner.stream()
+                .map(it -> ownerPks.get(it.getOwnerId()))
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<GlobalId, Long> result = new HashMap<>();
+        for (List<Long> chunk : Lists.partition(distinctOwnerPks, SelectBuilder.IN_CLAUSE_MAX_SIZE)) {
+            List<Parameter> ownerFks = chunk.stream()
+                    .map(it -> longParam(it))
+                    .collect(Collectors.toList());
+
+            session.select(getGlobalIdPKColumnName() + ", " + getGlobalIdOwnerIDFKColumnName() + ", " + getGlobalIdFragmentColumnName())
+                   .from(getGlobalIdTableNameWithSchema())
+                   .andIn(getGlobalIdOwnerIDFKColumnName(), ownerFks)
+                   .queryName("find PKs of ValueObjectIds of owners")
+                   .executeQuery(resultSet -> {
+                       ValueObjectId found = byOwnerPkAndFragment.get(Arrays.asList(resultSet.getLong(2), resultSet.getString(3)));
+                       if (found != null) {
+                           result.put(found, resultSet.getLong(1));
+                       }
+                       return found;
+                   });
+        }
+        return result;
+    }
+
     private Optional<Long> findGlobalIdPkInDB(GlobalId globalId, Session session) {
         SelectBuilder select =  session.select(getGlobalIdPKColumnName())
                 .from(getGlobalIdTableNameWithSchema());
@@ -93,30 +252,72 @@ public class GlobalIdRepository extends SchemaNameAware {
         return select.queryForOptionalLong();
     }
 
-    private long insert(GlobalId globalId, Session session) {
-        InsertBuilder insert = null;
+    /**
+     * ValueObjectIds are inserted after their owners
+     */
+    private Map<GlobalId, Long> insert(List<GlobalId> globalIds, Session session) {
+        Map<GlobalId, Long> result = new HashMap<>();
+
+        List<InstanceId> instanceIds = filter(globalIds, InstanceId.class);
+        InsertBuilder instanceIdInsert = session.insert("InstanceId");
+        instanceIds.forEach(it ->
+            instanceIdInsert.value(getGlobalIdTypeNameColumnName(), it.getTypeName())
+                            .value(getGlobalIdLocalIdColumnName(), localIdAsJson(it))
+                            .addBatch());
+        result.putAll(executeInsertBatch(instanceIdInsert, instanceIds));
 
-        if (globalId instanceof ValueObjectId) {
-            insert = session.insert("ValueObjectId");
-            ValueObjectId valueObjectId  = (ValueObjectId) globalId;
-            long ownerFk = getOrInsertId(valueObjectId.getOwnerId(), session);
-            insert.value(getGlobalIdFragmentColumnName(), valueObjectId.getFragment())
-                  .value(getGlobalIdOwnerIDFKColumnName(), ownerFk);
+        List<UnboundedValueObjectId> unboundedIds = filter(globalIds, UnboundedValueObjectId.class);
+        InsertBuilder unboundedIdInsert = session.insert("UnboundedValueObjectId");
+        unboundedIds.forEach(it ->
+            unboundedIdInsert.value(getGlobalIdTypeNameColumnName(), it.getTypeName())
+                             .addBatch());
+        result.putAll(executeInsertBatch(unboundedIdInsert, unboundedIds));
+
+        List<ValueObjectId> valueObjectIds = filter(globalIds, ValueObjectId.class);
+        if (!valueObjectIds.isEmpty()) {
+            List<GlobalId> notInsertedOwnerIds = valueObjectIds.stream()
+                    .map(ValueObjectId::getOwnerId)
+                    .filter(it -> !result.containsKey(it))
+                    .collect(Collectors.toList());
+            Map<GlobalId, Long> ownerPks = new HashMap<>(result);
+            ownerPks.putAll(getOrInsertIds(notInsertedOwnerIds, session));
+
+            InsertBuilder valueObjectIdInsert = session.insert("ValueObjectId");
+            valueObjectIds.forEach(it ->
+                valueObjectIdInsert.value(getGlobalIdFragmentColumnName(), it.getFragment())
+                                   .value(getGlobalIdOwnerIDFKColumnName(), ownerPks.get(it.getOwnerId()))
+                                   .addBatch());
+            result.putAll(executeInsertBatch(valueObjectIdInsert, valueObjectIds));
         }
-        else if (globalId instanceof InstanceId) {
-            insert = session.insert("InstanceId")
-                    .value(getGlobalIdTypeNameColumnName(), globalId.getTypeName())
-                    .value(getGlobalIdLocalIdColumnName(), jsonConverter.toJson(((InstanceId)globalId).getCdoId()));
 
+        return result;
+    }
+
+    private Map<GlobalId, Long> executeInsertBatch(InsertBuilder insert, List<? extends GlobalId> globalIds) {
+        if (globalIds.isEmpty()) {
+            return Collections.emptyMap();
         }
-        else if (globalId instanceof UnboundedValueObjectId) {
-            insert = session.insert("UnboundedValueObjectId")
-                    .value(getGlobalIdTypeNameColumnName(), globalId.getTypeName());
+
+        long[] pks = insert.into(getGlobalIdTableNameWithSchema())
+                .sequence(getGlobalIdPKColumnName(), getGlobalIdPkSeqName().nameWithSchema())
+                .executeBatchAndGetSequences();
+
+        Map<GlobalId, Long> result = new HashMap<>();
+        for (int i = 0; i < pks.length; i++) {
+            result.put(globalIds.get(i), pks[i]);
         }
+        return result;
+    }
+
+    private String localIdAsJson(InstanceId instanceId) {
+        return jsonConverter.toJson(instanceId.getCdoId());
+    }
 
-        return insert.into(getGlobalIdTableNameWithSchema())
-              .sequence(getGlobalIdPKColumnName(), getGlobalIdPkSeqName().nameWithSchema())
-              .executeAndGetSequence();
+    private static <T extends GlobalId> List<T> filter(Collection<GlobalId> globalIds, Class<T> ofType) {
+        return globalIds.stream()
+                .filter(ofType::isInstance)
+                .map(ofType::cast)
+                .collect(Collectors.toList());
     }
 
     public void setJsonConverter(JsonConverter JSONConverter) {
@@ -18,6 +18,7 @@ public class DBNameProvider {
     private static final String DEFAULT_SNAPSHOT_TABLE_NAME        = "jv_snapshot";
     private static final String DEFAULT_COMMIT_TABLE_NAME          = "jv_commit";
     private static final String DEFAULT_COMMIT_PROPERTY_TABLE_NAME = "jv_commit_property";
+    private static final String DEFAULT_CHANGED_PROPERTY_TABLE_NAME = "jv_changed_property";
 
     public static final String GLOBAL_ID_PK          = "global_id_pk";
     public static final String GLOBAL_ID_LOCAL_ID    = "local_id";
@@ -42,6 +43,10 @@ public class DBNameProvider {
     public static final String SNAPSHOT_STATE        = "state";
     public static final String SNAPSHOT_CHANGED      = "changed_properties"; //since v 1.2
     public static final String SNAPSHOT_MANAGED_TYPE = "managed_type";       //since 2.0
+    public static final String SNAPSHOT_STATE_BINARY = "state_binary";       //since 5.14
+
+    public static final String CHANGED_PROPERTY_SNAPSHOT_FK = "snapshot_fk";   //since 5.14
+    public static final String CHANGED_PROPERTY_NAME        = "property_name"; //since 5.14
 
     
     public static final String PRIMARY_KEY_INDICATOR = "pk";
@@ -61,6 +66,9 @@ public class DBNameProvider {
         logger.info("CommitProperty table:       {}", getCommitPropertyTableNameWithSchema());
         logger.info("GlobalId table:             {}", getGlobalIdTableNameWithSchema());
         logger.info("Snapshot table:             {}", getSnapshotTableNameWithSchema());
+        if (isChangedPropertyTableEnabled()) {
+            logger.info("ChangedProperty table:      {}", getChangedPropertyTableNameWithSchema());
+        }
         // Column Names
 		logger.debug("GLOBAL_ID_PK:               {}", getGlobalIdPKColumnName());
 		logger.debug("GLOBAL_ID_LOCAL_ID:         {}", getGlobalIdLocalIdColumnName());
@@ -108,6 +116,22 @@ public class DBNameProvider {
         return getSnapshotTableName().nameWithSchema();
     }
 
+    public String getChangedPropertyTableNameWithSchema() {
+        return getChangedPropertyTableName().nameWithSchema();
+    }
+
+    public boolean isChangedPropertyTableEnabled() {
+        return configuration.isChangedPropertyTableEnabled();
+    }
+
+    public boolean isSchemaTuningEnabled() {
+        return configuration.isSchemaTuningEnabled();
+    }
+
+    public boolean isSnapshotStateCompressionEnabled() {
+        return configuration.isSnapshotStateCompressionEnabled();
+    }
+
     public DBObjectName getSnapshotTablePkSeqName() {
     	if(this.getIsSuffix()) {
     		return fullDbName(getSnapshotPKColumnName() + "_" + getSequenceIndicator());
@@ -157,6 +181,10 @@ public class DBNameProvider {
         return fullDbName(configuration.getSnapshotTableName().orElse(DEFAULT_SNAPSHOT_TABLE_NAME));
     }
 
+    DBObjectName getChangedPropertyTableName() {
+        return fullDbName(configuration.getChangedPropertyTableName().orElse(DEFAULT_CHANGED_PROPERTY_TABLE_NAME));
+    }
+
     Optional<String> getSchemaName() {
         return configuration.getSchemaNameAsOptional();
     }
@@ -241,6 +269,10 @@ public class DBNameProvider {
         return configuration.getSnapshotStateColumnName().orElse(SNAPSHOT_STATE);
     }
     
+    public String getSnapshotStateBinaryColumnName() {
+        return SNAPSHOT_STATE_BINARY;
+    }
+
     public String getSnapshotChangedColumnName() {
         return configuration.getSnapshotChangedColumnName().orElse(SNAPSHOT_CHANGED);
     }
@@ -249,6 +281,14 @@ public class DBNameProvider {
         return configuration.getSnapshotManagedTypeColumnName().orElse(SNAPSHOT_MANAGED_TYPE);
     }
     
+    public String getChangedPropertySnapshotFKColumnName() {
+        return CHANGED_PROPERTY_SNAPSHOT_FK;
+    }
+
+    public String getChangedPropertyNameColumnName() {
+        return CHANGED_PROPERTY_NAME;
+    }
+
     public String getPrimaryKeyIndicator() {
     	return configuration.getPrimaryKeyIndicator().orElse(PRIMARY_KEY_INDICATOR);
     }
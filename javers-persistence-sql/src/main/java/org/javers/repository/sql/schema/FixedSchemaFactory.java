@@ -7,6 +7,8 @@ import org.polyjdbc.core.schema.model.RelationBuilder;
 import org.polyjdbc.core.schema.model.Schema;
 import org.polyjdbc.core.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -31,6 +33,62 @@ public class FixedSchemaFactory extends SchemaNameAware {
         schema.put(getCommitTableName().localName()        , commitTableSchema(dialect));
         schema.put(getCommitPropertyTableName().localName(), commitPropertiesTableSchema(dialect));
         schema.put(getSnapshotTableName().localName()      , snapshotTableSchema(dialect));
+        if (isChangedPropertyTableEnabled()) {
+            schema.put(getChangedPropertyTableName().localName(), changedPropertyTableSchema(dialect));
+        }
+        return schema;
+    }
+
+    /**
+     * Composite indexes for the access paths of JQL queries, created in the schema tuning mode.
+     * <br/>
+     * InnoDB appends the primary key to secondary indexes,
+     * so on MySQL, <code>global_id_fk</code> index already covers <code>snapshot_pk</code>
+     * and <code>managed_type</code> is indexed by its prefix.
+     */
+    List<TunedIndex> tunedIndexes() {
+        List<TunedIndex> indexes = new ArrayList<>();
+        DBObjectName snapshotTable = getSnapshotTableName();
+        DBObjectName commitTable = getCommitTableName();
+
+        indexes.add(new TunedIndex(snapshotTable, new IndexedCols(getSnapshotGlobalIdFKColumnName(), getSnapshotVersionColumnName())));
+
+        if (dialect instanceof MysqlDialect) {
+            indexes.add(new TunedIndex(snapshotTable, new IndexedCols(
+                    new String[]{getSnapshotManagedTypeColumnName(), getSnapshotPKColumnName()},
+                    new int[]{MAX_INDEX_KEY_LEN_IN_MYSQL, 0})));
+        }
+        else {
+            indexes.add(new TunedIndex(snapshotTable, new IndexedCols(getSnapshotGlobalIdFKColumnName(), getSnapshotPKColumnName())));
+            indexes.add(new TunedIndex(snapshotTable, new IndexedCols(getSnapshotManagedTypeColumnName(), getSnapshotPKColumnName())));
+        }
+
+        indexes.add(new TunedIndex(commitTable, new IndexedCols(getCommitCommitDateColumnName())));
+        indexes.add(new TunedIndex(commitTable, new IndexedCols(getCommitCommitDateInstantColumnName())));
+
+        return indexes;
+    }
+
+    private Schema changedPropertyTableSchema(Dialect dialect) {
+        DBObjectName tableName = getChangedPropertyTableName();
+        Schema schema = emptySchema(dialect);
+
+        String pkName = tableName.localName();
+        if(getIsSuffix()) {
+            pkName = pkName + "_" + getPrimaryKeyIndicator();
+        } else {
+            pkName = getPrimaryKeyIndicator() + "_" + pkName;
+        }
+
+        RelationBuilder relationBuilder = schema.addRelation(tableName.localName());
+        relationBuilder
+            .primaryKey(pkName).using(getChangedPropertySnapshotFKColumnName(), getChangedPropertyNameColumnName()).and()
+            .withAttribute().string(getChangedPropertyNameColumnName()).withMaxLength(MAX_INDEX_KEY_LEN_IN_MYSQL).notNull().and();
+        foreignKey(tableName, getChangedPropertySnapshotFKColumnName(), true, getSnapshotTableNameWithSchema(), getSnapshotPKColumnName(), relationBuilder);
+        relationBuilder.build();
+
+        columnsIndex(tableName, schema, getChangedPropertyNameColumnName(), getChangedPropertySnapshotFKColumnName());
+
         return schema;
     }
 
@@ -194,6 +252,24 @@ public class FixedSchemaFactory extends SchemaNameAware {
         return indexName;
     }
 
+    static class TunedIndex {
+        private final DBObjectName tableName;
+        private final IndexedCols indexedCols;
+
+        TunedIndex(DBObjectName tableName, IndexedCols indexedCols) {
+            this.tableName = tableName;
+            this.indexedCols = indexedCols;
+        }
+
+        DBObjectName getTableName() {
+            return tableName;
+        }
+
+        IndexedCols getIndexedCols() {
+            return indexedCols;
+        }
+    }
+
     static class IndexedCols {
         private final String[] colNames;
         private final int[] prefixLengths;
@@ -2,14 +2,22 @@ package org.javers.repository.sql.schema;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import org.javers.repository.sql.ConnectionProvider;
 import org.polyjdbc.core.PolyJDBC;
+import org.polyjdbc.core.dialect.DB2400Dialect;
+import org.polyjdbc.core.dialect.DB2Dialect;
 import org.polyjdbc.core.dialect.Dialect;
 import org.polyjdbc.core.dialect.H2Dialect;
 import org.polyjdbc.core.dialect.MsSqlDialect;
@@ -30,6 +38,7 @@ import org.slf4j.LoggerFactory;
  */
 public class JaversSchemaManager extends SchemaNameAware {
     private static final Logger logger = LoggerFactory.getLogger(JaversSchemaManager.class);
+    private static final int BACKFILL_BATCH_SIZE = 1000;
 
     private SchemaInspector schemaInspector;
     private SchemaManager schemaManager;
@@ -50,8 +59,14 @@ public class JaversSchemaManager extends SchemaNameAware {
         this.schemaInspector = polyJDBC.schemaInspector();
         this.schemaManager = polyJDBC.schemaManager();
 
+        boolean changedPropertyTableCreated = false;
         for (Map.Entry<String, Schema> e : schemaFactory.allTablesSchema(dialect).entrySet()) {
-            ensureTable(e.getKey(), e.getValue());
+            boolean created = ensureTable(e.getKey(), e.getValue());
+            changedPropertyTableCreated |= created && e.getKey().equals(getChangedPropertyTableName().localName());
+        }
+
+        if (changedPropertyTableCreated) {
+            fillChangedPropertyTable();
         }
 
         alterCommitIdColumnIfNeeded(); // JaVers 2.5 to 2.6 schema migration
@@ -70,9 +85,171 @@ public class JaversSchemaManager extends SchemaNameAware {
 
         addCommitDateInstantColumnIfNeeded();
 
+        if (isSnapshotStateCompressionEnabled()) {
+            addStateBinaryColumnIfNeeded();
+        }
+
+        if (isSchemaTuningEnabled()) {
+            ensureTunedIndexes();
+        }
+
         TheCloser.close(schemaManager, schemaInspector);
     }
 
+    /**
+     * Copies changed property names of existing snapshots to the just created changed property table.
+     * Snapshots are read in chunks ordered by their primary keys, each chunk is committed separately.
+     */
+    private void fillChangedPropertyTable() {
+        logger.info("filling {} with changed properties of existing snapshots ...", getChangedPropertyTableNameWithSchema());
+
+        String selectSQL = "SELECT " + getSnapshotPKColumnName() + ", " + getSnapshotChangedColumnName() +
+                           " FROM " + getSnapshotTableNameWithSchema() +
+                           " WHERE " + getSnapshotPKColumnName() + " > ?" +
+                           " ORDER BY " + getSnapshotPKColumnName();
+        String insertSQL = "INSERT INTO " + getChangedPropertyTableNameWithSchema() +
+                           " (" + getChangedPropertySnapshotFKColumnName() + ", " + getChangedPropertyNameColumnName() + ") VALUES (?, ?)";
+
+        try {
+            Connection connection = connectionProvider.getConnection();
+            try (PreparedStatement select = connection.prepareStatement(selectSQL);
+                 PreparedStatement insert = connection.prepareStatement(insertSQL)) {
+                //portable alternative to dialect specific LIMIT clauses
+                select.setMaxRows(BACKFILL_BATCH_SIZE);
+                select.setFetchSize(BACKFILL_BATCH_SIZE);
+
+                long lastSnapshotPk = Long.MIN_VALUE;
+                long rows = 0;
+                int chunkSize;
+                do {
+                    chunkSize = 0;
+                    int batchSize = 0;
+                    select.setLong(1, lastSnapshotPk);
+                    try (ResultSet res = select.executeQuery()) {
+                        while (res.next()) {
+                            chunkSize++;
+                            lastSnapshotPk = res.getLong(1);
+                            for (String propertyName : parseChangedProperties(res.getString(2))) {
+                                insert.setLong(1, lastSnapshotPk);
+                                insert.setString(2, propertyName);
+                                insert.addBatch();
+                                batchSize++;
+                            }
+                        }
+                    }
+
+                    if (batchSize > 0) {
+                        insert.executeBatch();
+                        rows += batchSize;
+                    }
+                    if (!connection.getAutoCommit()) {
+                        connection.commit();
+                    }
+                } while (chunkSize == BACKFILL_BATCH_SIZE);
+
+                logger.info("{} changed properties copied to {}", rows, getChangedPropertyTableNameWithSchema());
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Set<String> parseChangedProperties(String changedPropertiesJson) {
+        Set<String> propertyNames = new LinkedHashSet<>();
+        if (changedPropertiesJson == null || changedPropertiesJson.isEmpty()) {
+            return propertyNames;
+        }
+
+        JsonElement changed = new JsonParser().parse(changedPropertiesJson);
+        if (changed.isJsonArray()) {
+            for (JsonElement propertyName : (JsonArray) changed) {
+                propertyNames.add(propertyName.getAsString());
+            }
+        }
+        return propertyNames;
+    }
+
+    /**
+     * JaVers 5.14, compressed snapshot state
+     */
+    private void addStateBinaryColumnIfNeeded() {
+        if (columnExists(getSnapshotTableNameWithSchema(), getSnapshotStateBinaryColumnName())) {
+            return;
+        }
+
+        String sqlType;
+        if (dialect instanceof PostgresDialect) {
+            sqlType = "BYTEA";
+        } else if (dialect instanceof MysqlDialect) {
+            sqlType = "LONGBLOB";
+        } else if (dialect instanceof MsSqlDialect) {
+            sqlType = "VARBINARY(MAX)";
+        } else {
+            sqlType = "BLOB";
+        }
+
+        addColumn(getSnapshotTableNameWithSchema(), getSnapshotStateBinaryColumnName(), sqlType);
+    }
+
+    /**
+     * Schema tuning mode, adds missing composite indexes to new and existing schemas
+     */
+    private void ensureTunedIndexes() {
+        for (FixedSchemaFactory.TunedIndex index : schemaFactory.tunedIndexes()) {
+            String indexName = schemaFactory.createIndexName(index.getTableName(), index.getIndexedCols());
+
+            if (indexExists(index.getTableName(), indexName)) {
+                logger.debug("index {} exists", indexName);
+                continue;
+            }
+
+            logger.info("schema tuning, creating index {} on {} ...", indexName, index.getTableName().nameWithSchema());
+            executeSQL("CREATE INDEX " + qualifiedIndexName(indexName) +
+                       " ON " + index.getTableName().nameWithSchema() +
+                       " (" + String.join(", ", index.getIndexedCols().indexedColNames()) + ")");
+        }
+    }
+
+    /**
+     * Oracle, H2 and DB2 create unqualified indexes in the default schema, not in the table's schema
+     */
+    private String qualifiedIndexName(String indexName) {
+        if (dialect instanceof OracleDialect ||
+            dialect instanceof H2Dialect ||
+            dialect instanceof DB2Dialect ||
+            dialect instanceof DB2400Dialect) {
+            return getSchemaName().map(s -> s + "." + indexName).orElse(indexName);
+        }
+        return indexName;
+    }
+
+    boolean indexExists(DBObjectName tableName, String indexName) {
+        try {
+            Connection connection = connectionProvider.getConnection();
+            DatabaseMetaData metadata = connection.getMetaData();
+
+            ResultSet resultSet = metadata.getIndexInfo(
+                    connection.getCatalog(),
+                    convertCase(getSchemaName().orElse(null), metadata),
+                    convertCase(tableName.localName(), metadata),
+                    false,
+                    true);
+
+            try {
+                while (resultSet.next()) {
+                    if (indexName.equalsIgnoreCase(resultSet.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                resultSet.close();
+            }
+        } catch (SQLException e) {
+            throw new SchemaInspectionException("INDEX_LOOKUP_ERROR", "Failed to obtain indexes metadata when checking index " + indexName, e);
+        }
+    }
+
     /**
      * JaVers 5.0 to 5.1 schema migration
      */
@@ -205,11 +382,16 @@ public class JaversSchemaManager extends SchemaNameAware {
         }
     }
 
-    private boolean columnExists(String tableName, String colName) {
-        try {
-            Statement stmt = connectionProvider.getConnection().createStatement();
+    /**
+     * The compressed state column is added when the compression is enabled and kept after it's disabled
+     */
+    public boolean isSnapshotStateBinaryColumnPresent() {
+        return columnExists(getSnapshotTableNameWithSchema(), getSnapshotStateBinaryColumnName());
+    }
 
-            ResultSet res = stmt.executeQuery("select * from " + tableName + " where 1<0");
+    private boolean columnExists(String tableName, String colName) {
+        try (Statement stmt = connectionProvider.getConnection().createStatement();
+             ResultSet res = stmt.executeQuery("select * from " + tableName + " where 1<0")) {
             ResultSetMetaData metaData = res.getMetaData();
 
             for (int i = 1; i <= metaData.getColumnCount(); i++) {
@@ -218,24 +400,24 @@ public class JaversSchemaManager extends SchemaNameAware {
                 }
             }
 
-            res.close();
-            stmt.close();
-
             return false;
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private void ensureTable(String tableName, Schema schema) {
+    /**
+     * @return true if the table is created
+     */
+    private boolean ensureTable(String tableName, Schema schema) {
         String schemaName = schemaFactory.getSchemaNameUsedForSchemaInspection();
         if (relationExists(tableName, schema.getSchemaName())) {
             logger.debug("table {}.{} exists", schemaName, tableName);
-            return;
+            return false;
         }
         logger.debug("creating javers table {}.{} ...", schemaName, tableName);
         schemaManager.create(schema);
-
+        return true;
     }
 
     boolean relationExists(String name, String schemaName) {
@@ -300,9 +482,11 @@ public class JaversSchemaManager extends SchemaNameAware {
     }
 
     private void addLongColumn(String tableName, String colName) {
-        logger.warn("column " + tableName + "." + colName + " not exists, running ALTER TABLE ...");
+        addColumn(tableName, colName, dialect.types().bigint(0));
+    }
 
-        String sqlType = dialect.types().bigint(0);
+    private void addColumn(String tableName, String colName, String sqlType) {
+        logger.warn("column " + tableName + "." + colName + " not exists, running ALTER TABLE ...");
 
         if (dialect instanceof OracleDialect ||
                 dialect instanceof MsSqlDialect) {
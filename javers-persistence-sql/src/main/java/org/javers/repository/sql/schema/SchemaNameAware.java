@@ -25,6 +25,22 @@ public abstract class SchemaNameAware {
         return dbNameProvider.getCommitPropertyTableNameWithSchema();
     }
 
+    protected String getChangedPropertyTableNameWithSchema() {
+        return dbNameProvider.getChangedPropertyTableNameWithSchema();
+    }
+
+    protected boolean isChangedPropertyTableEnabled() {
+        return dbNameProvider.isChangedPropertyTableEnabled();
+    }
+
+    protected boolean isSchemaTuningEnabled() {
+        return dbNameProvider.isSchemaTuningEnabled();
+    }
+
+    protected boolean isSnapshotStateCompressionEnabled() {
+        return dbNameProvider.isSnapshotStateCompressionEnabled();
+    }
+
     protected DBObjectName getGlobalIdTableName() {
         return dbNameProvider.getGlobalIdTableName();
     }
@@ -41,6 +57,10 @@ public abstract class SchemaNameAware {
         return dbNameProvider.getSnapshotTableName();
     }
 
+    protected DBObjectName getChangedPropertyTableName() {
+        return dbNameProvider.getChangedPropertyTableName();
+    }
+
     protected DBObjectName getCommitPkSeqName(){
         return dbNameProvider.getCommitPkSeqName();
     }
@@ -133,6 +153,10 @@ public abstract class SchemaNameAware {
         return dbNameProvider.getSnapshotStateColumnName();
     }
     
+    protected String getSnapshotStateBinaryColumnName() {
+        return dbNameProvider.getSnapshotStateBinaryColumnName();
+    }
+
     protected String getSnapshotChangedColumnName() {
         return dbNameProvider.getSnapshotChangedColumnName();
     }
@@ -141,6 +165,14 @@ public abstract class SchemaNameAware {
         return dbNameProvider.getSnapshotManagedTypeColumnName();
     }
     
+    protected String getChangedPropertySnapshotFKColumnName() {
+        return dbNameProvider.getChangedPropertySnapshotFKColumnName();
+    }
+
+    protected String getChangedPropertyNameColumnName() {
+        return dbNameProvider.getChangedPropertyNameColumnName();
+    }
+
     protected String getPrimaryKeyIndicator() {
         return dbNameProvider.getPrimaryKeyIndicator();
     }
@@ -19,6 +19,13 @@ abstract class Dialect {
 
     abstract <T extends KeyGeneratorDefinition> T getKeyGeneratorDefinition();
 
+    /**
+     * ROW_NUMBER() OVER (PARTITION BY ...)
+     */
+    boolean supportsWindowFunctions() {
+        return false;
+    }
+
     DialectName getName() {
         return dialectName;
     }
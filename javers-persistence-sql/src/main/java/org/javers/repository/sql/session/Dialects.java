@@ -55,6 +55,11 @@ class Dialects {
             super(dialectName);
         }
 
+        @Override
+        boolean supportsWindowFunctions() {
+            return true;
+        }
+
         @Override
         KeyGeneratorDefinition getKeyGeneratorDefinition() {
             return (SequenceDefinition) seqName -> "NEXT VALUE FOR " + seqName;
@@ -78,6 +83,11 @@ class Dialects {
             super(dialectName);
         }
 
+        @Override
+        boolean supportsWindowFunctions() {
+            return true;
+        }
+
         @Override
         KeyGeneratorDefinition getKeyGeneratorDefinition() {
             return (SequenceDefinition) seqName -> "nextval('" + seqName + "')";
@@ -89,6 +99,11 @@ class Dialects {
             super(dialectName);
         }
 
+        @Override
+        boolean supportsWindowFunctions() {
+            return true;
+        }
+
         @Override
         KeyGeneratorDefinition getKeyGeneratorDefinition() {
             return new SequenceDefinition() {
@@ -2,12 +2,15 @@ package org.javers.repository.sql.session;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 public class InsertBuilder extends QueryBuilder<InsertBuilder> {
     private Session session;
     private String tableName;
     private String primaryKeyFieldName;
     private String sequenceName;
+    private final List<List<Parameter>> batch = new ArrayList<>();
 
     InsertBuilder(Session session, String queryName) {
         this.session = session;
@@ -44,6 +47,11 @@ public class InsertBuilder extends QueryBuilder<InsertBuilder> {
         return this;
     }
 
+    public InsertBuilder value(String name, byte[] value) {
+        parameters.add(new Parameter.BytesParameter(name, value));
+        return this;
+    }
+
     public InsertBuilder sequence(String primaryKeyFieldName, String sequenceName) {
         this.primaryKeyFieldName = primaryKeyFieldName;
         this.sequenceName = sequenceName;
@@ -57,4 +65,35 @@ public class InsertBuilder extends QueryBuilder<InsertBuilder> {
     public void execute() {
         session.executeInsert(getQueryName(), getParameters(), tableName, primaryKeyFieldName, sequenceName);
     }
+
+    /**
+     * Adds the current values as a next row of the batch
+     * and clears them, so values of the next row can be set.
+     *
+     * @see #executeBatch()
+     */
+    public InsertBuilder addBatch() {
+        batch.add(new ArrayList<>(parameters));
+        parameters.clear();
+        return this;
+    }
+
+    /**
+     * Inserts all rows of the batch using JDBC batch updates.
+     * Primary keys (if a sequence is set) are allocated in blocks.
+     */
+    public void executeBatch() {
+        session.executeInsertBatch(getQueryName(), batch, tableName, primaryKeyFieldName, sequenceName);
+        batch.clear();
+    }
+
+    /**
+     * Like {@link #executeBatch()} but returns primary keys of inserted rows,
+     * in the order of rows
+     */
+    public long[] executeBatchAndGetSequences() {
+        long[] keys = session.executeInsertBatchAndGetSequences(getQueryName(), batch, tableName, primaryKeyFieldName, sequenceName);
+        batch.clear();
+        return keys;
+    }
 }
@@ -44,6 +44,13 @@ interface KeyGenerator {
             return nextVal;
         }
 
+        /**
+         * Allocated for batch inserts, autoincremented keys can't be read back after a batch
+         */
+        long[] generateKeys(String sequenceName, int count, Session session) {
+            return findSequence(sequenceName).nextValues(count, session);
+        }
+
         private Sequence findSequence(String sequenceName) {
             if (!sequences.containsKey(sequenceName)) {
                 synchronized (lock) {
@@ -6,4 +6,11 @@ import java.sql.SQLException;
 @FunctionalInterface
 public interface ObjectMapper<T> {
     T get(ResultSet resultSet) throws SQLException;
+
+    /**
+     * Size in chars of the deserialized content of a mapped row, reported to {@link org.javers.repository.sql.SqlQueryMetrics}
+     */
+    default long sizeOf(T mapped) {
+        return 0;
+    }
 }
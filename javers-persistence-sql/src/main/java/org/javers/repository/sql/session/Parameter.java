@@ -128,6 +128,17 @@ public abstract class Parameter<T> {
         }
     }
 
+    static class BytesParameter extends Parameter<byte[]> {
+        BytesParameter(String name, byte[] value) {
+            super(name, value);
+        }
+
+        @Override
+        void injectValuesTo(PreparedStatement preparedStatement, int order) throws SQLException {
+            preparedStatement.setBytes(order, getValue());
+        }
+    }
+
     static class InstantParameter extends Parameter<Instant> {
         InstantParameter(String name, Instant value) {
             super(name, value);
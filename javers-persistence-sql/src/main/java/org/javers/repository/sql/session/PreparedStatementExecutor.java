@@ -4,27 +4,36 @@ import org.javers.common.exception.JaversException;
 import org.javers.common.exception.JaversExceptionCode;
 import org.javers.common.string.ToStringBuilder;
 import org.javers.repository.sql.ConnectionProvider;
+import org.javers.repository.sql.SqlQueryMetrics;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 class PreparedStatementExecutor {
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final Connection connection;
     private final PreparedStatement statement;
+    private final StatementCache statementCache;
     private final String rawSql;
     private final String queryName;
+    private final SqlQueryMetrics queryMetrics;
     private int executionCount;
-    private long executionTotalMillis;
+    private long executionTotalNanos;
 
-    PreparedStatementExecutor(ConnectionProvider connectionProvider, Query query) {
+    PreparedStatementExecutor(ConnectionProvider connectionProvider, Query query, SqlQueryMetrics queryMetrics, StatementCache statementCache) {
         this.rawSql = query.rawSQl();
         this.queryName = query.name();
-        this.statement = wrapExceptionAndCall(() -> connectionProvider.getConnection().prepareStatement(this.rawSql));
+        this.queryMetrics = queryMetrics;
+        this.statementCache = statementCache;
+        this.connection = wrapExceptionAndCall(() -> connectionProvider.getConnection());
+        this.statement = wrapExceptionAndCall(() -> statementCache.take(connection, this.rawSql));
     }
 
     int getExecutionCount() {
@@ -32,16 +41,34 @@ class PreparedStatementExecutor {
     }
 
     long getExecutionTotalMillis() {
-        return executionTotalMillis;
+        return executionTotalNanos / 1_000_000;
     }
 
     void execute(Insert insertQuery) {
-        runVoidSql(() -> {
+        runVoidSql(1, () -> {
             insertQuery.injectValuesTo(statement);
             statement.executeUpdate();
         });
     }
 
+    void executeBatch(List<Insert> insertQueries) {
+        runVoidSql(insertQueries.size(), () -> {
+            int pending = 0;
+            for (Insert insertQuery : insertQueries) {
+                insertQuery.injectValuesTo(statement);
+                statement.addBatch();
+                pending++;
+                if (pending == MAX_BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        });
+    }
+
     long executeQueryForLong(Select select) {
         return executeQueryForValue(select, resultSet -> resultSet.getLong(1));
     }
@@ -55,21 +82,51 @@ class PreparedStatementExecutor {
     }
 
     <T> List<T> executeQuery(Select select, ObjectMapper<T> objectMapper) {
-        return runSql(() -> {
+        long start = System.nanoTime();
+        List<T> result = wrapExceptionAndCall(() -> {
             select.injectValuesTo(statement);
 
             ResultSet rset = statement.executeQuery();
-            List<T> result = new ArrayList<>();
+            List<T> rows = new ArrayList<>();
             while(rset.next()) {
-                result.add(objectMapper.get(rset));
+                rows.add(objectMapper.get(rset));
             }
 
-            return Collections.unmodifiableList(result);
+            return Collections.unmodifiableList(rows);
+        });
+
+        long deserializedChars = 0;
+        for (T row : result) {
+            deserializedChars += objectMapper.sizeOf(row);
+        }
+        record(System.nanoTime() - start, result.size(), deserializedChars);
+        return result;
+    }
+
+    /**
+     * Rows are mapped lazily, when the stream is consumed.
+     * Closing the stream closes the ResultSet.
+     */
+    <T> Stream<T> executeQueryForStream(Select select, ObjectMapper<T> objectMapper, int fetchSize) {
+        long start = System.nanoTime();
+        ResultSet rset = wrapExceptionAndCall(() -> {
+            select.injectValuesTo(statement);
+            statement.setFetchSize(fetchSize);
+            return statement.executeQuery();
         });
+
+        ResultSetIterator<T> iterator = new ResultSetIterator<>(rset, objectMapper, System.nanoTime() - start);
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> {
+                    wrapExceptionAndCall(() -> rset.close());
+                    record(iterator.readNanos, iterator.rowCount, iterator.deserializedChars);
+                });
     }
 
     private <T> T executeQueryForValue(Select select, ObjectMapper<T> objectMapper) {
-        return runSql(() -> {
+        return runSql(1, () -> {
             select.injectValuesTo(statement);
             ResultSet rset = statement.executeQuery();
             rset.next();
@@ -78,7 +135,7 @@ class PreparedStatementExecutor {
     }
 
     private <T> Optional<T> executeQueryForOptionalValue(Select select, ObjectMapper<T> objectMapper) {
-        return runSql(() -> {
+        return runSql(1, () -> {
             select.injectValuesTo(statement);
             ResultSet rset = statement.executeQuery();
             if (rset.next()) {
@@ -90,27 +147,34 @@ class PreparedStatementExecutor {
         });
     }
 
+    /**
+     * Closes the statement or returns it to the statement cache
+     */
     void close() {
-       wrapExceptionAndCall(() -> statement.close());
+       wrapExceptionAndCall(() -> statementCache.release(connection, rawSql, statement));
     }
 
-    private <T> T runSql(SqlAction<T> action) {
-        long start = System.currentTimeMillis();
+    private <T> T runSql(long rowCount, SqlAction<T> action) {
+        long start = System.nanoTime();
 
         T result =  wrapExceptionAndCall(action);
 
-        executionCount++;
-        executionTotalMillis += System.currentTimeMillis() - start;
+        record(System.nanoTime() - start, rowCount, 0);
         return result;
     }
 
-    private void runVoidSql(SqlVoidAction action) {
-        long start = System.currentTimeMillis();
+    private void runVoidSql(long rowCount, SqlVoidAction action) {
+        long start = System.nanoTime();
 
         wrapExceptionAndCall(action);
 
+        record(System.nanoTime() - start, rowCount, 0);
+    }
+
+    private void record(long durationNanos, long rowCount, long deserializedChars) {
         executionCount++;
-        executionTotalMillis += System.currentTimeMillis() - start;
+        executionTotalNanos += durationNanos;
+        queryMetrics.record(queryName, durationNanos, rowCount, deserializedChars);
     }
 
     private void wrapExceptionAndCall(SqlVoidAction action) {
@@ -131,7 +195,47 @@ class PreparedStatementExecutor {
 
     String printStats() {
         return ToStringBuilder.rPad(queryName, 32) + " executed " + executionCount +
-               " time(s) in " + executionTotalMillis + " millis, SQL: " + rawSql;
+               " time(s) in " + getExecutionTotalMillis() + " millis, SQL: " + rawSql;
+    }
+
+    private class ResultSetIterator<T> implements Iterator<T> {
+        private final ResultSet rset;
+        private final ObjectMapper<T> objectMapper;
+        private Boolean hasNext;
+        private long readNanos;
+        private long rowCount;
+        private long deserializedChars;
+
+        ResultSetIterator(ResultSet rset, ObjectMapper<T> objectMapper, long executionNanos) {
+            this.rset = rset;
+            this.objectMapper = objectMapper;
+            this.readNanos = executionNanos;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                long start = System.nanoTime();
+                hasNext = wrapExceptionAndCall(() -> rset.next());
+                readNanos += System.nanoTime() - start;
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+
+            long start = System.nanoTime();
+            T row = wrapExceptionAndCall(() -> objectMapper.get(rset));
+            readNanos += System.nanoTime() - start;
+            rowCount++;
+            deserializedChars += objectMapper.sizeOf(row);
+            return row;
+        }
     }
 
     @FunctionalInterface
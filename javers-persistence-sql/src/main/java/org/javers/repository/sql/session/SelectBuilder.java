@@ -1,15 +1,24 @@
 package org.javers.repository.sql.session;
 
 import org.javers.common.collections.Lists;
+import org.javers.common.validation.Validate;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.javers.repository.sql.session.Parameter.longParam;
 import static org.javers.repository.sql.session.Parameter.stringParam;
 
 public class SelectBuilder extends QueryBuilder<SelectBuilder> {
+    /**
+     * Longer lists should be partitioned, Oracle allows up to 1000 elements
+     */
+    public static final int IN_CLAUSE_MAX_SIZE = 100;
+
     private Session session;
     private String rawSql;
 
@@ -40,6 +49,45 @@ public class SelectBuilder extends QueryBuilder<SelectBuilder> {
         return this;
     }
 
+    /**
+     * Values over {@link #IN_CLAUSE_MAX_SIZE} are split into IN lists joined with OR
+     */
+    public SelectBuilder andIn(String columnName, List<Parameter> values) {
+        Validate.argumentCheck(!values.isEmpty(), "values should not be empty");
+
+        List<String> inLists = new ArrayList<>();
+        for (List<Parameter> chunk : Lists.partition(values, IN_CLAUSE_MAX_SIZE)) {
+            List<Parameter> paddedValues = padInList(chunk);
+            parameters.addAll(paddedValues);
+            inLists.add(columnName + " IN (" + inListPlaceholders(paddedValues.size()) + ")");
+        }
+
+        rawSql += " AND " + (inLists.size() == 1 ? inLists.get(0) : "(" + String.join(" OR ", inLists) + ")");
+        return this;
+    }
+
+    /**
+     * Pads an IN list to the next power of two by repeating the last value,
+     * so queries with similar list sizes share the SQL text,
+     * prepared statements and query plans.
+     * Lists are never padded over {@link #IN_CLAUSE_MAX_SIZE}.
+     */
+    public static List<Parameter> padInList(List<Parameter> values) {
+        if (values.size() >= IN_CLAUSE_MAX_SIZE || Integer.bitCount(values.size()) == 1) {
+            return values;
+        }
+
+        int paddedSize = Math.min(Integer.highestOneBit(values.size()) * 2, IN_CLAUSE_MAX_SIZE);
+
+        List<Parameter> paddedValues = new ArrayList<>(values);
+        paddedValues.addAll(Collections.nCopies(paddedSize - values.size(), values.get(values.size() - 1)));
+        return paddedValues;
+    }
+
+    public static String inListPlaceholders(int size) {
+        return String.join(",", Collections.nCopies(size, "?"));
+    }
+
     public SelectBuilder and(String columnName, Long value) {
         return and(columnName, "=", longParam(value));
     }
@@ -98,4 +146,12 @@ public class SelectBuilder extends QueryBuilder<SelectBuilder> {
     public <T> List<T> executeQuery(ObjectMapper<T> objectMapper) {
         return session.executeQuery(build(), objectMapper);
     }
+
+    /**
+     * Lazy version of {@link #executeQuery(ObjectMapper)},
+     * the stream should be consumed and closed before the session is closed
+     */
+    public <T> Stream<T> executeQueryForStream(ObjectMapper<T> objectMapper, int fetchSize) {
+        return session.executeQueryForStream(build(), objectMapper, fetchSize);
+    }
 }
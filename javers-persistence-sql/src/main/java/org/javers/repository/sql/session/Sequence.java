@@ -24,14 +24,34 @@ final class Sequence {
 
     synchronized long nextValue(Session session) {
         if (recalculationNeeded()) {
-            long currentSequenceValue = session.executeQueryForLong(
-                    new Select("SELECT next from seq "+ sequenceName,
-                            sequenceGenerator.nextFromSequenceAsSelect(sequenceName)));
-            recalculate(currentSequenceValue);
+            recalculate(nextSequenceValue(session));
         }
         return nextLocalValue();
     }
 
+    /**
+     * Allocates fresh blocks of keys, one sequence call per block.
+     * The cached block is bypassed, so allocated keys are greater
+     * than keys allocated earlier by any JaVers instance.
+     */
+    long[] nextValues(int count, Session session) {
+        long[] keys = new long[count];
+        int i = 0;
+        while (i < count) {
+            long blockStart = SEQUENCE_ALLOCATION_SIZE * nextSequenceValue(session);
+            for (long key = blockStart; key < blockStart + SEQUENCE_ALLOCATION_SIZE && i < count; key++) {
+                keys[i++] = key;
+            }
+        }
+        return keys;
+    }
+
+    private long nextSequenceValue(Session session) {
+        return session.executeQueryForLong(
+                new Select("SELECT next from seq "+ sequenceName,
+                        sequenceGenerator.nextFromSequenceAsSelect(sequenceName)));
+    }
+
     long nextLocalValue() {
         if(recalculationNeeded()) {
             throw new SequenceLimitReachedException("Sequence " + sequenceName + " has reached its limit of " + currentLimit + ". "
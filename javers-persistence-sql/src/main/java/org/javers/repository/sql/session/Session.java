@@ -3,12 +3,15 @@ package org.javers.repository.sql.session;
 import org.javers.common.collections.Lists;
 import org.javers.common.validation.Validate;
 import org.javers.repository.sql.ConnectionProvider;
+import org.javers.repository.sql.SqlQueryMetrics;
 import org.javers.repository.sql.session.KeyGenerator.SequenceAllocation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author bartosz.walacik
@@ -22,12 +25,17 @@ public class Session implements AutoCloseable {
     private final ConnectionProvider connectionProvider;
     private final String sessionName;
     private final KeyGenerator keyGenerator;
+    private final SqlQueryMetrics queryMetrics;
+    private final StatementCache statementCache;
 
-    Session(Dialect dialect, KeyGenerator keyGenerator, ConnectionProvider connectionProvider, String sessionName) {
+    Session(Dialect dialect, KeyGenerator keyGenerator, ConnectionProvider connectionProvider,
+            SqlQueryMetrics queryMetrics, StatementCache statementCache, String sessionName) {
         this.dialect = dialect;
         this.connectionProvider = connectionProvider;
         this.sessionName = sessionName;
         this.keyGenerator = keyGenerator;
+        this.queryMetrics = queryMetrics;
+        this.statementCache = statementCache;
     }
 
     public SelectBuilder select(String selectClauseSQL) {
@@ -80,6 +88,62 @@ public class Session implements AutoCloseable {
         }
     }
 
+    void executeInsertBatch(String queryName, List<List<Parameter>> rows, String tableName, String primaryKeyFieldName, String sequenceName) {
+        Validate.argumentsAreNotNull(queryName, rows, tableName);
+
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        if (dialect.supportsSequences() && sequenceName != null) {
+            //keys aren't read back, so the sequence is called by the INSERT, like in a single insert
+            String nextFromSequenceExpression = ((SequenceAllocation) keyGenerator).nextFromSequenceAsSQLExpression(sequenceName);
+            Parameter primaryKey = new Parameter.InlinedParameter(primaryKeyFieldName, nextFromSequenceExpression + " * 100");
+
+            executeBatch(queryName, rows.stream().map(row -> Lists.add(row, primaryKey)).collect(Collectors.toList()), tableName);
+        }
+        else {
+            executeBatch(queryName, rows, tableName);
+        }
+    }
+
+    long[] executeInsertBatchAndGetSequences(String queryName, List<List<Parameter>> rows, String tableName, String primaryKeyFieldName, String sequenceName) {
+        Validate.argumentsAreNotNull(queryName, rows, tableName, primaryKeyFieldName, sequenceName);
+
+        if (rows.isEmpty()) {
+            return new long[0];
+        }
+
+        if (dialect.supportsSequences()) {
+            long[] newIds = ((SequenceAllocation) keyGenerator).generateKeys(sequenceName, rows.size(), this);
+
+            List<List<Parameter>> rowsWithIds = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                rowsWithIds.add(Lists.add(rows.get(i), new Parameter.LongParameter(primaryKeyFieldName, newIds[i])));
+            }
+            executeBatch(queryName, rowsWithIds, tableName);
+            return newIds;
+        }
+        else {
+            //keys generated by autoincrement can't be read back after a batch
+            return rows.stream()
+                    .mapToLong(row -> executeInsertAndGetSequence(queryName, row, tableName, primaryKeyFieldName, sequenceName))
+                    .toArray();
+        }
+    }
+
+    private void executeBatch(String queryName, List<List<Parameter>> rows, String tableName) {
+        String batchQueryName = queryName + " batch";
+        List<Insert> insertQueries = new ArrayList<>(rows.size());
+
+        for (List<Parameter> parameters : rows) {
+            insertQueries.add(new Insert(batchQueryName, parameters, tableName));
+        }
+
+        PreparedStatementExecutor executor = getOrCreatePreparedStatement(insertQueries.get(0));
+        executor.executeBatch(insertQueries);
+    }
+
     long executeQueryForLong(Select select) {
         PreparedStatementExecutor executor = getOrCreatePreparedStatement(select);
         return executor.executeQueryForLong(select);
@@ -100,6 +164,11 @@ public class Session implements AutoCloseable {
         return executor.executeQuery(select, objectMapper);
     }
 
+    <T> Stream<T> executeQueryForStream(Select select, ObjectMapper<T> objectMapper, int fetchSize) {
+        PreparedStatementExecutor executor = getOrCreatePreparedStatement(select);
+        return executor.executeQueryForStream(select, objectMapper, fetchSize);
+    }
+
     private void execute(Insert insertQuery) {
         PreparedStatementExecutor executor = getOrCreatePreparedStatement(insertQuery);
         executor.execute(insertQuery);
@@ -111,14 +180,18 @@ public class Session implements AutoCloseable {
         logStats();
     }
 
+    /**
+     * Statements are reused by SQL, queries with the same name
+     * may differ, for example in the size of IN lists
+     */
     private PreparedStatementExecutor getOrCreatePreparedStatement(Query query) {
-        if (statementExecutors.containsKey(query.name())) {
-            return statementExecutors.get(query.name());
+        if (statementExecutors.containsKey(query.rawSQl())) {
+            return statementExecutors.get(query.rawSQl());
         }
 
-        PreparedStatementExecutor executor = new PreparedStatementExecutor(connectionProvider, query);
+        PreparedStatementExecutor executor = new PreparedStatementExecutor(connectionProvider, query, queryMetrics, statementCache);
 
-        statementExecutors.put(query.name(), executor);
+        statementExecutors.put(query.rawSQl(), executor);
 
         return executor;
     }
@@ -136,6 +209,10 @@ public class Session implements AutoCloseable {
         }
     }
 
+    public boolean supportsWindowFunctions() {
+        return dialect.supportsWindowFunctions();
+    }
+
     Dialect getDialect() {
         return dialect;
     }
@@ -2,20 +2,29 @@ package org.javers.repository.sql.session;
 
 import org.javers.repository.sql.ConnectionProvider;
 import org.javers.repository.sql.DialectName;
+import org.javers.repository.sql.SqlQueryMetrics;
 
 public class SessionFactory {
     private final Dialect dialect;
     private final ConnectionProvider connectionProvider;
     private final KeyGenerator keyGenerator;
+    private final SqlQueryMetrics queryMetrics;
+    private final StatementCache statementCache;
 
     public SessionFactory(DialectName dialectName, ConnectionProvider connectionProvider) {
+        this(dialectName, connectionProvider, SqlQueryMetrics.noOp());
+    }
+
+    public SessionFactory(DialectName dialectName, ConnectionProvider connectionProvider, SqlQueryMetrics queryMetrics) {
         this.dialect = Dialects.fromName(dialectName);
         this.connectionProvider = connectionProvider;
         this.keyGenerator = dialect.getKeyGeneratorDefinition().createKeyGenerator();
+        this.queryMetrics = queryMetrics;
+        this.statementCache = new StatementCache(connectionProvider.isStatementReuseAllowed());
     }
 
     public Session create(String sessionName) {
-        return new Session(dialect, keyGenerator, connectionProvider, sessionName);
+        return new Session(dialect, keyGenerator, connectionProvider, queryMetrics, statementCache, sessionName);
     }
 
     public void resetKeyGeneratorCache() {
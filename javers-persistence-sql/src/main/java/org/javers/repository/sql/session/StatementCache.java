@@ -0,0 +1,100 @@
+package org.javers.repository.sql.session;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Prepared statements kept open between sessions, per connection and SQL.
+ * <br/>
+ *
+ * A statement is taken out of the cache while a session uses it,
+ * so concurrent sessions never share one.
+ * Both the number of connections and statements per connection are bounded,
+ * least recently used statements are closed.
+ */
+class StatementCache {
+    static final int MAX_CONNECTIONS = 16;
+    static final int MAX_STATEMENTS_PER_CONNECTION = 64;
+
+    private final boolean enabled;
+    private final Map<Connection, LinkedHashMap<String, PreparedStatement>> statements =
+            new LinkedHashMap<>(MAX_CONNECTIONS, 0.75f, true);
+
+    StatementCache(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    PreparedStatement take(Connection connection, String sql) throws SQLException {
+        if (enabled) {
+            PreparedStatement cached = takeCached(connection, sql);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return connection.prepareStatement(sql);
+    }
+
+    void release(Connection connection, String sql, PreparedStatement statement) throws SQLException {
+        if (!enabled || connection.isClosed() || statement.isClosed()) {
+            statement.close();
+            return;
+        }
+
+        statement.clearParameters();
+        PreparedStatement replaced = put(connection, sql, statement);
+        if (replaced != null) {
+            replaced.close();
+        }
+    }
+
+    int size() {
+        synchronized (statements) {
+            return statements.values().stream().mapToInt(Map::size).sum();
+        }
+    }
+
+    private PreparedStatement takeCached(Connection connection, String sql) throws SQLException {
+        PreparedStatement cached;
+        synchronized (statements) {
+            Map<String, PreparedStatement> connectionStatements = statements.get(connection);
+            cached = connectionStatements == null ? null : connectionStatements.remove(sql);
+        }
+
+        return cached == null || cached.isClosed() ? null : cached;
+    }
+
+    private PreparedStatement put(Connection connection, String sql, PreparedStatement statement) throws SQLException {
+        PreparedStatement replaced;
+        List<PreparedStatement> evicted = new ArrayList<>();
+
+        synchronized (statements) {
+            LinkedHashMap<String, PreparedStatement> connectionStatements =
+                    statements.computeIfAbsent(connection, c -> new LinkedHashMap<>(16, 0.75f, true));
+
+            replaced = connectionStatements.put(sql, statement);
+            evictEldest(connectionStatements, MAX_STATEMENTS_PER_CONNECTION, evicted::add);
+
+            evictEldest(statements, MAX_CONNECTIONS, it -> evicted.addAll(it.values()));
+        }
+
+        for (PreparedStatement it : evicted) {
+            it.close();
+        }
+        return replaced;
+    }
+
+    private static <K, V> void evictEldest(Map<K, V> accessOrdered, int maxSize, Consumer<V> onEvicted) {
+        Iterator<V> eldest = accessOrdered.values().iterator();
+        while (accessOrdered.size() > maxSize) {
+            onEvicted.accept(eldest.next());
+            eldest.remove();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.javers.repository.sql
+
+import groovy.sql.Sql
+import org.javers.core.Javers
+import org.javers.core.JaversBuilder
+import org.javers.core.commit.CommitId
+import org.javers.core.model.DummyUser
+import org.javers.core.model.SnapshotEntity
+import org.javers.repository.jql.JqlQuery
+import org.javers.repository.jql.QueryBuilder
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.lang.reflect.InvocationHandler
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.lang.reflect.Proxy
+import java.sql.Connection
+import java.sql.DriverManager
+import java.sql.PreparedStatement
+import java.time.Instant
+import java.time.LocalDateTime
+
+/**
+ * Query plan regression tests, fail when a JQL query shape loses its index
+ */
+class H2QueryPlanTest extends Specification {
+
+    @Shared Connection tunedConnection = DriverManager.getConnection("jdbc:h2:mem:query-plan-tuned")
+    @Shared Connection untunedConnection = DriverManager.getConnection("jdbc:h2:mem:query-plan-untuned")
+    @Shared List<RecordedStatement> statements = []
+    @Shared Javers tunedJavers
+    @Shared Javers untunedJavers
+
+    def setupSpec() {
+        tunedJavers = javers(tunedConnection, true)
+        untunedJavers = javers(untunedConnection, false)
+        populate(tunedJavers, tunedConnection)
+        populate(untunedJavers, untunedConnection)
+    }
+
+    def cleanupSpec() {
+        tunedConnection.close()
+        untunedConnection.close()
+    }
+
+    @Unroll
+    def "should use #expectedIndex for #shape queries"() {
+        when:
+        def plan = explainSnapshotQuery(tunedJavers, tunedConnection, query)
+
+        then:
+        assert plan.contains(expectedIndex), plan
+        assert !plan.contains("JV_SNAPSHOT.tableScan"), plan
+
+        where:
+        shape                 | query                                                                          || expectedIndex
+        "version"             | QueryBuilder.byInstanceId(1, SnapshotEntity).withVersion(3).build()            || "JV_SNAPSHOT_GLOBAL_ID_FK_VERSION_IDX"
+        "class"               | QueryBuilder.byClass(SnapshotEntity).build()                                   || "JV_SNAPSHOT_MANAGED_TYPE_SNAPSHOT_PK_IDX"
+        "commit date range"   | QueryBuilder.anyDomainObject().from(yesterday()).to(tomorrow()).build()       || "JV_COMMIT_COMMIT_DATE_IDX"
+        "commit instant from" | QueryBuilder.anyDomainObject().fromInstant(Instant.now().minusSeconds(3600)).build() || "JV_COMMIT_COMMIT_DATE_INSTANT_IDX"
+        "commit id"           | QueryBuilder.anyDomainObject().withCommitId(new CommitId(100, 0)).build()     || "JV_COMMIT_COMMIT_ID_IDX"
+    }
+
+    def "should not full scan the snapshot table in instance queries"() {
+        when:
+        def plan = explainSnapshotQuery(tunedJavers, tunedConnection, QueryBuilder.byInstanceId(1, SnapshotEntity).build())
+
+        then:
+        assert !plan.contains("JV_SNAPSHOT.tableScan"), plan
+    }
+
+    def "should full scan the snapshot table in class queries when schema tuning is disabled"() {
+        when:
+        def plan = explainSnapshotQuery(untunedJavers, untunedConnection, QueryBuilder.byClass(SnapshotEntity).build())
+
+        then:
+        assert plan.contains("JV_SNAPSHOT.tableScan"), plan
+    }
+
+    def "should add tuned indexes to an existing schema only once"() {
+        given:
+        def connection = DriverManager.getConnection("jdbc:h2:mem:query-plan-migration")
+        def existing = javers(connection, false)
+        existing.commit("author", new SnapshotEntity(id: 1))
+
+        expect:
+        !indexExists(connection, "JV_SNAPSHOT_MANAGED_TYPE_SNAPSHOT_PK_IDX")
+
+        when:
+        javers(connection, true)
+        javers(connection, true)
+
+        then:
+        ["JV_SNAPSHOT_GLOBAL_ID_FK_VERSION_IDX",
+         "JV_SNAPSHOT_GLOBAL_ID_FK_SNAPSHOT_PK_IDX",
+         "JV_SNAPSHOT_MANAGED_TYPE_SNAPSHOT_PK_IDX",
+         "JV_COMMIT_COMMIT_DATE_IDX",
+         "JV_COMMIT_COMMIT_DATE_INSTANT_IDX"].every { indexExists(connection, it) }
+
+        cleanup:
+        connection.close()
+    }
+
+    static LocalDateTime yesterday() {
+        LocalDateTime.now().minusDays(1)
+    }
+
+    static LocalDateTime tomorrow() {
+        LocalDateTime.now().plusDays(1)
+    }
+
+    Javers javers(Connection connection, boolean schemaTuningEnabled) {
+        def recordingConnection = recording(connection)
+        def repository = SqlRepositoryBuilder.sqlRepository()
+                .withConnectionProvider({ recordingConnection } as ConnectionProvider)
+                .withDialect(DialectName.H2)
+                .withSchemaTuningEnabled(schemaTuningEnabled)
+                .build()
+        JaversBuilder.javers().registerJaversRepository(repository).build()
+    }
+
+    void populate(Javers javers, Connection connection) {
+        (1..5).each { version ->
+            (1..50).each { id ->
+                javers.commit("author", new SnapshotEntity(id: id, intProperty: version))
+                javers.commit("author", new DummyUser(name: "user" + id, age: version))
+            }
+        }
+        new Sql(connection).execute("ANALYZE")
+    }
+
+    String explainSnapshotQuery(Javers javers, Connection connection, JqlQuery query) {
+        statements.clear()
+        javers.findSnapshots(query)
+
+        RecordedStatement snapshotQuery = statements.find { it.sql.contains(" snap ") }
+        assert snapshotQuery
+
+        PreparedStatement explain = connection.prepareStatement("EXPLAIN " + snapshotQuery.sql)
+        snapshotQuery.params.each { index, value -> explain.setObject(index, value) }
+        def resultSet = explain.executeQuery()
+        resultSet.next()
+        def plan = resultSet.getString(1)
+        resultSet.close()
+        explain.close()
+
+        plan
+    }
+
+    boolean indexExists(Connection connection, String indexName) {
+        new Sql(connection).firstRow("SELECT count(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = ?", [indexName])[0] > 0
+    }
+
+    Connection recording(Connection connection) {
+        (Connection) Proxy.newProxyInstance(getClass().classLoader, [Connection] as Class[], { proxy, Method method, Object[] args ->
+            def result = invoke(connection, method, args)
+            if (method.name == "prepareStatement") {
+                def statement = new RecordedStatement(sql: args[0])
+                statements << statement
+                return recording((PreparedStatement) result, statement)
+            }
+            result
+        } as InvocationHandler)
+    }
+
+    PreparedStatement recording(PreparedStatement preparedStatement, RecordedStatement recorded) {
+        (PreparedStatement) Proxy.newProxyInstance(getClass().classLoader, [PreparedStatement] as Class[], { proxy, Method method, Object[] args ->
+            if (method.name.startsWith("set") && args?.length == 2 && args[0] instanceof Integer) {
+                recorded.params[(Integer) args[0]] = args[1]
+            }
+            invoke(preparedStatement, method, args)
+        } as InvocationHandler)
+    }
+
+    Object invoke(Object target, Method method, Object[] args) {
+        try {
+            method.invoke(target, args)
+        } catch (InvocationTargetException e) {
+            throw e.cause
+        }
+    }
+
+    static class RecordedStatement {
+        String sql
+        Map<Integer, Object> params = [:]
+    }
+}
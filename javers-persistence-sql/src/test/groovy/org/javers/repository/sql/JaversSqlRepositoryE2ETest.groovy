@@ -1,22 +1,35 @@
 package org.javers.repository.sql
 
 import groovy.sql.Sql
+import org.javers.core.JaversBuilder
 import org.javers.core.JaversRepositoryShadowE2ETest
 import org.javers.core.cases.Case207Arrays
 import org.javers.core.cases.Case208DateTimeTypes
 import org.javers.core.model.DummyAddress
+import org.javers.core.metamodel.annotation.Id
+import org.javers.core.metamodel.object.GlobalId
 import org.javers.core.model.SnapshotEntity
 import org.javers.repository.api.JaversRepository
 import org.javers.repository.jql.QueryBuilder
 import org.javers.repository.sql.schema.JaversSchemaManager
 import org.javers.repository.sql.schema.DBNameProvider
+import org.javers.repository.sql.session.Parameter
+import org.javers.repository.sql.session.SelectBuilder
 import spock.lang.Shared
 
+import java.lang.reflect.InvocationHandler
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.lang.reflect.Proxy
 import java.sql.Connection
 import java.util.concurrent.ConcurrentLinkedQueue
 import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Consumer
+import java.util.stream.Collectors
 
 import static groovyx.gpars.GParsPool.withPool
+import static org.javers.core.GlobalIdTestBuilder.instanceId
+import static org.javers.core.GlobalIdTestBuilder.valueObjectId
 
 abstract class JaversSqlRepositoryE2ETest extends JaversRepositoryShadowE2ETest {
     @Shared String globalIdTableName
@@ -66,7 +79,13 @@ abstract class JaversSqlRepositoryE2ETest extends JaversRepositoryShadowE2ETest
 
     @Override
     protected JaversRepository prepareJaversRepository() {
-        def repository = SqlRepositoryBuilder
+        def repository = sqlRepositoryBuilder().build()
+        this.schemaManager = repository.schemaManager
+        repository
+    }
+
+    SqlRepositoryBuilder sqlRepositoryBuilder() {
+        SqlRepositoryBuilder
                 .sqlRepository()
                 .withConnectionProvider({ getConnection() } as ConnectionProvider)
                 .withDialect(getDialect())
@@ -75,9 +94,6 @@ abstract class JaversSqlRepositoryE2ETest extends JaversRepositoryShadowE2ETest
                 .withCommitTableName(commitTableName)
                 .withSnapshotTableName(snapshotTableName)
                 .withCommitPropertyTableName(commitPropertyTableName)
-                .build()
-        this.schemaManager = repository.schemaManager
-        repository
     }
 
     def clearTables() {
@@ -266,4 +282,511 @@ abstract class JaversSqlRepositoryE2ETest extends JaversRepositoryShadowE2ETest
         then:
         javers.findSnapshots(QueryBuilder.byInstanceId(sId, SnapshotEntity).limit(1000).build()).size() == threads * 4 + 1
     }
+
+    def "should resolve GlobalId primary keys of a commit in bulk without duplicates"() {
+        given:
+        def root = new SnapshotEntity(id: 1,
+                listOfEntities: (2..151).collect { new SnapshotEntity(id: it) },
+                listOfValueObjects: (1..150).collect { new DummyAddress("city " + it) })
+        javers.commit("author", root)
+
+        when:
+        repository.evictCache()
+        root.listOfEntities.each { it.intProperty = 1 }
+        root.listOfValueObjects.each { it.street = "street" }
+        javers.commit("author", root)
+
+        then:
+        countRows(schemaManager.globalIdTableNameWithSchema) == 301
+        javers.findSnapshots(QueryBuilder.byClass(SnapshotEntity).limit(1000).build()).size() == 301
+        javers.findSnapshots(QueryBuilder.byValueObjectId(1, SnapshotEntity, "listOfValueObjects/149").build())
+                .collect { it.version } == [2L, 1L]
+    }
+
+    def "should resolve GlobalId primary keys in bulk when types share local ids"() {
+        given:
+        def person = new Person(id: 1, name: "Bob", orders: [new Order(id: 1, item: "apple"), new Order(id: 2, item: "pear")])
+        def otherPerson = new Person(id: 2, name: "Alice")
+        javers.commit("author", [person, otherPerson])
+
+        when:
+        repository.evictCache()
+        person.name = "Robert"
+        person.orders.each { it.item = it.item + "s" }
+        otherPerson.name = "Alicia"
+        javers.commit("author", [person, otherPerson])
+
+        then:
+        countRows(schemaManager.globalIdTableNameWithSchema) == 4
+        [instanceId(1, Person), instanceId(2, Person), instanceId(1, Order), instanceId(2, Order)].every { id ->
+            javers.findSnapshots(QueryBuilder.byInstanceId(id.cdoId, id.typeName).build()).collect { it.version } == [2L, 1L]
+        }
+        javers.getLatestSnapshot(1, Order).get().getPropertyValue("item") == "apples"
+        javers.getLatestSnapshot(1, Person).get().getPropertyValue("name") == "Robert"
+    }
+
+    def "should record GlobalId primary keys cache stats"() {
+        given:
+        def entity = new SnapshotEntity(id: 1)
+
+        when:
+        javers.commit("author", entity)
+        def afterInsert = repository.globalIdPkCacheStats
+
+        entity.intProperty = 1
+        javers.commit("author", entity)
+        def afterUpdate = repository.globalIdPkCacheStats
+
+        then:
+        afterInsert.size == 1
+        afterUpdate.hitCount > afterInsert.hitCount
+        afterUpdate.evictionCount == 0
+    }
+
+    def "should find latest snapshots of many GlobalIds in set-based queries"() {
+        given:
+        def entities = (1..250).collect { new SnapshotEntity(id: it, valueObjectRef: new DummyAddress("city")) }
+        entities.each { javers.commit("author", it) }
+        entities.findAll { it.id % 2 == 0 }.each {
+            it.intProperty = 1
+            it.valueObjectRef.city = "changed"
+            javers.commit("author", it)
+        }
+
+        when:
+        def ids = (1..250).collect { instanceId(it, SnapshotEntity) } +
+                  (1..250).collect { valueObjectId(it, SnapshotEntity, "valueObjectRef") } +
+                  [instanceId(999, SnapshotEntity)]
+        def latest = repository.getLatest(ids)
+
+        then:
+        latest.size() == 500
+        latest.collect { it.globalId } as Set == ids.take(500) as Set
+        latest.every { snapshot ->
+            def id = snapshot.globalId.masterObjectId().cdoId
+            snapshot.version == (id % 2 == 0 ? 2 : 1)
+        }
+    }
+
+    def "should read latest snapshots of committed objects from the latest snapshot cache"() {
+        given:
+        def invalidator = new RecordingInvalidator()
+        def cachedRepository = sqlRepositoryBuilder()
+                .withLatestSnapshotCacheSize(100)
+                .withLatestSnapshotCacheInvalidator(invalidator)
+                .build()
+        def cachedJavers = JaversBuilder.javers().registerJaversRepository(cachedRepository).build()
+        def entity = new SnapshotEntity(id: 1, intProperty: 1)
+        cachedJavers.commit("author", entity, ["tenant": "a"])
+        def afterInsert = cachedRepository.latestSnapshotCacheStats
+
+        when:
+        entity.intProperty = 2
+        cachedJavers.commit("author", entity, ["tenant": "b"])
+        def afterUpdate = cachedRepository.latestSnapshotCacheStats
+
+        then:
+        afterInsert.size == 1
+        afterUpdate.hitCount > afterInsert.hitCount
+        invalidator.persisted == [[instanceId(1, SnapshotEntity)], [instanceId(1, SnapshotEntity)]]
+
+        with(cachedJavers.getLatestSnapshot(1, SnapshotEntity).get()) {
+            version == 2
+            getPropertyValue("intProperty") == 2
+            commitMetadata.properties == ["tenant": "b"]
+        }
+    }
+
+    def "should evict latest snapshots persisted by other nodes"() {
+        given:
+        def invalidator = new RecordingInvalidator()
+        def cachedRepository = sqlRepositoryBuilder()
+                .withLatestSnapshotCacheSize(100)
+                .withLatestSnapshotCacheInvalidator(invalidator)
+                .build()
+        def cachedJavers = JaversBuilder.javers().registerJaversRepository(cachedRepository).build()
+        def entity = new SnapshotEntity(id: 1, intProperty: 1)
+        cachedJavers.commit("author", entity)
+
+        when:
+        entity.intProperty = 2
+        javers.commit("author", entity)
+
+        then:
+        cachedJavers.getLatestSnapshot(1, SnapshotEntity).get().version == 1
+
+        when:
+        invalidator.evictor.accept([instanceId(1, SnapshotEntity)])
+
+        then:
+        cachedJavers.getLatestSnapshot(1, SnapshotEntity).get().version == 2
+    }
+
+    def "should evict latest snapshots of rolled back commits"() {
+        given:
+        def cachedRepository = sqlRepositoryBuilder()
+                .withLatestSnapshotCacheSize(100)
+                .build()
+        def cachedJavers = JaversBuilder.javers().registerJaversRepository(cachedRepository).build()
+        cachedJavers.commit("author", new SnapshotEntity(id: 1))
+
+        when:
+        getConnection().rollback()
+        cachedRepository.evictCache()
+
+        then:
+        !cachedJavers.getLatestSnapshot(1, SnapshotEntity).isPresent()
+        cachedRepository.latestSnapshotCacheStats.size == 1
+    }
+
+    def "should update the latest snapshot cache and notify other nodes only after the transaction commits"() {
+        given:
+        def invalidator = new RecordingInvalidator()
+        def cachedRepository = sqlRepositoryBuilder()
+                .withLatestSnapshotCacheSize(100)
+                .withLatestSnapshotCacheInvalidator(invalidator)
+                .build()
+        List<Consumer<Boolean>> completions = []
+        cachedRepository.setTransactionCompletionScheduler({ callback -> completions << callback } as TransactionCompletionScheduler)
+        def cachedJavers = JaversBuilder.javers().registerJaversRepository(cachedRepository).build()
+
+        when:
+        cachedJavers.commit("author", new SnapshotEntity(id: 1))
+
+        then:
+        cachedRepository.latestSnapshotCacheStats.size == 0
+        cachedJavers.getLatestSnapshot(1, SnapshotEntity).get().version == 1
+        cachedRepository.latestSnapshotCacheStats.size == 0
+        invalidator.persisted.isEmpty()
+
+        when:
+        completions.pop().accept(true)
+
+        then:
+        cachedRepository.latestSnapshotCacheStats.size == 1
+        invalidator.persisted == [[instanceId(1, SnapshotEntity)]]
+
+        when:
+        cachedJavers.commit("author", new SnapshotEntity(id: 2))
+        getConnection().rollback()
+        completions.pop().accept(false)
+
+        then:
+        !cachedJavers.getLatestSnapshot(2, SnapshotEntity).isPresent()
+        cachedRepository.latestSnapshotCacheStats.size == 1
+        invalidator.persisted.size() == 1
+    }
+
+    def "should stream snapshots with commit properties from a cursor in chunks of the fetch size"() {
+        given:
+        def streamingRepository = sqlRepositoryBuilder().withStreamFetchSize(7).build()
+        def streamingJavers = JaversBuilder.javers().registerJaversRepository(streamingRepository).build()
+        (1..50).each { streamingJavers.commit("author", new SnapshotEntity(id: it), ["id": it as String]) }
+
+        when:
+        def stream = streamingJavers.findSnapshotsAndStream(QueryBuilder.byClass(SnapshotEntity).limit(1000).build())
+        def firstTen = stream.limit(10).collect(Collectors.toList())
+        stream.close()
+
+        then:
+        firstTen.collect { it.globalId.cdoId } == (50..41)
+        firstTen.every { it.commitMetadata.properties["id"] == it.globalId.cdoId as String }
+
+        when:
+        def all = streamingJavers.findSnapshotsAndStream(QueryBuilder.byClass(SnapshotEntity).limit(1000).build())
+                .withCloseable { it.count() }
+
+        then:
+        all == 50
+    }
+
+    def "should find snapshots by changed property using the changed property table"() {
+        given:
+        def indexedRepository = sqlRepositoryBuilder().withChangedPropertyTableEnabled(true).build()
+        def indexedJavers = JaversBuilder.javers().registerJaversRepository(indexedRepository).build()
+        indexedJavers.commit("author", new SnapshotEntity(id: 1, intProperty: 1))
+        indexedJavers.commit("author", new SnapshotEntity(id: 1, intProperty: 2))
+        indexedJavers.commit("author", new SnapshotEntity(id: 1, intProperty: 2, dob: java.time.LocalDate.of(2020, 1, 1)))
+
+        when:
+        def snapshots = indexedJavers.findSnapshots(QueryBuilder.byInstanceId(1, SnapshotEntity)
+                .withChangedProperty("intProperty").build())
+
+        then:
+        snapshots.collect { it.version } == [2, 1]
+
+        when:
+        snapshots = indexedJavers.findSnapshots(QueryBuilder.byInstanceId(1, SnapshotEntity)
+                .withChangedPropertyIn("intProperty", "dob").build())
+
+        then:
+        snapshots.collect { it.version } == [3, 2, 1]
+
+        when:
+        snapshots = indexedJavers.findSnapshots(QueryBuilder.byInstanceId(1, SnapshotEntity)
+                .withChangedProperty("dob").build())
+
+        then:
+        snapshots.collect { it.version } == [3]
+
+        cleanup:
+        dropChangedPropertyTable(indexedRepository)
+    }
+
+    def "should fill the changed property table with snapshots committed before it was enabled"() {
+        given:
+        javers.commit("author", new SnapshotEntity(id: 1, intProperty: 1))
+        javers.commit("author", new SnapshotEntity(id: 1, intProperty: 2))
+        javers.commit("author", new SnapshotEntity(id: 2, intProperty: 2))
+        getConnection().commit()
+        def expected = javers.findSnapshots(QueryBuilder.anyDomainObject().withChangedProperty("intProperty").build())
+
+        when:
+        def indexedRepository = sqlRepositoryBuilder().withChangedPropertyTableEnabled(true).build()
+        def indexedJavers = JaversBuilder.javers().registerJaversRepository(indexedRepository).build()
+        def snapshots = indexedJavers.findSnapshots(QueryBuilder.anyDomainObject().withChangedProperty("intProperty").build())
+
+        then:
+        expected.size() == 3
+        snapshots.collect { it.globalId } == expected.collect { it.globalId }
+        snapshots.collect { it.version } == expected.collect { it.version }
+
+        cleanup:
+        dropChangedPropertyTable(indexedRepository)
+    }
+
+    def "should fill the changed property table in chunks of snapshots"() {
+        given:
+        javers.commit("author", new SnapshotEntity(id: 1,
+                listOfEntities: (2..1500).collect { new SnapshotEntity(id: it, intProperty: it) }))
+        getConnection().commit()
+        def snapshots = javers.findSnapshots(QueryBuilder.anyDomainObject().limit(2000).build())
+
+        when:
+        def indexedRepository = sqlRepositoryBuilder().withChangedPropertyTableEnabled(true).build()
+
+        then:
+        snapshots.size() == 1500
+        countRows(indexedRepository.schemaManager.changedPropertyTableNameWithSchema) == snapshots.sum { it.changed.size() }
+
+        cleanup:
+        dropChangedPropertyTable(indexedRepository)
+    }
+
+    def "should read snapshots stored in both text and compressed binary state formats"() {
+        given:
+        javers.commit("author", new SnapshotEntity(id: 1, intProperty: 1))
+        def compressedRepository = sqlRepositoryBuilder().withSnapshotStateCompressionEnabled(true).build()
+        def compressedJavers = JaversBuilder.javers().registerJaversRepository(compressedRepository).build()
+        compressedJavers.commit("author", new SnapshotEntity(id: 1, intProperty: 2, valueObjectRef: new DummyAddress("London")))
+
+        when:
+        def snapshots = compressedJavers.findSnapshots(QueryBuilder.byInstanceId(1, SnapshotEntity).build())
+        def rows = new Sql(getConnection()).rows("select version, state, state_binary from " +
+                schemaManager.snapshotTableNameWithSchema + " order by version")
+
+        then:
+        snapshots.collect { it.version } == [2, 1]
+        snapshots.collect { it.getPropertyValue("intProperty") } == [2, 1]
+        snapshots[0].getPropertyValue("valueObjectRef") == valueObjectId(1, SnapshotEntity, "valueObjectRef")
+
+        rows[0].state != null
+        rows[0].state_binary == null
+        rows[1].state == null
+        rows[1].state_binary != null
+    }
+
+    def "should read compressed snapshots after the compression is disabled"() {
+        given:
+        def compressedRepository = sqlRepositoryBuilder().withSnapshotStateCompressionEnabled(true).build()
+        def compressedJavers = JaversBuilder.javers().registerJaversRepository(compressedRepository).build()
+        compressedJavers.commit("author", new SnapshotEntity(id: 1, intProperty: 1))
+
+        when:
+        def plainRepository = sqlRepositoryBuilder().withSnapshotStateCompressionEnabled(false).build()
+        def plainJavers = JaversBuilder.javers().registerJaversRepository(plainRepository).build()
+        plainJavers.commit("author", new SnapshotEntity(id: 1, intProperty: 2))
+        def snapshots = plainJavers.findSnapshots(QueryBuilder.byInstanceId(1, SnapshotEntity).build())
+        def streamed = plainJavers.findSnapshotsAndStream(QueryBuilder.byInstanceId(1, SnapshotEntity).build())
+                .withCloseable { it.collect(Collectors.toList()) }
+
+        then:
+        snapshots.collect { it.version } == [2, 1]
+        snapshots.collect { it.getPropertyValue("intProperty") } == [2, 1]
+        streamed.collect { it.getPropertyValue("intProperty") } == [2, 1]
+    }
+
+    def "should record metrics of named queries across sessions"() {
+        given:
+        def queryMetrics = new RecordingQueryMetrics()
+        def measuredRepository = sqlRepositoryBuilder().withQueryMetrics(queryMetrics).build()
+        def measuredJavers = JaversBuilder.javers().registerJaversRepository(measuredRepository).build()
+
+        when:
+        measuredJavers.commit("author", new SnapshotEntity(id: 1, intProperty: 1))
+        measuredJavers.commit("author", new SnapshotEntity(id: 1, intProperty: 2))
+        measuredJavers.findSnapshots(QueryBuilder.byInstanceId(1, SnapshotEntity).build())
+        measuredJavers.findSnapshots(QueryBuilder.byClass(SnapshotEntity).build())
+
+        then:
+        def snapshotQueries = queryMetrics.recorded.findAll { it.queryName == "snapshots" }
+        snapshotQueries.size() >= 2
+        snapshotQueries.every { it.durationNanos > 0 }
+        snapshotQueries.findAll { it.rowCount == 2 }.every { it.deserializedChars > 0 }
+
+        def snapshotInserts = queryMetrics.recorded.findAll { it.queryName == "INSERT Snapshot" }
+        snapshotInserts.size() == 2
+        snapshotInserts.every { it.rowCount == 1 && it.deserializedChars == 0 }
+
+        queryMetrics.recorded.any { it.queryName == "INSERT Commit" }
+    }
+
+    def "should call the snapshot sequence inside of INSERT when keys aren't read back"() {
+        given:
+        def queryMetrics = new RecordingQueryMetrics()
+        def measuredRepository = sqlRepositoryBuilder().withQueryMetrics(queryMetrics).build()
+        def measuredJavers = JaversBuilder.javers().registerJaversRepository(measuredRepository).build()
+        measuredJavers.commit("author", new SnapshotEntity(id: 1, intProperty: 1))
+        queryMetrics.recorded.clear()
+
+        when:
+        measuredJavers.commit("author", new SnapshotEntity(id: 1, intProperty: 2))
+
+        then:
+        queryMetrics.recorded.any { it.queryName.contains("Snapshot") }
+        !queryMetrics.recorded.any { it.queryName.startsWith("SELECT next from seq") }
+        measuredJavers.findSnapshots(QueryBuilder.byInstanceId(1, SnapshotEntity).build()).collect { it.version } == [2, 1]
+    }
+
+    def "should record metrics of streamed queries when the stream is closed"() {
+        given:
+        def queryMetrics = new RecordingQueryMetrics()
+        def measuredRepository = sqlRepositoryBuilder().withQueryMetrics(queryMetrics).build()
+        def measuredJavers = JaversBuilder.javers().registerJaversRepository(measuredRepository).build()
+        (1..5).each { measuredJavers.commit("author", new SnapshotEntity(id: it)) }
+        queryMetrics.recorded.clear()
+
+        when:
+        def stream = measuredJavers.findSnapshotsAndStream(QueryBuilder.byClass(SnapshotEntity).build())
+        stream.limit(3).count()
+
+        then:
+        !queryMetrics.recorded.any { it.queryName == "snapshots" }
+
+        when:
+        stream.close()
+
+        then: "commit properties are loaded for chunks of the fetch size, so the whole chunk is read"
+        def streamed = queryMetrics.recorded.find { it.queryName == "snapshots" }
+        streamed.rowCount == 5
+        streamed.deserializedChars > 0
+    }
+
+    def "should reuse prepared statements across sessions when the ConnectionProvider allows it"() {
+        given:
+        def preparedSql = []
+        def countingConnection = countingPrepareStatement(getConnection(), preparedSql)
+        def reusingRepository = sqlRepositoryBuilder()
+                .withConnectionProvider(new ConnectionProvider() {
+                    Connection getConnection() { countingConnection }
+                    boolean isStatementReuseAllowed() { true }
+                }).build()
+        def reusingJavers = JaversBuilder.javers().registerJaversRepository(reusingRepository).build()
+        reusingJavers.commit("author", new SnapshotEntity(id: 1))
+
+        when:
+        preparedSql.clear()
+        3.times { reusingJavers.findSnapshots(QueryBuilder.byInstanceId(1, SnapshotEntity).build()) }
+
+        then:
+        preparedSql.findAll { it.contains(" snap ") }.size() == 1
+    }
+
+    def "should bind commit ids as parameters of a padded IN list"() {
+        given:
+        def commits = (1..5).collect { javers.commit("author", new SnapshotEntity(id: it)) }
+
+        when:
+        def snapshots = javers.findSnapshots(QueryBuilder.anyDomainObject()
+                .withCommitIds(commits.take(3).collect { it.id.valueAsNumber() }).build())
+
+        then:
+        snapshots.collect { it.globalId.cdoId } as Set == [1, 2, 3] as Set
+    }
+
+    def "should split commit ids over the IN list limit into many padded IN lists"() {
+        given:
+        def commits = (1..3).collect { javers.commit("author", new SnapshotEntity(id: it)) }
+        def unknownCommitIds = (1..597).collect { new BigDecimal(1000 + it) }
+
+        when:
+        def snapshots = javers.findSnapshots(QueryBuilder.anyDomainObject()
+                .withCommitIds(unknownCommitIds + commits.collect { it.id.valueAsNumber() }).build())
+
+        then:
+        snapshots.collect { it.globalId.cdoId } as Set == [1, 2, 3] as Set
+        SelectBuilder.padInList((1..513).collect { Parameter.longParam(it as Long) }).size() == 513
+        SelectBuilder.padInList((1..65).collect { Parameter.longParam(it as Long) }).size() == SelectBuilder.IN_CLAUSE_MAX_SIZE
+        SelectBuilder.padInList((1..33).collect { Parameter.longParam(it as Long) }).size() == 64
+    }
+
+    Connection countingPrepareStatement(Connection connection, List<String> preparedSql) {
+        (Connection) Proxy.newProxyInstance(getClass().classLoader, [Connection] as Class[], { proxy, Method method, Object[] args ->
+            if (method.name == "prepareStatement") {
+                preparedSql << args[0]
+            }
+            try {
+                method.invoke(connection, args)
+            } catch (InvocationTargetException e) {
+                throw e.cause
+            }
+        } as InvocationHandler)
+    }
+
+    static class RecordingQueryMetrics implements SqlQueryMetrics {
+        List<Map> recorded = Collections.synchronizedList([])
+
+        @Override
+        void record(String queryName, long durationNanos, long rowCount, long deserializedChars) {
+            recorded << [queryName: queryName, durationNanos: durationNanos, rowCount: rowCount, deserializedChars: deserializedChars]
+        }
+    }
+
+    static class Person {
+        @Id int id
+        String name
+        List<Order> orders = []
+    }
+
+    static class Order {
+        @Id int id
+        String item
+    }
+
+    static class RecordingInvalidator implements LatestSnapshotCacheInvalidator {
+        Consumer<Collection<GlobalId>> evictor
+        List<Collection<GlobalId>> persisted = []
+
+        @Override
+        void bind(Consumer<Collection<GlobalId>> evictor) {
+            this.evictor = evictor
+        }
+
+        @Override
+        void onPersisted(Collection<GlobalId> globalIds) {
+            persisted << globalIds
+        }
+    }
+
+    void dropChangedPropertyTable(JaversSqlRepository indexedRepository) {
+        getConnection().rollback()
+        if (indexedRepository != null) {
+            execute("drop table " + indexedRepository.schemaManager.changedPropertyTableNameWithSchema)
+            getConnection().commit()
+        }
+    }
+
+    long countRows(String tableName) {
+        new Sql(getConnection()).firstRow("select count(*) from " + tableName)[0] as long
+    }
 }
@@ -0,0 +1,85 @@
+package org.javers.repository.sql
+
+import org.javers.core.Javers
+import org.javers.core.model.DummyAddress
+import org.javers.core.model.SnapshotEntity
+import org.javers.repository.jql.QueryBuilder
+import spock.lang.Ignore
+import spock.lang.Specification
+
+import java.sql.Connection
+import java.sql.DriverManager
+import java.time.LocalDate
+
+import static org.javers.core.JaversBuilder.javers
+import static org.javers.repository.sql.SqlRepositoryBuilder.sqlRepository
+
+/**
+ * Compares size of the snapshot table and throughput
+ * of the JSON text and compressed binary state formats
+ */
+@Ignore
+class SnapshotStateCompressionPerformanceTest extends Specification {
+
+    def "should report size and throughput of snapshot state formats"() {
+        given:
+        def objects = 2_000
+        def versions = 5
+
+        when:
+        [false, true].each { compressed ->
+            def connection = DriverManager.getConnection("jdbc:h2:mem:compression-" + compressed)
+            connection.setAutoCommit(false)
+            def javers = javers().registerJaversRepository(sqlRepository()
+                    .withConnectionProvider({ connection } as ConnectionProvider)
+                    .withDialect(DialectName.H2)
+                    .withSnapshotStateCompressionEnabled(compressed).build()).build()
+
+            def start = System.currentTimeMillis()
+            versions.times { v ->
+                (1..objects).collate(100).each { ids ->
+                    javers.commit("author", new SnapshotEntity(id: 0, listOfEntities: ids.collect { produce(it, v) }))
+                }
+                connection.commit()
+            }
+            def commitTime = System.currentTimeMillis() - start
+
+            start = System.currentTimeMillis()
+            def read = javers.findSnapshots(QueryBuilder.byClass(SnapshotEntity).limit(objects * versions).build()).size()
+            def readTime = System.currentTimeMillis() - start
+
+            def stateSize = queryForLong(connection, "select sum(length(state)) from jv_snapshot")
+            def binarySize = compressed ? queryForLong(connection, "select sum(length(state_binary)) from jv_snapshot") : 0
+
+            println((compressed ? "compressed binary" : "JSON text") + " state format:")
+            println("  text state size:   " + (stateSize / 1024).toLong() + " KB")
+            println("  binary state size: " + (binarySize / 1024).toLong() + " KB")
+            println("  commit: " + commitTime + " ms, " + ((objects * versions * 1000) / commitTime).toLong() + " snapshots/s")
+            println("  read " + read + " snapshots: " + readTime + " ms, " + ((read * 1000) / Math.max(readTime, 1)).toLong() + " snapshots/s")
+
+            connection.close()
+        }
+
+        then:
+        true
+    }
+
+    SnapshotEntity produce(int id, int version) {
+        new SnapshotEntity(id: id,
+                intProperty: version,
+                dob: LocalDate.of(2000, 1, 1).plusDays(id),
+                valueObjectRef: new DummyAddress("city " + id, "street " + version),
+                arrayOfInts: [id, version, id * version] as int[],
+                listOfDates: [LocalDate.of(2019, 1, 1), LocalDate.of(2020, 1, 1).plusDays(version)],
+                mapOfPrimitives: [("key " + id): version])
+    }
+
+    long queryForLong(Connection connection, String sql) {
+        def stmt = connection.createStatement()
+        def rset = stmt.executeQuery(sql)
+        rset.next()
+        def result = rset.getLong(1)
+        stmt.close()
+        result
+    }
+}
@@ -0,0 +1,62 @@
+package org.javers.repository.sql.repositories
+
+import org.javers.common.exception.JaversException
+import org.javers.common.exception.JaversExceptionCode
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CompressedSnapshotStateTest extends Specification {
+
+    static final String STATE = '''{
+  "id": 1,
+  "name": "Zażółć gęślą jaźń",
+  "owner": {
+    "entity": "org.javers.core.model.SnapshotEntity",
+    "cdoId": 2
+  },
+  "tags": []
+}'''
+
+    @Unroll
+    def "should restore #what state"() {
+        when:
+        def compressed = CompressedSnapshotState.compress(state, "org.Type", ["id", "name"])
+
+        then:
+        compressed[0] == CompressedSnapshotState.FORMAT_DEFLATE_V1
+        CompressedSnapshotState.decompress(compressed, "org.Type", '[\n  "id",\n  "name"\n]') == state
+
+        where:
+        what     | state
+        "JSON"   | STATE
+        "empty"  | ""
+        "large"  | "[" + (1..5000).collect { '"value' + it + '"' }.join(", ") + "]"
+    }
+
+    def "should be smaller than JSON text"() {
+        when:
+        def compressed = CompressedSnapshotState.compress(STATE, "org.Type", ["id", "name", "owner", "tags"])
+
+        then:
+        compressed.length < STATE.getBytes("UTF-8").length / 2
+    }
+
+    @Unroll
+    def "should fail when #what"() {
+        given:
+        def compressed = CompressedSnapshotState.compress(STATE, "org.Type", ["id", "name"])
+
+        when:
+        CompressedSnapshotState.decompress(corrupt(compressed), managedType, '["id", "name"]')
+
+        then:
+        JaversException e = thrown()
+        e.code == JaversExceptionCode.MALFORMED_SNAPSHOT_STATE
+
+        where:
+        what                          | managedType   | corrupt
+        "format version is unknown"   | "org.Type"    | { byte[] it -> [9 as byte] + it.toList().tail() as byte[] }
+        "data is truncated"           | "org.Type"    | { byte[] it -> it.toList().take(it.length - 8) as byte[] }
+        "managed type is changed"     | "org.Other"   | { byte[] it -> it }
+    }
+}
@@ -0,0 +1,123 @@
+package org.javers.repository.sql.session
+
+import org.h2.tools.Server
+import org.javers.core.Javers
+import org.javers.core.model.SnapshotEntity
+import org.javers.repository.sql.ConnectionProvider
+import org.javers.repository.sql.DialectName
+import spock.lang.Ignore
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.sql.Connection
+import java.sql.DriverManager
+
+import static org.javers.core.JaversBuilder.javers
+import static org.javers.repository.sql.SqlRepositoryBuilder.sqlRepository
+
+/**
+ * Compares row-at-a-time and batched inserts of snapshots,
+ * H2 is accessed over TCP, so each statement is a network round trip
+ */
+@Ignore
+class BatchInsertPerformanceTest extends Specification {
+
+    @Shared Server server
+    @Shared Connection dbConnection
+    @Shared ConnectionProvider connectionProvider
+    @Shared Javers javers
+
+    def setupSpec() {
+        server = Server.createTcpServer("-tcpPort", "9093").start()
+        dbConnection = DriverManager.getConnection("jdbc:h2:tcp://localhost:9093/mem:batch-test")
+        dbConnection.setAutoCommit(false)
+        connectionProvider = { dbConnection } as ConnectionProvider
+
+        javers = javers().registerJaversRepository(sqlRepository()
+                .withConnectionProvider(connectionProvider)
+                .withDialect(DialectName.H2).build()).build()
+    }
+
+    def cleanupSpec() {
+        dbConnection.close()
+        server.stop()
+    }
+
+    def "should insert snapshots faster in batches"() {
+        given:
+        def rows = 2_000
+        def n = 5
+        javers.commit("author", new SnapshotEntity(id: 1))
+        dbConnection.commit()
+        def commitPk = queryForLong("select commit_pk from jv_commit")
+        def globalIdPk = queryForLong("select global_id_pk from jv_global_id")
+        def sessionFactory = new SessionFactory(DialectName.H2, connectionProvider)
+        def random = new Random()
+
+        when:
+        measure("row-at-a-time", n) {
+            sessionFactory.create("row-at-a-time").withCloseable { session ->
+                rows.times {
+                    snapshotInsert(session, commitPk, globalIdPk).execute()
+                }
+            }
+        }
+
+        measure("batched", n) {
+            sessionFactory.create("batched").withCloseable { session ->
+                def insert = session.insert("Snapshot")
+                rows.times {
+                    snapshotValues(insert, commitPk, globalIdPk).addBatch()
+                }
+                insert.executeBatch()
+            }
+        }
+
+        measure("javers.commit() of " + rows + " snapshots", n) {
+            javers.commit("author", new SnapshotEntity(id: 1,
+                    listOfEntities: (2..rows).collect { new SnapshotEntity(id: it, intProperty: random.nextInt()) }))
+        }
+
+        then:
+        true
+    }
+
+    InsertBuilder snapshotInsert(Session session, long commitPk, long globalIdPk) {
+        snapshotValues(session.insert("Snapshot"), commitPk, globalIdPk)
+    }
+
+    InsertBuilder snapshotValues(InsertBuilder insert, long commitPk, long globalIdPk) {
+        insert.into("jv_snapshot")
+              .value("type", "UPDATE")
+              .value("global_id_fk", globalIdPk)
+              .value("commit_fk", commitPk)
+              .value("version", 1L)
+              .value("state", '{"id": 1, "intProperty": 5}')
+              .value("changed_properties", '["intProperty"]')
+              .value("managed_type", SnapshotEntity.name)
+              .sequence("snapshot_pk", "jv_snapshot_pk_seq")
+    }
+
+    void measure(String name, int times, Closure insert) {
+        insert() //warm up
+        dbConnection.commit()
+
+        def start = System.currentTimeMillis()
+        times.times {
+            insert()
+            dbConnection.commit()
+        }
+        def stop = System.currentTimeMillis()
+
+        println name + ", op avg: " + ((stop - start) / times) + " ms"
+    }
+
+    long queryForLong(String sql) {
+        def stmt = dbConnection.createStatement()
+        def rset = stmt.executeQuery(sql)
+        rset.next()
+        def result = rset.getLong(1)
+        stmt.close()
+        result
+    }
+}
@@ -1,6 +1,9 @@
 package org.javers.spring.boot.mongo;
 
 import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.Tag;
+import com.mongodb.TagSet;
 import com.mongodb.client.MongoDatabase;
 import org.javers.common.exception.JaversException;
 import org.javers.common.exception.JaversExceptionCode;
@@ -26,7 +29,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.javers.repository.mongo.MongoRepository.mongoRepositoryWithDocumentDBCompatibility;
 
@@ -105,11 +112,34 @@ public class JaversMongoAutoConfiguration {
     }
 
     private MongoRepository createMongoRepository(MongoDatabase mongoDatabase) {
+        ReadPreference historyReadPreference = createHistoryReadPreference();
+
         if (javersMongoProperties.isDocumentDbCompatibilityEnabled()) {
             logger.info("enabling Amazon DocumentDB compatibility");
-            return mongoRepositoryWithDocumentDBCompatibility(mongoDatabase, javersMongoProperties.getSnapshotsCacheSize());
+            return mongoRepositoryWithDocumentDBCompatibility(mongoDatabase, javersMongoProperties.getSnapshotsCacheSize(),
+                    MongoRepository.DEFAULT_STREAM_BATCH_SIZE, historyReadPreference);
+        }
+        return new MongoRepository(mongoDatabase, javersMongoProperties.getSnapshotsCacheSize(),
+                MongoRepository.DEFAULT_STREAM_BATCH_SIZE, historyReadPreference);
+    }
+
+    private ReadPreference createHistoryReadPreference() {
+        JaversMongoProperties.HistoryReadPreference properties = javersMongoProperties.getHistoryReadPreference();
+        if (properties == null || !properties.isEnabled()) {
+            return null;
         }
-        return new MongoRepository(mongoDatabase, javersMongoProperties.getSnapshotsCacheSize());
+
+        List<TagSet> tagSets = properties.getTags().isEmpty() ? Collections.emptyList() :
+                Collections.singletonList(new TagSet(properties.getTags().entrySet().stream()
+                        .map(e -> new Tag(e.getKey(), e.getValue()))
+                        .collect(Collectors.toList())));
+
+        ReadPreference readPreference = properties.getMaxStaleness() == null
+                ? ReadPreference.valueOf(properties.getMode(), tagSets)
+                : ReadPreference.valueOf(properties.getMode(), tagSets, properties.getMaxStaleness().toMillis(), TimeUnit.MILLISECONDS);
+
+        logger.info("routing history queries with read preference {}", readPreference);
+        return readPreference;
     }
 
     @Bean(name = "SpringSecurityAuthorProvider")
@@ -4,6 +4,10 @@ import org.javers.spring.JaversSpringProperties;
 import org.javers.spring.mongodb.DBRefUnproxyObjectAccessHook;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * @author pawelszymczyk
  */
@@ -18,6 +22,8 @@ public class JaversMongoProperties extends JaversSpringProperties {
 
     private Mongodb mongodb;
 
+    private HistoryReadPreference historyReadPreference = new HistoryReadPreference();
+
     public boolean isDocumentDbCompatibilityEnabled() {
         return documentDbCompatibilityEnabled;
     }
@@ -42,6 +48,72 @@ public class JaversMongoProperties extends JaversSpringProperties {
         this.mongodb = mongodb;
     }
 
+    public HistoryReadPreference getHistoryReadPreference() {
+        return historyReadPreference;
+    }
+
+    public void setHistoryReadPreference(HistoryReadPreference historyReadPreference) {
+        this.historyReadPreference = historyReadPreference;
+    }
+
+    /**
+     * Routes JQL snapshot, shadow and change queries to selected replica set members,
+     * so they don't compete with commits on the primary.
+     * Reads done during a commit always run on the primary.
+     * <br/>
+     * Secondaries may lag, so history queries can miss the latest commits,
+     * up to <code>maxStaleness</code>.
+     *
+     * @since 5.14
+     */
+    public static class HistoryReadPreference {
+        /**
+         * Read preference mode, like <code>secondaryPreferred</code> or <code>nearest</code>.
+         * When not set, history queries use the read preference of the MongoDatabase.
+         */
+        private String mode;
+
+        /**
+         * Tag set of selected members, like <code>nodeType: ANALYTICS</code>.
+         * Can't be used with the <code>primary</code> mode.
+         */
+        private Map<String, String> tags = new LinkedHashMap<>();
+
+        /**
+         * Max replication lag of selected secondaries, at least 90 seconds.
+         * When not set, secondaries are selected regardless of their lag.
+         */
+        private Duration maxStaleness;
+
+        public String getMode() {
+            return mode;
+        }
+
+        public void setMode(String mode) {
+            this.mode = mode;
+        }
+
+        public Map<String, String> getTags() {
+            return tags;
+        }
+
+        public void setTags(Map<String, String> tags) {
+            this.tags = tags;
+        }
+
+        public Duration getMaxStaleness() {
+            return maxStaleness;
+        }
+
+        public void setMaxStaleness(Duration maxStaleness) {
+            this.maxStaleness = maxStaleness;
+        }
+
+        public boolean isEnabled() {
+            return mode != null && !mode.isEmpty();
+        }
+    }
+
     /**
      * If <code>javers.mongodb</code> configuration is non-empty,
      * Javers uses it to connect to the dedicated MongoDB.
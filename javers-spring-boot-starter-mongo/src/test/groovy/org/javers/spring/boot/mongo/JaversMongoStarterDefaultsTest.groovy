@@ -38,6 +38,8 @@ class JaversMongoStarterDefaultsTest extends Specification{
        !javersProperties.mongodb
         javersProperties.objectAccessHook == "org.javers.spring.mongodb.DBRefUnproxyObjectAccessHook"
         javersProperties.snapshotsCacheSize == 5000
+       !javersProperties.historyReadPreference.enabled
+       !javers.repository.delegate.historyReadPreference
     }
 
     def "should connect to Mongo configured in spring.data.mongodb properties"(){
@@ -1,5 +1,8 @@
 package org.javers.spring.boot.mongo
 
+import com.mongodb.ReadPreference
+import com.mongodb.Tag
+import com.mongodb.TagSet
 import org.javers.core.Javers
 import org.javers.core.metamodel.type.EntityType
 import org.javers.spring.auditable.AuthorProvider
@@ -9,6 +12,9 @@ import org.springframework.boot.test.context.SpringBootTest
 import org.springframework.test.context.ActiveProfiles
 import spock.lang.Specification
 
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
 /**
  * @author pawelszymczyk
  */
@@ -41,6 +47,15 @@ class JaversMongoStarterTest extends Specification{
         javersProperties.documentDbCompatibilityEnabled == true
         javersProperties.objectAccessHook == "org.javers.spring.boot.mongo.DummyDBRefUnproxyObjectAccessHook"
         javersProperties.snapshotsCacheSize == 100
+        javersProperties.historyReadPreference.mode == "secondaryPreferred"
+        javersProperties.historyReadPreference.tags == [nodeType: "ANALYTICS"]
+        javersProperties.historyReadPreference.maxStaleness == Duration.ofSeconds(120)
+    }
+
+    def "should route history queries with the configured read preference"() {
+        expect:
+        javers.repository.delegate.historyReadPreference ==
+                ReadPreference.secondaryPreferred(new TagSet(new Tag("nodeType", "ANALYTICS")), 120_000, TimeUnit.MILLISECONDS)
     }
 
     def "shouldReadBeanMappingStyleFromYml"() {
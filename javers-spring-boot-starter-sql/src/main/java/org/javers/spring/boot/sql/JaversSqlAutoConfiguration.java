@@ -2,12 +2,15 @@ package org.javers.spring.boot.sql;
 
 import javax.persistence.EntityManagerFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.javers.core.Javers;
 import org.javers.repository.sql.ConnectionProvider;
 import org.javers.repository.sql.DialectName;
 import org.javers.repository.sql.JaversSqlRepository;
+import org.javers.repository.sql.LatestSnapshotCacheInvalidator;
+import org.javers.repository.sql.SqlQueryMetrics;
 import org.javers.repository.sql.SqlRepositoryBuilder;
 import org.javers.spring.auditable.AuthorProvider;
 import org.javers.spring.auditable.CommitPropertiesProvider;
@@ -20,6 +23,7 @@ import org.javers.spring.jpa.JpaHibernateConnectionProvider;
 import org.javers.spring.jpa.TransactionalJaversBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -65,7 +69,9 @@ public class JaversSqlAutoConfiguration {
 
     @Bean(name = "JaversSqlRepositoryFromStarter")
     @ConditionalOnMissingBean
-    public JaversSqlRepository javersSqlRepository(ConnectionProvider connectionProvider) {
+    public JaversSqlRepository javersSqlRepository(ConnectionProvider connectionProvider,
+                                                   ObjectProvider<LatestSnapshotCacheInvalidator> latestSnapshotCacheInvalidator,
+                                                   ObjectProvider<SqlQueryMetrics> queryMetrics) {
         return SqlRepositoryBuilder
                 .sqlRepository()
                 .withSchema(javersSqlProperties.getSqlSchema())
@@ -73,10 +79,20 @@ public class JaversSqlAutoConfiguration {
                 .withDialect(javersSqlDialectName())
                 .withSchemaManagementEnabled(javersSqlProperties.isSqlSchemaManagementEnabled())
                 .withGlobalIdCacheDisabled(javersSqlProperties.isSqlGlobalIdCacheDisabled())
+                .withGlobalIdCacheSize(javersSqlProperties.getSqlGlobalIdCacheSize())
+                .withGlobalIdCacheExpireAfterAccess(javersSqlProperties.getSqlGlobalIdCacheExpireAfterAccess())
+                .withLatestSnapshotCacheSize(javersSqlProperties.getSqlLatestSnapshotCacheSize())
+                .withLatestSnapshotCacheInvalidator(latestSnapshotCacheInvalidator.getIfAvailable(LatestSnapshotCacheInvalidator::singleNode))
+                .withQueryMetrics(queryMetrics.getIfAvailable(SqlQueryMetrics::noOp))
+                .withStreamFetchSize(javersSqlProperties.getSqlStreamFetchSize())
+                .withChangedPropertyTableEnabled(javersSqlProperties.isSqlChangedPropertyTableEnabled())
+                .withSchemaTuningEnabled(javersSqlProperties.isSqlSchemaTuningEnabled())
+                .withSnapshotStateCompressionEnabled(javersSqlProperties.isSqlSnapshotStateCompressionEnabled())
                 .withGlobalIdTableName(javersSqlProperties.getSqlGlobalIdTableName())
                 .withCommitTableName(javersSqlProperties.getSqlCommitTableName())
                 .withSnapshotTableName(javersSqlProperties.getSqlSnapshotTableName())
                 .withCommitPropertyTableName(javersSqlProperties.getSqlCommitPropertyTableName())
+                .withChangedPropertyTableName(javersSqlProperties.getSqlChangedPropertyTableName())
                 .withGlobalIdPKColumnName(javersSqlProperties.getSqlGlobalIdPKColumnName())
                 .withGlobalIdLocalIdColumnName(javersSqlProperties.getSqlGlobalIdLocalIdColumnName())
                 .withGlobalIdFragmentColumnName(javersSqlProperties.getSqlGlobalIdFragmentColumnName())
@@ -155,4 +171,19 @@ public class JaversSqlAutoConfiguration {
     public JaversSpringDataJpaAuditableRepositoryAspect javersSpringDataAuditableAspect(Javers javers, AuthorProvider authorProvider, CommitPropertiesProvider commitPropertiesProvider) {
         return new JaversSpringDataJpaAuditableRepositoryAspect(javers, authorProvider, commitPropertiesProvider);
     }
+
+    @Configuration
+    @ConditionalOnClass(name = {"io.micrometer.core.instrument.MeterRegistry"})
+    static class JaversSqlMetricsConfiguration {
+
+        @Bean(name = "MicrometerSqlQueryMetrics")
+        @ConditionalOnMissingBean
+        public SqlQueryMetrics micrometerSqlQueryMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return SqlQueryMetrics.noOp();
+            }
+            return new MicrometerSqlQueryMetrics(registry);
+        }
+    }
 }
@@ -1,20 +1,31 @@
 package org.javers.spring.boot.sql;
 
 import org.javers.hibernate.integration.HibernateUnproxyObjectAccessHook;
+import org.javers.repository.sql.SqlRepositoryConfiguration;
 import org.javers.spring.JaversSpringProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "javers")
 public class JaversSqlProperties extends JaversSpringProperties {
     private static final String DEFAULT_OBJECT_ACCESS_HOOK = HibernateUnproxyObjectAccessHook.class.getName();
 
     private boolean sqlSchemaManagementEnabled = true;
     private boolean sqlGlobalIdCacheDisabled = false;
+    private long sqlGlobalIdCacheSize = SqlRepositoryConfiguration.DEFAULT_GLOBAL_ID_CACHE_SIZE;
+    private Duration sqlGlobalIdCacheExpireAfterAccess;
+    private long sqlLatestSnapshotCacheSize = SqlRepositoryConfiguration.DEFAULT_LATEST_SNAPSHOT_CACHE_SIZE;
+    private int sqlStreamFetchSize = SqlRepositoryConfiguration.DEFAULT_STREAM_FETCH_SIZE;
+    private boolean sqlChangedPropertyTableEnabled = false;
+    private boolean sqlSchemaTuningEnabled = false;
+    private boolean sqlSnapshotStateCompressionEnabled = false;
     private String sqlSchema;
     private String sqlGlobalIdTableName;
     private String sqlCommitTableName;
     private String sqlSnapshotTableName;
     private String sqlCommitPropertyTableName;
+    private String sqlChangedPropertyTableName;
     
     private String sqlGlobalIdPKColumnName;
     private String sqlGlobalIdLocalIdColumnName;
@@ -70,6 +81,62 @@ public class JaversSqlProperties extends JaversSpringProperties {
         this.sqlGlobalIdCacheDisabled = sqlGlobalIdCacheDisabled;
     }
 
+    public long getSqlGlobalIdCacheSize() {
+        return sqlGlobalIdCacheSize;
+    }
+
+    public void setSqlGlobalIdCacheSize(long sqlGlobalIdCacheSize) {
+        this.sqlGlobalIdCacheSize = sqlGlobalIdCacheSize;
+    }
+
+    public Duration getSqlGlobalIdCacheExpireAfterAccess() {
+        return sqlGlobalIdCacheExpireAfterAccess;
+    }
+
+    public void setSqlGlobalIdCacheExpireAfterAccess(Duration sqlGlobalIdCacheExpireAfterAccess) {
+        this.sqlGlobalIdCacheExpireAfterAccess = sqlGlobalIdCacheExpireAfterAccess;
+    }
+
+    public long getSqlLatestSnapshotCacheSize() {
+        return sqlLatestSnapshotCacheSize;
+    }
+
+    public void setSqlLatestSnapshotCacheSize(long sqlLatestSnapshotCacheSize) {
+        this.sqlLatestSnapshotCacheSize = sqlLatestSnapshotCacheSize;
+    }
+
+    public int getSqlStreamFetchSize() {
+        return sqlStreamFetchSize;
+    }
+
+    public void setSqlStreamFetchSize(int sqlStreamFetchSize) {
+        this.sqlStreamFetchSize = sqlStreamFetchSize;
+    }
+
+    public boolean isSqlChangedPropertyTableEnabled() {
+        return sqlChangedPropertyTableEnabled;
+    }
+
+    public void setSqlChangedPropertyTableEnabled(boolean sqlChangedPropertyTableEnabled) {
+        this.sqlChangedPropertyTableEnabled = sqlChangedPropertyTableEnabled;
+    }
+
+    public boolean isSqlSchemaTuningEnabled() {
+        return sqlSchemaTuningEnabled;
+    }
+
+    public void setSqlSchemaTuningEnabled(boolean sqlSchemaTuningEnabled) {
+        this.sqlSchemaTuningEnabled = sqlSchemaTuningEnabled;
+    }
+
+    public boolean isSqlSnapshotStateCompressionEnabled() {
+        return sqlSnapshotStateCompressionEnabled;
+    }
+
+    public void setSqlSnapshotStateCompressionEnabled(boolean sqlSnapshotStateCompressionEnabled) {
+        this.sqlSnapshotStateCompressionEnabled = sqlSnapshotStateCompressionEnabled;
+    }
+
     protected String defaultObjectAccessHook(){
         return DEFAULT_OBJECT_ACCESS_HOOK;
     }
@@ -106,6 +173,14 @@ public class JaversSqlProperties extends JaversSpringProperties {
         this.sqlCommitPropertyTableName = sqlCommitPropertyTableName;
     }
 
+    public String getSqlChangedPropertyTableName() {
+        return sqlChangedPropertyTableName;
+    }
+
+    public void setSqlChangedPropertyTableName(String sqlChangedPropertyTableName) {
+        this.sqlChangedPropertyTableName = sqlChangedPropertyTableName;
+    }
+
 		public String getSqlGlobalIdPKColumnName() {
 			return sqlGlobalIdPKColumnName;
 		}
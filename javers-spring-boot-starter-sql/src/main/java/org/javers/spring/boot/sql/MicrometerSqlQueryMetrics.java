@@ -0,0 +1,69 @@
+package org.javers.spring.boot.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.javers.repository.sql.SqlQueryMetrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes SQL query metrics of JaversSqlRepository to Micrometer,
+ * as meters tagged with the query name:
+ * <ul>
+ *     <li><code>javers.sql.query</code> &mdash; latency histogram,</li>
+ *     <li><code>javers.sql.query.rows</code> &mdash; rows read or written,</li>
+ *     <li><code>javers.sql.query.deserialized.chars</code> &mdash; length in chars of the snapshot JSON read.</li>
+ * </ul>
+ *
+ * @since 5.14
+ */
+public class MicrometerSqlQueryMetrics implements SqlQueryMetrics {
+    public static final String QUERY_TIMER = "javers.sql.query";
+    public static final String QUERY_ROWS = "javers.sql.query.rows";
+    public static final String QUERY_DESERIALIZED = "javers.sql.query.deserialized.chars";
+    private static final String QUERY_TAG = "query";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, QueryMeters> meters = new ConcurrentHashMap<>();
+
+    public MicrometerSqlQueryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void record(String queryName, long durationNanos, long rowCount, long deserializedChars) {
+        QueryMeters queryMeters = meters.computeIfAbsent(queryName, QueryMeters::new);
+
+        queryMeters.timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        queryMeters.rows.record(rowCount);
+        if (deserializedChars > 0) {
+            queryMeters.deserialized.record(deserializedChars);
+        }
+    }
+
+    private class QueryMeters {
+        private final Timer timer;
+        private final DistributionSummary rows;
+        private final DistributionSummary deserialized;
+
+        QueryMeters(String queryName) {
+            this.timer = Timer.builder(QUERY_TIMER)
+                    .description("JaVers SQL query latency")
+                    .tag(QUERY_TAG, queryName)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.rows = DistributionSummary.builder(QUERY_ROWS)
+                    .description("Rows read or written by a JaVers SQL query")
+                    .tag(QUERY_TAG, queryName)
+                    .register(meterRegistry);
+            this.deserialized = DistributionSummary.builder(QUERY_DESERIALIZED)
+                    .description("Length in chars of the snapshot JSON read by a JaVers SQL query")
+                    .baseUnit("chars")
+                    .tag(QUERY_TAG, queryName)
+                    .register(meterRegistry);
+        }
+    }
+}
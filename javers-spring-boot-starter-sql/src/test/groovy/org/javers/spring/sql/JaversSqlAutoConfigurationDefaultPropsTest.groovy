@@ -42,11 +42,19 @@ class JaversSqlAutoConfigurationDefaultPropsTest extends Specification {
         javersProperties.prettyPrintDateFormats.localDate == "dd MMM yyyy"
         javersProperties.prettyPrintDateFormats.localTime == "HH:mm:ss"
         !javersProperties.sqlGlobalIdCacheDisabled
+        javersProperties.sqlGlobalIdCacheSize == 1000
+        javersProperties.sqlGlobalIdCacheExpireAfterAccess == null
+        javersProperties.sqlLatestSnapshotCacheSize == 0
+        javersProperties.sqlStreamFetchSize == 500
+        javersProperties.sqlChangedPropertyTableEnabled == false
+        javersProperties.sqlSchemaTuningEnabled == false
+        javersProperties.sqlSnapshotStateCompressionEnabled == false
         javersProperties.objectAccessHook == "org.javers.hibernate.integration.HibernateUnproxyObjectAccessHook"
         javersProperties.sqlGlobalIdTableName == null
         javersProperties.sqlCommitTableName == null
         javersProperties.sqlSnapshotTableName == null
         javersProperties.sqlCommitPropertyTableName == null
+        javersProperties.sqlChangedPropertyTableName == null
     }
 
     def "shouldHaveSpringSecurityAuthorProviderWhenSpringSecurityOnClasspath"() {
@@ -11,6 +11,8 @@ import org.springframework.boot.test.context.SpringBootTest
 import org.springframework.test.context.ActiveProfiles
 import spock.lang.Specification
 
+import java.time.Duration
+
 /**
  * @author pawelszymczyk
  */
@@ -44,11 +46,19 @@ class JaversSqlAutoConfigurationTest extends Specification {
         javersProperties.prettyPrintDateFormats.localDate == "dd-mm-yyyy"
         javersProperties.prettyPrintDateFormats.localTime == "HH mm ss"
         javersProperties.sqlGlobalIdCacheDisabled
+        javersProperties.sqlGlobalIdCacheSize == 50000
+        javersProperties.sqlGlobalIdCacheExpireAfterAccess == Duration.ofMinutes(10)
+        javersProperties.sqlLatestSnapshotCacheSize == 2000
+        javersProperties.sqlStreamFetchSize == 250
+        javersProperties.sqlChangedPropertyTableEnabled == true
+        javersProperties.sqlSchemaTuningEnabled == true
+        javersProperties.sqlSnapshotStateCompressionEnabled == true
         javersProperties.objectAccessHook == "org.javers.spring.boot.DummySqlObjectAccessHook"
         javersProperties.sqlGlobalIdTableName == "cust_jv_global_id"
         javersProperties.sqlCommitTableName == "cust_jv_commit"
         javersProperties.sqlSnapshotTableName == "cust_jv_snapshot"
         javersProperties.sqlCommitPropertyTableName == "cust_jv_commit_property"
+        javersProperties.sqlChangedPropertyTableName == "cust_jv_changed_property"
     }
 
     def "shouldHaveSpringSecurityAuthorProviderWhenSpringSecurityOnClasspath" () {
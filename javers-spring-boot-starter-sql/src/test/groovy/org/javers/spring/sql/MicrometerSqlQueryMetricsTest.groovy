@@ -0,0 +1,36 @@
+package org.javers.spring.sql
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.javers.spring.boot.sql.MicrometerSqlQueryMetrics
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class MicrometerSqlQueryMetricsTest extends Specification {
+
+    def "should publish meters tagged with the query name"() {
+        given:
+        def registry = new SimpleMeterRegistry()
+        def metrics = new MicrometerSqlQueryMetrics(registry)
+
+        when:
+        metrics.record("snapshots", TimeUnit.MILLISECONDS.toNanos(5), 10, 2000)
+        metrics.record("snapshots", TimeUnit.MILLISECONDS.toNanos(15), 30, 6000)
+        metrics.record("INSERT Commit", TimeUnit.MILLISECONDS.toNanos(1), 1, 0)
+
+        then:
+        def timer = registry.get(MicrometerSqlQueryMetrics.QUERY_TIMER).tag("query", "snapshots").timer()
+        timer.count() == 2
+        timer.totalTime(TimeUnit.MILLISECONDS) == 20
+
+        def rows = registry.get(MicrometerSqlQueryMetrics.QUERY_ROWS).tag("query", "snapshots").summary()
+        rows.totalAmount() == 40
+
+        def deserialized = registry.get(MicrometerSqlQueryMetrics.QUERY_DESERIALIZED).tag("query", "snapshots").summary()
+        deserialized.totalAmount() == 8000
+        deserialized.id.baseUnit == "chars"
+
+        registry.get(MicrometerSqlQueryMetrics.QUERY_TIMER).tag("query", "INSERT Commit").timer().count() == 1
+        registry.get(MicrometerSqlQueryMetrics.QUERY_DESERIALIZED).tag("query", "INSERT Commit").summary().count() == 0
+    }
+}
@@ -7,6 +7,8 @@ import org.javers.core.Changes;
 import org.javers.core.Javers;
 import org.javers.core.changelog.ChangeProcessor;
 import org.javers.core.commit.Commit;
+import org.javers.core.commit.CommitPipeline;
+import org.javers.core.commit.CommitPipelineConfiguration;
 import org.javers.core.diff.Change;
 import org.javers.core.diff.Diff;
 import org.javers.core.diff.changetype.PropertyChange;
@@ -33,6 +35,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
@@ -54,6 +57,7 @@ public class JaversTransactionalDecorator implements InitializingBean, Javers {
         this.delegate = delegate;
         this.javersSqlRepository = javersSqlRepository;
         this.txManager = txManager;
+        javersSqlRepository.setTransactionCompletionScheduler(this::afterTransactionCompletion);
     }
 
     @Override
@@ -68,6 +72,26 @@ public class JaversTransactionalDecorator implements InitializingBean, Javers {
                 "javers.commitAsync() is not available for SQL");
     }
 
+    /**
+     * Each group of repository calls made by the pipeline runs in a transaction
+     */
+    @Override
+    public CommitPipeline commitPipeline(CommitPipelineConfiguration configuration) {
+        Validate.argumentIsNotNull(configuration);
+        TransactionTemplate tmpl = new TransactionTemplate(txManager);
+        Consumer<Runnable> wrapper = configuration.getRepositoryCallWrapper();
+
+        return delegate.commitPipeline(configuration.withRepositoryCallWrapper(call ->
+            tmpl.execute(new TransactionCallbackWithoutResult() {
+                @Override
+                protected void doInTransactionWithoutResult(TransactionStatus status) {
+                    registerRollbackListener();
+                    wrapper.accept(call);
+                }
+            })
+        ));
+    }
+
     @Override
     @Transactional
     public Commit commit(String author, Object currentVersion) {
@@ -82,6 +106,20 @@ public class JaversTransactionalDecorator implements InitializingBean, Javers {
         return delegate.commit(author, currentVersion, commitProperties);
     }
 
+    @Override
+    @Transactional
+    public Commit commitAll(String author, Collection<?> currentVersions) {
+        registerRollbackListener();
+        return delegate.commitAll(author, currentVersions);
+    }
+
+    @Override
+    @Transactional
+    public Commit commitAll(String author, Collection<?> currentVersions, Map<String, String> commitProperties) {
+        registerRollbackListener();
+        return delegate.commitAll(author, currentVersions, commitProperties);
+    }
+
     @Override
     @Transactional
     public Commit commitShallowDelete(String author, Object deleted) {
@@ -151,6 +189,16 @@ public class JaversTransactionalDecorator implements InitializingBean, Javers {
         return delegate.findSnapshots(query);
     }
 
+    /**
+     * The stream reads from an open cursor, so it should be consumed
+     * within the caller's transaction
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    @Override
+    public Stream<CdoSnapshot> findSnapshotsAndStream(JqlQuery query) {
+        return delegate.findSnapshotsAndStream(query);
+    }
+
     @Transactional
     @Override
     public Changes findChanges(JqlQuery query) {
@@ -194,18 +242,42 @@ public class JaversTransactionalDecorator implements InitializingBean, Javers {
         return delegate.getProperty(propertyChange);
     }
 
-    private void registerRollbackListener() {
-        if (javersSqlRepository.getConfiguration().isGlobalIdCacheDisabled()) {
-            return;
+    @Override
+    public void evictCache() {
+        delegate.evictCache();
+        javersSqlRepository.evictCache();
+    }
+
+    /**
+     * Outside of a Spring transaction, each persist is committed before it returns
+     */
+    private void afterTransactionCompletion(Consumer<Boolean> callback) {
+        if(TransactionSynchronizationManager.isSynchronizationActive() &&
+           TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter(){
+                @Override
+                public void afterCompletion(int status) {
+                    callback.accept(TransactionSynchronization.STATUS_COMMITTED == status);
+                }
+            });
+        } else {
+            callback.accept(true);
         }
+    }
+
+    private void registerRollbackListener() {
         if(TransactionSynchronizationManager.isSynchronizationActive() &&
            TransactionSynchronizationManager.isActualTransactionActive()) {
             TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter(){
                 @Override
                 public void afterCompletion(int status) {
                     if (TransactionSynchronization.STATUS_ROLLED_BACK == status) {
-                        logger.info("evicting javersSqlRepository local cache due to transaction rollback");
-                        javersSqlRepository.evictCache();
+                        logger.info("evicting javers local caches due to transaction rollback");
+                        delegate.evictCache();
+                        if (!javersSqlRepository.getConfiguration().isGlobalIdCacheDisabled() ||
+                             javersSqlRepository.getConfiguration().getLatestSnapshotCacheSize() > 0) {
+                            javersSqlRepository.evictCache();
+                        }
                     }
                 }
             });